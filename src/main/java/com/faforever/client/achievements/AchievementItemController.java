@@ -52,7 +52,7 @@ public class AchievementItemController implements Controller<Node> {
     nameLabel.setText(achievementDefinition.getName());
     descriptionLabel.setText(achievementDefinition.getDescription());
     pointsLabel.setText(i18n.number(achievementDefinition.getExperiencePoints()));
-    imageView.setImage(achievementService.getImage(achievementDefinition, AchievementService.AchievementState.REVEALED));
+    JavaFxUtil.setImage(imageView, achievementService.getImage(achievementDefinition, AchievementService.AchievementState.REVEALED));
     progressLabel.setText(i18n.get("achievement.stepsFormat", 0, achievementDefinition.getTotalSteps()));
     progressBar.setProgress(0);
 
@@ -73,7 +73,7 @@ public class AchievementItemController implements Controller<Node> {
         "Achievement ID does not match");
 
     if (AchievementState.UNLOCKED == AchievementState.valueOf(playerAchievement.getState().name())) {
-      imageView.setImage(achievementService.getImage(achievementDefinition, AchievementState.UNLOCKED));
+      JavaFxUtil.setImage(imageView, achievementService.getImage(achievementDefinition, AchievementState.UNLOCKED));
       imageView.setOpacity(1);
       imageView.setEffect(null);
     }
@@ -1,6 +1,5 @@
 package com.faforever.client.achievements;
 
-import com.faforever.client.config.CacheNames;
 import com.faforever.client.player.PlayerService;
 import com.faforever.client.remote.AssetService;
 import com.faforever.client.remote.FafService;
@@ -13,7 +12,6 @@ import javafx.collections.ObservableList;
 import javafx.scene.image.Image;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.InitializingBean;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
@@ -65,8 +63,7 @@ public class AchievementService implements InitializingBean {
   }
 
 
-  @Cacheable(value = CacheNames.ACHIEVEMENT_IMAGES, sync = true)
-  public Image getImage(AchievementDefinition achievementDefinition, AchievementState achievementState) {
+  public CompletableFuture<Image> getImage(AchievementDefinition achievementDefinition, AchievementState achievementState) {
     URL url;
     switch (achievementState) {
       case REVEALED:
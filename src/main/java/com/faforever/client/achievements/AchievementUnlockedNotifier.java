@@ -51,11 +51,11 @@ public class AchievementUnlockedNotifier implements InitializingBean {
       audioService.playAchievementUnlockedSound();
       lastSoundPlayed = System.currentTimeMillis();
     }
-    notificationService.addNotification(new TransientNotification(
+    achievementService.getImage(achievementDefinition, AchievementState.UNLOCKED)
+        .thenAccept(image -> notificationService.addNotification(new TransientNotification(
             i18n.get("achievement.unlockedTitle"),
             achievementDefinition.getName(),
-        achievementService.getImage(achievementDefinition, AchievementState.UNLOCKED)
-        )
-    );
+            image
+        )));
   }
 }
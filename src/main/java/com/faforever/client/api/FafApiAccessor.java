@@ -120,7 +120,7 @@ public interface FafApiAccessor {
 
   List<TutorialCategory> getTutorialCategories();
 
-  Optional<Clan> getClanByTag(String tag);
+  List<Clan> getClansByTags(List<String> tags);
 
   Tuple<List<Map>, java.util.Map<String, ?>> findMapsByQueryWithMeta(SearchConfig searchConfig, int count, int page);
 
@@ -542,16 +542,11 @@ public class FafApiAccessorImpl implements FafApiAccessor, InitializingBean {
   }
 
   @Override
-  @Cacheable(value = CacheNames.CLAN, sync = true)
-  public Optional<Clan> getClanByTag(String tag) {
-    List<Clan> clans = getMany("/data/clan", 1, java.util.Map.of(
+  public List<Clan> getClansByTags(List<String> tags) {
+    return getMany("/data/clan", tags.size(), java.util.Map.of(
         INCLUDE, "leader,founder,memberships,memberships.player",
-        FILTER, rsql(qBuilder().string("tag").eq(tag))
+        FILTER, rsql(qBuilder().string("tag").in(tags))
     ));
-    if (clans.isEmpty()) {
-      return Optional.empty();
-    }
-    return Optional.ofNullable(clans.get(0));
   }
 
   @Override
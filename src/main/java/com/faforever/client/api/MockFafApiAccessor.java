@@ -254,8 +254,8 @@ public class MockFafApiAccessor implements FafApiAccessor {
   }
 
   @Override
-  public Optional<Clan> getClanByTag(String tag) {
-    return Optional.empty();
+  public List<Clan> getClansByTags(List<String> tags) {
+    return List.of();
   }
 
   @Override
@@ -13,6 +13,7 @@ import com.faforever.client.player.Player;
 import com.faforever.client.player.PlayerService;
 import com.faforever.client.preferences.PreferencesService;
 import com.faforever.client.reporting.ReportingService;
+import com.faforever.client.theme.HtmlTemplate;
 import com.faforever.client.theme.UiService;
 import com.faforever.client.ui.StageHolder;
 import com.faforever.client.uploader.ImageUploadService;
@@ -24,6 +25,8 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.eventbus.EventBus;
 import com.google.common.io.CharStreams;
+import com.google.gson.Gson;
+import javafx.animation.AnimationTimer;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.value.ChangeListener;
@@ -58,9 +61,12 @@ import java.net.URL;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import static com.faforever.client.theme.UiService.CHAT_CONTAINER;
@@ -68,10 +74,7 @@ import static com.faforever.client.theme.UiService.CHAT_SECTION_COMPACT;
 import static com.faforever.client.theme.UiService.CHAT_SECTION_EXTENDED;
 import static com.faforever.client.theme.UiService.CHAT_TEXT_COMPACT;
 import static com.faforever.client.theme.UiService.CHAT_TEXT_EXTENDED;
-import static com.github.nocatch.NoCatch.noCatch;
-import static com.google.common.html.HtmlEscapers.htmlEscaper;
 import static java.time.temporal.ChronoUnit.MINUTES;
-import static java.util.regex.Pattern.CASE_INSENSITIVE;
 import static javafx.scene.AccessibleAttribute.ITEM_AT_INDEX;
 
 /**
@@ -85,18 +88,18 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
   static final String CSS_CLASS_CHAT_ONLY = "chat_only";
   private static final String MESSAGE_CONTAINER_ID = "chat-container";
   private static final String MESSAGE_ITEM_CLASS = "chat-section";
+  /** The class of the text of each single message within a message item. */
+  private static final String MESSAGE_TEXT_CLASS = "text";
   private static final PseudoClass UNREAD_PSEUDO_STATE = PseudoClass.getPseudoClass("unread");
   private static final org.springframework.core.io.Resource CHAT_JS_RESOURCE = new ClassPathResource("/js/chat_container.js");
-  private static final org.springframework.core.io.Resource AUTOLINKER_JS_RESOURCE = new ClassPathResource("/js/Autolinker.min.js");
   private static final org.springframework.core.io.Resource JQUERY_JS_RESOURCE = new ClassPathResource("js/jquery-2.1.4.min.js");
   private static final org.springframework.core.io.Resource JQUERY_HIGHLIGHT_JS_RESOURCE = new ClassPathResource("js/jquery.highlight-5.closure.js");
-
-  public static final String CHANNEL_NAME_GROUP_NAME = "channelName";
-  /**
-   * A pattern identifying all strings with a # in front and not starting with a number. Those are interpreted as
-   * irc-channels.
-   */
-  private static final Pattern CHANNEL_USER_PATTERN = Pattern.compile("(^|\\s)(?<" + CHANNEL_NAME_GROUP_NAME + ">#[a-zA-Z]\\S+)", CASE_INSENSITIVE);
+  /** How often messages are rendered into a tab that is not selected, in nanoseconds. */
+  private static final long UNSELECTED_TAB_RENDER_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+  /** How many older messages are loaded from the chat history at once. */
+  private static final int HISTORY_PAGE_SIZE = 50;
+  private static final String HISTORY_CALLBACK_IN_JAVASCRIPT = "chatHistory";
+  private static final Gson GSON = new Gson();
 
   private static final String ACTION_PREFIX = "/me ";
   private static final String JOIN_PREFIX = "/join ";
@@ -119,26 +122,61 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
   protected final EventBus eventBus;
   protected final WebViewConfigurer webViewConfigurer;
   protected final ChatUserService chatUserService;
+  protected final ChatHistoryService chatHistoryService;
   private final ImageUploadService imageUploadService;
   private final CountryFlagService countryFlagService;
 
   /**
-   * Messages that arrived before the web view was ready. Those are appended as soon as it is ready.
+   * Messages that have not been rendered yet, either because the web view is not ready yet or because the next render
+   * pass is still pending.
    */
   private final List<ChatMessage> waitingMessages;
+  /**
+   * Pairs of container ID and HTML to be appended to that container by the next render pass. Only accessed on the
+   * application thread.
+   */
+  private final List<String> pendingHtml;
+  /** Renders all waiting messages once per frame, or less often if this tab is not selected. */
+  private final AnimationTimer renderTimer;
   private final IntegerProperty unreadMessagesCount;
   private final ChangeListener<Boolean> resetUnreadMessagesListener;
   private final ChangeListener<Number> zoomChangeListener;
   private final ChangeListener<Boolean> tabPaneFocusedListener;
   private final ChangeListener<Boolean> stageFocusedListener;
+  /**
+   * Called by the web view to load older messages. Referenced here since the web view only keeps a weak reference to
+   * it.
+   */
+  private final ChatHistoryCallback chatHistoryCallback;
+  /** The ID of the section the next message is appended to if it continues it. */
   private int lastEntryId;
+  /**
+   * The ID of the oldest section loaded from the chat history. History sections count down from 0, so that their IDs
+   * never collide with the ones of received messages.
+   */
+  private int oldestEntryId;
   private boolean isChatReady;
+  /** Whether the render timer has been or is about to be started; guarded by {@link #waitingMessages}. */
+  private boolean isRenderScheduled;
+  private long lastRenderTime;
+  /**
+   * The future index in the chat history of the first message this tab received that is written to the history, or
+   * {@code null} if there has been none. Messages before it are loaded from the history, messages after it have been
+   * received. Guarded by {@link #waitingMessages}.
+   */
+  private CompletableFuture<Integer> historyEnd;
+  /** The index in the chat history of the oldest message shown, or -1 if no history has been loaded yet. */
+  private int historyStart = -1;
+  private boolean isLoadingHistory;
+  private boolean isRenderingHistory;
   /**
    * Either a channel like "#aeolus" or a user like "Visionik".
    */
   private String receiver;
-  private Pattern mentionPattern;
+  private ChatTextFormatter chatTextFormatter;
   private ChatMessage lastMessage;
+  /** Reused to render chat messages, which is only done on the application thread. */
+  private final StringBuilder htmlBuilder = new StringBuilder();
   WebEngine engine;
 
   @Inject
@@ -150,7 +188,8 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
                                    TimeService timeService, I18n i18n,
                                    ImageUploadService imageUploadService,
                                    NotificationService notificationService, ReportingService reportingService, UiService uiService,
-                                   EventBus eventBus, CountryFlagService countryFlagService, ChatUserService chatUserService) {
+                                   EventBus eventBus, CountryFlagService countryFlagService, ChatUserService chatUserService,
+                                   ChatHistoryService chatHistoryService) {
 
     this.webViewConfigurer = webViewConfigurer;
     this.uiService = uiService;
@@ -167,8 +206,22 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
     this.eventBus = eventBus;
     this.countryFlagService = countryFlagService;
     this.chatUserService = chatUserService;
+    this.chatHistoryService = chatHistoryService;
 
+    chatHistoryCallback = new ChatHistoryCallback();
     waitingMessages = new ArrayList<>();
+    pendingHtml = new ArrayList<>();
+    renderTimer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        if (!getRoot().isSelected() && now - lastRenderTime < UNSELECTED_TAB_RENDER_INTERVAL) {
+          return;
+        }
+        lastRenderTime = now;
+        stop();
+        renderWaitingMessages();
+      }
+    };
     unreadMessagesCount = new SimpleIntegerProperty();
     resetUnreadMessagesListener = (observable, oldValue, newValue) -> {
       if (hasFocus()) {
@@ -250,7 +303,7 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
   }
 
   public void initialize() {
-    mentionPattern = Pattern.compile("\\b(" + Pattern.quote(userService.getUsername()) + ")\\b", CASE_INSENSITIVE);
+    chatTextFormatter = new ChatTextFormatter(userService.getUsername());
 
     initChatView();
 
@@ -342,7 +395,6 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
     try (Reader reader = new InputStreamReader(uiService.getThemeFileUrl(CHAT_CONTAINER).openStream())) {
       String chatContainerHtml = CharStreams.toString(reader)
           .replace("{chat-container-js}", CHAT_JS_RESOURCE.getURL().toExternalForm())
-          .replace("{auto-linker-js}", AUTOLINKER_JS_RESOURCE.getURL().toExternalForm())
           .replace("{jquery-js}", JQUERY_JS_RESOURCE.getURL().toExternalForm())
           .replace("{jquery-highlight-js}", JQUERY_HIGHLIGHT_JS_RESOURCE.getURL().toExternalForm());
 
@@ -372,9 +424,9 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
         return;
       }
       synchronized (waitingMessages) {
-        waitingMessages.forEach(AbstractChatTabController.this::addMessage);
-        waitingMessages.clear();
         isChatReady = true;
+        getJsObject().setMember(HISTORY_CALLBACK_IN_JAVASCRIPT, chatHistoryCallback);
+        renderWaitingMessages();
         onWebViewLoaded();
       }
     });
@@ -450,34 +502,137 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
         });
   }
 
+  /**
+   * Queues the specified message to be rendered with the next frame. All messages received until then are rendered
+   * together, with a single call into the web view.
+   */
   protected void onChatMessage(ChatMessage chatMessage) {
+    CompletableFuture<Integer> historyIndex = chatHistoryService.getHistoryIndex(chatMessage);
     synchronized (waitingMessages) {
-      if (!isChatReady) {
-        waitingMessages.add(chatMessage);
-      } else {
-        JavaFxUtil.runLater(() -> {
-          addMessage(chatMessage);
-          removeTopmostMessages();
-          scrollToBottomIfDesired();
-        });
+      if (historyEnd == null && historyIndex != null) {
+        historyEnd = historyIndex;
+      }
+      waitingMessages.add(chatMessage);
+      if (isChatReady && !isRenderScheduled) {
+        isRenderScheduled = true;
+        JavaFxUtil.runLater(renderTimer::start);
       }
     }
   }
 
-  private void scrollToBottomIfDesired() {
+  /**
+   * Renders all waiting messages, appends them to the web view, removes the topmost messages exceeding the maximum and
+   * scrolls to the bottom if desired, all within a single script call.
+   */
+  private void renderWaitingMessages() {
     JavaFxUtil.assertApplicationThread();
-    engine.executeScript("scrollToBottomIfDesired()");
+    List<ChatMessage> messages;
+    synchronized (waitingMessages) {
+      messages = new ArrayList<>(waitingMessages);
+      waitingMessages.clear();
+      isRenderScheduled = false;
+    }
+    if (messages.isEmpty()) {
+      return;
+    }
+    messages.forEach(this::addMessage);
+
+    int maxMessageItems = preferencesService.getPreferences().getChat().getMaxMessages();
+    // A JSON array is a valid JavaScript expression, and Gson escapes everything that could end it prematurely
+    Object removedMessages = engine.executeScript("appendMessages(" + GSON.toJson(pendingHtml) + ", '" + MESSAGE_ITEM_CLASS
+        + "', '" + MESSAGE_TEXT_CLASS + "', " + maxMessageItems + ")");
+    pendingHtml.clear();
+    onMessagesRemoved(((Number) removedMessages).intValue());
+    getMessagesWebView().requestLayout();
   }
 
-  private void removeTopmostMessages() {
+  /**
+   * Moves the start of the shown chat history past the specified number of topmost messages that have been removed, so
+   * that they are loaded again when scrolling up.
+   */
+  private void onMessagesRemoved(int count) {
+    if (count == 0) {
+      return;
+    }
+    if (historyStart >= 0) {
+      historyStart += count;
+      return;
+    }
+    CompletableFuture<Integer> end;
+    synchronized (waitingMessages) {
+      end = historyEnd;
+    }
+    if (end != null) {
+      // Removals before the index is known are applied in order once it is, since the first one sets the history start
+      end.thenAccept(index -> JavaFxUtil.runLater(() -> historyStart = historyStart >= 0 ? historyStart + count : index + count));
+    }
+  }
+
+  /**
+   * Loads the next page of older messages from the chat history and inserts them above the shown messages. Does nothing
+   * if a page is being loaded already or the oldest message is shown already.
+   */
+  private void loadOlderMessages() {
     JavaFxUtil.assertApplicationThread();
-    int maxMessageItems = preferencesService.getPreferences().getChat().getMaxMessages();
+    if (isLoadingHistory || historyStart == 0) {
+      return;
+    }
+    isLoadingHistory = true;
+    int shownHistoryStart = historyStart;
 
-    int numberOfMessages = (int) engine.executeScript("document.getElementsByClassName('" + MESSAGE_ITEM_CLASS + "').length");
-    while (numberOfMessages > maxMessageItems) {
-      engine.executeScript("document.getElementsByClassName('" + MESSAGE_ITEM_CLASS + "')[0].remove()");
-      numberOfMessages--;
+    CompletableFuture<Integer> historyEndFuture;
+    synchronized (waitingMessages) {
+      if (historyEnd == null || historyEnd.isCompletedExceptionally()) {
+        // Any message received from now on is appended after the counted ones
+        historyEnd = chatHistoryService.getMessageCount(receiver);
+      }
+      historyEndFuture = historyEnd;
     }
+    historyEndFuture
+        .thenCompose(end -> {
+          int toIndex = shownHistoryStart >= 0 ? shownHistoryStart : end;
+          int fromIndex = Math.max(0, toIndex - HISTORY_PAGE_SIZE);
+          return chatHistoryService.loadMessages(receiver, fromIndex, toIndex)
+              .thenAccept(messages -> JavaFxUtil.runLater(() -> {
+                isLoadingHistory = false;
+                if (historyStart != shownHistoryStart) {
+                  // Messages have been removed meanwhile, the page would not connect to the shown ones anymore
+                  return;
+                }
+                historyStart = fromIndex;
+                renderOlderMessages(messages);
+              }));
+        })
+        .exceptionally(throwable -> {
+          log.warn("Chat history of '{}' could not be loaded", receiver, throwable);
+          JavaFxUtil.runLater(() -> isLoadingHistory = false);
+          return null;
+        });
+  }
+
+  /**
+   * Renders the specified messages from the chat history and inserts them above the shown messages, with a single
+   * script call. They are grouped among themselves only and don't cause any notifications.
+   */
+  private void renderOlderMessages(List<ChatMessage> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    ChatMessage newestMessage = lastMessage;
+    int newestEntryId = lastEntryId;
+    lastMessage = null;
+    isRenderingHistory = true;
+    try {
+      messages.forEach(this::addMessage);
+    } finally {
+      isRenderingHistory = false;
+      lastMessage = newestMessage;
+      lastEntryId = newestEntryId;
+    }
+
+    engine.executeScript("prependMessages(" + GSON.toJson(pendingHtml) + ", '" + MESSAGE_CONTAINER_ID + "')");
+    pendingHtml.clear();
+    getMessagesWebView().requestLayout();
   }
 
   /**
@@ -486,14 +641,12 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
    */
   private void addMessage(ChatMessage chatMessage) {
     JavaFxUtil.assertApplicationThread();
-    noCatch(() -> {
-      if (requiresNewChatSection(chatMessage)) {
-        appendChatMessageSection(chatMessage);
-      } else {
-        appendMessage(chatMessage);
-      }
-      lastMessage = chatMessage;
-    });
+    if (requiresNewChatSection(chatMessage)) {
+      appendChatMessageSection(chatMessage);
+    } else {
+      appendMessage(chatMessage);
+    }
+    lastMessage = chatMessage;
   }
 
   private boolean requiresNewChatSection(ChatMessage chatMessage) {
@@ -503,38 +656,34 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
         || lastMessage.isAction();
   }
 
-  private void appendMessage(ChatMessage chatMessage) throws IOException {
-    URL themeFileUrl;
+  private void appendMessage(ChatMessage chatMessage) {
+    HtmlTemplate template;
     if (preferencesService.getPreferences().getChat().getChatFormat() == ChatFormat.COMPACT) {
-      themeFileUrl = uiService.getThemeFileUrl(CHAT_TEXT_COMPACT);
+      template = uiService.getThemeTemplate(CHAT_TEXT_COMPACT);
     } else {
-      themeFileUrl = uiService.getThemeFileUrl(CHAT_TEXT_EXTENDED);
+      template = uiService.getThemeTemplate(CHAT_TEXT_EXTENDED);
     }
 
-    String html = renderHtml(chatMessage, themeFileUrl, null);
+    String html = renderHtml(chatMessage, template, null);
 
     insertIntoContainer(html, "chat-section-" + lastEntryId);
   }
 
-  private void appendChatMessageSection(ChatMessage chatMessage) throws IOException {
-    URL themeFileURL;
+  private void appendChatMessageSection(ChatMessage chatMessage) {
+    HtmlTemplate template;
     if (preferencesService.getPreferences().getChat().getChatFormat() == ChatFormat.COMPACT) {
-      themeFileURL = uiService.getThemeFileUrl(CHAT_SECTION_COMPACT);
+      template = uiService.getThemeTemplate(CHAT_SECTION_COMPACT);
     } else {
-      themeFileURL = uiService.getThemeFileUrl(CHAT_SECTION_EXTENDED);
+      template = uiService.getThemeTemplate(CHAT_SECTION_EXTENDED);
     }
 
-    String html = renderHtml(chatMessage, themeFileURL, ++lastEntryId);
+    lastEntryId = isRenderingHistory ? --oldestEntryId : lastEntryId + 1;
+    String html = renderHtml(chatMessage, template, lastEntryId);
     insertIntoContainer(html, MESSAGE_CONTAINER_ID);
     appendMessage(chatMessage);
   }
 
-  private String renderHtml(ChatMessage chatMessage, URL themeFileUrl, @Nullable Integer sectionId) throws IOException {
-    String html;
-    try (Reader reader = new InputStreamReader(themeFileUrl.openStream())) {
-      html = CharStreams.toString(reader);
-    }
-
+  private String renderHtml(ChatMessage chatMessage, HtmlTemplate template, @Nullable Integer sectionId) {
     String login = chatMessage.getUsername();
     String avatarUrl = "";
     String clanTag = "";
@@ -555,14 +704,14 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
       }
     }
 
-    String timeString = timeService.asShortTime(chatMessage.getTime());
-    html = html.replace("{time}", timeString)
-        .replace("{avatar}", StringUtils.defaultString(avatarUrl))
-        .replace("{username}", login)
-        .replace("{clan-tag}", clanTag)
-        .replace("{decorated-clan-tag}", decoratedClanTag)
-        .replace("{country-flag}", StringUtils.defaultString(countryFlagUrl))
-        .replace("{section-id}", String.valueOf(sectionId));
+    Map<String, String> values = new HashMap<>();
+    values.put("time", timeService.asShortTime(chatMessage.getTime()));
+    values.put("avatar", StringUtils.defaultString(avatarUrl));
+    values.put("username", login);
+    values.put("clan-tag", clanTag);
+    values.put("decorated-clan-tag", decoratedClanTag);
+    values.put("country-flag", StringUtils.defaultString(countryFlagUrl));
+    values.put("section-id", String.valueOf(sectionId));
 
     Collection<String> cssClasses = new ArrayList<>();
     cssClasses.add(String.format("user-%s", chatMessage.getUsername()));
@@ -571,36 +720,21 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
     } else {
       cssClasses.add(MESSAGE_CSS_CLASS);
     }
+    values.put("css-classes", Joiner.on(' ').join(cssClasses));
 
-    html = html.replace("{css-classes}", Joiner.on(' ').join(cssClasses));
-
-    Optional.ofNullable(getMessageCssClass(login)).ifPresent(cssClasses::add);
-
-    String text = htmlEscaper().escape(chatMessage.getMessage()).replace("\\", "\\\\");
-    text = convertUrlsToHyperlinks(text);
-    text = replaceChannelNamesWithHyperlinks(text);
-
-    Matcher matcher = mentionPattern.matcher(text);
-    if (matcher.find()) {
-      text = matcher.replaceAll("<span class='self'>" + matcher.group(1) + "</span>");
+    htmlBuilder.setLength(0);
+    if (chatTextFormatter.appendHtml(htmlBuilder, chatMessage.getMessage()) && !isRenderingHistory) {
       onMention(chatMessage);
     }
+    String text = htmlBuilder.toString();
 
-    return html
-        .replace("{css-classes}", Joiner.on(' ').join(cssClasses))
-        .replace("{inline-style}", getInlineStyle(login))
-        // Always replace text last in case the message contains one of the placeholders.
-        .replace("{text}", text);
-  }
+    values.put("inline-style", getInlineStyle(login));
+    // Placeholders are substituted in a single pass, so a message containing one of them is rendered as it is
+    values.put("text", text);
 
-  @VisibleForTesting
-  protected String replaceChannelNamesWithHyperlinks(String text) {
-    Matcher channelMatcher = CHANNEL_USER_PATTERN.matcher(text);
-    while (channelMatcher.find()) {
-      String channelName = channelMatcher.group(CHANNEL_NAME_GROUP_NAME);
-      text = text.replace(channelName, "<a href=\"javascript:void(0);\" onClick=\"java.openChannel('" + channelName + "')\">" + channelName + "</a>");
-    }
-    return text;
+    htmlBuilder.setLength(0);
+    template.render(htmlBuilder, values);
+    return htmlBuilder.toString();
   }
 
   protected void onMention(ChatMessage chatMessage) {
@@ -649,15 +783,20 @@ public abstract class AbstractChatTabController implements Controller<Tab> {
     return String.format("color: %s;", JavaFxUtil.toRgbCode(messageColor));
   }
 
-  protected String convertUrlsToHyperlinks(String text) {
-    JavaFxUtil.assertApplicationThread();
-    return (String) engine.executeScript("link('" + text.replace("'", "\\'") + "')");
+  private void insertIntoContainer(String html, String containerId) {
+    pendingHtml.add(containerId);
+    pendingHtml.add(html);
   }
 
-  private void insertIntoContainer(String html, String containerId) {
-    ((JSObject) engine.executeScript("document.getElementById('" + containerId + "')"))
-        .call("insertAdjacentHTML", "beforeend", html);
-    getMessagesWebView().requestLayout();
+  /**
+   * The object the chat container script calls to load older messages. Needs to be public to be callable from
+   * JavaScript.
+   */
+  public class ChatHistoryCallback {
+
+    public void loadOlderMessages() {
+      AbstractChatTabController.this.loadOlderMessages();
+    }
   }
 
   /**
@@ -1,9 +1,11 @@
 package com.faforever.client.chat;
 
 import com.faforever.client.audio.AudioService;
+import com.faforever.client.chat.ChatChannel.UsersChangeListener;
 import com.faforever.client.chat.event.ChatUserCategoryChangeEvent;
 import com.faforever.client.fx.JavaFxUtil;
 import com.faforever.client.fx.PlatformService;
+import com.faforever.client.fx.StringListCell;
 import com.faforever.client.fx.WebViewConfigurer;
 import com.faforever.client.i18n.I18n;
 import com.faforever.client.notification.NotificationService;
@@ -16,6 +18,7 @@ import com.faforever.client.reporting.ReportingService;
 import com.faforever.client.theme.UiService;
 import com.faforever.client.uploader.ImageUploadService;
 import com.faforever.client.user.UserService;
+import com.faforever.client.util.ConcurrentUtil;
 import com.faforever.client.util.TimeService;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
@@ -23,8 +26,6 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import javafx.beans.InvalidationListener;
 import javafx.beans.WeakInvalidationListener;
-import javafx.collections.FXCollections;
-import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.event.ActionEvent;
@@ -33,6 +34,7 @@ import javafx.geometry.Bounds;
 import javafx.scene.control.Button;
 import javafx.scene.control.Hyperlink;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.control.SplitPane;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TextField;
@@ -50,17 +52,18 @@ import javafx.stage.PopupWindow;
 import lombok.extern.slf4j.Slf4j;
 import org.fxmisc.flowless.VirtualFlow;
 import org.fxmisc.flowless.VirtualizedScrollPane;
-import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -80,31 +83,20 @@ public class ChannelTabController extends AbstractChatTabController {
   @VisibleForTesting
   static final String CSS_CLASS_MODERATOR = "moderator";
   private static final String USER_CSS_CLASS_FORMAT = "user-%s";
-  private static final Comparator<CategoryOrChatUserListItem> CHAT_USER_ITEM_COMPARATOR = (o1, o2) -> {
-    ChatChannelUser left = o1.getUser();
-    ChatChannelUser right = o2.getUser();
-
-    Assert.state(left != null, "Only users must be compared");
-    Assert.state(right != null, "Only users must be compared");
-
-    if (isSelf(left)) {
-      return 1;
-    }
-    if (isSelf(right)) {
-      return -1;
-    }
-    return right.getUsername().compareToIgnoreCase(left.getUsername());
-  };
+  /** Orders the user items within a category: the current user first, then all others by name. */
+  private static final Comparator<CategoryOrChatUserListItem> CHAT_USER_ITEM_COMPARATOR = Comparator
+      .comparing((CategoryOrChatUserListItem item) -> !isSelf(item.getUser()))
+      .thenComparing(item -> item.getUser().getUsername(), String.CASE_INSENSITIVE_ORDER);
   @VisibleForTesting
-  /** Maps a chat user category to a list of all user items that belong to it. */
-  final Map<ChatUserCategory, List<CategoryOrChatUserListItem>> categoriesToUserListItems;
-  /** Maps a chat user category to the list items that represent the respective category within the chat user list. */
-  private final Map<ChatUserCategory, CategoryOrChatUserListItem> categoriesToCategoryListItems;
+  /** Maps a chat user category to all user items that belong to it. */
+  final Map<ChatUserCategory, Set<CategoryOrChatUserListItem>> categoriesToUserListItems;
   /** Maps usernames to all chat user list items that belong to that user. */
   private final Map<String, List<CategoryOrChatUserListItem>> userNamesToListItems;
 
   private final FilteredList<CategoryOrChatUserListItem> filteredChatUserList;
 
+  /** Keeps the chat user (or category) items sorted; only to be accessed from the application thread. */
+  private final ChatUserListModel chatUserListModel;
   /** The list of chat user (or category) items that backs the chat user list view. */
   private final ObservableList<CategoryOrChatUserListItem> chatUserListItems;
 
@@ -127,8 +119,10 @@ public class ChannelTabController extends AbstractChatTabController {
   private ChatChannel chatChannel;
   private final InvalidationListener channelTopicListener = observable -> JavaFxUtil.runLater(this::updateChannelTopic);
   private Popup filterUserPopup;
+  private Popup historySearchPopup;
+  private ListView<ChatMessage> historySearchResultsListView;
   private UserFilterController userFilterController;
-  private MapChangeListener<String, ChatChannelUser> usersChangeListener;
+  private UsersChangeListener usersChangeListener;
 
   // TODO cut dependencies
   public ChannelTabController(UserService userService, ChatService chatService,
@@ -139,17 +133,17 @@ public class ChannelTabController extends AbstractChatTabController {
                               UiService uiService, EventBus eventBus,
                               WebViewConfigurer webViewConfigurer,
                               CountryFlagService countryFlagService, PlatformService platformService,
-                              ChatUserService chatUserService) {
+                              ChatUserService chatUserService, ChatHistoryService chatHistoryService) {
 
     super(webViewConfigurer, userService, chatService, preferencesService, playerService, audioService,
         timeService, i18n, imageUploadService, notificationService, reportingService, uiService,
-        eventBus, countryFlagService, chatUserService);
+        eventBus, countryFlagService, chatUserService, chatHistoryService);
     this.platformService = platformService;
 
     categoriesToUserListItems = new HashMap<>();
-    categoriesToCategoryListItems = new HashMap<>();
     userNamesToListItems = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-    chatUserListItems = FXCollections.observableArrayList();
+    chatUserListModel = new ChatUserListModel(CHAT_USER_ITEM_COMPARATOR);
+    chatUserListItems = chatUserListModel.getItems();
     filteredChatUserList = new FilteredList<>(chatUserListItems);
 
     autoCompletionHelper = new AutoCompletionHelper(
@@ -159,12 +153,7 @@ public class ChannelTabController extends AbstractChatTabController {
             .collect(Collectors.toList())
     );
 
-    List<CategoryOrChatUserListItem> categoryObjects = createCategoryTreeObjects();
-    categoryObjects.forEach(categoryItem -> {
-      categoriesToCategoryListItems.put(categoryItem.getCategory(), categoryItem);
-      categoriesToUserListItems.put(categoryItem.getCategory(), new ArrayList<>());
-    });
-    chatUserListItems.addAll(categoryObjects);
+    Arrays.stream(ChatUserCategory.values()).forEach(category -> categoriesToUserListItems.put(category, new HashSet<>()));
   }
 
   private static boolean isSelf(ChatChannelUser chatUser) {
@@ -180,20 +169,29 @@ public class ChannelTabController extends AbstractChatTabController {
     channelTabRoot.setId(channelName);
     channelTabRoot.setText(channelName);
 
-    usersChangeListener = change -> {
-      if (change.wasAdded()) {
-        onUserJoinedChannel(change.getValueAdded());
-      } else if (change.wasRemoved()) {
-        onUserLeft(change.getValueRemoved().getUsername());
+    usersChangeListener = new UsersChangeListener() {
+      @Override
+      public void onChanged(Change<? extends String, ? extends ChatChannelUser> change) {
+        if (change.wasAdded()) {
+          onUserJoinedChannel(change.getValueAdded());
+        } else if (change.wasRemoved()) {
+          onUserLeft(change.getValueRemoved().getUsername());
+        }
+        updateUserCount(change.getMap().size());
+      }
+
+      @Override
+      public void onUsersAdded(Collection<ChatChannelUser> users) {
+        onUsersJoinedChannel(users);
+        updateUserCount(chatChannel.getUsers().size());
       }
-      updateUserCount(change.getMap().size());
     };
     updateUserCount(chatChannel.getUsers().size());
 
     chatService.addUsersListener(channelName, usersChangeListener);
 
     // Maybe there already were some users; fetch them
-    chatChannel.getUsers().forEach(this::onUserJoinedChannel);
+    onUsersJoinedChannel(chatChannel.getUsers());
 
     channelTabRoot.setOnCloseRequest(event -> {
       chatService.leaveChannel(chatChannel.getName());
@@ -250,7 +248,7 @@ public class ChannelTabController extends AbstractChatTabController {
   public void initialize() {
     super.initialize();
 
-    userSearchTextField.textProperty().addListener((observable, oldValue, newValue) -> userFilterController.filterUsers());
+    userSearchTextField.textProperty().addListener((observable, oldValue, newValue) -> userFilterController.setUsernameFilter(newValue));
 
     channelTabScrollPaneVBox.setMinWidth(preferencesService.getPreferences().getChat().getChannelTabScrollPaneWidth());
     channelTabScrollPaneVBox.setPrefWidth(preferencesService.getPreferences().getChat().getChannelTabScrollPaneWidth());
@@ -283,19 +281,6 @@ public class ChannelTabController extends AbstractChatTabController {
     super.onClosed(event);
   }
 
-  @NotNull
-  private List<CategoryOrChatUserListItem> createCategoryTreeObjects() {
-    return Arrays.stream(ChatUserCategory.values())
-        .map(CategoryOrChatUserListItem::new)
-        .collect(Collectors.toList());
-  }
-
-  @VisibleForTesting
-  boolean isUsernameMatch(ChatChannelUser user) {
-    String lowerCaseSearchString = user.getUsername().toLowerCase(US);
-    return lowerCaseSearchString.contains(userSearchTextField.getText().toLowerCase(US));
-  }
-
   @Override
   public Tab getRoot() {
     return channelTabRoot;
@@ -408,12 +393,54 @@ public class ChannelTabController extends AbstractChatTabController {
     playerOptional.ifPresentOrElse(player -> associateChatUserWithPlayer(player, chatUser), () -> updateChatUserListItemsForCategories(chatUser));
   }
 
+  /**
+   * Like {@link #onUserJoinedChannel(ChatChannelUser)}, but prepares the list items of all users on the calling thread
+   * and then updates the chat user list and the users' CSS classes at once, rather than once per user.
+   */
+  private void onUsersJoinedChannel(Collection<ChatChannelUser> chatUsers) {
+    List<CategoryOrChatUserListItem> itemsToAdd = new ArrayList<>();
+    List<CategoryOrChatUserListItem> itemsToRemove = new ArrayList<>();
+    List<ChatChannelUser> usersWithPlayer = new ArrayList<>();
+    for (ChatChannelUser chatUser : chatUsers) {
+      playerService.getPlayerForUsername(chatUser.getUsername()).ifPresent(player -> {
+        chatUserService.associatePlayerToChatUser(chatUser, player);
+        usersWithPlayer.add(chatUser);
+      });
+      collectChatUserListItemChanges(chatUser, itemsToAdd, itemsToRemove);
+    }
+
+    JavaFxUtil.runLater(() -> {
+      usersWithPlayer.forEach(this::applyCssClass);
+      chatUserListModel.removeAll(itemsToRemove);
+      chatUserListModel.addAll(itemsToAdd);
+    });
+  }
+
   /**
    * Adds and removes chat user items from the chat user list depending on the user's categories. For instance, if the
    * user is a moderator, he'll be added to the moderator category (if missing) and if he's no longer a friend, he will
    * be removed from the friends category.
    */
   private void updateChatUserListItemsForCategories(ChatChannelUser chatUser) {
+    List<CategoryOrChatUserListItem> itemsToAdd = new ArrayList<>();
+    List<CategoryOrChatUserListItem> itemsToRemove = new ArrayList<>();
+    collectChatUserListItemChanges(chatUser, itemsToAdd, itemsToRemove);
+
+    if (itemsToRemove.isEmpty() && itemsToAdd.isEmpty()) {
+      return;
+    }
+    JavaFxUtil.runLater(() -> {
+      chatUserListModel.removeAll(itemsToRemove);
+      itemsToAdd.forEach(chatUserListModel::add);
+    });
+  }
+
+  /**
+   * Updates the category bookkeeping of the specified user and collects the list items that need to be added to and
+   * removed from the chat user list.
+   */
+  private void collectChatUserListItemChanges(ChatChannelUser chatUser, List<CategoryOrChatUserListItem> itemsToAdd,
+                                              List<CategoryOrChatUserListItem> itemsToRemove) {
     List<CategoryOrChatUserListItem> userListItems;
     synchronized (userNamesToListItems) {
       userNamesToListItems.computeIfAbsent(chatUser.getUsername(), s -> new ArrayList<>());
@@ -422,59 +449,43 @@ public class ChannelTabController extends AbstractChatTabController {
     Set<ChatUserCategory> chatUserCategorySet = chatUser.getChatUserCategories();
     Arrays.stream(ChatUserCategory.values())
         .forEach(category -> {
-          List<CategoryOrChatUserListItem> categoryUserList = categoriesToUserListItems.get(category);
+          Set<CategoryOrChatUserListItem> categoryUserList = categoriesToUserListItems.get(category);
           if (chatUserCategorySet.contains(category) && userListItems.stream().noneMatch(categoryUserList::contains)) {
             CategoryOrChatUserListItem userItem = new CategoryOrChatUserListItem(chatUser, category);
             userListItems.add(userItem);
             categoryUserList.add(userItem);
-            addToTreeItemSorted(userItem);
+            itemsToAdd.add(userItem);
           } else if (!chatUserCategorySet.contains(category) && userListItems.stream().anyMatch(categoryUserList::contains)) {
-            List<CategoryOrChatUserListItem> itemsToRemove = userListItems.stream().filter(categoryUserList::contains).collect(Collectors.toList());
-            userListItems.removeAll(itemsToRemove);
-            categoryUserList.removeAll(itemsToRemove);
-            JavaFxUtil.runLater(() -> chatUserListItems.removeAll(itemsToRemove));
+            List<CategoryOrChatUserListItem> categoryItemsToRemove = userListItems.stream().filter(categoryUserList::contains).collect(Collectors.toList());
+            userListItems.removeAll(categoryItemsToRemove);
+            categoryUserList.removeAll(categoryItemsToRemove);
+            itemsToRemove.addAll(categoryItemsToRemove);
           }
         });
   }
 
-  private void addToTreeItemSorted(CategoryOrChatUserListItem child) {
-    ChatUserCategory category = child.getCategory();
-    CategoryOrChatUserListItem parent = categoriesToCategoryListItems.get(category);
-    JavaFxUtil.runLater(() -> {
-      synchronized (chatUserListItems) {
-        for (int index = chatUserListItems.indexOf(parent) + 1; index < chatUserListItems.size(); index++) {
-          CategoryOrChatUserListItem otherItem = chatUserListItems.get(index);
-
-          if (otherItem.getCategory() != category || CHAT_USER_ITEM_COMPARATOR.compare(child, otherItem) > 0) {
-            chatUserListItems.add(index, child);
-            return;
-          }
-        }
-        chatUserListItems.add(child);
-      }
-    });
+  private void updateCssClass(ChatChannelUser chatUser) {
+    JavaFxUtil.runLater(() -> applyCssClass(chatUser));
   }
 
-  private void updateCssClass(ChatChannelUser chatUser) {
-    JavaFxUtil.runLater(() -> {
-      if (chatUser.getPlayer().isPresent()) {
-        removeUserMessageClass(chatUser, CSS_CLASS_CHAT_ONLY);
-      } else {
-        addUserMessageClass(chatUser, CSS_CLASS_CHAT_ONLY);
-      }
-      if (chatUser.isModerator()) {
-        addUserMessageClass(chatUser, CSS_CLASS_MODERATOR);
-      } else {
-        removeUserMessageClass(chatUser, CSS_CLASS_MODERATOR);
-      }
-    });
+  private void applyCssClass(ChatChannelUser chatUser) {
+    if (chatUser.getPlayer().isPresent()) {
+      removeUserMessageClass(chatUser, CSS_CLASS_CHAT_ONLY);
+    } else {
+      addUserMessageClass(chatUser, CSS_CLASS_CHAT_ONLY);
+    }
+    if (chatUser.isModerator()) {
+      addUserMessageClass(chatUser, CSS_CLASS_MODERATOR);
+    } else {
+      removeUserMessageClass(chatUser, CSS_CLASS_MODERATOR);
+    }
   }
 
   private void onUserLeft(String username) {
     List<CategoryOrChatUserListItem> listItemsToBeRemoved = userNamesToListItems.remove(username);
 
     if (listItemsToBeRemoved != null) {
-      JavaFxUtil.runLater(() -> chatUserListItems.removeAll(listItemsToBeRemoved));
+      JavaFxUtil.runLater(() -> chatUserListModel.removeAll(listItemsToBeRemoved));
       Arrays.stream(ChatUserCategory.values())
           .filter(categoriesToUserListItems::containsKey)
           .map(categoriesToUserListItems::get)
@@ -504,6 +515,47 @@ public class ChannelTabController extends AbstractChatTabController {
   public void onSearchFieldClose() {
     searchField.setVisible(false);
     searchField.clear();
+    if (historySearchPopup != null) {
+      historySearchPopup.hide();
+    }
+  }
+
+  /**
+   * Searches the chat history of all channels and private chats for the text of the search field, which may contain
+   * criteria like {@code from:username}, see {@link ChatHistoryQuery#parse(String, ZoneId)}.
+   */
+  public void onSearchHistory() {
+    String search = searchField.getText();
+    if (search.isBlank()) {
+      return;
+    }
+    chatHistoryService.search(ChatHistoryQuery.parse(search, ZoneId.systemDefault()))
+        .thenAccept(messages -> JavaFxUtil.runLater(() -> showHistorySearchResults(messages)))
+        .exceptionally(throwable -> {
+          throwable = ConcurrentUtil.unwrapIfCompletionException(throwable);
+          log.warn("Chat history could not be searched for: {}", search, throwable);
+          notificationService.addImmediateErrorNotification(throwable, "chat.historySearch.failed");
+          return null;
+        });
+  }
+
+  private void showHistorySearchResults(List<ChatMessage> messages) {
+    if (historySearchPopup == null) {
+      historySearchResultsListView = new ListView<>();
+      historySearchResultsListView.setPrefWidth(600);
+      historySearchResultsListView.setPlaceholder(new Label(i18n.get("chat.historySearch.noResults")));
+      historySearchResultsListView.setCellFactory(listView -> new StringListCell<>(message -> i18n.get("chat.historySearch.result",
+          timeService.asDateTime(message.getTime()), message.getSource(), message.getUsername(), message.getMessage())));
+
+      historySearchPopup = new Popup();
+      historySearchPopup.setAutoHide(true);
+      historySearchPopup.setAnchorLocation(PopupWindow.AnchorLocation.CONTENT_TOP_RIGHT);
+      historySearchPopup.getContent().setAll(historySearchResultsListView);
+    }
+    historySearchResultsListView.getItems().setAll(messages);
+
+    Bounds screenBounds = searchField.localToScreen(searchField.getBoundsInLocal());
+    historySearchPopup.show(searchField.getScene().getWindow(), screenBounds.getMaxX(), screenBounds.getMaxY());
   }
 
   private void addSearchFieldListener() {
@@ -573,10 +625,6 @@ public class ChannelTabController extends AbstractChatTabController {
 
   @VisibleForTesting
   List<CategoryOrChatUserListItem> getChatUserItemsByCategory(ChatUserCategory category) {
-    CategoryOrChatUserListItem categoryItem = categoriesToCategoryListItems.get(category);
-    if (categoryItem == null) {
-      return Collections.emptyList();
-    }
     return filteredChatUserList.stream().filter(item -> item.getUser() != null && item.getCategory() == category).collect(Collectors.toList());
   }
 
@@ -6,11 +6,21 @@ import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableMap;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Value
 public class ChatChannel {
@@ -19,6 +29,22 @@ public class ChatChannel {
   StringProperty topic;
   String name;
 
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  List<UsersChangeListener> bulkUsersListeners = new CopyOnWriteArrayList<>();
+  /** Maps the listeners of bulk-aware listeners to the listeners actually registered on {@link #users}. */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Map<MapChangeListener<String, ChatChannelUser>, MapChangeListener<String, ChatChannelUser>> wrappedUsersListeners = new IdentityHashMap<>();
+  /** Whether {@link #addUsers(Collection)} is currently putting users; only accessed while holding the users' lock. */
+  @NonFinal
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  boolean addingUsers;
+
   public ChatChannel(String name) {
     this.name = name;
     users = FXCollections.synchronizedObservableMap(FXCollections.observableHashMap());
@@ -41,8 +67,30 @@ public class ChatChannel {
     return users.remove(username);
   }
 
-  public void addUsers(List<ChatChannelUser> users) {
-    users.forEach(this::addUser);
+  /**
+   * Adds all specified users at once. Users that are already in this channel are skipped. Plain users listeners are
+   * notified about each added user, while {@link UsersChangeListener}s are notified once with all of them.
+   */
+  public void addUsers(Collection<ChatChannelUser> users) {
+    Map<String, ChatChannelUser> usersToAdd = new HashMap<>(users.size() * 2);
+    synchronized (this.users) {
+      users.forEach(user -> {
+        if (this.users.get(user.getUsername()) != user) {
+          usersToAdd.put(user.getUsername(), user);
+        }
+      });
+      if (usersToAdd.isEmpty()) {
+        return;
+      }
+      addingUsers = true;
+      try {
+        this.users.putAll(usersToAdd);
+      } finally {
+        addingUsers = false;
+      }
+    }
+    Collection<ChatChannelUser> addedUsers = Collections.unmodifiableCollection(usersToAdd.values());
+    bulkUsersListeners.forEach(listener -> listener.onUsersAdded(addedUsers));
   }
 
   public void addUser(ChatChannelUser user) {
@@ -54,11 +102,28 @@ public class ChatChannel {
   }
 
   public void addUsersListeners(MapChangeListener<String, ChatChannelUser> listener) {
-    JavaFxUtil.addListener(users, listener);
+    if (!(listener instanceof UsersChangeListener)) {
+      JavaFxUtil.addListener(users, listener);
+      return;
+    }
+    MapChangeListener<String, ChatChannelUser> wrappedListener = change -> {
+      if (!addingUsers) {
+        listener.onChanged(change);
+      }
+    };
+    synchronized (users) {
+      wrappedUsersListeners.put(listener, wrappedListener);
+      bulkUsersListeners.add((UsersChangeListener) listener);
+      users.addListener(wrappedListener);
+    }
   }
 
   public void removeUserListener(MapChangeListener<String, ChatChannelUser> listener) {
-    users.removeListener(listener);
+    synchronized (users) {
+      MapChangeListener<String, ChatChannelUser> wrappedListener = wrappedUsersListeners.remove(listener);
+      bulkUsersListeners.remove(listener);
+      users.removeListener(wrappedListener != null ? wrappedListener : listener);
+    }
   }
 
   /**
@@ -75,4 +140,13 @@ public class ChatChannel {
   public String getName() {
     return name;
   }
+
+  /**
+   * A users listener that is notified about all users added by {@link #addUsers(Collection)} with a single call rather
+   * than once per user, e.g. when a channel's whole user list is received after joining it.
+   */
+  public interface UsersChangeListener extends MapChangeListener<String, ChatChannelUser> {
+
+    void onUsersAdded(Collection<ChatChannelUser> users);
+  }
 }
@@ -26,26 +26,42 @@ import java.util.Set;
 /**
  * Represents a chat user within a channel. If a user is in multiple channels, one instance per channel needs to be
  * created since e.g. the {@code isModerator} flag is specific to the channel.
+ * <p>
+ * Most users of a big channel are never displayed, so the properties that only matter for displaying a user are
+ * created when their property accessor is called for the first time. Until then, their values are kept in plain
+ * fields. The properties bound to the user's player are always created.
  */
 @ToString
 public class ChatChannelUser {
 
-  private final StringProperty username;
-  private final BooleanProperty moderator;
-  private final ObjectProperty<Color> color;
-  private final ObjectProperty<Player> player;
-  private final ObjectProperty<Instant> lastActive;
+  private final String usernameValue;
   private final ObjectProperty<PlayerStatus> gameStatus;
   private final ObjectProperty<SocialStatus> socialStatus;
-  private final ObjectProperty<Image> avatar;
-  private final ObjectProperty<Clan> clan;
   private final StringProperty clanTag;
-  private final ObjectProperty<Image> countryFlag;
-  private final StringProperty countryName;
-  private final ObjectProperty<Image> mapImage;
-  private final ObjectProperty<Image> gameStatusImage;
-  private final StringProperty statusTooltipText;
   private final BooleanProperty displayed;
+  private StringProperty username;
+  private boolean moderatorValue;
+  private BooleanProperty moderator;
+  private Color colorValue;
+  private ObjectProperty<Color> color;
+  private Player playerValue;
+  private ObjectProperty<Player> player;
+  private Instant lastActiveValue;
+  private ObjectProperty<Instant> lastActive;
+  private Image avatarValue;
+  private ObjectProperty<Image> avatar;
+  private Clan clanValue;
+  private ObjectProperty<Clan> clan;
+  private Image countryFlagValue;
+  private ObjectProperty<Image> countryFlag;
+  private String countryNameValue;
+  private StringProperty countryName;
+  private Image mapImageValue;
+  private ObjectProperty<Image> mapImage;
+  private Image gameStatusImageValue;
+  private ObjectProperty<Image> gameStatusImage;
+  private String statusTooltipTextValue;
+  private StringProperty statusTooltipText;
   private ChangeListener<SocialStatus> socialStatusChangeListener;
   private ChangeListener<PlayerStatus> gameStatusChangeListener;
   private ChangeListener<String> clanTagChangeListener;
@@ -54,32 +70,27 @@ public class ChatChannelUser {
   private ChangeListener<Boolean> displayedChangeListener;
 
   ChatChannelUser(String username, boolean moderator) {
-    this.username = new SimpleStringProperty(username);
-    this.moderator = new SimpleBooleanProperty(moderator);
-    this.color = new SimpleObjectProperty<>();
-    this.player = new SimpleObjectProperty<>();
-    this.lastActive = new SimpleObjectProperty<>();
+    this.usernameValue = username;
+    this.moderatorValue = moderator;
     this.gameStatus = new SimpleObjectProperty<>();
     this.socialStatus = new SimpleObjectProperty<>();
-    this.avatar = new SimpleObjectProperty<>();
-    this.clan = new SimpleObjectProperty<>();
     this.clanTag = new SimpleStringProperty();
-    this.countryFlag = new SimpleObjectProperty<>();
-    this.countryName = new SimpleStringProperty();
-    this.mapImage = new SimpleObjectProperty<>();
-    this.gameStatusImage = new SimpleObjectProperty<>();
-    this.statusTooltipText = new SimpleStringProperty();
     this.displayed = new SimpleBooleanProperty(false);
   }
 
   public Optional<Player> getPlayer() {
-    return Optional.ofNullable(player.get());
+    return Optional.ofNullable(getPlayerValue());
+  }
+
+  private Player getPlayerValue() {
+    return player == null ? playerValue : player.get();
   }
 
   public void setPlayer(Player player) {
-    if (!Objects.equals(player, this.player.get())) {
-      if (this.player.get() != null) {
-        this.player.get().getChatChannelUsers().remove(this);
+    Player currentPlayer = getPlayerValue();
+    if (!Objects.equals(player, currentPlayer)) {
+      if (currentPlayer != null) {
+        currentPlayer.getChatChannelUsers().remove(this);
         socialStatus.unbind();
         gameStatus.unbind();
         clanTag.unbind();
@@ -95,60 +106,91 @@ public class ChatChannelUser {
           return null;
         }, player.clanProperty()));
       }
-      this.player.set(player);
+      if (this.player == null) {
+        playerValue = player;
+      } else {
+        this.player.set(player);
+      }
     }
   }
 
   public ObjectProperty<Player> playerProperty() {
+    if (player == null) {
+      player = new SimpleObjectProperty<>(playerValue);
+    }
     return player;
   }
 
   public Optional<Color> getColor() {
-    return Optional.ofNullable(color.get());
+    return Optional.ofNullable(color == null ? colorValue : color.get());
   }
 
   public void setColor(Color color) {
-    this.color.set(color);
+    if (this.color == null) {
+      colorValue = color;
+    } else {
+      this.color.set(color);
+    }
   }
 
   public ObjectProperty<Color> colorProperty() {
+    if (color == null) {
+      color = new SimpleObjectProperty<>(colorValue);
+    }
     return color;
   }
 
   public boolean isModerator() {
-    return moderator.get();
+    return moderator == null ? moderatorValue : moderator.get();
   }
 
   public void setModerator(boolean moderator) {
-    this.moderator.set(moderator);
+    if (this.moderator == null) {
+      moderatorValue = moderator;
+    } else {
+      this.moderator.set(moderator);
+    }
+  }
+
+  public BooleanProperty moderatorProperty() {
+    if (moderator == null) {
+      moderator = new SimpleBooleanProperty(moderatorValue);
+    }
+    return moderator;
   }
 
   public String getUsername() {
-    return username.get();
+    return usernameValue;
   }
 
   public StringProperty usernameProperty() {
+    if (username == null) {
+      username = new SimpleStringProperty(usernameValue);
+    }
     return username;
   }
 
   @Override
   public int hashCode() {
-    return username.get().hashCode();
-  }
-
-  public BooleanProperty moderatorProperty() {
-    return moderator;
+    return usernameValue.hashCode();
   }
 
   public Instant getLastActive() {
-    return lastActive.get();
+    return lastActive == null ? lastActiveValue : lastActive.get();
   }
 
   public void setLastActive(Instant lastActive) {
-    this.lastActive.set(lastActive);
+    if (this.lastActive == null) {
+      lastActiveValue = lastActive;
+    } else {
+      this.lastActive.set(lastActive);
+    }
   }
 
   public ObjectProperty<Instant> lastActiveProperty() {
+    if (lastActive == null) {
+      lastActive = new SimpleObjectProperty<>(lastActiveValue);
+    }
     return lastActive;
   }
 
@@ -177,26 +219,40 @@ public class ChatChannelUser {
   }
 
   public Optional<Image> getAvatar() {
-    return Optional.ofNullable(avatar.get());
+    return Optional.ofNullable(avatar == null ? avatarValue : avatar.get());
   }
 
   public void setAvatar(Image avatar) {
-    this.avatar.set(avatar);
+    if (this.avatar == null) {
+      avatarValue = avatar;
+    } else {
+      this.avatar.set(avatar);
+    }
   }
 
   public ObjectProperty<Image> avatarProperty() {
+    if (avatar == null) {
+      avatar = new SimpleObjectProperty<>(avatarValue);
+    }
     return avatar;
   }
 
   public Optional<Clan> getClan() {
-    return Optional.ofNullable(clan.get());
+    return Optional.ofNullable(clan == null ? clanValue : clan.get());
   }
 
   public void setClan(Clan clan) {
-    this.clan.set(clan);
+    if (this.clan == null) {
+      clanValue = clan;
+    } else {
+      this.clan.set(clan);
+    }
   }
 
   public ObjectProperty<Clan> clanProperty() {
+    if (clan == null) {
+      clan = new SimpleObjectProperty<>(clanValue);
+    }
     return clan;
   }
 
@@ -213,62 +269,97 @@ public class ChatChannelUser {
   }
 
   public Optional<Image> getCountryFlag() {
-    return Optional.ofNullable(countryFlag.get());
+    return Optional.ofNullable(countryFlag == null ? countryFlagValue : countryFlag.get());
   }
 
   public void setCountryFlag(Image countryFlag) {
-    this.countryFlag.set(countryFlag);
+    if (this.countryFlag == null) {
+      countryFlagValue = countryFlag;
+    } else {
+      this.countryFlag.set(countryFlag);
+    }
   }
 
   public ObjectProperty<Image> countryFlagProperty() {
+    if (countryFlag == null) {
+      countryFlag = new SimpleObjectProperty<>(countryFlagValue);
+    }
     return countryFlag;
   }
 
   public Optional<String> getCountryName() {
-    return Optional.ofNullable(countryName.get());
+    return Optional.ofNullable(countryName == null ? countryNameValue : countryName.get());
   }
 
   public void setCountryName(String countryName) {
-    this.countryName.set(countryName);
+    if (this.countryName == null) {
+      countryNameValue = countryName;
+    } else {
+      this.countryName.set(countryName);
+    }
   }
 
   public StringProperty countryNameProperty() {
+    if (countryName == null) {
+      countryName = new SimpleStringProperty(countryNameValue);
+    }
     return countryName;
   }
 
   public Optional<Image> getMapImage() {
-    return Optional.ofNullable(mapImage.get());
+    return Optional.ofNullable(mapImage == null ? mapImageValue : mapImage.get());
   }
 
   public void setMapImage(Image mapImage) {
-    this.mapImage.set(mapImage);
+    if (this.mapImage == null) {
+      mapImageValue = mapImage;
+    } else {
+      this.mapImage.set(mapImage);
+    }
   }
 
   public ObjectProperty<Image> mapImageProperty() {
+    if (mapImage == null) {
+      mapImage = new SimpleObjectProperty<>(mapImageValue);
+    }
     return mapImage;
   }
 
   public Optional<Image> getGameStatusImage() {
-    return Optional.ofNullable(gameStatusImage.get());
+    return Optional.ofNullable(gameStatusImage == null ? gameStatusImageValue : gameStatusImage.get());
   }
 
   public void setGameStatusImage(Image gameStatusImage) {
-    this.gameStatusImage.set(gameStatusImage);
+    if (this.gameStatusImage == null) {
+      gameStatusImageValue = gameStatusImage;
+    } else {
+      this.gameStatusImage.set(gameStatusImage);
+    }
   }
 
   public ObjectProperty<Image> gameStatusImageProperty() {
+    if (gameStatusImage == null) {
+      gameStatusImage = new SimpleObjectProperty<>(gameStatusImageValue);
+    }
     return gameStatusImage;
   }
 
   public Optional<String> getStatusTooltipText() {
-    return Optional.ofNullable(statusTooltipText.get());
+    return Optional.ofNullable(statusTooltipText == null ? statusTooltipTextValue : statusTooltipText.get());
   }
 
-  public void setStatusTooltipText(String value) {
-    this.statusTooltipText.set(value);
+  public void setStatusTooltipText(String statusTooltipText) {
+    if (this.statusTooltipText == null) {
+      statusTooltipTextValue = statusTooltipText;
+    } else {
+      this.statusTooltipText.set(statusTooltipText);
+    }
   }
 
   public StringProperty statusTooltipTextProperty() {
+    if (statusTooltipText == null) {
+      statusTooltipText = new SimpleStringProperty(statusTooltipTextValue);
+    }
     return statusTooltipText;
   }
 
@@ -285,7 +376,7 @@ public class ChatChannelUser {
   }
 
   public void setDisplayedChangeListener(ChangeListener<Boolean> listener) {
-    if (player.get() != null) {
+    if (getPlayerValue() != null) {
       if (displayedChangeListener != null) {
         JavaFxUtil.removeListener(displayed, displayedChangeListener);
       }
@@ -343,13 +434,13 @@ public class ChatChannelUser {
   }
 
   public void setCountryChangeListener(ChangeListener<String> listener) {
-    if (player.get() != null) {
+    if (getPlayerValue() != null) {
       if (countryInvalidationListener != null) {
-        JavaFxUtil.removeListener(player.get().countryProperty(), countryInvalidationListener);
+        JavaFxUtil.removeListener(getPlayerValue().countryProperty(), countryInvalidationListener);
       }
       countryInvalidationListener = listener;
       if (countryInvalidationListener != null) {
-        JavaFxUtil.addListener(player.get().countryProperty(), countryInvalidationListener);
+        JavaFxUtil.addListener(getPlayerValue().countryProperty(), countryInvalidationListener);
       }
     }
   }
@@ -359,24 +450,24 @@ public class ChatChannelUser {
   }
 
   public void setAvatarChangeListener(ChangeListener<String> listener) {
-    if (player.get() != null) {
+    if (getPlayerValue() != null) {
       if (avatarChangeListener != null) {
-        JavaFxUtil.removeListener(player.get().avatarUrlProperty(), avatarChangeListener);
+        JavaFxUtil.removeListener(getPlayerValue().avatarUrlProperty(), avatarChangeListener);
       }
       avatarChangeListener = listener;
       if (avatarChangeListener != null) {
-        JavaFxUtil.addListener(player.get().avatarUrlProperty(), avatarChangeListener);
+        JavaFxUtil.addListener(getPlayerValue().avatarUrlProperty(), avatarChangeListener);
       }
     }
   }
 
   public void removeListeners() {
     if (avatarChangeListener != null) {
-      JavaFxUtil.removeListener(player.get().avatarUrlProperty(), avatarChangeListener);
+      JavaFxUtil.removeListener(getPlayerValue().avatarUrlProperty(), avatarChangeListener);
       avatarChangeListener = null;
     }
     if (countryInvalidationListener != null) {
-      JavaFxUtil.removeListener(player.get().countryProperty(), countryInvalidationListener);
+      JavaFxUtil.removeListener(getPlayerValue().countryProperty(), countryInvalidationListener);
       countryInvalidationListener = null;
     }
     if (clanTagChangeListener != null) {
@@ -401,7 +492,7 @@ public class ChatChannelUser {
   public boolean equals(Object obj) {
     return obj != null
         && obj.getClass() == this.getClass()
-        && username.get().equalsIgnoreCase(((ChatChannelUser) obj).username.get());
+        && usernameValue.equalsIgnoreCase(((ChatChannelUser) obj).usernameValue);
   }
 
   Set<ChatUserCategory> getChatUserCategories() {
@@ -418,7 +509,7 @@ public class ChatChannelUser {
       userCategories.add(category);
     }
 
-    if (moderator.get()) {
+    if (isModerator()) {
       userCategories.add(ChatUserCategory.MODERATOR);
     }
 
@@ -0,0 +1,208 @@
+package com.faforever.client.chat;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Locale.US;
+
+/**
+ * An in-memory inverted index over the chat history. For each log, it maps every word and every username to the
+ * {@link PostingList} of the messages containing it, and keeps the time of each message. A search only decodes the
+ * posting lists of the words it searches for and intersects them, starting with the shortest, instead of reading any
+ * messages. Messages are added in the order of their log, so that the index can be built incrementally, optionally
+ * starting at a later message to leave out the oldest ones. Thread-safe.
+ */
+class ChatHistoryIndex {
+
+  /** Longer words are not indexed, since nobody searches for them. */
+  private static final int MAX_WORD_LENGTH = 64;
+
+  /** Maps lower case sources to their index. */
+  private final Map<String, LogIndex> logIndexes = new HashMap<>();
+
+  /**
+   * Returns the index of the next message of the specified source to be added.
+   */
+  synchronized int getNextIndex(String source) {
+    LogIndex logIndex = logIndexes.get(source.toLowerCase(US));
+    return logIndex != null ? logIndex.start + logIndex.size : 0;
+  }
+
+  /**
+   * Makes the index of the specified source start at the message with the specified index, so that older messages are
+   * never added. Has no effect once a message of the source has been added.
+   */
+  synchronized void startAt(String source, int index) {
+    LogIndex logIndex = logIndexes.computeIfAbsent(source.toLowerCase(US), LogIndex::new);
+    if (logIndex.size == 0) {
+      logIndex.start = index;
+    }
+  }
+
+  /**
+   * Adds the message with the specified index in the log of the specified source. Messages that aren't the next one of
+   * their log are ignored, since they are added when the index catches up with the log.
+   */
+  synchronized void add(String source, int index, ChatMessage message) {
+    LogIndex logIndex = logIndexes.computeIfAbsent(source.toLowerCase(US), LogIndex::new);
+    if (index != logIndex.start + logIndex.size) {
+      return;
+    }
+    for (String word : tokenize(message.getMessage())) {
+      logIndex.words.computeIfAbsent(word, key -> new PostingList()).add(index);
+    }
+    if (message.getUsername() != null) {
+      logIndex.usernames.computeIfAbsent(message.getUsername().toLowerCase(US), key -> new PostingList()).add(index);
+    }
+    if (logIndex.size == logIndex.times.length) {
+      logIndex.times = Arrays.copyOf(logIndex.times, logIndex.size * 2);
+    }
+    logIndex.times[logIndex.size++] = message.getTime().toEpochMilli();
+  }
+
+  /**
+   * Returns the messages matching the specified query, newest first.
+   */
+  synchronized List<Hit> search(ChatHistoryQuery query) {
+    List<String> words = query.getText() != null ? tokenize(query.getText()) : List.of();
+    List<Hit> hits = new ArrayList<>();
+    for (LogIndex logIndex : logIndexes.values()) {
+      if (query.getSource() == null || logIndex.source.equals(query.getSource().toLowerCase(US))) {
+        logIndex.search(words, query, hits);
+      }
+    }
+    hits.sort(Comparator.comparingLong(Hit::getTime).reversed());
+    return hits.size() > query.getLimit() ? new ArrayList<>(hits.subList(0, query.getLimit())) : hits;
+  }
+
+  /**
+   * Splits the specified text into lower case words of letters and digits.
+   */
+  static List<String> tokenize(String text) {
+    List<String> words = new ArrayList<>();
+    int start = -1;
+    int index = 0;
+    while (index < text.length()) {
+      int codePoint = text.codePointAt(index);
+      if (Character.isLetterOrDigit(codePoint)) {
+        if (start < 0) {
+          start = index;
+        }
+      } else if (start >= 0) {
+        addWord(words, text, start, index);
+        start = -1;
+      }
+      index += Character.charCount(codePoint);
+    }
+    if (start >= 0) {
+      addWord(words, text, start, text.length());
+    }
+    return words;
+  }
+
+  private static void addWord(List<String> words, String text, int start, int end) {
+    if (end - start <= MAX_WORD_LENGTH) {
+      words.add(text.substring(start, end).toLowerCase(US));
+    }
+  }
+
+  /**
+   * A message of the chat history, identified by the source of its log and its index in there.
+   */
+  @Value
+  static class Hit {
+    String source;
+    int index;
+    long time;
+  }
+
+  private static class LogIndex {
+    private final String source;
+    private final Map<String, PostingList> words = new HashMap<>();
+    private final Map<String, PostingList> usernames = new HashMap<>();
+    /** The index of the first message that has been added. */
+    private int start;
+    /**
+     * The time of each message in epoch milliseconds, starting with the one at {@link #start}; only the first {@link
+     * #size} elements are used.
+     */
+    private long[] times = new long[64];
+    private int size;
+
+    private LogIndex(String source) {
+      this.source = source;
+    }
+
+    private void search(List<String> queryWords, ChatHistoryQuery query, List<Hit> hits) {
+      List<PostingList> postingLists = new ArrayList<>();
+      for (String word : queryWords) {
+        PostingList postingList = words.get(word);
+        if (postingList == null) {
+          return;
+        }
+        postingLists.add(postingList);
+      }
+      if (query.getUsername() != null) {
+        PostingList postingList = usernames.get(query.getUsername().toLowerCase(US));
+        if (postingList == null) {
+          return;
+        }
+        postingLists.add(postingList);
+      }
+
+      int[] candidates;
+      if (postingLists.isEmpty()) {
+        candidates = null;
+      } else {
+        postingLists.sort(Comparator.comparingInt(PostingList::size));
+        candidates = postingLists.get(0).toArray();
+        for (int i = 1; i < postingLists.size() && candidates.length > 0; i++) {
+          candidates = intersect(candidates, postingLists.get(i).toArray());
+        }
+      }
+
+      long from = query.getFrom() != null ? query.getFrom().toEpochMilli() : Long.MIN_VALUE;
+      long to = query.getTo() != null ? query.getTo().toEpochMilli() : Long.MAX_VALUE;
+      int count = candidates != null ? candidates.length : size;
+      int found = 0;
+      // Newest first, so that at most the limit of messages need to be checked if there is no time range
+      for (int i = count - 1; i >= 0 && found < query.getLimit(); i--) {
+        int index = candidates != null ? candidates[i] : start + i;
+        long time = times[index - start];
+        if (time >= from && time < to) {
+          hits.add(new Hit(source, index, time));
+          found++;
+        }
+      }
+    }
+
+    /**
+     * Intersects two sorted arrays by searching the elements of the smaller one in the larger one, which only takes a
+     * few steps per element if the larger one is much larger.
+     */
+    private static int[] intersect(int[] smaller, int[] larger) {
+      int[] result = new int[smaller.length];
+      int count = 0;
+      int low = 0;
+      for (int value : smaller) {
+        int position = Arrays.binarySearch(larger, low, larger.length, value);
+        if (position >= 0) {
+          result[count++] = value;
+          low = position + 1;
+        } else {
+          low = -position - 1;
+        }
+        if (low >= larger.length) {
+          break;
+        }
+      }
+      return Arrays.copyOf(result, count);
+    }
+  }
+}
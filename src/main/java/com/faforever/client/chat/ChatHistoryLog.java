@@ -0,0 +1,244 @@
+package com.faforever.client.chat;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An append-only file of the chat messages of a single channel or private chat. Each record is prefixed with its
+ * length, and the offset of each record is kept in a sidecar file next to the log, so that any range of messages is
+ * read with a single positional read, without reading the rest of the log. Opening a log only checks the last indexed
+ * record and indexes the records after it, which there are only if the client was killed between writing a record and
+ * its offset, or if the log was written by a version without offset files. A record that was only partially written is
+ * cut off when the log is opened. Thread-safe.
+ */
+class ChatHistoryLog implements Closeable {
+
+  /** Appended to the log's file name to get the name of its offset file. */
+  static final String OFFSETS_FILE_SUFFIX = ".idx";
+  private static final int LENGTH_PREFIX_SIZE = Integer.BYTES;
+  private static final int OFFSET_SIZE = Long.BYTES;
+
+  private final FileChannel channel;
+  private final FileChannel offsetsChannel;
+  private final ByteBuffer offsetBuffer = ByteBuffer.allocate(OFFSET_SIZE);
+  private int size;
+  private long end;
+
+  private ChatHistoryLog(FileChannel channel, FileChannel offsetsChannel, int size, long end) {
+    this.channel = channel;
+    this.offsetsChannel = offsetsChannel;
+    this.size = size;
+    this.end = end;
+  }
+
+  static ChatHistoryLog open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE);
+    FileChannel offsetsChannel = null;
+    try {
+      offsetsChannel = FileChannel.open(file.resolveSibling(file.getFileName() + OFFSETS_FILE_SUFFIX), CREATE, READ, WRITE);
+      ChatHistoryLog historyLog = new ChatHistoryLog(channel, offsetsChannel, 0, 0);
+      historyLog.recover();
+      return historyLog;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      if (offsetsChannel != null) {
+        offsetsChannel.close();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Determines the size and end of the log from its offset file, indexes the complete records past the last indexed one
+   * and cuts off everything after them.
+   */
+  private void recover() throws IOException {
+    long fileSize = channel.size();
+    size = Math.toIntExact(offsetsChannel.size() / OFFSET_SIZE);
+    if (size > 0 && readOffset(0) != 0) {
+      // Not the offsets of this log, index it from scratch
+      size = 0;
+    }
+    // Offsets of records that are not complete anymore are dropped
+    while (size > 0) {
+      long offset = readOffset(size - 1);
+      long recordEnd = offset >= 0 && offset + LENGTH_PREFIX_SIZE <= fileSize ? offset + LENGTH_PREFIX_SIZE + readLength(offset) : -1;
+      if (recordEnd >= offset + LENGTH_PREFIX_SIZE && recordEnd <= fileSize) {
+        end = recordEnd;
+        break;
+      }
+      size--;
+    }
+
+    ByteArrayOutputStream newOffsets = new ByteArrayOutputStream();
+    DataOutputStream offsetOutput = new DataOutputStream(newOffsets);
+    int newSize = size;
+    DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(end))));
+    while (end + LENGTH_PREFIX_SIZE <= fileSize) {
+      int length = input.readInt();
+      if (length < 0 || end + LENGTH_PREFIX_SIZE + length > fileSize) {
+        break;
+      }
+      input.skipNBytes(length);
+      offsetOutput.writeLong(end);
+      newSize++;
+      end += LENGTH_PREFIX_SIZE + length;
+    }
+
+    offsetsChannel.truncate((long) size * OFFSET_SIZE);
+    write(offsetsChannel, ByteBuffer.wrap(newOffsets.toByteArray()), (long) size * OFFSET_SIZE);
+    size = newSize;
+    if (end < fileSize) {
+      channel.truncate(end);
+    }
+  }
+
+  /**
+   * Appends the specified message and returns its index.
+   */
+  synchronized int append(ChatMessage message) throws IOException {
+    byte[] record = encode(message);
+    ByteBuffer buffer = ByteBuffer.allocate(LENGTH_PREFIX_SIZE + record.length);
+    buffer.putInt(record.length).put(record).flip();
+    long recordStart = end;
+    end = write(channel, buffer, recordStart);
+    // Written after the record, so that an offset never points to a record that hasn't been written
+    offsetBuffer.clear();
+    offsetBuffer.putLong(recordStart).flip();
+    write(offsetsChannel, offsetBuffer, (long) size * OFFSET_SIZE);
+    return size++;
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Returns the messages from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive, oldest first.
+   */
+  synchronized List<ChatMessage> read(int fromIndex, int toIndex) throws IOException {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") of " + size + " messages");
+    }
+    if (fromIndex == toIndex) {
+      return new ArrayList<>();
+    }
+    long start = readOffset(fromIndex);
+    long stop = toIndex < size ? readOffset(toIndex) : end;
+    ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(stop - start));
+    readFully(channel, buffer, start);
+    buffer.flip();
+
+    List<ChatMessage> messages = new ArrayList<>(toIndex - fromIndex);
+    while (buffer.hasRemaining()) {
+      int length = buffer.getInt();
+      messages.add(decode(buffer, length));
+    }
+    return messages;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      channel.close();
+    } finally {
+      offsetsChannel.close();
+    }
+  }
+
+  private long readOffset(int index) throws IOException {
+    offsetBuffer.clear();
+    readFully(offsetsChannel, offsetBuffer, (long) index * OFFSET_SIZE);
+    return offsetBuffer.getLong(0);
+  }
+
+  private int readLength(long offset) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(LENGTH_PREFIX_SIZE);
+    readFully(channel, buffer, offset);
+    return buffer.getInt(0);
+  }
+
+  /**
+   * Writes the remaining bytes of the specified buffer at the specified position and returns the position after them.
+   */
+  private static long write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+    return position;
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new EOFException("Unexpected end of chat history at " + position);
+      }
+      position += read;
+    }
+  }
+
+  private static byte[] encode(ChatMessage message) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + message.getMessage().length());
+    DataOutputStream output = new DataOutputStream(bytes);
+    output.writeLong(message.getTime().getEpochSecond());
+    output.writeInt(message.getTime().getNano());
+    output.writeBoolean(message.isAction());
+    writeString(output, message.getSource());
+    writeString(output, message.getUsername());
+    writeString(output, message.getMessage());
+    return bytes.toByteArray();
+  }
+
+  private static ChatMessage decode(ByteBuffer buffer, int length) {
+    int recordEnd = buffer.position() + length;
+    Instant time = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+    boolean action = buffer.get() != 0;
+    String source = readString(buffer);
+    String username = readString(buffer);
+    String text = readString(buffer);
+    // Skips anything a later version may have added to the record
+    buffer.position(recordEnd);
+    return new ChatMessage(source, time, username, text, action);
+  }
+
+  private static void writeString(DataOutputStream output, @Nullable String value) throws IOException {
+    if (value == null) {
+      output.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  @Nullable
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, UTF_8);
+    buffer.position(buffer.position() + length);
+    return value;
+  }
+}
@@ -0,0 +1,75 @@
+package com.faforever.client.chat;
+
+import lombok.Builder;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+/**
+ * A search for messages in the chat history. A message matches if it contains all words of the text and matches all
+ * other criteria that are set.
+ */
+@Builder
+@Value
+public class ChatHistoryQuery {
+
+  public static final int DEFAULT_LIMIT = 100;
+
+  private static final String USERNAME_PREFIX = "from:";
+  private static final String SOURCE_PREFIX = "in:";
+  private static final String AFTER_PREFIX = "after:";
+  private static final String BEFORE_PREFIX = "before:";
+
+  /** The words to search for, separated by anything but letters and digits. */
+  @Nullable
+  String text;
+  @Nullable
+  String username;
+  /** A channel like "#aeolus" or the name of a user to search the private chat of. */
+  @Nullable
+  String source;
+  /** Inclusive. */
+  @Nullable
+  Instant from;
+  /** Exclusive. */
+  @Nullable
+  Instant to;
+  @Builder.Default
+  int limit = DEFAULT_LIMIT;
+
+  /**
+   * Parses a search like {@code "replay from:Downlord in:#aeolus after:2020-12-24 before:2021-01-01"}. Dates are
+   * interpreted in the specified time zone; words that can't be parsed as intended are searched for as they are.
+   */
+  public static ChatHistoryQuery parse(String search, ZoneId zoneId) {
+    ChatHistoryQueryBuilder builder = builder();
+    StringBuilder text = new StringBuilder();
+    for (String word : search.trim().split("\\s+")) {
+      if (word.startsWith(USERNAME_PREFIX) && word.length() > USERNAME_PREFIX.length()) {
+        builder.username(word.substring(USERNAME_PREFIX.length()));
+      } else if (word.startsWith(SOURCE_PREFIX) && word.length() > SOURCE_PREFIX.length()) {
+        builder.source(word.substring(SOURCE_PREFIX.length()));
+      } else if (word.startsWith(AFTER_PREFIX) && parseDate(word.substring(AFTER_PREFIX.length()), zoneId) != null) {
+        builder.from(parseDate(word.substring(AFTER_PREFIX.length()), zoneId));
+      } else if (word.startsWith(BEFORE_PREFIX) && parseDate(word.substring(BEFORE_PREFIX.length()), zoneId) != null) {
+        builder.to(parseDate(word.substring(BEFORE_PREFIX.length()), zoneId));
+      } else {
+        text.append(word).append(' ');
+      }
+    }
+    return builder.text(text.toString().trim()).build();
+  }
+
+  @Nullable
+  private static Instant parseDate(String date, ZoneId zoneId) {
+    try {
+      return LocalDate.parse(date).atStartOfDay(zoneId).toInstant();
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,328 @@
+package com.faforever.client.chat;
+
+import com.faforever.client.preferences.PreferencesService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Locale.US;
+
+/**
+ * Persists the messages of each channel and private chat to its own {@link ChatHistoryLog}, so that chat tabs can
+ * page in older messages instead of keeping all of them in their web view, and makes them searchable with a
+ * {@link ChatHistoryIndex}. The index is built once from the newest messages of the logs on a background thread when
+ * searched for the first time, and then kept up to date with each appended message. Messages are appended by a single background thread, so that no file is touched on the
+ * calling thread, and only the least recently used logs are kept open. While the history is disabled in the chat
+ * preferences, nothing is written and the history appears empty.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatHistoryService implements DisposableBean {
+
+  private static final String LOG_FILE_EXTENSION = ".log";
+  /** How many messages are read at once when the search index catches up with a log. */
+  private static final int INDEXING_PAGE_SIZE = 1000;
+  /**
+   * How many messages of earlier sessions are indexed at most, taken from the most recently written logs first, which
+   * bounds the memory used by the search index to a few dozen megabytes.
+   */
+  private static final int MAX_INDEXED_MESSAGES = 200_000;
+  /** How many logs are kept open at most; the least recently used one is closed when another one is opened. */
+  private static final int MAX_OPEN_LOGS = 16;
+
+  private final PreferencesService preferencesService;
+
+  /** Maps lower case sources to their open logs, least recently used first. */
+  private final Map<String, ChatHistoryLog> logs = new LinkedHashMap<>(MAX_OPEN_LOGS, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, ChatHistoryLog> eldest) {
+      if (size() <= MAX_OPEN_LOGS) {
+        return false;
+      }
+      if (!logUsers.containsKey(eldest.getValue())) {
+        closeLog(eldest.getValue());
+      }
+      return true;
+    }
+  };
+  /**
+   * The number of operations currently applied to each log. A log that is evicted while in use is closed once its last
+   * operation has completed. Guarded by {@link #logs}.
+   */
+  private final Map<ChatHistoryLog, Integer> logUsers = new IdentityHashMap<>();
+  /** Appends the messages in the order they have been passed, so that their indexes are assigned in that order. */
+  private final ExecutorService appendExecutor = Executors.newSingleThreadExecutor(
+      new ThreadFactoryBuilder().setNameFormat("chat-history").setDaemon(true).build());
+  /** Builds the search index and runs the searches, so that neither blocks a thread of the common pool. */
+  private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(
+      new ThreadFactoryBuilder().setNameFormat("chat-history-search").setDaemon(true).build());
+  /**
+   * Maps appended messages to their future index in the history, for as long as the messages are referenced elsewhere,
+   * so that a chat tab knows where its messages start in the history.
+   */
+  private final Map<ChatMessage, CompletableFuture<Integer>> historyIndexes = Collections.synchronizedMap(new WeakHashMap<>());
+  private final ChatHistoryIndex searchIndex = new ChatHistoryIndex();
+  /** Completes once the messages of earlier sessions have been indexed; {@code null} until first searched. */
+  private CompletableFuture<Void> searchIndexBuilt;
+
+  /**
+   * Appends the specified message to the history of its source in the background, after all messages passed before.
+   * The returned future completes with the index of the message once it has been appended, or exceptionally if it
+   * could not be written. Failures are logged as well, since the chat has to work without its history anyway.
+   */
+  public CompletableFuture<Integer> append(ChatMessage message) {
+    if (!isHistoryEnabled()) {
+      return CompletableFuture.failedFuture(new IllegalStateException("Chat history is disabled"));
+    }
+    CompletableFuture<Integer> historyIndex = CompletableFuture.supplyAsync(() -> {
+      try {
+        int index = withLog(message.getSource(), historyLog -> historyLog.append(message))
+            .orElseThrow(() -> new IOException("Chat history could not be opened"));
+        searchIndex.add(message.getSource(), index, message);
+        return index;
+      } catch (IOException e) {
+        log.warn("Chat message could not be written to history of '{}'", message.getSource(), e);
+        throw new UncheckedIOException(e);
+      }
+    }, appendExecutor);
+    historyIndexes.put(message, historyIndex);
+    return historyIndex;
+  }
+
+  /**
+   * Returns the future index of the specified message in the history of its source, as returned by {@link
+   * #append(ChatMessage)}, or {@code null} if the message has not been appended since the client was started.
+   */
+  @Nullable
+  public CompletableFuture<Integer> getHistoryIndex(ChatMessage message) {
+    return historyIndexes.get(message);
+  }
+
+  /**
+   * Returns the number of messages in the history of the specified source. Counted after all messages passed to {@link
+   * #append(ChatMessage)} before have been appended, so that all messages passed later have an index of at least the
+   * returned count.
+   */
+  public CompletableFuture<Integer> getMessageCount(String source) {
+    if (!isHistoryEnabled()) {
+      return CompletableFuture.completedFuture(0);
+    }
+    return CompletableFuture.supplyAsync(() -> getLog(source).map(ChatHistoryLog::size).orElse(0), appendExecutor);
+  }
+
+  /**
+   * Loads the messages from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive, oldest first.
+   */
+  public CompletableFuture<List<ChatMessage>> loadMessages(String source, int fromIndex, int toIndex) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return withLog(source, historyLog -> historyLog.read(fromIndex, toIndex)).orElseGet(List::of);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  /**
+   * Searches the history of all channels and private chats and returns the matching messages, newest first. The first
+   * search waits for the search index to be built.
+   */
+  public CompletableFuture<List<ChatMessage>> search(ChatHistoryQuery query) {
+    if (!isHistoryEnabled()) {
+      return CompletableFuture.completedFuture(List.of());
+    }
+    return buildSearchIndex().thenApplyAsync(aVoid -> {
+      try {
+        List<ChatHistoryIndex.Hit> hits = searchIndex.search(query);
+        // Each log is opened once and all of its hits are read before the next one, so that searching more logs than
+        // are kept open doesn't open any of them again
+        Map<String, List<ChatHistoryIndex.Hit>> hitsBySource = hits.stream()
+            .collect(Collectors.groupingBy(ChatHistoryIndex.Hit::getSource));
+        Map<ChatHistoryIndex.Hit, ChatMessage> messagesByHit = new HashMap<>(hits.size() * 2);
+        for (Map.Entry<String, List<ChatHistoryIndex.Hit>> entry : hitsBySource.entrySet()) {
+          withLog(entry.getKey(), historyLog -> {
+            for (ChatHistoryIndex.Hit hit : entry.getValue()) {
+              messagesByHit.put(hit, historyLog.read(hit.getIndex(), hit.getIndex() + 1).get(0));
+            }
+            return null;
+          });
+        }
+        return hits.stream().map(messagesByHit::get).filter(Objects::nonNull).collect(Collectors.toList());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, searchExecutor);
+  }
+
+  /**
+   * Starts building the search index unless it has been built or is being built already. If building fails, it is
+   * started again by the next search.
+   */
+  private synchronized CompletableFuture<Void> buildSearchIndex() {
+    if (searchIndexBuilt == null || searchIndexBuilt.isCompletedExceptionally()) {
+      searchIndexBuilt = CompletableFuture.runAsync(() -> {
+        try {
+          indexEarlierSessions();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }, searchExecutor);
+    }
+    return searchIndexBuilt;
+  }
+
+  /**
+   * Adds the messages of earlier sessions to the search index, which have not been added when they were appended. Only
+   * the newest {@link #MAX_INDEXED_MESSAGES} are added, taken from the most recently written logs first.
+   */
+  private void indexEarlierSessions() throws IOException {
+    Path directory = preferencesService.getChatHistoryDirectory();
+    if (Files.notExists(directory)) {
+      return;
+    }
+    List<Path> logFiles = new ArrayList<>();
+    Map<Path, FileTime> lastModifiedTimes = new HashMap<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + LOG_FILE_EXTENSION)) {
+      for (Path file : files) {
+        logFiles.add(file);
+        lastModifiedTimes.put(file, Files.getLastModifiedTime(file));
+      }
+    }
+    logFiles.sort(Comparator.comparing(lastModifiedTimes::get, Comparator.reverseOrder()));
+
+    int remaining = MAX_INDEXED_MESSAGES;
+    for (Path file : logFiles) {
+      String fileName = file.getFileName().toString();
+      String source = URLDecoder.decode(fileName.substring(0, fileName.length() - LOG_FILE_EXTENSION.length()), UTF_8);
+      int size = getLog(source).map(ChatHistoryLog::size).orElse(0);
+      int count = Math.min(size, remaining);
+      remaining -= count;
+      // Messages appended from now on are still indexed, even if none of the earlier ones are
+      searchIndex.startAt(source, size - count);
+
+      int fromIndex;
+      while ((fromIndex = searchIndex.getNextIndex(source)) < getLog(source).map(ChatHistoryLog::size).orElse(0)) {
+        int pageStart = fromIndex;
+        List<ChatMessage> messages = withLog(source,
+            historyLog -> historyLog.read(pageStart, Math.min(historyLog.size(), pageStart + INDEXING_PAGE_SIZE)))
+            .orElseGet(List::of);
+        if (messages.isEmpty()) {
+          break;
+        }
+        for (int i = 0; i < messages.size(); i++) {
+          searchIndex.add(source, pageStart + i, messages.get(i));
+        }
+      }
+    }
+  }
+
+  private boolean isHistoryEnabled() {
+    return preferencesService.getPreferences().getChat().getHistoryEnabled();
+  }
+
+  /**
+   * Applies the specified operation to the log of the specified source, which is opened again if it has been closed
+   * because other logs have been used since. The log is not closed while the operation is applied, even if other logs
+   * are opened meanwhile. Returns empty if the log could not be opened.
+   */
+  private <T> Optional<T> withLog(String source, LogOperation<T> operation) throws IOException {
+    ChatHistoryLog historyLog;
+    synchronized (logs) {
+      Optional<ChatHistoryLog> openLog = getLog(source);
+      if (openLog.isEmpty()) {
+        return Optional.empty();
+      }
+      historyLog = openLog.get();
+      logUsers.merge(historyLog, 1, Integer::sum);
+    }
+    try {
+      return Optional.ofNullable(operation.apply(historyLog));
+    } finally {
+      synchronized (logs) {
+        if (logUsers.merge(historyLog, -1, Integer::sum) == 0) {
+          logUsers.remove(historyLog);
+          if (!logs.containsValue(historyLog)) {
+            closeLog(historyLog);
+          }
+        }
+      }
+    }
+  }
+
+  private Optional<ChatHistoryLog> getLog(String source) {
+    String key = source.toLowerCase(US);
+    synchronized (logs) {
+      ChatHistoryLog historyLog = logs.get(key);
+      if (historyLog == null) {
+        Path directory = preferencesService.getChatHistoryDirectory();
+        // Nicknames may contain characters like '|' or '\' that are not allowed in file names
+        Path file = directory.resolve(URLEncoder.encode(key, UTF_8) + LOG_FILE_EXTENSION);
+        try {
+          Files.createDirectories(directory);
+          historyLog = ChatHistoryLog.open(file);
+        } catch (IOException e) {
+          log.warn("Chat history could not be opened: {}", file, e);
+          return Optional.empty();
+        }
+        logs.put(key, historyLog);
+      }
+      return Optional.of(historyLog);
+    }
+  }
+
+  private void closeLog(ChatHistoryLog historyLog) {
+    try {
+      historyLog.close();
+    } catch (IOException e) {
+      log.warn("Chat history could not be closed", e);
+    }
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    searchExecutor.shutdownNow();
+    appendExecutor.shutdown();
+    if (!appendExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
+      log.warn("Chat history is still being written, remaining messages are dropped");
+      appendExecutor.shutdownNow();
+    }
+    synchronized (logs) {
+      logs.values().forEach(this::closeLog);
+      logs.clear();
+    }
+  }
+
+  private interface LogOperation<T> {
+    T apply(ChatHistoryLog historyLog) throws IOException;
+  }
+}
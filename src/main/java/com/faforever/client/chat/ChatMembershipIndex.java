@@ -0,0 +1,133 @@
+package com.faforever.client.chat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static java.util.Locale.US;
+
+/**
+ * Indexes the chat users of all channels both by channel and by user, so that looking up, adding and removing a
+ * membership is a hash lookup, and all memberships of a user can be found without looking at every channel. Usernames
+ * and channel names are case-insensitive, like they are on IRC.
+ */
+class ChatMembershipIndex {
+
+  /** Folded username to folded channel name to the user's membership in that channel. */
+  private final Map<String, Map<String, ChatChannelUser>> membershipsByUser = new HashMap<>();
+  /** Folded channel name to folded username to the user's membership in that channel. */
+  private final Map<String, Map<String, ChatChannelUser>> membershipsByChannel = new HashMap<>();
+  /** Folded channel name to the channel name as it was first added. */
+  private final Map<String, String> channelNames = new HashMap<>();
+
+  synchronized ChatChannelUser get(String username, String channelName) {
+    Map<String, ChatChannelUser> memberships = membershipsByUser.get(fold(username));
+    return memberships == null ? null : memberships.get(fold(channelName));
+  }
+
+  /**
+   * Adds the specified membership and returns {@code true} if it is the user's first one.
+   */
+  synchronized boolean put(String channelName, ChatChannelUser chatChannelUser) {
+    String username = fold(chatChannelUser.getUsername());
+    String channelKey = fold(channelName);
+    Map<String, ChatChannelUser> memberships = membershipsByUser.computeIfAbsent(username, name -> new HashMap<>(4));
+    boolean firstMembership = memberships.isEmpty();
+    memberships.put(channelKey, chatChannelUser);
+    membershipsByChannel.computeIfAbsent(channelKey, name -> new HashMap<>()).put(username, chatChannelUser);
+    channelNames.putIfAbsent(channelKey, channelName);
+    return firstMembership;
+  }
+
+  /**
+   * Removes the membership of the specified user in the specified channel and returns it, or {@code null} if there was
+   * none.
+   */
+  synchronized ChatChannelUser remove(String username, String channelName) {
+    String foldedUsername = fold(username);
+    String channelKey = fold(channelName);
+    Map<String, ChatChannelUser> memberships = membershipsByUser.get(foldedUsername);
+    if (memberships == null) {
+      return null;
+    }
+    ChatChannelUser chatChannelUser = memberships.remove(channelKey);
+    if (memberships.isEmpty()) {
+      membershipsByUser.remove(foldedUsername);
+    }
+    Map<String, ChatChannelUser> channelMembers = membershipsByChannel.get(channelKey);
+    if (channelMembers != null) {
+      channelMembers.remove(foldedUsername);
+      if (channelMembers.isEmpty()) {
+        membershipsByChannel.remove(channelKey);
+        channelNames.remove(channelKey);
+      }
+    }
+    return chatChannelUser;
+  }
+
+  /**
+   * Removes all memberships of the specified channel and returns the users who no longer have any membership.
+   */
+  synchronized List<ChatChannelUser> removeChannel(String channelName) {
+    String channelKey = fold(channelName);
+    channelNames.remove(channelKey);
+    Map<String, ChatChannelUser> channelMembers = membershipsByChannel.remove(channelKey);
+    if (channelMembers == null) {
+      return List.of();
+    }
+    List<ChatChannelUser> usersGone = new ArrayList<>();
+    channelMembers.forEach((username, chatChannelUser) -> {
+      Map<String, ChatChannelUser> memberships = membershipsByUser.get(username);
+      memberships.remove(channelKey);
+      if (memberships.isEmpty()) {
+        membershipsByUser.remove(username);
+        usersGone.add(chatChannelUser);
+      }
+    });
+    return usersGone;
+  }
+
+  synchronized boolean hasMemberships(String username) {
+    return membershipsByUser.containsKey(fold(username));
+  }
+
+  /**
+   * Returns the names of all channels the specified user is in, spelled as they were first added.
+   */
+  synchronized Set<String> getChannelNames(String username) {
+    Map<String, ChatChannelUser> memberships = membershipsByUser.get(fold(username));
+    if (memberships == null) {
+      return Set.of();
+    }
+    return memberships.keySet().stream().map(channelNames::get).collect(Collectors.toUnmodifiableSet());
+  }
+
+  /**
+   * Returns all memberships of the specified user.
+   */
+  synchronized List<ChatChannelUser> getMemberships(String username) {
+    Map<String, ChatChannelUser> memberships = membershipsByUser.get(fold(username));
+    return memberships == null ? List.of() : new ArrayList<>(memberships.values());
+  }
+
+  synchronized void forEach(Consumer<ChatChannelUser> action) {
+    membershipsByChannel.values().forEach(channelMembers -> channelMembers.values().forEach(action));
+  }
+
+  synchronized void clear() {
+    membershipsByUser.clear();
+    membershipsByChannel.clear();
+    channelNames.clear();
+  }
+
+  /**
+   * Returns the key under which the specified username or channel name is indexed.
+   */
+  static String fold(String name) {
+    return name.toLowerCase(US);
+  }
+}
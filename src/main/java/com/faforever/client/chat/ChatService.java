@@ -29,6 +29,10 @@ public interface ChatService {
 
   void addUsersListener(String channelName, MapChangeListener<String, ChatChannelUser> listener);
 
+  /**
+   * Adds a listener that is notified whenever a user joins their first or leaves their last channel or private chat,
+   * keyed by lower case username.
+   */
   void addChatUsersByNameListener(MapChangeListener<String, ChatChannelUser> listener);
 
   void addChannelsListener(MapChangeListener<String, ChatChannel> listener);
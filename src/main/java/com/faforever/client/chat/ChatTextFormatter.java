@@ -0,0 +1,232 @@
+package com.faforever.client.chat;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Turns the plain text of a chat message into HTML in a single pass: HTML special characters are escaped, URLs and
+ * channel names (like {@code #aeolus}) become links and mentions of the own username are highlighted. Unlike running
+ * Autolinker in the web view, this needs no call into JavaScript. Thread-safe.
+ */
+class ChatTextFormatter {
+
+  private static final String[] URL_PREFIXES = {"http://", "https://", "ftp://", "file://", "www."};
+  /** Characters that end a sentence rather than a URL or channel name, if they are its last characters. */
+  private static final String TRAILING_PUNCTUATION = ".,;:!?'\"";
+
+  @Nullable
+  private final String ownUsername;
+
+  /**
+   * @param ownUsername the username whose mentions are to be highlighted, or {@code null} if there is none
+   */
+  ChatTextFormatter(@Nullable String ownUsername) {
+    this.ownUsername = ownUsername == null || ownUsername.isEmpty() ? null : ownUsername;
+  }
+
+  /**
+   * Appends the HTML of the specified text to the specified builder and returns whether the text mentions the own
+   * username.
+   */
+  boolean appendHtml(StringBuilder html, String text) {
+    boolean mentioned = false;
+    int length = text.length();
+    int index = 0;
+    while (index < length) {
+      // URLs, channels and mentions may follow any character that doesn't belong to a word, like "(" or ":"
+      boolean wordStart = index == 0 || !isWordCharacter(text.charAt(index - 1));
+      int end;
+      if (wordStart && (end = findUrlEnd(text, index)) > index) {
+        appendUrl(html, text.substring(index, end));
+      } else if (wordStart && (end = findChannelEnd(text, index)) > index) {
+        appendChannel(html, text.substring(index, end));
+      } else if (wordStart && (end = findMentionEnd(text, index)) > index) {
+        html.append("<span class='self'>");
+        appendEscaped(html, text, index, end);
+        html.append("</span>");
+        mentioned = true;
+      } else {
+        end = index + 1;
+        appendEscaped(html, text, index, end);
+      }
+      index = end;
+    }
+    return mentioned;
+  }
+
+  String toHtml(String text) {
+    StringBuilder html = new StringBuilder(text.length() + 16);
+    appendHtml(html, text);
+    return html.toString();
+  }
+
+  /**
+   * Returns the end of the URL starting at the specified index, or the index itself if there is none.
+   */
+  private static int findUrlEnd(String text, int start) {
+    int prefixLength = 0;
+    for (String prefix : URL_PREFIXES) {
+      if (text.regionMatches(true, start, prefix, 0, prefix.length())) {
+        prefixLength = prefix.length();
+        break;
+      }
+    }
+    if (prefixLength == 0) {
+      return start;
+    }
+    int end = trimTrailingPunctuation(text, start, findWhitespace(text, start));
+    return end > start + prefixLength ? end : start;
+  }
+
+  /**
+   * Returns the end of the URL or channel name from the specified start to the specified end, without the punctuation
+   * that ends the sentence around it.
+   */
+  private static int trimTrailingPunctuation(String text, int start, int end) {
+    while (end > start && isTrailingPunctuation(text, start, end)) {
+      end--;
+    }
+    return end;
+  }
+
+  /**
+   * Returns whether the last character of the specified URL or channel name candidate is punctuation rather than part
+   * of it. A closing parenthesis is considered part of it only if it closes a parenthesis within.
+   */
+  private static boolean isTrailingPunctuation(String text, int start, int end) {
+    char last = text.charAt(end - 1);
+    if (TRAILING_PUNCTUATION.indexOf(last) >= 0) {
+      return true;
+    }
+    if (last != ')') {
+      return false;
+    }
+    int balance = 0;
+    for (int i = start; i < end; i++) {
+      char character = text.charAt(i);
+      if (character == '(') {
+        balance++;
+      } else if (character == ')') {
+        balance--;
+      }
+    }
+    return balance < 0;
+  }
+
+  /**
+   * Returns the end of the channel name starting at the specified index, or the index itself if there is none. Channel
+   * names start with a {@code #} and a letter and contain at least one more character.
+   */
+  private static int findChannelEnd(String text, int start) {
+    if (text.length() < start + 3 || text.charAt(start) != '#' || !isAsciiLetter(text.charAt(start + 1))) {
+      return start;
+    }
+    int end = trimTrailingPunctuation(text, start, findWhitespace(text, start));
+    return end >= start + 3 ? end : start;
+  }
+
+  private int findMentionEnd(String text, int start) {
+    if (ownUsername == null || !text.regionMatches(true, start, ownUsername, 0, ownUsername.length())) {
+      return start;
+    }
+    int end = start + ownUsername.length();
+    if (end < text.length() && isWordCharacter(text.charAt(end))) {
+      return start;
+    }
+    return end;
+  }
+
+  private static void appendUrl(StringBuilder html, String url) {
+    String target = url.regionMatches(true, 0, "www.", 0, 4) ? "http://" + url : url;
+    html.append("<a href=\"javascript:void(0);\" onClick=\"java.openUrl(");
+    appendJsStringAttribute(html, target);
+    html.append(")\" onMouseOver=\"java.previewUrl(");
+    appendJsStringAttribute(html, target);
+    html.append(")\" onMouseOut=\"java.hideUrlPreview()\">");
+    appendEscaped(html, url, 0, url.length());
+    html.append("</a>");
+  }
+
+  private static void appendChannel(StringBuilder html, String channelName) {
+    html.append("<a href=\"javascript:void(0);\" onClick=\"java.openChannel(");
+    appendJsStringAttribute(html, channelName);
+    html.append(")\">");
+    appendEscaped(html, channelName, 0, channelName.length());
+    html.append("</a>");
+  }
+
+  /**
+   * Appends the specified value as a single-quoted JavaScript string, escaped to be used within a double-quoted HTML
+   * attribute.
+   */
+  private static void appendJsStringAttribute(StringBuilder html, String value) {
+    html.append('\'');
+    for (int i = 0; i < value.length(); i++) {
+      char character = value.charAt(i);
+      switch (character) {
+        case '\'':
+        case '\\':
+          html.append('\\').append(character);
+          break;
+        case '&':
+          html.append("&amp;");
+          break;
+        case '<':
+          html.append("&lt;");
+          break;
+        case '>':
+          html.append("&gt;");
+          break;
+        case '"':
+          html.append("&quot;");
+          break;
+        default:
+          html.append(character);
+      }
+    }
+    html.append('\'');
+  }
+
+  /**
+   * Escapes the same characters as Guava's {@code HtmlEscapers.htmlEscaper()}.
+   */
+  private static void appendEscaped(StringBuilder html, String text, int start, int end) {
+    for (int i = start; i < end; i++) {
+      char character = text.charAt(i);
+      switch (character) {
+        case '&':
+          html.append("&amp;");
+          break;
+        case '<':
+          html.append("&lt;");
+          break;
+        case '>':
+          html.append("&gt;");
+          break;
+        case '"':
+          html.append("&quot;");
+          break;
+        case '\'':
+          html.append("&#39;");
+          break;
+        default:
+          html.append(character);
+      }
+    }
+  }
+
+  private static int findWhitespace(String text, int start) {
+    int end = start;
+    while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+      end++;
+    }
+    return end;
+  }
+
+  private static boolean isWordCharacter(char character) {
+    return Character.isLetterOrDigit(character) || character == '_';
+  }
+
+  private static boolean isAsciiLetter(char character) {
+    return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+  }
+}
@@ -136,7 +136,9 @@ public class ChatUserContextMenuController implements Controller<ContextMenu> {
           if (url == null) {
             return null;
           }
-          return new ImageView(avatarService.loadAvatar(url.toString()));
+          ImageView imageView = new ImageView();
+          JavaFxUtil.setImage(imageView, avatarService.loadAvatar(url.toString()));
+          return imageView;
         });
   }
 
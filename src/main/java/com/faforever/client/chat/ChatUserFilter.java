@@ -0,0 +1,209 @@
+package com.faforever.client.chat;
+
+import com.faforever.client.game.PlayerStatus;
+import com.faforever.client.player.Player;
+import com.faforever.client.util.RatingUtil;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static com.faforever.client.game.PlayerStatus.HOSTING;
+import static com.faforever.client.game.PlayerStatus.LOBBYING;
+import static java.util.Locale.US;
+
+/**
+ * Filters the chat user list by a {@link Query}. The lower case username and clan of each user are computed once and
+ * kept until the clan changes, rather than on every check. If a query only narrows down the username text of the
+ * previous one, e.g. because a character has been appended to it, only the items that matched the previous query are
+ * checked again; all others are rejected by a single hash lookup. Any other change of the query checks all items again,
+ * so that changes of a user's status, rating or clan since the previous query are taken into account. Only to be used
+ * from the application thread.
+ */
+class ChatUserFilter {
+
+  /** The search keys of the users that have been checked, by user. */
+  private final Map<ChatChannelUser, SearchKeys> searchKeys = new WeakHashMap<>();
+  private Query query = Query.NONE;
+  /**
+   * The items that matched the current query, including items that have been added to the list since, or {@code null}
+   * as long as the list has not been filtered.
+   */
+  @Nullable
+  private Set<CategoryOrChatUserListItem> matchingItems;
+  /** While the list is filtered again, the items that matched the previous query, if the current one narrows it down. */
+  @Nullable
+  private Set<CategoryOrChatUserListItem> candidateItems;
+
+  /**
+   * Installs a predicate for the specified query. The predicate is passed to {@code predicateConsumer}, which is
+   * expected to filter the list with it right away, like {@link javafx.collections.transformation.FilteredList#setPredicate}
+   * does. Setting the same query again checks all items again, like any change other than narrowing it down.
+   */
+  void setQuery(Query query, Consumer<Predicate<CategoryOrChatUserListItem>> predicateConsumer) {
+    boolean narrowing = matchingItems != null && !query.equals(this.query) && query.isNarrowing(this.query);
+    candidateItems = narrowing ? matchingItems : null;
+    this.query = query;
+    matchingItems = new HashSet<>();
+    try {
+      predicateConsumer.accept(this::test);
+    } finally {
+      candidateItems = null;
+    }
+  }
+
+  private boolean test(CategoryOrChatUserListItem item) {
+    if (item.getUser() == null) {
+      // The categories should display in the list independently of a filter
+      return true;
+    }
+    if (candidateItems != null && !candidateItems.contains(item)) {
+      return false;
+    }
+    if (!matches(item.getUser(), query)) {
+      return false;
+    }
+    matchingItems.add(item);
+    return true;
+  }
+
+  boolean matches(ChatChannelUser chatUser, Query query) {
+    return isUsernameMatch(chatUser, query)
+        && isInClan(chatUser, query)
+        && isBoundByRating(chatUser, query)
+        && isGameStatusMatch(chatUser, query)
+        && isCountryMatch(chatUser, query);
+  }
+
+  private boolean isUsernameMatch(ChatChannelUser chatUser, Query query) {
+    return query.getUsername().isEmpty() || getSearchKeys(chatUser).getUsername().contains(query.getUsername());
+  }
+
+  private boolean isInClan(ChatChannelUser chatUser, Query query) {
+    if (query.getClan().isEmpty()) {
+      return true;
+    }
+    String clan = getSearchKeys(chatUser).getClan();
+    return clan != null && clan.contains(query.getClan());
+  }
+
+  private boolean isBoundByRating(ChatChannelUser chatUser, Query query) {
+    if (!query.isRatingFiltered()) {
+      return true;
+    }
+    Optional<Player> optionalPlayer = chatUser.getPlayer();
+    if (optionalPlayer.isEmpty()) {
+      return false;
+    }
+
+    //TODO filter by specifc leaderboard rating remove hardcoded value
+    int rating = RatingUtil.getLeaderboardRating(optionalPlayer.get(), "global");
+    return rating >= query.getMinRating() && rating <= query.getMaxRating();
+  }
+
+  private boolean isGameStatusMatch(ChatChannelUser chatUser, Query query) {
+    if (query.getPlayerStatus() == null) {
+      return true;
+    }
+    Optional<Player> optionalPlayer = chatUser.getPlayer();
+    if (optionalPlayer.isEmpty()) {
+      return false;
+    }
+
+    PlayerStatus playerStatus = optionalPlayer.get().getStatus();
+    if (query.getPlayerStatus() == LOBBYING) {
+      return LOBBYING == playerStatus || HOSTING == playerStatus;
+    }
+    return query.getPlayerStatus() == playerStatus;
+  }
+
+  private boolean isCountryMatch(ChatChannelUser chatUser, Query query) {
+    if (query.getCountries() == null) {
+      return true;
+    }
+    // Users of the 'chat only' group have no player and therefore no country
+    Optional<Player> optionalPlayer = chatUser.getPlayer();
+    return optionalPlayer.isPresent() && query.getCountries().contains(optionalPlayer.get().getCountry());
+  }
+
+  private SearchKeys getSearchKeys(ChatChannelUser chatUser) {
+    String clan = chatUser.getPlayer().map(Player::getClan).orElse(null);
+    SearchKeys keys = searchKeys.get(chatUser);
+    // Compared by identity on purpose, the clan string is only replaced when the clan changes
+    if (keys == null || keys.getSourceClan() != clan) {
+      keys = new SearchKeys(chatUser.getUsername().toLowerCase(US), clan, clan != null ? clan.toLowerCase(US) : null);
+      searchKeys.put(chatUser, keys);
+    }
+    return keys;
+  }
+
+  /**
+   * What the chat user list is filtered by. Text is matched case-insensitively; an empty text, a {@code null} status
+   * and {@code null} countries don't filter anything.
+   */
+  @Value
+  static class Query {
+
+    static final Query NONE = new Query("", "", Integer.MIN_VALUE, Integer.MAX_VALUE, false, null, null);
+
+    /** The lower case text that usernames need to contain. */
+    String username;
+    /** The lower case text that clan tags need to contain. */
+    String clan;
+    int minRating;
+    int maxRating;
+    /** Whether any rating bound has been entered, even if it's not a number; users without player are hidden then. */
+    boolean ratingFiltered;
+    @Nullable
+    PlayerStatus playerStatus;
+    /** The codes of the countries that users need to be from. */
+    @Nullable
+    Set<String> countries;
+
+    static Query of(String username, String clan, String minRating, String maxRating,
+                    @Nullable PlayerStatus playerStatus, @Nullable Set<String> countries) {
+      return new Query(username.toLowerCase(US), clan.toLowerCase(US),
+          parseRating(minRating, Integer.MIN_VALUE), parseRating(maxRating, Integer.MAX_VALUE),
+          !minRating.isEmpty() || !maxRating.isEmpty(), playerStatus, countries);
+    }
+
+    private static int parseRating(String rating, int defaultValue) {
+      try {
+        return Integer.parseInt(rating);
+      } catch (NumberFormatException e) {
+        return defaultValue;
+      }
+    }
+
+    /**
+     * Returns whether this query differs from the specified one only by a username text that contains the previous one,
+     * so that every user that matches this query also matched the specified one. Changes of other criteria don't count,
+     * since whether a user matches them depends on the user's status, rating and clan, which may have changed since.
+     */
+    boolean isNarrowing(Query previous) {
+      return username.contains(previous.username)
+          && clan.equals(previous.clan)
+          && minRating == previous.minRating
+          && maxRating == previous.maxRating
+          && ratingFiltered == previous.ratingFiltered
+          && playerStatus == previous.playerStatus
+          && Objects.equals(countries, previous.countries);
+    }
+  }
+
+  @Value
+  private static class SearchKeys {
+    String username;
+    @Nullable
+    String sourceClan;
+    @Nullable
+    String clan;
+  }
+}
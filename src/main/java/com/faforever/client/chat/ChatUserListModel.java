@@ -0,0 +1,176 @@
+package com.faforever.client.chat;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The flat list of category and chat user items that backs the chat user list view. Within each category, the user
+ * items are kept in a sorted array next to the flat list, so that the position of an item is found by binary search
+ * and its index in the flat list follows from the sizes of the preceding categories, rather than by scanning the flat
+ * list. Only to be used from the application thread.
+ */
+class ChatUserListModel {
+
+  private final Comparator<CategoryOrChatUserListItem> order;
+  private final ObservableList<CategoryOrChatUserListItem> items;
+  private final Map<ChatUserCategory, CategoryOrChatUserListItem> categoryItems;
+  private final Map<ChatUserCategory, List<CategoryOrChatUserListItem>> userItemsByCategory;
+
+  /**
+   * @param order the order of the user items within a category
+   */
+  ChatUserListModel(Comparator<CategoryOrChatUserListItem> order) {
+    this.order = order;
+    items = FXCollections.observableArrayList();
+    categoryItems = new EnumMap<>(ChatUserCategory.class);
+    userItemsByCategory = new EnumMap<>(ChatUserCategory.class);
+    for (ChatUserCategory category : ChatUserCategory.values()) {
+      CategoryOrChatUserListItem categoryItem = new CategoryOrChatUserListItem(category);
+      items.add(categoryItem);
+      categoryItems.put(category, categoryItem);
+      userItemsByCategory.put(category, new ArrayList<>());
+    }
+  }
+
+  ObservableList<CategoryOrChatUserListItem> getItems() {
+    return items;
+  }
+
+  /**
+   * Returns the user items of the specified category, in order.
+   */
+  List<CategoryOrChatUserListItem> getUserItems(ChatUserCategory category) {
+    return Collections.unmodifiableList(userItemsByCategory.get(category));
+  }
+
+  /**
+   * Inserts the specified user item after all items of its category that don't come after it.
+   */
+  void add(CategoryOrChatUserListItem userItem) {
+    ChatUserCategory category = userItem.getCategory();
+    List<CategoryOrChatUserListItem> userItems = userItemsByCategory.get(category);
+    int position = upperBound(userItems, userItem);
+    userItems.add(position, userItem);
+    items.add(getCategoryIndex(category) + 1 + position, userItem);
+  }
+
+  /**
+   * Inserts all specified user items with a single change of the flat list. The items are sorted and then merged into
+   * their categories, so this is linear in the size of the list plus the sorting of the new items.
+   */
+  void addAll(Collection<CategoryOrChatUserListItem> userItems) {
+    if (userItems.isEmpty()) {
+      return;
+    }
+    Map<ChatUserCategory, List<CategoryOrChatUserListItem>> newItemsByCategory = new EnumMap<>(ChatUserCategory.class);
+    userItems.forEach(userItem -> newItemsByCategory.computeIfAbsent(userItem.getCategory(), category -> new ArrayList<>()).add(userItem));
+
+    List<CategoryOrChatUserListItem> flatItems = new ArrayList<>(items.size() + userItems.size());
+    userItemsByCategory.forEach((category, categoryUserItems) -> {
+      List<CategoryOrChatUserListItem> newItems = newItemsByCategory.get(category);
+      if (newItems != null) {
+        newItems.sort(order);
+        List<CategoryOrChatUserListItem> mergedItems = merge(categoryUserItems, newItems);
+        categoryUserItems.clear();
+        categoryUserItems.addAll(mergedItems);
+      }
+      flatItems.add(categoryItems.get(category));
+      flatItems.addAll(categoryUserItems);
+    });
+    items.setAll(flatItems);
+  }
+
+  void remove(CategoryOrChatUserListItem userItem) {
+    List<CategoryOrChatUserListItem> userItems = userItemsByCategory.get(userItem.getCategory());
+    int position = indexOf(userItems, userItem);
+    if (position < 0) {
+      return;
+    }
+    userItems.remove(position);
+    items.remove(getCategoryIndex(userItem.getCategory()) + 1 + position);
+  }
+
+  void removeAll(Collection<CategoryOrChatUserListItem> userItems) {
+    userItems.forEach(this::remove);
+  }
+
+  /**
+   * Returns the index of the specified category's item in the flat list.
+   */
+  private int getCategoryIndex(ChatUserCategory category) {
+    int index = 0;
+    for (Map.Entry<ChatUserCategory, List<CategoryOrChatUserListItem>> entry : userItemsByCategory.entrySet()) {
+      if (entry.getKey() == category) {
+        return index;
+      }
+      index += 1 + entry.getValue().size();
+    }
+    throw new IllegalArgumentException("Unknown category: " + category);
+  }
+
+  /**
+   * Returns the first position whose item comes after the specified one.
+   */
+  private int upperBound(List<CategoryOrChatUserListItem> userItems, CategoryOrChatUserListItem userItem) {
+    int low = 0;
+    int high = userItems.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (order.compare(userItems.get(middle), userItem) <= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Finds the specified item by binary search, or by a linear search if its sort key changed since it was inserted.
+   */
+  private int indexOf(List<CategoryOrChatUserListItem> userItems, CategoryOrChatUserListItem userItem) {
+    int low = 0;
+    int high = userItems.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (order.compare(userItems.get(middle), userItem) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    for (int position = low; position < userItems.size() && order.compare(userItems.get(position), userItem) == 0; position++) {
+      if (userItems.get(position).equals(userItem)) {
+        return position;
+      }
+    }
+    return userItems.indexOf(userItem);
+  }
+
+  /**
+   * Merges two sorted lists. Of equal items, the ones of {@code existingItems} come first.
+   */
+  private List<CategoryOrChatUserListItem> merge(List<CategoryOrChatUserListItem> existingItems, List<CategoryOrChatUserListItem> newItems) {
+    List<CategoryOrChatUserListItem> mergedItems = new ArrayList<>(existingItems.size() + newItems.size());
+    int existingIndex = 0;
+    int newIndex = 0;
+    while (existingIndex < existingItems.size() && newIndex < newItems.size()) {
+      if (order.compare(newItems.get(newIndex), existingItems.get(existingIndex)) < 0) {
+        mergedItems.add(newItems.get(newIndex++));
+      } else {
+        mergedItems.add(existingItems.get(existingIndex++));
+      }
+    }
+    mergedItems.addAll(existingItems.subList(existingIndex, existingItems.size()));
+    mergedItems.addAll(newItems.subList(newIndex, newItems.size()));
+    return mergedItems;
+  }
+}
@@ -4,6 +4,7 @@ import com.faforever.client.chat.avatar.AvatarService;
 import com.faforever.client.clan.Clan;
 import com.faforever.client.clan.ClanService;
 import com.faforever.client.fx.JavaFxUtil;
+import com.faforever.client.game.Game;
 import com.faforever.client.game.PlayerStatus;
 import com.faforever.client.i18n.I18n;
 import com.faforever.client.map.MapService;
@@ -71,13 +72,18 @@ public class ChatUserService implements InitializingBean {
     if (chatChannelUser.isDisplayed()) {
       chatChannelUser.getPlayer()
           .ifPresent(player -> {
-            Image avatar;
-            if (!Strings.isNullOrEmpty(player.getAvatarUrl())) {
-              avatar = avatarService.loadAvatar(player.getAvatarUrl());
+            String avatarUrl = player.getAvatarUrl();
+            if (!Strings.isNullOrEmpty(avatarUrl)) {
+              avatarService.loadAvatar(avatarUrl)
+                  .thenAccept(avatar -> JavaFxUtil.runLater(() -> {
+                    // Another avatar may have been requested meanwhile
+                    if (isShowing(chatChannelUser, player) && avatarUrl.equals(player.getAvatarUrl())) {
+                      chatChannelUser.setAvatar(avatar);
+                    }
+                  }));
             } else {
-              avatar = null;
+              JavaFxUtil.runLater(() -> chatChannelUser.setAvatar(null));
             }
-            JavaFxUtil.runLater(() -> chatChannelUser.setAvatar(avatar));
           });
     } else {
       chatChannelUser.setAvatar(null);
@@ -88,11 +94,14 @@ public class ChatUserService implements InitializingBean {
     if (chatChannelUser.isDisplayed()) {
       chatChannelUser.getPlayer()
           .ifPresent(player -> {
-            Optional<Image> countryFlag = countryFlagService.loadCountryFlag(player.getCountry());
-            JavaFxUtil.runLater(() -> {
-              chatChannelUser.setCountryFlag(countryFlag.orElse(null));
-              chatChannelUser.setCountryName(i18n.getCountryNameLocalized(player.getCountry()));
-            });
+            String country = player.getCountry();
+            countryFlagService.loadCountryFlag(country)
+                .thenAccept(countryFlag -> JavaFxUtil.runLater(() -> {
+                  if (isShowing(chatChannelUser, player) && Objects.equals(country, player.getCountry())) {
+                    chatChannelUser.setCountryFlag(countryFlag.orElse(null));
+                    chatChannelUser.setCountryName(i18n.getCountryNameLocalized(country));
+                  }
+                }));
           });
     } else {
       chatChannelUser.setCountryFlag(null);
@@ -146,17 +155,34 @@ public class ChatUserService implements InitializingBean {
       case PLAYING -> uiService.getThemeImage(UiService.CHAT_LIST_STATUS_PLAYING);
       default -> null;
     };
-    Image mapImage;
-    if (status != PlayerStatus.IDLE) {
-      mapImage = mapService.loadPreview(player.getGame().getMapFolderName(), PreviewSize.SMALL);
-    } else {
-      mapImage = null;
-    }
     JavaFxUtil.runLater(() -> {
       chatChannelUser.setStatusTooltipText(i18n.get(status.getI18nKey()));
       chatChannelUser.setGameStatusImage(playerStatusImage);
-      chatChannelUser.setMapImage(mapImage);
+      if (status == PlayerStatus.IDLE) {
+        chatChannelUser.setMapImage(null);
+      }
     });
+    if (status == PlayerStatus.IDLE) {
+      return;
+    }
+    Game game = player.getGame();
+    String mapFolderName = game.getMapFolderName();
+    mapService.loadPreview(mapFolderName, PreviewSize.SMALL)
+        .thenAccept(mapImage -> JavaFxUtil.runLater(() -> {
+          // The player may have left the game or the game may have changed its map meanwhile
+          if (isShowing(chatChannelUser, player) && player.getStatus() != PlayerStatus.IDLE && player.getGame() == game
+              && Objects.equals(game.getMapFolderName(), mapFolderName)) {
+            chatChannelUser.setMapImage(mapImage);
+          }
+        }));
+  }
+
+  /**
+   * Returns whether the specified chat user is displayed and still associated with the specified player, so that an
+   * image loaded for the player may be shown.
+   */
+  private static boolean isShowing(ChatChannelUser chatChannelUser, Player player) {
+    return chatChannelUser.isDisplayed() && chatChannelUser.getPlayer().orElse(null) == player;
   }
 
   public void associatePlayerToChatUser(ChatChannelUser chatChannelUser, Player player) {
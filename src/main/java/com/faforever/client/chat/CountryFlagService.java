@@ -1,9 +1,11 @@
 package com.faforever.client.chat;
 
 import com.faforever.client.i18n.I18n;
+import com.faforever.client.remote.AssetService;
 import javafx.scene.image.Image;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
@@ -13,12 +15,16 @@ import org.springframework.stereotype.Service;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-import static com.faforever.client.config.CacheNames.COUNTRY_FLAGS;
 import static com.faforever.client.config.CacheNames.COUNTRY_NAMES;
 
 @Slf4j
@@ -29,15 +35,13 @@ public class CountryFlagService {
 
   private static final Collection<String> NON_COUNTRY_CODES = Arrays.asList("A1", "A2", "");
   private final I18n i18n;
+  private final AssetService assetService;
+  private volatile CountryNames countryNames;
 
-  @Cacheable(value = COUNTRY_FLAGS, sync = true)
-  public Optional<Image> loadCountryFlag(final String country) {
-    if (country == null) {
-      return Optional.empty();
-    }
-
+  public CompletableFuture<Optional<Image>> loadCountryFlag(final String country) {
     return getCountryFlagUrl(country)
-        .map(url -> new Image(url.toString(), true));
+        .map(url -> assetService.loadImage(url, 0, 0).thenApply(Optional::ofNullable))
+        .orElse(CompletableFuture.completedFuture(Optional.empty()));
   }
 
   @Cacheable(value = COUNTRY_NAMES, sync = true)
@@ -47,18 +51,28 @@ public class CountryFlagService {
     }
 
     final String startsWithLowered = startsWith.toLowerCase();
-    return Arrays.stream(Locale.getISOCountries())
-        .filter(country -> matchCountry(country, startsWithLowered))
+    return getLowerCaseCountryNames().entrySet().stream()
+        .filter(entry -> entry.getKey().toLowerCase().startsWith(startsWithLowered) || entry.getValue().startsWith(startsWithLowered))
+        .map(Entry::getKey)
         .collect(Collectors.toList());
   }
 
-  private boolean matchCountry(String countryCode, String startsWithLowered) {
-    if (countryCode.toLowerCase().startsWith(startsWithLowered)) {
-      return true;
+  /**
+   * Returns the lower case localized names of all countries by their code. The names are localized once per locale
+   * rather than for every query, since that's what takes most of the time.
+   */
+  private Map<String, String> getLowerCaseCountryNames() {
+    CountryNames countryNames = this.countryNames;
+    Locale locale = i18n.getUserSpecificLocale();
+    if (countryNames == null || !Objects.equals(countryNames.getLocale(), locale)) {
+      Map<String, String> names = new LinkedHashMap<>();
+      for (String countryCode : Locale.getISOCountries()) {
+        names.put(countryCode, i18n.getCountryNameLocalized(countryCode).toLowerCase());
+      }
+      countryNames = new CountryNames(locale, names);
+      this.countryNames = countryNames;
     }
-
-    String localName = i18n.getCountryNameLocalized(countryCode).toLowerCase();
-    return localName.startsWith(startsWithLowered);
+    return countryNames.getNames();
   }
 
   @SneakyThrows
@@ -80,4 +94,10 @@ public class CountryFlagService {
     }
     return Optional.of(classPathResource.getURL());
   }
+
+  @Value
+  private static class CountryNames {
+    Locale locale;
+    Map<String, String> names;
+  }
 }
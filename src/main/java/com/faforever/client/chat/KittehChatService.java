@@ -8,7 +8,7 @@ import com.faforever.client.config.ClientProperties.Irc;
 import com.faforever.client.fx.JavaFxUtil;
 import com.faforever.client.net.ConnectionState;
 import com.faforever.client.player.Player;
-import com.faforever.client.player.PlayerOnlineEvent;
+import com.faforever.client.player.PlayersUpdatedEvent;
 import com.faforever.client.player.PlayerService;
 import com.faforever.client.player.SocialStatus;
 import com.faforever.client.player.UserOfflineEvent;
@@ -21,6 +21,7 @@ import com.faforever.client.ui.tray.event.UpdateApplicationBadgeEvent;
 import com.faforever.client.user.UserService;
 import com.faforever.client.user.event.LoggedOutEvent;
 import com.faforever.client.user.event.LoginSuccessEvent;
+import com.faforever.client.util.StringInterner;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
@@ -57,6 +58,7 @@ import org.kitteh.irc.client.library.event.client.ClientNegotiationCompleteEvent
 import org.kitteh.irc.client.library.event.connection.ClientConnectionEndedEvent;
 import org.kitteh.irc.client.library.event.user.PrivateMessageEvent;
 import org.kitteh.irc.client.library.event.user.PrivateNoticeEvent;
+import org.kitteh.irc.client.library.event.user.UserNickChangeEvent;
 import org.kitteh.irc.client.library.event.user.UserQuitEvent;
 import org.kitteh.irc.client.library.feature.auth.NickServ;
 import org.slf4j.Logger;
@@ -71,10 +73,8 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
@@ -83,7 +83,6 @@ import static com.faforever.client.chat.ChatUserCategory.MODERATOR;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Locale.US;
 import static javafx.collections.FXCollections.observableHashMap;
-import static javafx.collections.FXCollections.observableMap;
 
 @Lazy
 @Service
@@ -104,12 +103,17 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
   private final EventBus eventBus;
   private final ClientProperties clientProperties;
   private final PlayerService playerService;
+  private final ChatHistoryService chatHistoryService;
   /**
    * Maps channels by name.
    */
   private final ObservableMap<String, ChatChannel> channels = observableHashMap();
-  /** Key is the result of {@link #mapKey(String, String)}. */
-  private final ObservableMap<String, ChatChannelUser> chatChannelUsersByChannelAndName = observableMap(new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+  private final ChatMembershipIndex chatMemberships = new ChatMembershipIndex();
+  /**
+   * Maps lower case usernames to one of the user's channel memberships. A user is contained as long as they are in any
+   * channel or private chat.
+   */
+  private final ObservableMap<String, ChatChannelUser> chatUsersByName = observableHashMap();
   private final SimpleIntegerProperty unreadMessagesCount = new SimpleIntegerProperty();
   @VisibleForTesting
   ObjectProperty<ConnectionState> connectionState = new SimpleObjectProperty<>(ConnectionState.DISCONNECTED);
@@ -157,12 +161,12 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
       chatColorMode = DEFAULT;
     }
     ChatPrefs chatPrefs = preferencesService.getPreferences().getChat();
-    synchronized (chatChannelUsersByChannelAndName) {
+    synchronized (chatMemberships) {
       if (chatColorMode == ChatColorMode.RANDOM) {
-        chatChannelUsersByChannelAndName.values()
+        chatMemberships
             .forEach(chatUser -> chatUser.setColor(ColorGeneratorUtil.generateRandomColor(chatUser.getUsername().hashCode())));
       } else {
-        chatChannelUsersByChannelAndName.values()
+        chatMemberships
             .forEach(chatUser -> {
               if (chatPrefs.getUserToColor().containsKey(userToColorKey(chatUser.getUsername()))) {
                 chatUser.setColor(chatPrefs.getUserToColor().get(userToColorKey(chatUser.getUsername())));
@@ -232,17 +236,15 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
   }
 
   @Subscribe
-  public void onPlayerOnline(PlayerOnlineEvent event) {
-    Player player = event.getPlayer();
-
-    synchronized (channels) {
-      channels.values().parallelStream()
-          .map(channel -> chatChannelUsersByChannelAndName.get(mapKey(player.getUsername(), channel.getName())))
-          .filter(Objects::nonNull)
-          .forEach(chatChannelUser -> {
-            chatUserService.associatePlayerToChatUser(chatChannelUser, player);
-            eventBus.post(new ChatUserCategoryChangeEvent(chatChannelUser));
-          });
+  public void onPlayersUpdated(PlayersUpdatedEvent event) {
+    for (Player player : event.getPlayers()) {
+      for (ChatChannelUser chatChannelUser : chatMemberships.getMemberships(player.getUsername())) {
+        // Category changes of users that are already associated are posted by the player service
+        if (chatChannelUser.getPlayer().filter(userPlayer -> userPlayer == player).isEmpty()) {
+          chatUserService.associatePlayerToChatUser(chatChannelUser, player);
+          eventBus.post(new ChatUserCategoryChangeEvent(chatChannelUser));
+        }
+      }
     }
   }
 
@@ -275,9 +277,31 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
   @Handler
   private void onChatUserQuit(UserQuitEvent event) {
     User user = event.getUser();
-    synchronized (channels) {
-      channels.values().forEach(channel -> onChatUserLeftChannel(channel.getName(), user.getNick()));
+    chatMemberships.getChannelNames(user.getNick()).forEach(channelName -> onChatUserLeftChannel(channelName, user.getNick()));
+  }
+
+  @Handler
+  private void onNickChange(UserNickChangeEvent event) {
+    String oldNick = event.getOldUser().getNick();
+    String newNick = event.getNewUser().getNick();
+    if (userService.getUsername().equalsIgnoreCase(oldNick)) {
+      return;
     }
+    chatMemberships.getChannelNames(oldNick).forEach(channelName -> {
+      ChatChannelUser oldChatUser = chatMemberships.get(oldNick, channelName);
+      boolean moderator = oldChatUser != null && oldChatUser.isModerator();
+      onChatUserLeftChannel(channelName, oldNick);
+      addUserToChannel(channelName, getOrCreateChatUser(newNick, channelName, moderator));
+    });
+  }
+
+  /**
+   * Queues the specified message to be written to the chat history and posts it right away. Chat tabs get the index of
+   * the message in the history from {@link ChatHistoryService#getHistoryIndex(ChatMessage)} once it has been written.
+   */
+  private void postChatMessage(ChatMessage message) {
+    chatHistoryService.append(message);
+    eventBus.post(new ChatMessageEvent(message));
   }
 
   @Handler
@@ -292,7 +316,7 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
 
     String source = event.getChannel().getName();
 
-    eventBus.post(new ChatMessageEvent(new ChatMessage(source, Instant.now(), user.getNick(), event.getMessage(), false)));
+    postChatMessage(new ChatMessage(source, Instant.now(), StringInterner.intern(user.getNick()), event.getMessage(), false));
   }
 
   @Handler
@@ -302,7 +326,7 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
     Channel channel = event.getChannel();
     String source = channel.getName();
 
-    eventBus.post(new ChatMessageEvent(new ChatMessage(source, Instant.ofEpochMilli(user.getCreationTime()), user.getNick(), event.getMessage().replace("ACTION", user.getNick()), true)));
+    postChatMessage(new ChatMessage(source, Instant.ofEpochMilli(user.getCreationTime()), StringInterner.intern(user.getNick()), event.getMessage().replace("ACTION", user.getNick()), true));
   }
 
   @Handler
@@ -337,7 +361,7 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
       ircLog.debug("Suppressing chat message from foe '{}'", user.getNick());
       return;
     }
-    eventBus.post(new ChatMessageEvent(new ChatMessage(user.getNick(), Instant.ofEpochMilli(user.getCreationTime()), user.getNick(), event.getMessage())));
+    postChatMessage(new ChatMessage(user.getNick(), Instant.ofEpochMilli(user.getCreationTime()), StringInterner.intern(user.getNick()), event.getMessage()));
   }
 
   @Handler
@@ -374,8 +398,9 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
       channels.values().forEach(ChatChannel::clearUsers);
       channels.clear();
     }
-    synchronized (chatChannelUsersByChannelAndName) {
-      chatChannelUsersByChannelAndName.clear();
+    synchronized (chatMemberships) {
+      chatMemberships.clear();
+      chatUsersByName.clear();
     }
     newbieChannelJoined = false;
     autoChannelsJoined = false;
@@ -389,17 +414,24 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
   }
 
   private void onChatUserLeftChannel(String channelName, String username) {
-    if (getOrCreateChannel(channelName).removeUser(username) == null) {
-      return;
+    // Private chats have a membership but no channel, which must not be created just to remove the user from it
+    ChatChannel chatChannel;
+    synchronized (channels) {
+      chatChannel = channels.get(channelName);
     }
-    ircLog.debug("User '{}' left channel: {}", username, channelName);
-    if (userService.getUsername().equalsIgnoreCase(username)) {
-      synchronized (channels) {
-        channels.remove(channelName);
-      }
+    if (chatChannel != null && chatChannel.removeUser(username) != null) {
+      ircLog.debug("User '{}' left channel: {}", username, channelName);
     }
-    synchronized (chatChannelUsersByChannelAndName) {
-      chatChannelUsersByChannelAndName.remove(mapKey(username, channelName));
+    synchronized (chatMemberships) {
+      if (userService.getUsername().equalsIgnoreCase(username)) {
+        synchronized (channels) {
+          channels.remove(channelName);
+        }
+        chatMemberships.removeChannel(channelName).forEach(chatUser -> chatUsersByName.remove(ChatMembershipIndex.fold(chatUser.getUsername())));
+      }
+      if (chatMemberships.remove(username, channelName) != null && !chatMemberships.hasMemberships(username)) {
+        chatUsersByName.remove(ChatMembershipIndex.fold(username));
+      }
     }
     // The server doesn't yet tell us when a user goes offline, so we have to rely on the user leaving IRC.
     if (defaultChannelName.equals(channelName)) {
@@ -473,7 +505,7 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
 
   @Override
   public CompletableFuture<String> sendMessageInBackground(String target, String message) {
-    eventBus.post(new ChatMessageEvent(new ChatMessage(target, Instant.now(), userService.getUsername(), message)));
+    postChatMessage(new ChatMessage(target, Instant.now(), userService.getUsername(), message));
     return CompletableFuture.supplyAsync(() -> {
       client.sendMessage(target, message);
       return message;
@@ -492,16 +524,18 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
 
   @Override
   public ChatChannelUser getOrCreateChatUser(String username, String channel, boolean isModerator) {
-    synchronized (chatChannelUsersByChannelAndName) {
-      String key = mapKey(username, channel);
-      if (!chatChannelUsersByChannelAndName.containsKey(key)) {
+    synchronized (chatMemberships) {
+      ChatChannelUser chatChannelUser = chatMemberships.get(username, channel);
+      if (chatChannelUser == null) {
         Optional<Player> optionalPlayer = playerService.getPlayerForUsername(username);
 
-        ChatChannelUser chatChannelUser = new ChatChannelUser(username, isModerator);
-        chatChannelUsersByChannelAndName.put(key, chatChannelUser);
+        chatChannelUser = new ChatChannelUser(StringInterner.intern(username), isModerator);
+        if (chatMemberships.put(channel, chatChannelUser)) {
+          chatUsersByName.put(ChatMembershipIndex.fold(chatChannelUser.getUsername()), chatChannelUser);
+        }
         chatUserService.associatePlayerToChatUser(chatChannelUser, optionalPlayer.orElse(null));
       }
-      return chatChannelUsersByChannelAndName.get(key);
+      return chatChannelUser;
     }
   }
 
@@ -512,8 +546,8 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
 
   @Override
   public void addChatUsersByNameListener(MapChangeListener<String, ChatChannelUser> listener) {
-    synchronized (chatChannelUsersByChannelAndName) {
-      JavaFxUtil.addListener(chatChannelUsersByChannelAndName, listener);
+    synchronized (chatMemberships) {
+      JavaFxUtil.addListener(chatUsersByName, listener);
     }
   }
 
@@ -597,8 +631,4 @@ public class KittehChatService implements ChatService, InitializingBean, Disposa
   private void onModeratorSet(String channelName, String username) {
     getOrCreateChatUser(username, channelName, true).setModerator(true);
   }
-
-  private String mapKey(String username, String channelName) {
-    return username + channelName;
-  }
 }
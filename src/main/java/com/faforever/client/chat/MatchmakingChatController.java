@@ -61,10 +61,11 @@ public class MatchmakingChatController extends AbstractChatTabController {
                                    ChatService chatService,
                                    WebViewConfigurer webViewConfigurer,
                                    CountryFlagService countryFlagService,
-                                   ChatUserService chatUserService, ApplicationEventPublisher applicationEventPublisher) {
+                                   ChatUserService chatUserService, ApplicationEventPublisher applicationEventPublisher,
+                                   ChatHistoryService chatHistoryService) {
     super(webViewConfigurer, userService, chatService, preferencesService, playerService, audioService,
         timeService, i18n, imageUploadService, notificationService, reportingService, uiService,
-        eventBus, countryFlagService, chatUserService);
+        eventBus, countryFlagService, chatUserService, chatHistoryService);
     this.applicationEventPublisher = applicationEventPublisher;
   }
 
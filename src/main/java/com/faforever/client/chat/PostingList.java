@@ -0,0 +1,65 @@
+package com.faforever.client.chat;
+
+import java.util.Arrays;
+
+/**
+ * A growing, sorted list of message indexes, stored as variable-length encoded deltas. Since consecutive indexes of a
+ * word are usually close to each other, most of them take a single byte. Not thread-safe.
+ */
+final class PostingList {
+
+  private byte[] bytes = new byte[4];
+  private int length;
+  private int size;
+  private int last = -1;
+
+  /**
+   * Adds the specified index, which must be greater than all indexes added before. Adding the last index again has no
+   * effect, so that a word occurring twice in a message is only listed once.
+   */
+  void add(int index) {
+    if (index == last) {
+      return;
+    }
+    if (index < last) {
+      throw new IllegalArgumentException("Index " + index + " is less than the last index " + last);
+    }
+    int delta = index - last;
+    if (length + 5 > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+    }
+    while ((delta & ~0x7F) != 0) {
+      bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+      delta >>>= 7;
+    }
+    bytes[length++] = (byte) delta;
+    last = index;
+    size++;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns all indexes in ascending order.
+   */
+  int[] toArray() {
+    int[] indexes = new int[size];
+    int position = 0;
+    int index = -1;
+    for (int i = 0; i < size; i++) {
+      int delta = 0;
+      int shift = 0;
+      byte current;
+      do {
+        current = bytes[position++];
+        delta |= (current & 0x7F) << shift;
+        shift += 7;
+      } while ((current & 0x80) != 0);
+      index += delta;
+      indexes[i] = index;
+    }
+    return indexes;
+  }
+}
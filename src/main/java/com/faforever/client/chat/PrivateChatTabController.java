@@ -59,10 +59,11 @@ public class PrivateChatTabController extends AbstractChatTabController {
                                   ChatService chatService,
                                   WebViewConfigurer webViewConfigurer,
                                   CountryFlagService countryFlagService,
-                                  ChatUserService chatUserService) {
+                                  ChatUserService chatUserService,
+                                  ChatHistoryService chatHistoryService) {
     super(webViewConfigurer, userService, chatService, preferencesService, playerService, audioService,
         timeService, i18n, imageUploadService, notificationService, reportingService, uiService,
-        eventBus, countryFlagService, chatUserService);
+        eventBus, countryFlagService, chatUserService, chatHistoryService);
   }
 
 
@@ -91,10 +92,10 @@ public class PrivateChatTabController extends AbstractChatTabController {
     userOffline = false;
     chatService.addChatUsersByNameListener(change -> {
       if (change.wasRemoved()) {
-        onPlayerDisconnected(change.getKey());
+        onPlayerDisconnected(change.getValueRemoved().getUsername());
       }
       if (change.wasAdded()) {
-        onPlayerConnected(change.getKey());
+        onPlayerConnected(change.getValueAdded().getUsername());
       }
     });
   }
@@ -131,7 +132,7 @@ public class PrivateChatTabController extends AbstractChatTabController {
 
   @VisibleForTesting
   void onPlayerDisconnected(String userName) {
-    if (!userName.equals(getReceiver())) {
+    if (!userName.equalsIgnoreCase(getReceiver())) {
       return;
     }
     userOffline = true;
@@ -140,7 +141,7 @@ public class PrivateChatTabController extends AbstractChatTabController {
 
   @VisibleForTesting
   void onPlayerConnected(String userName) {
-    if (!userOffline || !userName.equals(getReceiver())) {
+    if (!userOffline || !userName.equalsIgnoreCase(getReceiver())) {
       return;
     }
     userOffline = false;
@@ -3,9 +3,8 @@ package com.faforever.client.chat;
 import com.faforever.client.fx.Controller;
 import com.faforever.client.game.PlayerStatus;
 import com.faforever.client.i18n.I18n;
-import com.faforever.client.player.Player;
-import com.faforever.client.util.RatingUtil;
 import com.google.common.annotations.VisibleForTesting;
+import javafx.animation.PauseTransition;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.scene.Node;
@@ -13,14 +12,14 @@ import javafx.scene.control.MenuButton;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ToggleGroup;
 import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.HashSet;
+import java.util.Set;
 
-import static com.faforever.client.game.PlayerStatus.HOSTING;
 import static com.faforever.client.game.PlayerStatus.IDLE;
 import static com.faforever.client.game.PlayerStatus.LOBBYING;
 import static com.faforever.client.game.PlayerStatus.PLAYING;
@@ -29,6 +28,8 @@ import static com.faforever.client.game.PlayerStatus.PLAYING;
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 public class UserFilterController implements Controller<Node> {
 
+  private static final Duration FILTER_DELAY = Duration.millis(150);
+
   private final I18n i18n;
   private final CountryFlagService flagService;
   public MenuButton gameStatusMenu;
@@ -41,17 +42,27 @@ public class UserFilterController implements Controller<Node> {
 
 
   private final BooleanProperty filterApplied;
+  private final ChatUserFilter userFilter;
+  /** Delays filtering while the user is still typing. */
+  private final PauseTransition filterDelay;
   @VisibleForTesting
   ChannelTabController channelTabController;
   @VisibleForTesting
   PlayerStatus playerStatusFilter;
 
-  List<String> currentSelectedCountries;
+  private String usernameFilter;
+  /** The codes of the countries matching {@link #countryFilterText}, or {@code null} if there is no country filter. */
+  private Set<String> currentSelectedCountries;
+  private String countryFilterText;
 
   public UserFilterController(I18n i18n, CountryFlagService flagService) {
     this.i18n = i18n;
     this.flagService = flagService;
     this.filterApplied = new SimpleBooleanProperty(false);
+    this.userFilter = new ChatUserFilter();
+    this.filterDelay = new PauseTransition(FILTER_DELAY);
+    this.usernameFilter = "";
+    this.countryFilterText = "";
   }
 
   void setChannelController(ChannelTabController channelTabController) {
@@ -59,15 +70,28 @@ public class UserFilterController implements Controller<Node> {
   }
 
   public void initialize() {
-    clanFilterField.textProperty().addListener((observable, oldValue, newValue) -> filterUsers());
-    minRatingFilterField.textProperty().addListener((observable, oldValue, newValue) -> filterUsers());
-    maxRatingFilterField.textProperty().addListener((observable, oldValue, newValue) -> filterUsers());
-    countryFilterField.textProperty().addListener(((observable, oldValue, newValue) -> filterCountry()));
-    currentSelectedCountries = flagService.getCountries(null);
+    filterDelay.setOnFinished(event -> filterUsers());
+    clanFilterField.textProperty().addListener((observable, oldValue, newValue) -> filterUsersLater());
+    minRatingFilterField.textProperty().addListener((observable, oldValue, newValue) -> filterUsersLater());
+    maxRatingFilterField.textProperty().addListener((observable, oldValue, newValue) -> filterUsersLater());
+    countryFilterField.textProperty().addListener((observable, oldValue, newValue) -> filterUsersLater());
+  }
+
+  /**
+   * Sets the text that usernames need to contain and filters the users once the user stopped typing.
+   */
+  void setUsernameFilter(String usernameFilter) {
+    this.usernameFilter = usernameFilter;
+    filterUsersLater();
+  }
+
+  private void filterUsersLater() {
+    filterDelay.playFromStart();
   }
 
   public void filterUsers() {
-    channelTabController.setUserFilter(this::filterUser);
+    filterDelay.stop();
+    userFilter.setQuery(createQuery(), channelTabController::setUserFilter);
     filterApplied.set(
         !maxRatingFilterField.getText().isEmpty()
             || !minRatingFilterField.getText().isEmpty()
@@ -77,23 +101,18 @@ public class UserFilterController implements Controller<Node> {
     );
   }
 
-  private boolean filterUser(CategoryOrChatUserListItem userListItem) {
-    if (userListItem.getUser() == null) {
-      // The categories should display in the list independently of a filter
-      return true;
-    }
-
-    ChatChannelUser user = userListItem.getUser();
-    return channelTabController.isUsernameMatch(user)
-        && isInClan(user)
-        && isBoundByRating(user)
-        && isGameStatusMatch(user)
-        && isCountryMatch(user);
+  private ChatUserFilter.Query createQuery() {
+    return ChatUserFilter.Query.of(usernameFilter, clanFilterField.getText(), minRatingFilterField.getText(),
+        maxRatingFilterField.getText(), playerStatusFilter, getSelectedCountries());
   }
 
-  private void filterCountry() {
-    currentSelectedCountries = flagService.getCountries(countryFilterField.textProperty().get());
-    filterUsers();
+  private Set<String> getSelectedCountries() {
+    String text = countryFilterField.getText();
+    if (!text.equals(countryFilterText)) {
+      countryFilterText = text;
+      currentSelectedCountries = text.isEmpty() ? null : new HashSet<>(flagService.getCountries(text));
+    }
+    return currentSelectedCountries;
   }
 
   public BooleanProperty filterAppliedProperty() {
@@ -104,95 +123,6 @@ public class UserFilterController implements Controller<Node> {
     return filterApplied.get();
   }
 
-  @VisibleForTesting
-  boolean isInClan(ChatChannelUser chatUser) {
-    if (clanFilterField.getText().isEmpty()) {
-      return true;
-    }
-
-    Optional<Player> playerOptional = chatUser.getPlayer();
-
-    if (!playerOptional.isPresent()) {
-      return false;
-    }
-
-    Player player = playerOptional.get();
-    String clan = player.getClan();
-    if (clan == null) {
-      return false;
-    }
-
-    String lowerCaseSearchString = clan.toLowerCase();
-    return lowerCaseSearchString.contains(clanFilterField.getText().toLowerCase());
-  }
-
-  @VisibleForTesting
-  boolean isBoundByRating(ChatChannelUser chatUser) {
-    if (minRatingFilterField.getText().isEmpty() && maxRatingFilterField.getText().isEmpty()) {
-      return true;
-    }
-
-    Optional<Player> optionalPlayer = chatUser.getPlayer();
-
-    if (!optionalPlayer.isPresent()) {
-      return false;
-    }
-
-    //TODO filter by specifc leaderboard rating remove hardcoded value
-    Player player = optionalPlayer.get();
-    int rating = RatingUtil.getLeaderboardRating(player, "global");
-    int minRating;
-    int maxRating;
-
-    try {
-      minRating = Integer.parseInt(minRatingFilterField.getText());
-    } catch (NumberFormatException e) {
-      minRating = Integer.MIN_VALUE;
-    }
-    try {
-      maxRating = Integer.parseInt(maxRatingFilterField.getText());
-    } catch (NumberFormatException e) {
-      maxRating = Integer.MAX_VALUE;
-    }
-
-    return rating >= minRating && rating <= maxRating;
-  }
-
-  @VisibleForTesting
-  boolean isGameStatusMatch(ChatChannelUser chatUser) {
-    if (playerStatusFilter == null) {
-      return true;
-    }
-
-    Optional<Player> playerOptional = chatUser.getPlayer();
-
-    if (!playerOptional.isPresent()) {
-      return false;
-    }
-
-    PlayerStatus playerStatus = playerOptional.get().getStatus();
-    if (playerStatusFilter == LOBBYING) {
-      return LOBBYING == playerStatus || HOSTING == playerStatus;
-    } else {
-      return playerStatusFilter == playerStatus;
-    }
-  }
-
-  boolean isCountryMatch(ChatChannelUser chatUser) {
-    // Users of  'chat only' group have no country so that need to check it for empty string
-    if (countryFilterField.getText().isEmpty()) {
-      return true;
-    }
-
-    Optional<Player> playerOptional = chatUser.getPlayer();
-    if (playerOptional.isEmpty()) {
-      return false;
-    }
-
-    String country = playerOptional.get().getCountry();
-    return currentSelectedCountries.contains(country);
-  }
-
   public void onGameStatusPlaying() {
     updateGameStatusMenuText(playerStatusFilter == PLAYING ? null : PLAYING);
     filterUsers();
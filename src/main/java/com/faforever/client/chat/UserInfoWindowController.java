@@ -205,7 +205,8 @@ public class UserInfoWindowController implements Controller<Node> {
     this.player = player;
 
     usernameLabel.setText(player.getUsername());
-    countryFlagService.loadCountryFlag(player.getCountry()).ifPresent(image -> countryImageView.setImage(image));
+    countryFlagService.loadCountryFlag(player.getCountry())
+        .thenAccept(countryFlag -> countryFlag.ifPresent(image -> JavaFxUtil.runLater(() -> countryImageView.setImage(image))));
     gamesPlayedLabel.setText(i18n.number(player.getNumberOfGames()));
 
     updateNameHistory();
@@ -381,7 +382,7 @@ public class UserInfoWindowController implements Controller<Node> {
       JavaFxUtil.runLater(() -> {
         mostRecentAchievementNameLabel.setText(mostRecentAchievementName);
         mostRecentAchievementDescriptionLabel.setText(mostRecentAchievementDescription);
-        mostRecentAchievementImageView.setImage(achievementService.getImage(mostRecentAchievement, UNLOCKED));
+        JavaFxUtil.setImage(mostRecentAchievementImageView, achievementService.getImage(mostRecentAchievement, UNLOCKED));
       });
     }
   }
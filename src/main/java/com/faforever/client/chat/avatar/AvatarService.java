@@ -7,7 +7,7 @@ import java.util.concurrent.CompletableFuture;
 
 public interface AvatarService {
 
-  Image loadAvatar(String avatarUrl);
+  CompletableFuture<Image> loadAvatar(String avatarUrl);
 
   CompletableFuture<List<AvatarBean>> getAvailableAvatars();
 
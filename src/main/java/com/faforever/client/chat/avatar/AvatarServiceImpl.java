@@ -4,7 +4,6 @@ import com.faforever.client.remote.AssetService;
 import com.faforever.client.remote.FafService;
 import javafx.scene.image.Image;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
@@ -13,7 +12,6 @@ import java.nio.file.Paths;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
-import static com.faforever.client.config.CacheNames.AVATARS;
 import static com.github.nocatch.NoCatch.noCatch;
 
 @Lazy
@@ -25,8 +23,7 @@ public class AvatarServiceImpl implements AvatarService {
   private final AssetService assetService;
 
   @Override
-  @Cacheable(value = AVATARS, sync = true)
-  public Image loadAvatar(String avatarUrl) {
+  public CompletableFuture<Image> loadAvatar(String avatarUrl) {
     return assetService.loadAndCacheImage(noCatch(() -> new URL(avatarUrl)), Paths.get("avatars"), null);
   }
 
@@ -1,23 +1,175 @@
 package com.faforever.client.clan;
 
+import com.faforever.client.config.CacheNames;
+import com.faforever.client.preferences.PreferencesService;
 import com.faforever.client.remote.FafService;
+import com.google.common.collect.Lists;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Locale.US;
+
+/**
+ * Looks up clans by their tag. Lookups are collected for a short while and then looked up together, with one API
+ * request per batch, so that joining a channel with hundreds of clan members doesn't cause hundreds of requests. Results,
+ * including tags without clan, are cached and written to a snapshot on disk when the client is closed, which serves
+ * lookups of the next session until it expires.
+ */
 @Lazy
 @Service
+@Slf4j
 @RequiredArgsConstructor
-public class ClanService {
+public class ClanService implements InitializingBean, DisposableBean {
+
+  /** How long lookups are collected before they are sent as a batch. */
+  private static final Duration BATCH_WINDOW = Duration.ofMillis(50);
+  /** The maximum number of tags looked up with a single request. */
+  private static final int MAX_BATCH_SIZE = 100;
+  private static final Duration SNAPSHOT_MAX_AGE = Duration.ofDays(1);
+  private static final String SNAPSHOT_FILE_NAME = "clans.json";
+  private static final Gson GSON = new Gson();
 
   private final FafService fafService;
+  private final TaskScheduler taskScheduler;
+  private final CacheManager cacheManager;
+  private final PreferencesService preferencesService;
+
+  /** Maps lower case tags to the results of their last lookup, whether from this session or from the snapshot. */
+  private final Map<String, ClanSnapshot> snapshots = new ConcurrentHashMap<>();
+  /** Lookups waiting for the next batch, by tag. */
+  private Map<String, CompletableFuture<Optional<Clan>>> pendingLookups = new HashMap<>();
+  private boolean isBatchScheduled;
+  private Cache clanCache;
 
+  @Override
+  public void afterPropertiesSet() {
+    clanCache = cacheManager.getCache(CacheNames.CLAN);
+    readSnapshots();
+  }
+
+  /**
+   * Returns the clan with the specified tag. Concurrent lookups of the same tag share a single future.
+   */
   public CompletableFuture<Optional<Clan>> getClanByTag(String tag) {
-    return fafService.getClanByTag(tag);
+    return clanCache.get(tag, () -> lookUp(tag));
+  }
+
+  private CompletableFuture<Optional<Clan>> lookUp(String tag) {
+    ClanSnapshot snapshot = snapshots.get(tag.toLowerCase(US));
+    if (snapshot != null && !isExpired(snapshot)) {
+      return CompletableFuture.completedFuture(snapshot.toClan());
+    }
+
+    CompletableFuture<Optional<Clan>> future = new CompletableFuture<>();
+    synchronized (this) {
+      pendingLookups.put(tag, future);
+      if (!isBatchScheduled) {
+        isBatchScheduled = true;
+        taskScheduler.schedule(this::sendPendingLookups, Instant.now().plus(BATCH_WINDOW));
+      }
+    }
+    // Failed lookups are not cached, so that they are retried next time
+    future.whenComplete((clan, throwable) -> {
+      if (throwable != null) {
+        clanCache.evict(tag);
+      }
+    });
+    return future;
+  }
+
+  private void sendPendingLookups() {
+    Map<String, CompletableFuture<Optional<Clan>>> lookups;
+    synchronized (this) {
+      lookups = pendingLookups;
+      pendingLookups = new HashMap<>();
+      isBatchScheduled = false;
+    }
+    for (List<String> tags : Lists.partition(new ArrayList<>(lookups.keySet()), MAX_BATCH_SIZE)) {
+      fafService.getClansByTags(tags)
+          .thenAccept(clans -> completeLookups(tags, clans, lookups))
+          .exceptionally(throwable -> {
+            log.warn("Clans could not be looked up: {}", tags, throwable);
+            tags.forEach(tag -> lookups.get(tag).completeExceptionally(throwable));
+            return null;
+          });
+    }
   }
-}
 
+  private void completeLookups(List<String> tags, List<Clan> clans, Map<String, CompletableFuture<Optional<Clan>>> lookups) {
+    Map<String, Clan> clansByTag = new HashMap<>();
+    clans.forEach(clan -> clansByTag.put(clan.getTag().toLowerCase(US), clan));
 
+    Instant now = Instant.now();
+    for (String tag : tags) {
+      Optional<Clan> clan = Optional.ofNullable(clansByTag.get(tag.toLowerCase(US)));
+      snapshots.put(tag.toLowerCase(US), ClanSnapshot.of(tag, clan, now));
+      lookups.get(tag).complete(clan);
+    }
+  }
+
+  private boolean isExpired(ClanSnapshot snapshot) {
+    return Instant.ofEpochMilli(snapshot.getLookupTime()).plus(SNAPSHOT_MAX_AGE).isBefore(Instant.now());
+  }
+
+  private Path getSnapshotFile() {
+    return preferencesService.getCacheDirectory().resolve(SNAPSHOT_FILE_NAME);
+  }
+
+  private void readSnapshots() {
+    Path snapshotFile = getSnapshotFile();
+    if (Files.notExists(snapshotFile)) {
+      return;
+    }
+    try (Reader reader = Files.newBufferedReader(snapshotFile, UTF_8)) {
+      List<ClanSnapshot> clanSnapshots = GSON.fromJson(reader, new TypeToken<List<ClanSnapshot>>() {}.getType());
+      if (clanSnapshots != null) {
+        clanSnapshots.stream()
+            .filter(snapshot -> snapshot.getTag() != null && !isExpired(snapshot))
+            .forEach(snapshot -> snapshots.put(snapshot.getTag().toLowerCase(US), snapshot));
+      }
+    } catch (IOException | JsonParseException e) {
+      log.warn("Clan snapshot could not be read: {}", snapshotFile, e);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    Path snapshotFile = getSnapshotFile();
+    List<ClanSnapshot> clanSnapshots = new ArrayList<>(snapshots.values());
+    clanSnapshots.removeIf(this::isExpired);
+    try {
+      Files.createDirectories(snapshotFile.getParent());
+      try (Writer writer = Files.newBufferedWriter(snapshotFile, UTF_8)) {
+        GSON.toJson(clanSnapshots, writer);
+      }
+    } catch (IOException e) {
+      log.warn("Clan snapshot could not be written: {}", snapshotFile, e);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.faforever.client.clan;
+
+import com.faforever.client.player.Player;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The result of looking up a clan by its tag, in a form that can be written to disk. If no clan has been found, only
+ * the tag and the time of the lookup are set, so that tags without clan are not looked up again either.
+ */
+@Value
+class ClanSnapshot {
+
+  String tag;
+  /** When the clan has been looked up, in epoch milliseconds. */
+  long lookupTime;
+  boolean found;
+  @Nullable
+  String id;
+  @Nullable
+  String name;
+  @Nullable
+  String description;
+  @Nullable
+  String tagColor;
+  @Nullable
+  String websiteUrl;
+  @Nullable
+  Long createTime;
+  @Nullable
+  PlayerSnapshot founder;
+  @Nullable
+  PlayerSnapshot leader;
+  @Nullable
+  List<PlayerSnapshot> members;
+
+  static ClanSnapshot of(String tag, Optional<Clan> optionalClan, Instant lookupTime) {
+    if (optionalClan.isEmpty()) {
+      return new ClanSnapshot(tag, lookupTime.toEpochMilli(), false, null, null, null, null, null, null, null, null, null);
+    }
+    Clan clan = optionalClan.get();
+    return new ClanSnapshot(tag, lookupTime.toEpochMilli(), true, clan.getId(), clan.getName(), clan.getDescription(),
+        clan.getTagColor(), clan.getWebsiteUrl(),
+        clan.getCreateTime() != null ? clan.getCreateTime().toEpochMilli() : null,
+        PlayerSnapshot.of(clan.getFounder()), PlayerSnapshot.of(clan.getLeader()),
+        clan.getMembers().stream().map(PlayerSnapshot::of).collect(Collectors.toList()));
+  }
+
+  Optional<Clan> toClan() {
+    if (!found) {
+      return Optional.empty();
+    }
+    Clan clan = new Clan();
+    clan.setId(id);
+    clan.setTag(tag);
+    clan.setName(name);
+    clan.setDescription(description);
+    clan.setTagColor(tagColor);
+    clan.setWebsiteUrl(websiteUrl);
+    clan.setCreateTime(createTime != null ? Instant.ofEpochMilli(createTime) : null);
+    clan.setFounder(founder != null ? founder.toPlayer() : null);
+    clan.setLeader(leader != null ? leader.toPlayer() : null);
+    if (members != null) {
+      clan.getMembers().setAll(members.stream().map(PlayerSnapshot::toPlayer).collect(Collectors.toList()));
+    }
+    return Optional.of(clan);
+  }
+
+  @Value
+  static class PlayerSnapshot {
+    int id;
+    String username;
+
+    @Nullable
+    static PlayerSnapshot of(@Nullable Player player) {
+      return player != null ? new PlayerSnapshot(player.getId(), player.getUsername()) : null;
+    }
+
+    Player toPlayer() {
+      Player player = new Player(username);
+      player.setId(id);
+      return player;
+    }
+  }
+}
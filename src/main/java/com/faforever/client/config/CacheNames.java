@@ -2,13 +2,9 @@ package com.faforever.client.config;
 
 public final class CacheNames {
 
-  public static final String AVATARS = "avatars";
-  public static final String COUNTRY_FLAGS = "countryFlags";
   public static final String COUNTRY_NAMES = "countryNames";
-  public static final String MAP_PREVIEW = "mapPreview";
   public static final String URL_PREVIEW = "urlPreview";
   public static final String STATISTICS = "statistics";
-  public static final String ACHIEVEMENT_IMAGES = "achievementImages";
   public static final String ACHIEVEMENTS = "achievements";
   public static final String MODS = "mods";
   public static final String LEADERBOARD = "Leaderboard";
@@ -17,6 +13,7 @@ public final class CacheNames {
   public static final String MAPS = "maps";
   public static final String MAP_GENERATOR = "mapGenerator";
   public static final String THEME_IMAGES = "themeImages";
+  public static final String THEME_TEMPLATES = "themeTemplates";
   public static final String MOD_THUMBNAIL = "modThumbnail";
   public static final String COOP_MAPS = "coopMaps";
   public static final String AVAILABLE_AVATARS = "availableAvatars";
@@ -75,6 +75,10 @@ public class ClientProperties {
   public static class Server {
     private String host;
     private int port;
+    /**
+     * If set, all frames received from the server are recorded to this file so they can be replayed for load testing.
+     */
+    private String trafficCaptureFile;
   }
 
   @Data
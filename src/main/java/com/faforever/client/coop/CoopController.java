@@ -249,7 +249,7 @@ public class CoopController extends AbstractViewController<Node> {
   private void setSelectedMission(CoopMission mission) {
     JavaFxUtil.runLater(() -> {
       descriptionWebView.getEngine().loadContent(mission.getDescription());
-      mapImageView.setImage(mapService.loadPreview(mission.getMapFolderName(), PreviewSize.SMALL));
+      JavaFxUtil.setImage(mapImageView, mapService.loadPreview(mission.getMapFolderName(), PreviewSize.SMALL));
     });
 
     loadLeaderboard();
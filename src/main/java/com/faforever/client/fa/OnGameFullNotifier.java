@@ -79,8 +79,8 @@ public class OnGameFullNotifier implements InitializingBean {
       return;
     }
 
-    notificationService.addNotification(new TransientNotification(i18n.get("game.full"), i18n.get("game.full.action"),
-        mapService.loadPreview(currentGame.getMapFolderName(), PreviewSize.SMALL),
-        v -> platformService.focusWindow(faWindowTitle)));
+    mapService.loadPreview(currentGame.getMapFolderName(), PreviewSize.SMALL)
+        .thenAccept(mapPreview -> notificationService.addNotification(new TransientNotification(i18n.get("game.full"),
+            i18n.get("game.full.action"), mapPreview, v -> platformService.focusWindow(faWindowTitle))));
   }
 }
@@ -10,6 +10,7 @@ import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.MapProperty;
 import javafx.beans.property.Property;
@@ -31,6 +32,7 @@ import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Tooltip;
 import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.paint.Color;
 import javafx.stage.Screen;
@@ -47,6 +49,8 @@ import java.lang.reflect.Field;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static com.github.nocatch.NoCatch.noCatch;
 import static java.nio.file.Files.createDirectories;
@@ -58,6 +62,9 @@ import static javax.imageio.ImageIO.write;
 @Slf4j
 public final class JavaFxUtil {
 
+  private static final String PENDING_IMAGE_KEY = "pendingImage";
+  private static final String IMAGE_LISTENER_KEY = "imageListener";
+
   public static final StringConverter<Path> PATH_STRING_CONVERTER = new StringConverter<>() {
     @Override
     public String toString(Path object) {
@@ -412,6 +419,43 @@ public final class JavaFxUtil {
     }
   }
 
+  /**
+   * Sets the image of the specified image view as soon as it has been loaded. If another image is set this way before
+   * the first one has been loaded, e.g. because the image view is in a reused cell, the first one is discarded.
+   */
+  public static void setImage(ImageView imageView, CompletableFuture<Image> imageFuture) {
+    runLater(() -> imageView.getProperties().put(PENDING_IMAGE_KEY, imageFuture));
+    imageFuture.thenAccept(image -> runLater(() -> {
+      if (imageView.getProperties().get(PENDING_IMAGE_KEY) == imageFuture) {
+        imageView.getProperties().remove(PENDING_IMAGE_KEY);
+        imageView.setImage(image);
+      }
+    }));
+  }
+
+  /**
+   * Like binding the image of the specified image view, but for images that are loaded asynchronously. The image is
+   * loaded again whenever one of the dependencies changes, for as long as the image view is in use or until it is
+   * bound again.
+   */
+  public static void bindImage(ImageView imageView, Supplier<CompletableFuture<Image>> imageSupplier, Observable... dependencies) {
+    InvalidationListener listener = new InvalidationListener() {
+      @Override
+      public void invalidated(Observable observable) {
+        runLater(() -> {
+          if (imageView.getProperties().get(IMAGE_LISTENER_KEY) == this) {
+            setImage(imageView, imageSupplier.get());
+          }
+        });
+      }
+    };
+    // The dependencies only reference the listener weakly, so the image view has to keep it alive
+    runLater(() -> imageView.getProperties().put(IMAGE_LISTENER_KEY, listener));
+    WeakInvalidationListener weakListener = new WeakInvalidationListener(listener);
+    Arrays.stream(dependencies).forEach(dependency -> addListener(dependency, weakListener));
+    listener.invalidated(null);
+  }
+
   public static Pointer getNativeWindow() {
 
     return User32.INSTANCE.GetActiveWindow().getPointer();
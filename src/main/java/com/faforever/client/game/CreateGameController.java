@@ -37,7 +37,6 @@ import javafx.scene.control.ListView;
 import javafx.scene.control.MultipleSelectionModel;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ToggleButton;
-import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundImage;
@@ -278,9 +277,14 @@ public class CreateGameController implements Controller<Pane> {
     preferencesService.getPreferences().getLastGame().setLastMap(newValue.getFolderName());
     preferencesService.storeInBackground();
 
-    Image largePreview = mapService.loadPreview(newValue.getFolderName(), PreviewSize.LARGE);
-    mapPreviewPane.setBackground(new Background(new BackgroundImage(largePreview, NO_REPEAT, NO_REPEAT, CENTER,
-        new BackgroundSize(BackgroundSize.AUTO, BackgroundSize.AUTO, false, false, true, false))));
+    mapService.loadPreview(newValue.getFolderName(), PreviewSize.LARGE)
+        .thenAccept(largePreview -> JavaFxUtil.runLater(() -> {
+          // Another map may have been selected in the meantime
+          if (newValue == mapListView.getSelectionModel().getSelectedItem()) {
+            mapPreviewPane.setBackground(new Background(new BackgroundImage(largePreview, NO_REPEAT, NO_REPEAT, CENTER,
+                new BackgroundSize(BackgroundSize.AUTO, BackgroundSize.AUTO, false, false, true, false))));
+          }
+        }));
 
     MapSize mapSize = newValue.getSize();
     mapSizeLabel.setText(i18n.get("mapPreview.size", mapSize.getWidthInKm(), mapSize.getHeightInKm()));
@@ -30,7 +30,6 @@ import org.springframework.stereotype.Component;
 import java.util.List;
 import java.util.Optional;
 
-import static javafx.beans.binding.Bindings.createObjectBinding;
 import static javafx.beans.binding.Bindings.createStringBinding;
 
 @Component
@@ -154,10 +153,10 @@ public class GameDetailController implements Controller<Pane> {
         game.numPlayersProperty(),
         game.maxPlayersProperty()
     ));
-    mapImageView.imageProperty().bind(createObjectBinding(
+    JavaFxUtil.bindImage(mapImageView,
         () -> mapService.loadPreview(game.getMapFolderName(), PreviewSize.LARGE),
         game.mapFolderNameProperty()
-    ));
+    );
 
     featuredModInvalidationListener = observable -> modService.getFeaturedMod(game.getFeaturedMod())
         .thenAccept(featuredMod -> JavaFxUtil.runLater(() -> {
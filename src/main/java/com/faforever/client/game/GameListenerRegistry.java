@@ -0,0 +1,107 @@
+package com.faforever.client.game;
+
+import com.faforever.client.fx.JavaFxUtil;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the listeners attached to games, each under a key. Registering a listener under a key that is already
+ * in use for the same game replaces the previous listener, so that no matter how often a game is updated, each kind of
+ * listener is attached at most once. When a game is gone, all its listeners can be removed at once.
+ */
+@Slf4j
+class GameListenerRegistry {
+
+  /**
+   * More listeners than this per game indicate that listeners are registered under ever new keys.
+   */
+  private static final int SUSPICIOUS_LISTENER_COUNT = 10;
+
+  /**
+   * Games are compared by identity, since two games with the same ID are still distinct beans with their own listeners.
+   */
+  private final Map<Game, Map<String, Runnable>> removersByGame = new IdentityHashMap<>();
+
+  synchronized <T> void register(Game game, String key, ObservableValue<T> observable, ChangeListener<? super T> listener) {
+    unregister(game, key);
+    JavaFxUtil.addListener(observable, listener);
+    removersByGame.computeIfAbsent(game, g -> new HashMap<>()).put(key, () -> JavaFxUtil.removeListener(observable, listener));
+  }
+
+  synchronized void register(Game game, String key, Observable observable, InvalidationListener listener) {
+    unregister(game, key);
+    JavaFxUtil.addListener(observable, listener);
+    removersByGame.computeIfAbsent(game, g -> new HashMap<>()).put(key, () -> JavaFxUtil.removeListener(observable, listener));
+  }
+
+  synchronized void unregister(Game game, String key) {
+    Map<String, Runnable> removers = removersByGame.get(game);
+    if (removers == null) {
+      return;
+    }
+    Runnable remover = removers.remove(key);
+    if (remover != null) {
+      remover.run();
+    }
+    if (removers.isEmpty()) {
+      removersByGame.remove(game);
+    }
+  }
+
+  /**
+   * Removes all listeners registered for the specified game.
+   */
+  synchronized void unregisterAll(Game game) {
+    Map<String, Runnable> removers = removersByGame.remove(game);
+    if (removers != null) {
+      removers.values().forEach(Runnable::run);
+    }
+  }
+
+  /**
+   * Removes all listeners of all games.
+   */
+  synchronized void clear() {
+    removersByGame.values().forEach(removers -> removers.values().forEach(Runnable::run));
+    removersByGame.clear();
+  }
+
+  synchronized int getListenerCount(Game game) {
+    return removersByGame.getOrDefault(game, Collections.emptyMap()).size();
+  }
+
+  /**
+   * Logs how many listeners are registered and warns about games that still have listeners although they are no longer
+   * known, or that have suspiciously many listeners. Only does something if debug logging is enabled.
+   */
+  synchronized void logListenerCounts(Collection<Game> knownGames) {
+    if (!log.isDebugEnabled()) {
+      return;
+    }
+    Set<Game> knownGameSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    knownGameSet.addAll(knownGames);
+
+    int listenerCount = 0;
+    for (Map.Entry<Game, Map<String, Runnable>> entry : removersByGame.entrySet()) {
+      Game game = entry.getKey();
+      int count = entry.getValue().size();
+      listenerCount += count;
+      if (!knownGameSet.contains(game)) {
+        log.warn("Game {} has been removed but still has listeners: {}", game.getId(), entry.getValue().keySet());
+      } else if (count > SUSPICIOUS_LISTENER_COUNT) {
+        log.warn("Game {} has {} listeners: {}", game.getId(), count, entry.getValue().keySet());
+      }
+    }
+    log.debug("{} listeners registered for {} games ({} games known)", listenerCount, removersByGame.size(), knownGameSet.size());
+  }
+}
@@ -0,0 +1,138 @@
+package com.faforever.client.game;
+
+import com.faforever.client.player.Player;
+import com.faforever.client.util.RatingUtil;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keeps the sum and count of the ratings of all players in each game, so that the average rating of a game can be
+ * updated incrementally when players join or leave it or when a player's rating changes, rather than resolving every
+ * player of the game again on every update. Only to be used from the application thread.
+ */
+class GameRatingAggregates {
+
+  private final Function<String, Optional<Player>> playerLookup;
+  private final Map<Integer, Aggregate> aggregatesByGameId = new HashMap<>();
+  private final Map<String, Set<Integer>> gameIdsByUsername = new HashMap<>();
+
+  GameRatingAggregates(Function<String, Optional<Player>> playerLookup) {
+    this.playerLookup = playerLookup;
+  }
+
+  /**
+   * Updates the aggregate of the snapshot's game to the snapshot's players and rating type and returns the game's new
+   * average rating. Only players that joined or left since the last update are resolved, unless the rating type
+   * changed.
+   */
+  double update(GameSnapshot snapshot) {
+    int gameId = snapshot.getId();
+    Aggregate aggregate = aggregatesByGameId.get(gameId);
+    if (aggregate == null || !Objects.equals(aggregate.ratingType, snapshot.getRatingType())) {
+      if (aggregate != null) {
+        remove(gameId);
+      }
+      aggregate = new Aggregate(snapshot.getRatingType());
+      aggregatesByGameId.put(gameId, aggregate);
+    }
+
+    Set<String> usernames = new HashSet<>();
+    snapshot.getTeams().values().forEach(usernames::addAll);
+
+    for (String username : new HashSet<>(aggregate.ratingsByUsername.keySet())) {
+      if (!usernames.contains(username)) {
+        aggregate.removePlayer(username);
+        unindex(username, gameId);
+      }
+    }
+    for (String username : usernames) {
+      if (!aggregate.ratingsByUsername.containsKey(username)) {
+        aggregate.addPlayer(username, playerLookup.apply(username).orElse(null));
+        gameIdsByUsername.computeIfAbsent(username, name -> new HashSet<>()).add(gameId);
+      }
+    }
+    return aggregate.getAverage();
+  }
+
+  /**
+   * Updates the rating of the specified player in all games they are in and returns the new average ratings of these
+   * games, by game ID.
+   */
+  Map<Integer, Double> updatePlayer(Player player) {
+    Set<Integer> gameIds = gameIdsByUsername.get(player.getUsername());
+    if (gameIds == null) {
+      return Map.of();
+    }
+    Map<Integer, Double> averagesByGameId = new HashMap<>();
+    for (Integer gameId : gameIds) {
+      Aggregate aggregate = aggregatesByGameId.get(gameId);
+      aggregate.removePlayer(player.getUsername());
+      aggregate.addPlayer(player.getUsername(), player);
+      averagesByGameId.put(gameId, aggregate.getAverage());
+    }
+    return averagesByGameId;
+  }
+
+  void remove(int gameId) {
+    Aggregate aggregate = aggregatesByGameId.remove(gameId);
+    if (aggregate != null) {
+      aggregate.ratingsByUsername.keySet().forEach(username -> unindex(username, gameId));
+    }
+  }
+
+  void clear() {
+    aggregatesByGameId.clear();
+    gameIdsByUsername.clear();
+  }
+
+  private void unindex(String username, int gameId) {
+    Set<Integer> gameIds = gameIdsByUsername.get(username);
+    if (gameIds != null) {
+      gameIds.remove(gameId);
+      if (gameIds.isEmpty()) {
+        gameIdsByUsername.remove(username);
+      }
+    }
+  }
+
+  private static class Aggregate {
+    private final String ratingType;
+    /**
+     * The rating each player contributes, or {@code null} if the player is not known (yet) and therefore not counted.
+     */
+    private final Map<String, Integer> ratingsByUsername = new HashMap<>();
+    private long sum;
+    private int count;
+
+    private Aggregate(String ratingType) {
+      this.ratingType = ratingType;
+    }
+
+    private void addPlayer(String username, Player player) {
+      Integer rating = player != null ? RatingUtil.getLeaderboardRating(player, ratingType) : null;
+      ratingsByUsername.put(username, rating);
+      if (rating != null) {
+        sum += rating;
+        count++;
+      }
+    }
+
+    private void removePlayer(String username) {
+      Integer rating = ratingsByUsername.remove(username);
+      if (rating != null) {
+        sum -= rating;
+        count--;
+      }
+    }
+
+    private double getAverage() {
+      return count == 0 ? 0.0 : (double) sum / count;
+    }
+  }
+}
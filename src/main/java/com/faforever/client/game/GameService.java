@@ -23,6 +23,8 @@ import com.faforever.client.notification.Severity;
 import com.faforever.client.patch.GameUpdater;
 import com.faforever.client.player.Player;
 import com.faforever.client.player.PlayerService;
+import com.faforever.client.player.PlayersUpdatedEvent;
+import com.faforever.client.player.event.CurrentPlayerInfo;
 import com.faforever.client.preferences.ForgedAlliancePrefs;
 import com.faforever.client.preferences.NotificationsPrefs;
 import com.faforever.client.preferences.PreferencesService;
@@ -35,8 +37,6 @@ import com.faforever.client.remote.domain.LoginMessage;
 import com.faforever.client.replay.ReplayServer;
 import com.faforever.client.reporting.ReportingService;
 import com.faforever.client.ui.preferences.event.GameDirectoryChooseEvent;
-import com.faforever.client.util.RatingUtil;
-import com.faforever.client.util.TimeUtil;
 import com.faforever.commons.api.dto.Faction;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.eventbus.EventBus;
@@ -55,12 +55,12 @@ import javafx.collections.ObservableMap;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringEscapeUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.inject.Inject;
@@ -113,7 +113,9 @@ public class GameService implements InitializingBean {
   private static final String GAME_PREFS_ALLOW_MULTI_LAUNCH_STRING = "\ndebug = {\n" +
       "    enable_debug_facilities = true\n" +
       "}";
-  private static final String OBSERVERS_TEAM = "-1";
+  private static final String FOCUS_WINDOW_LISTENER = "focusWindow";
+  private static final String CURRENT_GAME_PLAYERS_LISTENER = "currentGamePlayers";
+  private static final String CURRENT_GAME_STATUS_LISTENER = "currentGameStatus";
 
   @VisibleForTesting
   final BooleanProperty gameRunning;
@@ -148,6 +150,9 @@ public class GameService implements InitializingBean {
   private final String faWindowTitle;
   private final BooleanProperty inMatchmakerQueue;
   private final BooleanProperty inOthersParty;
+  private final GameSnapshotStore gameSnapshotStore;
+  private final GameListenerRegistry gameListenerRegistry = new GameListenerRegistry();
+  private final GameRatingAggregates gameRatingAggregates;
 
   @VisibleForTesting
   String matchedQueueRatingType;
@@ -203,6 +208,8 @@ public class GameService implements InitializingBean {
         item -> new Observable[]{item.statusProperty(), item.getTeams()}
     );
     forgedAlliancePrefs = preferencesService.getPreferences().getForgedAlliance();
+    gameSnapshotStore = new GameSnapshotStore(this::onGameChanges);
+    gameRatingAggregates = new GameRatingAggregates(playerService::getPlayerForUsername);
   }
 
   @Override
@@ -214,11 +221,11 @@ public class GameService implements InitializingBean {
       }
 
       InvalidationListener listener = generateNumberOfPlayersChangeListener(newValue);
-      JavaFxUtil.addListener(newValue.numPlayersProperty(), listener);
+      gameListenerRegistry.register(newValue, CURRENT_GAME_PLAYERS_LISTENER, newValue.numPlayersProperty(), listener);
       listener.invalidated(newValue.numPlayersProperty());
 
       ChangeListener<GameStatus> statusChangeListener = generateGameStatusListener(newValue);
-      JavaFxUtil.addListener(newValue.statusProperty(), statusChangeListener);
+      gameListenerRegistry.register(newValue, CURRENT_GAME_STATUS_LISTENER, newValue.statusProperty(), statusChangeListener);
       statusChangeListener.changed(newValue.statusProperty(), newValue.getStatus(), newValue.getStatus());
     });
 
@@ -230,13 +237,16 @@ public class GameService implements InitializingBean {
 
     eventBus.register(this);
 
-    fafService.addOnMessageListener(GameInfoMessage.class, message -> JavaFxUtil.runLater(() -> onGameInfo(message)));
+    fafService.addOnMessageListener(GameInfoMessage.class, gameSnapshotStore::add);
     fafService.addOnMessageListener(LoginMessage.class, message -> onLoggedIn());
 
     JavaFxUtil.addListener(
         fafService.connectionStateProperty(),
         (observable, oldValue, newValue) -> {
           if (newValue == ConnectionState.DISCONNECTED) {
+            gameSnapshotStore.clear();
+            gameListenerRegistry.clear();
+            gameRatingAggregates.clear();
             synchronized (uidToGameInfoBean) {
               uidToGameInfoBean.clear();
             }
@@ -251,7 +261,7 @@ public class GameService implements InitializingBean {
       @Override
       public void invalidated(Observable observable) {
         if (currentGame.get() == null || !Objects.equals(game, currentGame.get())) {
-          observable.removeListener(this);
+          gameListenerRegistry.unregister(game, CURRENT_GAME_PLAYERS_LISTENER);
           return;
         }
         final Player currentPlayer = playerService.getCurrentPlayer().orElseThrow(() -> new IllegalStateException("Player must be set"));
@@ -266,7 +276,7 @@ public class GameService implements InitializingBean {
       @Override
       public void changed(ObservableValue<? extends GameStatus> observable, GameStatus oldStatus, GameStatus newStatus) {
         if (observable.getValue() == GameStatus.CLOSED) {
-          observable.removeListener(this);
+          gameListenerRegistry.unregister(game, CURRENT_GAME_STATUS_LISTENER);
         }
 
         Player currentPlayer = getCurrentPlayer();
@@ -278,7 +288,7 @@ public class GameService implements InitializingBean {
           Check if player left the game while it was open, in this case we don't care any longer
          */
         if (newStatus == GameStatus.PLAYING && oldStatus == GameStatus.OPEN && !playerStillInGame) {
-          observable.removeListener(this);
+          gameListenerRegistry.unregister(game, CURRENT_GAME_STATUS_LISTENER);
           return;
         }
 
@@ -775,19 +785,45 @@ public class GameService implements InitializingBean {
     }
   }
 
-  private void onGameInfo(GameInfoMessage gameInfoMessage) {
+  private void onGameChanges(Collection<GameSnapshotStore.Change> changes) {
     JavaFxUtil.assertApplicationThread();
-    if (gameInfoMessage.getGames() != null) {
-      gameInfoMessage.getGames().forEach(this::onGameInfo);
+    List<Game> addedGames = new ArrayList<>();
+    List<Game> updatedGames = new ArrayList<>();
+    List<Game> removedGames = new ArrayList<>();
+
+    changes.forEach(change -> onGameChange(change, addedGames, updatedGames, removedGames));
+
+    if (!addedGames.isEmpty() || !updatedGames.isEmpty() || !removedGames.isEmpty()) {
+      eventBus.post(new GamesChangedEvent(addedGames, updatedGames, removedGames));
+    }
+  }
+
+  private void onGameChange(GameSnapshotStore.Change change, List<Game> addedGames, List<Game> updatedGames, List<Game> removedGames) {
+    GameSnapshot snapshot = change.getCurrent();
+    boolean knownGame = uidToGameInfoBean.containsKey(snapshot.getId());
+    if (!knownGame && GameStatus.CLOSED == snapshot.getStatus()) {
+      // Opened and closed since the last batch
       return;
     }
 
     // We may receive game info before we receive our player info
     Optional<Player> currentPlayerOptional = playerService.getCurrentPlayer();
 
-    Game game = createOrUpdateGame(gameInfoMessage);
+    Game game = createOrUpdateGame(change);
+    if (!knownGame) {
+      gameListenerRegistry.register(game, FOCUS_WINDOW_LISTENER, game.statusProperty(), (observable, oldValue, newValue) -> {
+        if (oldValue == GameStatus.OPEN
+            && newValue == GameStatus.PLAYING
+            && game.getTeams().values().stream().anyMatch(team -> playerService.getCurrentPlayer().isPresent() && team.contains(playerService.getCurrentPlayer().get().getUsername()))
+            && !platformService.isWindowFocused(faWindowTitle)) {
+          platformService.focusWindow(faWindowTitle);
+        }
+      });
+    }
+
     if (GameStatus.CLOSED == game.getStatus()) {
-      removeGame(gameInfoMessage);
+      removeGame(game);
+      removedGames.add(game);
       if (!currentPlayerOptional.isPresent() || !Objects.equals(currentGame.get(), game)) {
         return;
       }
@@ -795,14 +831,18 @@ public class GameService implements InitializingBean {
         currentGame.set(null);
       }
 
+    } else if (knownGame) {
+      updatedGames.add(game);
+    } else {
+      addedGames.add(game);
     }
 
     if (currentPlayerOptional.isPresent()) {
       // TODO the following can be removed as soon as the server tells us which game a player is in.
-      boolean currentPlayerInGame = gameInfoMessage.getTeams().values().stream()
+      boolean currentPlayerInGame = snapshot.getTeams().values().stream()
           .anyMatch(team -> team.contains(currentPlayerOptional.get().getUsername()));
 
-      if (currentPlayerInGame && GameStatus.OPEN == gameInfoMessage.getState()) {
+      if (currentPlayerInGame && GameStatus.OPEN == snapshot.getStatus()) {
         synchronized (currentGame) {
           currentGame.set(game);
         }
@@ -812,93 +852,70 @@ public class GameService implements InitializingBean {
         }
       }
     }
-
-
-    JavaFxUtil.addListener(game.statusProperty(), (observable, oldValue, newValue) -> {
-      if (oldValue == GameStatus.OPEN
-          && newValue == GameStatus.PLAYING
-          && game.getTeams().values().stream().anyMatch(team -> playerService.getCurrentPlayer().isPresent() && team.contains(playerService.getCurrentPlayer().get().getUsername()))
-          && !platformService.isWindowFocused(faWindowTitle)) {
-        platformService.focusWindow(faWindowTitle);
-      }
-    });
   }
 
-  private Game createOrUpdateGame(GameInfoMessage gameInfoMessage) {
+  private Game createOrUpdateGame(GameSnapshotStore.Change change) {
     JavaFxUtil.assertApplicationThread();
-    Integer gameId = gameInfoMessage.getUid();
+    GameSnapshot snapshot = change.getCurrent();
+    Integer gameId = snapshot.getId();
     log.debug("Updating Game {}", gameId);
     final Game game;
     synchronized (uidToGameInfoBean) {
       if (!uidToGameInfoBean.containsKey(gameId)) {
         game = new Game();
+        snapshot.applyTo(game, null);
         uidToGameInfoBean.put(gameId, game);
-        updateFromGameInfo(gameInfoMessage, game);
-        eventBus.post(new GameAddedEvent(game));
       } else {
         game = uidToGameInfoBean.get(gameId);
-        updateFromGameInfo(gameInfoMessage, game);
-        eventBus.post(new GameUpdatedEvent(game));
+        snapshot.applyTo(game, change.getPrevious());
       }
     }
+    GameSnapshot previous = change.getPrevious();
+    if (previous == null
+        || !previous.getTeams().equals(snapshot.getTeams())
+        || !Objects.equals(previous.getRatingType(), snapshot.getRatingType())) {
+      game.setAverageRating(gameRatingAggregates.update(snapshot));
+    }
     return game;
   }
 
-  private double calcAverageRating(GameInfoMessage gameInfoMessage) {
-    return gameInfoMessage.getTeams().values().stream()
-        .flatMap(Collection::stream)
-        .map(playerService::getPlayerForUsername)
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .mapToInt(player -> RatingUtil.getLeaderboardRating(player, gameInfoMessage.getRatingType()))
-        .average()
-        .orElse(0.0);
-  }
-
-  private void updateFromGameInfo(GameInfoMessage gameInfoMessage, Game game) {
-    game.setId(gameInfoMessage.getUid());
-    game.setHost(gameInfoMessage.getHost());
-    game.setTitle(StringEscapeUtils.unescapeHtml4(gameInfoMessage.getTitle()));
-    game.setMapFolderName(gameInfoMessage.getMapname());
-    game.setFeaturedMod(gameInfoMessage.getFeaturedMod());
-    game.setNumPlayers(gameInfoMessage.getNumPlayers() - gameInfoMessage.getTeams().getOrDefault(OBSERVERS_TEAM, List.of()).size());
-    game.setMaxPlayers(gameInfoMessage.getMaxPlayers());
-    Optional.ofNullable(gameInfoMessage.getLaunchedAt()).ifPresent(aDouble -> game.setStartTime(
-        TimeUtil.fromPythonTime(aDouble.longValue()).toInstant()
-    ));
-    game.setStatus(gameInfoMessage.getState());
-    game.setPasswordProtected(gameInfoMessage.getPasswordProtected());
-    game.setGameType(gameInfoMessage.getGameType());
-    game.setRatingType(gameInfoMessage.getRatingType());
-
-    game.setAverageRating(calcAverageRating(gameInfoMessage));
-
-    synchronized (game.getSimMods()) {
-      game.getSimMods().clear();
-      if (gameInfoMessage.getSimMods() != null) {
-        game.getSimMods().putAll(gameInfoMessage.getSimMods());
-      }
-    }
+  @Subscribe
+  public void onPlayersUpdated(PlayersUpdatedEvent event) {
+    JavaFxUtil.runLater(() -> event.getPlayers().forEach(this::updateAverageRatings));
+  }
 
-    synchronized (game.getTeams()) {
-      game.getTeams().clear();
-      if (gameInfoMessage.getTeams() != null) {
-        game.getTeams().putAll(gameInfoMessage.getTeams());
-      }
-    }
+  @Subscribe
+  public void onCurrentPlayerInfo(CurrentPlayerInfo event) {
+    JavaFxUtil.runLater(() -> updateAverageRatings(event.getCurrentPlayer()));
+  }
 
-    game.setMinRating(gameInfoMessage.getRatingMin());
-    game.setMaxRating(gameInfoMessage.getRatingMax());
-    game.setEnforceRating(gameInfoMessage.getEnforceRatingRange());
+  private void updateAverageRatings(Player player) {
+    gameRatingAggregates.updatePlayer(player).forEach((gameId, averageRating) -> {
+      Game game = uidToGameInfoBean.get(gameId);
+      if (game != null) {
+        game.setAverageRating(averageRating);
+      }
+    });
   }
 
+  private void removeGame(Game game) {
+    synchronized (uidToGameInfoBean) {
+      uidToGameInfoBean.remove(game.getId());
+    }
+    gameListenerRegistry.unregisterAll(game);
+    gameRatingAggregates.remove(game.getId());
+  }
 
-  private void removeGame(GameInfoMessage gameInfoMessage) {
-    Game game;
+  /**
+   * Reports games that are gone but still have listeners attached, if debug logging is enabled.
+   */
+  @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+  public void logGameListenerCounts() {
+    List<Game> knownGames;
     synchronized (uidToGameInfoBean) {
-      game = uidToGameInfoBean.remove(gameInfoMessage.getUid());
+      knownGames = new ArrayList<>(uidToGameInfoBean.values());
     }
-    eventBus.post(new GameRemovedEvent(game));
+    gameListenerRegistry.logListenerCounts(knownGames);
   }
 
   public void killGame() {
@@ -0,0 +1,147 @@
+package com.faforever.client.game;
+
+import com.faforever.client.remote.domain.GameInfoMessage;
+import com.faforever.client.remote.domain.GameStatus;
+import com.faforever.client.remote.domain.GameType;
+import com.faforever.client.util.TimeUtil;
+import lombok.Value;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable copy of a game's state as sent by the server. Snapshots are created as soon as a game info is received,
+ * so that unchanged game infos can be dropped without ever reaching the application thread, and are then used to update
+ * the observable {@link Game} beans with nothing but the fields that actually changed.
+ */
+@Value
+class GameSnapshot {
+
+  private static final String OBSERVERS_TEAM = "-1";
+
+  int id;
+  String host;
+  String title;
+  String mapFolderName;
+  String featuredMod;
+  int numPlayers;
+  int maxPlayers;
+  Instant startTime;
+  GameStatus status;
+  boolean passwordProtected;
+  GameType gameType;
+  String ratingType;
+  Integer minRating;
+  Integer maxRating;
+  boolean enforceRating;
+  Map<String, String> simMods;
+  Map<String, List<String>> teams;
+
+  static GameSnapshot of(GameInfoMessage gameInfoMessage) {
+    Map<String, List<String>> teams = new HashMap<>();
+    if (gameInfoMessage.getTeams() != null) {
+      gameInfoMessage.getTeams().forEach((team, players) -> teams.put(team, Collections.unmodifiableList(new ArrayList<>(players))));
+    }
+    Map<String, String> simMods = gameInfoMessage.getSimMods() != null ? new HashMap<>(gameInfoMessage.getSimMods()) : new HashMap<>();
+
+    return new GameSnapshot(
+        gameInfoMessage.getUid(),
+        gameInfoMessage.getHost(),
+        StringEscapeUtils.unescapeHtml4(gameInfoMessage.getTitle()),
+        gameInfoMessage.getMapname(),
+        gameInfoMessage.getFeaturedMod(),
+        gameInfoMessage.getNumPlayers() - teams.getOrDefault(OBSERVERS_TEAM, List.of()).size(),
+        gameInfoMessage.getMaxPlayers(),
+        gameInfoMessage.getLaunchedAt() != null ? TimeUtil.fromPythonTime(gameInfoMessage.getLaunchedAt().longValue()).toInstant() : null,
+        gameInfoMessage.getState(),
+        Boolean.TRUE.equals(gameInfoMessage.getPasswordProtected()),
+        gameInfoMessage.getGameType(),
+        gameInfoMessage.getRatingType(),
+        gameInfoMessage.getRatingMin(),
+        gameInfoMessage.getRatingMax(),
+        Boolean.TRUE.equals(gameInfoMessage.getEnforceRatingRange()),
+        Collections.unmodifiableMap(simMods),
+        Collections.unmodifiableMap(teams)
+    );
+  }
+
+  /**
+   * Updates the specified game with all fields that differ from the previous snapshot. If there is no previous snapshot,
+   * all fields are set. Teams and sim mods are updated entry by entry, so that listeners are only notified about the
+   * teams and mods that actually changed.
+   */
+  void applyTo(Game game, @Nullable GameSnapshot previous) {
+    if (previous == null) {
+      game.setId(id);
+    }
+    if (previous == null || !Objects.equals(previous.host, host)) {
+      game.setHost(host);
+    }
+    if (previous == null || !Objects.equals(previous.title, title)) {
+      game.setTitle(title);
+    }
+    if (previous == null || !Objects.equals(previous.mapFolderName, mapFolderName)) {
+      game.setMapFolderName(mapFolderName);
+    }
+    if (previous == null || !Objects.equals(previous.featuredMod, featuredMod)) {
+      game.setFeaturedMod(featuredMod);
+    }
+    if (previous == null || previous.numPlayers != numPlayers) {
+      game.setNumPlayers(numPlayers);
+    }
+    if (previous == null || previous.maxPlayers != maxPlayers) {
+      game.setMaxPlayers(maxPlayers);
+    }
+    // A missing start time has never reset the game's start time
+    if (startTime != null && (previous == null || !Objects.equals(previous.startTime, startTime))) {
+      game.setStartTime(startTime);
+    }
+    if (previous == null || previous.status != status) {
+      game.setStatus(status);
+    }
+    if (previous == null || previous.passwordProtected != passwordProtected) {
+      game.setPasswordProtected(passwordProtected);
+    }
+    if (previous == null || previous.gameType != gameType) {
+      game.setGameType(gameType);
+    }
+    if (previous == null || !Objects.equals(previous.ratingType, ratingType)) {
+      game.setRatingType(ratingType);
+    }
+    if (previous == null || !Objects.equals(previous.minRating, minRating)) {
+      game.setMinRating(minRating);
+    }
+    if (previous == null || !Objects.equals(previous.maxRating, maxRating)) {
+      game.setMaxRating(maxRating);
+    }
+    if (previous == null || previous.enforceRating != enforceRating) {
+      game.setEnforceRating(enforceRating);
+    }
+    if (previous == null || !previous.simMods.equals(simMods)) {
+      synchronized (game.getSimMods()) {
+        updateEntries(game.getSimMods(), simMods);
+      }
+    }
+    if (previous == null || !previous.teams.equals(teams)) {
+      synchronized (game.getTeams()) {
+        updateEntries(game.getTeams(), teams);
+      }
+    }
+  }
+
+  private static <K, V> void updateEntries(Map<K, V> target, Map<K, V> source) {
+    target.keySet().retainAll(source.keySet());
+    source.forEach((key, value) -> {
+      if (!Objects.equals(target.get(key), value)) {
+        target.put(key, value);
+      }
+    });
+  }
+}
@@ -0,0 +1,106 @@
+package com.faforever.client.game;
+
+import com.faforever.client.fx.JavaFxUtil;
+import com.faforever.client.remote.domain.GameInfoMessage;
+import com.faforever.client.remote.domain.GameStatus;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a {@link GameSnapshot} of every game as last sent by the server, maintained on the thread that receives game
+ * infos. Game infos that don't change anything are dropped right away. Changes are buffered until the JavaFX
+ * application thread gets to apply them; only the latest snapshot of each game is kept, so a game that changes several
+ * times before the application thread is ready is only updated once, and all buffered changes are applied by a single
+ * runnable.
+ */
+class GameSnapshotStore {
+
+  private final Consumer<Collection<Change>> batchConsumer;
+  private final Map<Integer, GameSnapshot> snapshots = new HashMap<>();
+  private Map<Integer, Change> pendingChanges = new LinkedHashMap<>();
+  private boolean flushScheduled;
+
+  /**
+   * @param batchConsumer called on the application thread with the net change of each game that changed
+   */
+  GameSnapshotStore(Consumer<Collection<Change>> batchConsumer) {
+    this.batchConsumer = batchConsumer;
+  }
+
+  /**
+   * Updates the snapshot of the specified game, or of all the games it contains if the server sent multiple games at
+   * once.
+   */
+  void add(GameInfoMessage gameInfoMessage) {
+    boolean scheduleFlush;
+    synchronized (this) {
+      if (gameInfoMessage.getGames() != null) {
+        gameInfoMessage.getGames().forEach(game -> update(GameSnapshot.of(game)));
+      } else {
+        update(GameSnapshot.of(gameInfoMessage));
+      }
+      scheduleFlush = !flushScheduled && !pendingChanges.isEmpty();
+      flushScheduled |= scheduleFlush;
+    }
+
+    if (scheduleFlush) {
+      JavaFxUtil.runLater(this::flush);
+    }
+  }
+
+  private void update(GameSnapshot snapshot) {
+    int id = snapshot.getId();
+    GameSnapshot previous = snapshot.getStatus() == GameStatus.CLOSED ? snapshots.remove(id) : snapshots.put(id, snapshot);
+    if (snapshot.equals(previous)) {
+      return;
+    }
+
+    Change pendingChange = pendingChanges.get(id);
+    if (pendingChange != null) {
+      previous = pendingChange.getPrevious();
+    } else if (previous == null && snapshot.getStatus() == GameStatus.CLOSED) {
+      // A game we have never seen has been closed
+      return;
+    }
+    pendingChanges.put(id, new Change(previous, snapshot));
+  }
+
+  /**
+   * Forgets all games, e.g. because the connection to the server has been lost. Changes that have not yet been applied
+   * are discarded.
+   */
+  synchronized void clear() {
+    snapshots.clear();
+    pendingChanges.clear();
+  }
+
+  private void flush() {
+    Collection<Change> changes;
+    synchronized (this) {
+      changes = pendingChanges.values();
+      pendingChanges = new LinkedHashMap<>();
+      flushScheduled = false;
+    }
+    changes.removeIf(change -> change.getCurrent().equals(change.getPrevious()));
+    if (!changes.isEmpty()) {
+      batchConsumer.accept(changes);
+    }
+  }
+
+  /**
+   * The net change of a game since the last batch.
+   */
+  @Value
+  static class Change {
+    /** The snapshot that has last been applied, or {@code null} if the game is new. */
+    @Nullable
+    GameSnapshot previous;
+    GameSnapshot current;
+  }
+}
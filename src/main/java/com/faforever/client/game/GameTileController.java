@@ -29,7 +29,6 @@ import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import static javafx.beans.binding.Bindings.createObjectBinding;
 import static javafx.beans.binding.Bindings.createStringBinding;
 
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
@@ -103,10 +102,10 @@ public class GameTileController implements Controller<Node> {
     modsLabel.textProperty().bind(createStringBinding(() -> getSimModsLabelContent(simMods), simMods));
 
     // TODO display "unknown map" image first since loading may take a while
-    mapImageView.imageProperty().bind(createObjectBinding(
+    JavaFxUtil.bindImage(mapImageView,
         () -> mapService.loadPreview(game.getMapFolderName(), PreviewSize.SMALL),
         game.mapFolderNameProperty()
-    ));
+    );
 
     lockIconLabel.visibleProperty().bind(game.passwordProtectedProperty());
   }
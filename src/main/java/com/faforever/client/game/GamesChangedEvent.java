@@ -0,0 +1,16 @@
+package com.faforever.client.game;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Fired once for each batch of game infos received from the server, containing all games that have been added, updated
+ * or removed by it.
+ */
+@Value
+public class GamesChangedEvent {
+  List<Game> addedGames;
+  List<Game> updatedGames;
+  List<Game> removedGames;
+}
@@ -1,32 +1,39 @@
 package com.faforever.client.game;
 
 import com.faforever.client.fx.Controller;
+import com.faforever.client.fx.JavaFxUtil;
+import com.faforever.client.map.MapService;
+import com.faforever.client.map.MapService.PreviewSize;
 import com.faforever.client.theme.UiService;
 import javafx.scene.control.TableCell;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
-public class MapPreviewTableCell extends TableCell<Game, Image> {
+/**
+ * Shows the preview of the map with the folder name of the cell's item.
+ */
+public class MapPreviewTableCell extends TableCell<Game, String> {
 
+  private final MapService mapService;
   private final ImageView imageVew;
 
-  public MapPreviewTableCell(UiService uiService) {
+  public MapPreviewTableCell(UiService uiService, MapService mapService) {
+    this.mapService = mapService;
     Controller<ImageView> controller = uiService.loadFxml("theme/vault/map/map_preview_table_cell.fxml");
     imageVew = controller.getRoot();
     setGraphic(imageVew);
   }
 
   @Override
-  protected void updateItem(Image item, boolean empty) {
-    super.updateItem(item, empty);
+  protected void updateItem(String mapFolderName, boolean empty) {
+    super.updateItem(mapFolderName, empty);
 
-    if (empty || item == null) {
+    if (empty || mapFolderName == null) {
       setText(null);
       setGraphic(null);
     } else {
-      imageVew.setImage(item);
+      imageVew.setImage(null);
+      JavaFxUtil.setImage(imageVew, mapService.loadPreview(mapFolderName, PreviewSize.SMALL));
       setGraphic(imageVew);
     }
   }
 }
-
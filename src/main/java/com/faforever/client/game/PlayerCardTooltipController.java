@@ -2,6 +2,7 @@ package com.faforever.client.game;
 
 import com.faforever.client.chat.CountryFlagService;
 import com.faforever.client.fx.Controller;
+import com.faforever.client.fx.JavaFxUtil;
 import com.faforever.client.i18n.I18n;
 import com.faforever.client.player.Player;
 import com.faforever.client.player.SocialStatus;
@@ -43,7 +44,8 @@ public class PlayerCardTooltipController implements Controller<Node> {
     if (player == null) {
       return;
     }
-    countryFlagService.loadCountryFlag(player.getCountry()).ifPresent(image -> countryImageView.setImage(image));
+    countryFlagService.loadCountryFlag(player.getCountry())
+        .thenAccept(countryFlag -> countryFlag.ifPresent(image -> JavaFxUtil.runLater(() -> countryImageView.setImage(image))));
 
     String playerInfoLocalized;
     if (rating != null) {
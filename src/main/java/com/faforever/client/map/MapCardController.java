@@ -27,6 +27,7 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 @Component
@@ -81,15 +82,15 @@ public class MapCardController implements Controller<Node> {
 
   public void setMap(MapBean map) {
     this.map = map;
-    Image image;
+    CompletableFuture<Image> image;
     if (map.getLargeThumbnailUrl() != null) {
       image = mapService.loadPreview(map.getLargeThumbnailUrl(), PreviewSize.LARGE);
     } else if (mapGeneratorService.isGeneratedMap(map.getDisplayName())) {
       image = mapService.loadPreview(map.getDisplayName(), PreviewSize.LARGE);
     } else {
-      image = IdenticonUtil.createIdenticon(map.getId());
+      image = CompletableFuture.completedFuture(IdenticonUtil.createIdenticon(map.getId()));
     }
-    thumbnailImageView.setImage(image);
+    JavaFxUtil.setImage(thumbnailImageView, image);
     nameLabel.setText(map.getDisplayName());
     authorLabel.setText(Optional.ofNullable(map.getAuthor()).orElse(i18n.get("map.unknownAuthor")));
     numberOfPlaysLabel.setText(i18n.number(map.getNumberOfPlays()));
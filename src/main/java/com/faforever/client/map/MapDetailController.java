@@ -159,15 +159,15 @@ public class MapDetailController implements Controller<Node> {
 
   public void setMap(MapBean map) {
     this.map = map;
-    Image image;
+    CompletableFuture<Image> image;
     if (map.getLargeThumbnailUrl() != null) {
       image = mapService.loadPreview(map.getLargeThumbnailUrl(), PreviewSize.LARGE);
     } else if (mapGeneratorService.isGeneratedMap(map.getDisplayName())) {
       image = mapService.loadPreview(map.getDisplayName(), PreviewSize.LARGE);
     } else {
-      image = IdenticonUtil.createIdenticon(map.getId());
+      image = CompletableFuture.completedFuture(IdenticonUtil.createIdenticon(map.getId()));
     }
-    thumbnailImageView.setImage(image);
+    JavaFxUtil.setImage(thumbnailImageView, image);
     renewAuthorControls();
     nameLabel.setText(map.getDisplayName());
     authorLabel.setText(Optional.ofNullable(map.getAuthor()).orElse(i18n.get("map.unknownAuthor")));
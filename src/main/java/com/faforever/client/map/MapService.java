@@ -44,7 +44,6 @@ import org.luaj.vm2.LuaValue;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
@@ -316,13 +315,13 @@ public class MapService implements InitializingBean, DisposableBean {
 
   @SneakyThrows(IOException.class)
   @NotNull
-  public Image loadPreview(String mapName, PreviewSize previewSize) {
+  public CompletableFuture<Image> loadPreview(String mapName, PreviewSize previewSize) {
     if (mapGeneratorService.isGeneratedMap(mapName)) {
       Path previewPath = forgedAlliancePreferences.getCustomMapsDirectory().resolve(mapName).resolve(mapName + "_preview.png");
       if (Files.exists(previewPath)) {
-        return new Image(Files.newInputStream(previewPath));
+        return assetService.loadImage(previewPath.toUri().toURL(), previewSize.displaySize, previewSize.displaySize);
       } else {
-        return mapGeneratorService.getGeneratedMapPreviewImage();
+        return CompletableFuture.completedFuture(mapGeneratorService.getGeneratedMapPreviewImage());
       }
     }
     return loadPreview(getPreviewUrl(mapName, mapPreviewUrlFormat, previewSize), previewSize);
@@ -403,8 +402,7 @@ public class MapService implements InitializingBean, DisposableBean {
    * Loads the preview of a map or returns a "unknown map" image.
    */
 
-  @Cacheable(value = CacheNames.MAP_PREVIEW)
-  public Image loadPreview(MapBean map, PreviewSize previewSize) {
+  public CompletableFuture<Image> loadPreview(MapBean map, PreviewSize previewSize) {
     URL url;
     switch (previewSize) {
       case SMALL:
@@ -419,10 +417,9 @@ public class MapService implements InitializingBean, DisposableBean {
     return loadPreview(url, previewSize);
   }
 
-  @Cacheable(value = CacheNames.MAP_PREVIEW)
-  public Image loadPreview(URL url, PreviewSize previewSize) {
+  public CompletableFuture<Image> loadPreview(URL url, PreviewSize previewSize) {
     return assetService.loadAndCacheImage(url, Paths.get("maps").resolve(previewSize.folderName),
-        () -> uiService.getThemeImage(UiService.UNKNOWN_MAP_IMAGE));
+        () -> uiService.getThemeImage(UiService.UNKNOWN_MAP_IMAGE), previewSize.displaySize, previewSize.displaySize);
   }
 
 
@@ -597,12 +594,17 @@ public class MapService implements InitializingBean, DisposableBean {
 
   public enum PreviewSize {
     // These must match the preview URLs
-    SMALL("small"), LARGE("large");
+    SMALL("small", 128),
+    // Large previews are shown in resizable panes and therefore kept at their original size
+    LARGE("large", 0);
 
     String folderName;
+    /** The size previews are scaled down to when they are loaded, or {@code 0} to keep their original size. */
+    int displaySize;
 
-    PreviewSize(String folderName) {
+    PreviewSize(String folderName, int displaySize) {
       this.folderName = folderName;
+      this.displaySize = displaySize;
     }
   }
 }
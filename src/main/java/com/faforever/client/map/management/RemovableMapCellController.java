@@ -41,7 +41,7 @@ public class RemovableMapCellController extends ListCell<MapBean> implements Con
       if (item == null || empty) {
         setGraphic(null);
       } else {
-        previewMapView.setImage(mapService.loadPreview(item.getFolderName(), PreviewSize.SMALL));
+        JavaFxUtil.setImage(previewMapView, mapService.loadPreview(item.getFolderName(), PreviewSize.SMALL));
         mapNameLabel.setText(item.getDisplayName());
         if (mapService.isCustomMap(item)) {
           removeButton.setOnMouseClicked(event -> mapService.uninstallMap(item).exceptionally(throwable -> {
@@ -110,7 +110,7 @@ public class ModCardController implements Controller<Node> {
 
   public void setModVersion(ModVersion modVersion) {
     this.modVersion = modVersion;
-    thumbnailImageView.setImage(modService.loadThumbnail(modVersion));
+    JavaFxUtil.setImage(thumbnailImageView, modService.loadThumbnail(modVersion));
     nameLabel.setText(modVersion.getDisplayName());
     if (modVersion.getMod() != null) {
       authorLabel.setText(modVersion.getMod().getAuthor());
@@ -121,7 +121,7 @@ public class ModDetailController implements Controller<Node> {
 
   public void setModVersion(ModVersion modVersion) {
     this.modVersion = modVersion;
-    thumbnailImageView.setImage(modService.loadThumbnail(modVersion));
+    JavaFxUtil.setImage(thumbnailImageView, modService.loadThumbnail(modVersion));
     nameLabel.setText(modVersion.getDisplayName());
     idLabel.setText(i18n.get("mod.idNumber", modVersion.getId()));
 
@@ -82,6 +82,8 @@ public class ModService implements InitializingBean, DisposableBean {
 
   private static final Pattern ACTIVE_MODS_PATTERN = Pattern.compile("active_mods\\s*=\\s*\\{.*?}", Pattern.DOTALL);
   private static final Pattern ACTIVE_MOD_PATTERN = Pattern.compile("\\['(.*?)']\\s*=\\s*(true|false)", Pattern.DOTALL);
+  /** The size thumbnails are displayed at in the mod vault. */
+  private static final int THUMBNAIL_SIZE = 128;
 
   private final FafService fafService;
   private final PreferencesService preferencesService;
@@ -279,10 +281,10 @@ public class ModService implements InitializingBean, DisposableBean {
     return taskService.submitTask(modUploadTask);
   }
 
-  public Image loadThumbnail(ModVersion modVersion) {
-    //FIXME: reintroduce correct caching
+  public CompletableFuture<Image> loadThumbnail(ModVersion modVersion) {
     URL url = modVersion.getThumbnailUrl();
-    return assetService.loadAndCacheImage(url, Paths.get("mods"), () -> IdenticonUtil.createIdenticon(modVersion.getDisplayName()));
+    return assetService.loadAndCacheImage(url, Paths.get("mods"), () -> IdenticonUtil.createIdenticon(modVersion.getDisplayName()),
+        THUMBNAIL_SIZE, THUMBNAIL_SIZE);
   }
 
   public void evictModsCache() {
@@ -16,7 +16,6 @@ import com.faforever.client.reporting.ReportingService;
 import com.faforever.client.task.CompletableTask;
 import com.faforever.commons.api.dto.ApiException;
 import com.google.common.eventbus.EventBus;
-import javafx.beans.binding.Bindings;
 import javafx.scene.Node;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
@@ -110,9 +109,7 @@ public class ModUploadController implements Controller<Node> {
       descriptionLabel.textProperty().bind(modVersion.descriptionProperty());
       versionLabel.textProperty().bind(modVersion.versionProperty().asString());
       uidLabel.textProperty().bind(modVersion.idProperty());
-      thumbnailImageView.imageProperty().bind(
-          Bindings.createObjectBinding(() -> modService.loadThumbnail(modVersion), modVersion.idProperty(), modVersion.imagePathProperty())
-      );
+      JavaFxUtil.bindImage(thumbnailImageView, () -> modService.loadThumbnail(modVersion), modVersion.idProperty(), modVersion.imagePathProperty());
     });
   }
 
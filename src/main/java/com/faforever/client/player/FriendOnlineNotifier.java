@@ -36,13 +36,14 @@ public class FriendOnlineNotifier implements InitializingBean {
   }
 
   @Subscribe
-  public void onUserOnline(PlayerOnlineEvent event) {
-    NotificationsPrefs notification = preferencesService.getPreferences().getNotification();
-    Player player = event.getPlayer();
+  public void onPlayersUpdated(PlayersUpdatedEvent event) {
+    event.getPlayers().stream()
+        .filter(player -> player.getSocialStatus() == SocialStatus.FRIEND)
+        .forEach(this::onFriendOnline);
+  }
 
-    if (player.getSocialStatus() != SocialStatus.FRIEND) {
-      return;
-    }
+  private void onFriendOnline(Player player) {
+    NotificationsPrefs notification = preferencesService.getPreferences().getNotification();
 
     if (notification.isFriendOnlineSoundEnabled()) {
       audioService.playFriendOnlineSound();
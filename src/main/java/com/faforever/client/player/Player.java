@@ -18,6 +18,7 @@ import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
 import javafx.collections.ObservableSet;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
@@ -32,57 +33,55 @@ import static com.faforever.client.player.SocialStatus.OTHER;
 
 /**
  * Represents a player with username, clan, country, friend/foe flag and so on.
+ * <p>
+ * Since there are thousands of players of which only a few are ever displayed, most properties are only created when
+ * their property accessor is called for the first time. Until then, their values are kept in plain fields.
  */
 public class Player {
 
   private final IntegerProperty id;
-  private final StringProperty username;
-  private final StringProperty clan;
-  private final StringProperty country;
-  private final StringProperty avatarUrl;
-  private final StringProperty avatarTooltip;
-  private final ObjectProperty<SocialStatus> socialStatus;
-  private final MapProperty<String, LeaderboardRating> leaderboardRatings;
-  private final ObjectProperty<Game> game;
   private final ObjectProperty<PlayerStatus> status;
   private final ObservableSet<ChatChannelUser> chatChannelUsers;
-  private final IntegerProperty numberOfGames;
-  private final ObjectProperty<Instant> idleSince;
-  private final ObservableList<NameRecord> names;
+
+  private String usernameValue;
+  private StringProperty username;
+  private String clanValue;
+  private StringProperty clan;
+  private String countryValue;
+  private StringProperty country;
+  private String avatarUrlValue;
+  private StringProperty avatarUrl;
+  private String avatarTooltipValue;
+  private StringProperty avatarTooltip;
+  private SocialStatus socialStatusValue = OTHER;
+  private ObjectProperty<SocialStatus> socialStatus;
+  private ObservableMap<String, LeaderboardRating> leaderboardRatingsValue = FXCollections.emptyObservableMap();
+  private MapProperty<String, LeaderboardRating> leaderboardRatings;
+  private Game gameValue;
+  private ObjectProperty<Game> game;
+  private int numberOfGamesValue;
+  private IntegerProperty numberOfGames;
+  private Instant idleSinceValue = Instant.now();
+  private ObjectProperty<Instant> idleSince;
+  private ObservableList<NameRecord> names;
 
   public Player(com.faforever.client.remote.domain.Player player) {
-    this();
+    this(player.getLogin());
 
-    username.set(player.getLogin());
-    clan.set(player.getClan());
-    country.set(player.getCountry());
+    setClan(player.getClan());
+    setCountry(player.getCountry());
 
     if (player.getAvatar() != null) {
-      avatarTooltip.set(player.getAvatar().getTooltip());
-      avatarUrl.set(player.getAvatar().getUrl());
+      setAvatarTooltip(player.getAvatar().getTooltip());
+      setAvatarUrl(player.getAvatar().getUrl());
     }
   }
 
-  private Player() {
+  public Player(String username) {
     id = new SimpleIntegerProperty();
-    username = new SimpleStringProperty();
-    clan = new SimpleStringProperty();
-    country = new SimpleStringProperty();
-    avatarUrl = new SimpleStringProperty();
-    avatarTooltip = new SimpleStringProperty();
-    leaderboardRatings = new SimpleMapProperty<>(FXCollections.emptyObservableMap());
     status = new SimpleObjectProperty<>(PlayerStatus.IDLE);
     chatChannelUsers = FXCollections.observableSet();
-    game = new SimpleObjectProperty<>();
-    numberOfGames = new SimpleIntegerProperty();
-    socialStatus = new SimpleObjectProperty<>(OTHER);
-    idleSince = new SimpleObjectProperty<>(Instant.now());
-    names = FXCollections.observableArrayList();
-  }
-
-  public Player(String username) {
-    this();
-    this.username.set(username);
+    usernameValue = username;
   }
 
   public static Player fromDto(com.faforever.commons.api.dto.Player dto) {
@@ -96,18 +95,28 @@ public class Player {
   }
 
   public ObservableList<NameRecord> getNames() {
+    if (names == null) {
+      names = FXCollections.observableArrayList();
+    }
     return names;
   }
 
   public SocialStatus getSocialStatus() {
-    return socialStatus.get();
+    return socialStatus == null ? socialStatusValue : socialStatus.get();
   }
 
   public void setSocialStatus(SocialStatus socialStatus) {
-    this.socialStatus.set(socialStatus);
+    if (this.socialStatus == null) {
+      socialStatusValue = socialStatus;
+    } else {
+      this.socialStatus.set(socialStatus);
+    }
   }
 
   public ObjectProperty<SocialStatus> socialStatusProperty() {
+    if (socialStatus == null) {
+      socialStatus = new SimpleObjectProperty<>(socialStatusValue);
+    }
     return socialStatus;
   }
 
@@ -124,20 +133,27 @@ public class Player {
   }
 
   public int getNumberOfGames() {
-    return numberOfGames.get();
+    return numberOfGames == null ? numberOfGamesValue : numberOfGames.get();
   }
 
   public void setNumberOfGames(int numberOfGames) {
-    this.numberOfGames.set(numberOfGames);
+    if (this.numberOfGames == null) {
+      numberOfGamesValue = numberOfGames;
+    } else {
+      this.numberOfGames.set(numberOfGames);
+    }
   }
 
   public IntegerProperty numberOfGamesProperty() {
+    if (numberOfGames == null) {
+      numberOfGames = new SimpleIntegerProperty(numberOfGamesValue);
+    }
     return numberOfGames;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id.get(), username.get());
+    return Objects.hash(getId(), getUsername());
   }
 
   @Override
@@ -149,38 +165,59 @@ public class Player {
   }
 
   public String getUsername() {
-    return username.get();
+    return username == null ? usernameValue : username.get();
   }
 
   public void setUsername(String username) {
-    this.username.set(username);
+    if (this.username == null) {
+      usernameValue = username;
+    } else {
+      this.username.set(username);
+    }
   }
 
   public StringProperty usernameProperty() {
+    if (username == null) {
+      username = new SimpleStringProperty(usernameValue);
+    }
     return username;
   }
 
   public String getClan() {
-    return clan.get();
+    return clan == null ? clanValue : clan.get();
   }
 
   public void setClan(String clan) {
-    this.clan.set(clan);
+    if (this.clan == null) {
+      clanValue = clan;
+    } else {
+      this.clan.set(clan);
+    }
   }
 
   public StringProperty clanProperty() {
+    if (clan == null) {
+      clan = new SimpleStringProperty(clanValue);
+    }
     return clan;
   }
 
   public String getCountry() {
-    return country.get();
+    return country == null ? countryValue : country.get();
   }
 
   public void setCountry(String country) {
-    this.country.set(country);
+    if (this.country == null) {
+      countryValue = country;
+    } else {
+      this.country.set(country);
+    }
   }
 
   public StringProperty countryProperty() {
+    if (country == null) {
+      country = new SimpleStringProperty(countryValue);
+    }
     return country;
   }
 
@@ -200,39 +237,60 @@ public class Player {
   }
 
   public String getAvatarUrl() {
-    return avatarUrl.get();
+    return avatarUrl == null ? avatarUrlValue : avatarUrl.get();
   }
 
   public void setAvatarUrl(String avatarUrl) {
-    this.avatarUrl.set(avatarUrl);
+    if (this.avatarUrl == null) {
+      avatarUrlValue = avatarUrl;
+    } else {
+      this.avatarUrl.set(avatarUrl);
+    }
   }
 
   public StringProperty avatarUrlProperty() {
+    if (avatarUrl == null) {
+      avatarUrl = new SimpleStringProperty(avatarUrlValue);
+    }
     return avatarUrl;
   }
 
   public String getAvatarTooltip() {
-    return avatarTooltip.get();
+    return avatarTooltip == null ? avatarTooltipValue : avatarTooltip.get();
   }
 
   public void setAvatarTooltip(String avatarTooltip) {
-    this.avatarTooltip.set(avatarTooltip);
+    if (this.avatarTooltip == null) {
+      avatarTooltipValue = avatarTooltip;
+    } else {
+      this.avatarTooltip.set(avatarTooltip);
+    }
   }
 
   public StringProperty avatarTooltipProperty() {
+    if (avatarTooltip == null) {
+      avatarTooltip = new SimpleStringProperty(avatarTooltipValue);
+    }
     return avatarTooltip;
   }
 
   @NotNull
   public Map<String, LeaderboardRating> getLeaderboardRatings() {
-    return leaderboardRatings.get();
+    return leaderboardRatings == null ? leaderboardRatingsValue : leaderboardRatings.get();
   }
 
   public void setLeaderboardRatings(Map<String, LeaderboardRating> leaderboardRatings) {
-    this.leaderboardRatings.set(FXCollections.observableMap(leaderboardRatings));
+    if (this.leaderboardRatings == null) {
+      leaderboardRatingsValue = FXCollections.observableMap(leaderboardRatings);
+    } else {
+      this.leaderboardRatings.set(FXCollections.observableMap(leaderboardRatings));
+    }
   }
 
   public MapProperty<String, LeaderboardRating> leaderboardRatingMapProperty() {
+    if (leaderboardRatings == null) {
+      leaderboardRatings = new SimpleMapProperty<>(leaderboardRatingsValue);
+    }
     return leaderboardRatings;
   }
 
@@ -245,11 +303,15 @@ public class Player {
   }
 
   public Game getGame() {
-    return game.get();
+    return game == null ? gameValue : game.get();
   }
 
   public void setGame(Game game) {
-    this.game.set(game);
+    if (this.game == null) {
+      gameValue = game;
+    } else {
+      this.game.set(game);
+    }
     if (game == null) {
       status.unbind();
       status.set(PlayerStatus.IDLE);
@@ -259,7 +321,7 @@ public class Player {
           return PlayerStatus.IDLE;
         }
         if (getGame().getStatus() == GameStatus.OPEN) {
-          if (getGame().getHost().equalsIgnoreCase(username.get())) {
+          if (getGame().getHost().equalsIgnoreCase(getUsername())) {
             return PlayerStatus.HOSTING;
           }
           return PlayerStatus.LOBBYING;
@@ -272,18 +334,28 @@ public class Player {
   }
 
   public ObjectProperty<Game> gameProperty() {
+    if (game == null) {
+      game = new SimpleObjectProperty<>(gameValue);
+    }
     return game;
   }
 
   public Instant getIdleSince() {
-    return idleSince.get();
+    return idleSince == null ? idleSinceValue : idleSince.get();
   }
 
   public void setIdleSince(Instant idleSince) {
-    this.idleSince.set(idleSince);
+    if (this.idleSince == null) {
+      idleSinceValue = idleSince;
+    } else {
+      this.idleSince.set(idleSince);
+    }
   }
 
   public ObjectProperty<Instant> idleSinceProperty() {
+    if (idleSince == null) {
+      idleSince = new SimpleObjectProperty<>(idleSinceValue);
+    }
     return idleSince;
   }
 
@@ -299,7 +371,9 @@ public class Player {
     if (player.getRatings() != null) {
       Map<String, LeaderboardRating> ratingMap = new HashMap<>();
       player.getRatings().forEach((key, value) -> ratingMap.put(key, LeaderboardRating.fromDto(value)));
-      setLeaderboardRatings(ratingMap);
+      if (!ratingMap.equals(getLeaderboardRatings())) {
+        setLeaderboardRatings(ratingMap);
+      }
     }
 
     setNumberOfGames(player.getNumberOfGames());
@@ -1,8 +0,0 @@
-package com.faforever.client.player;
-
-import lombok.Value;
-
-@Value
-public class PlayerOnlineEvent {
-  Player player;
-}
@@ -7,9 +7,7 @@ import com.faforever.client.chat.event.ChatUserCategoryChangeEvent;
 import com.faforever.client.chat.event.ChatUserGameChangeEvent;
 import com.faforever.client.fx.JavaFxUtil;
 import com.faforever.client.game.Game;
-import com.faforever.client.game.GameAddedEvent;
-import com.faforever.client.game.GameRemovedEvent;
-import com.faforever.client.game.GameUpdatedEvent;
+import com.faforever.client.game.GamesChangedEvent;
 import com.faforever.client.player.event.CurrentPlayerInfo;
 import com.faforever.client.player.event.FriendJoinedGameEvent;
 import com.faforever.client.remote.FafService;
@@ -20,6 +18,8 @@ import com.faforever.client.remote.domain.SocialMessage;
 import com.faforever.client.user.UserService;
 import com.faforever.client.user.event.LoginSuccessEvent;
 import com.faforever.client.util.Assert;
+import com.faforever.client.util.IntObjectMap;
+import com.faforever.client.util.IntSet;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import javafx.beans.property.ObjectProperty;
@@ -36,7 +36,6 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -56,15 +55,20 @@ import static com.faforever.client.player.SocialStatus.SELF;
 public class PlayerService implements InitializingBean {
 
   private final ObservableMap<String, Player> playersByName;
-  private final ObservableMap<Integer, Player> playersById;
-  private final List<Integer> foeList;
-  private final List<Integer> friendList;
+  private final IntObjectMap<Player> playersById;
+  /** Only to be accessed from the application thread. */
+  private final IntSet foeList;
+  /** Only to be accessed from the application thread. */
+  private final IntSet friendList;
   private final ObjectProperty<Player> currentPlayer;
 
   private final FafService fafService;
   private final UserService userService;
   private final EventBus eventBus;
-  private final HashMap<Integer, List<Player>> playersByGame;
+  /**
+   * The players of each game, by game ID and player ID.
+   */
+  private final IntObjectMap<IntObjectMap<Player>> playersByGame;
 
   public PlayerService(FafService fafService, UserService userService, EventBus eventBus) {
     this.fafService = fafService;
@@ -72,11 +76,11 @@ public class PlayerService implements InitializingBean {
     this.eventBus = eventBus;
 
     playersByName = FXCollections.observableMap(new ConcurrentHashMap<>());
-    playersById = FXCollections.observableHashMap();
-    friendList = new ArrayList<>();
-    foeList = new ArrayList<>();
+    playersById = new IntObjectMap<>();
+    friendList = new IntSet();
+    foeList = new IntSet();
     currentPlayer = new SimpleObjectProperty<>();
-    playersByGame = new HashMap<>();
+    playersByGame = new IntObjectMap<>();
   }
 
   @Override
@@ -87,18 +91,13 @@ public class PlayerService implements InitializingBean {
   }
 
   @Subscribe
-  public void onGameAdded(GameAddedEvent event) {
-    updateGameForPlayersInGame(event.getGame());
-  }
-
-  @Subscribe
-  public void onGameUpdated(GameUpdatedEvent event) {
-    updateGameForPlayersInGame(event.getGame());
+  public void onGamesChanged(GamesChangedEvent event) {
+    event.getAddedGames().forEach(this::updateGameForPlayersInGame);
+    event.getUpdatedGames().forEach(this::updateGameForPlayersInGame);
+    event.getRemovedGames().forEach(this::removeGameFromPlayersInGame);
   }
 
-  @Subscribe
-  public void onGameRemoved(GameRemovedEvent event) {
-    Game game = event.getGame();
+  private void removeGameFromPlayersInGame(Game game) {
     ObservableMap<String, List<String>> teams = game.getTeams();
     synchronized (game.getTeams()) {
       List<String> playersInGame = teams.entrySet().stream()
@@ -149,7 +148,8 @@ public class PlayerService implements InitializingBean {
     Optional.ofNullable(playerForUsername).ifPresent(player -> player.setIdleSince(Instant.now()));
   }
 
-  private void updateGamePlayers(List<String> currentPlayers, Game game) {
+  private void updateGamePlayers(List<String> playersInGame, Game game) {
+    Set<String> currentPlayers = new HashSet<>(playersInGame);
     currentPlayers.stream()
         .map(this::getPlayerForUsername)
         .filter(Optional::isPresent)
@@ -161,25 +161,23 @@ public class PlayerService implements InitializingBean {
 
     //We need to see if anybody dropped out of games
     if (game != null && game.getStatus() != GameStatus.CLOSED && playersByGame.get(game.getId()) != null) {
-      List<Player> playersThatLeftTheGame = new ArrayList<>();
-      List<Player> previousPlayersFromGame = playersByGame.get(game.getId());
-      for (Player player : previousPlayersFromGame) {
+      IntObjectMap<Player> previousPlayersFromGame = playersByGame.get(game.getId());
+      for (Player player : previousPlayersFromGame.values()) {
         if (!currentPlayers.contains(player.getUsername())) {
           player.setGame(null);
-          playersThatLeftTheGame.add(player);
+          previousPlayersFromGame.remove(player.getId());
           updatePlayerChatUsers(player);
         }
       }
-      previousPlayersFromGame.removeAll(playersThatLeftTheGame);
     }
 
     //Game is closed remove players
     if (game != null && game.getStatus() == GameStatus.CLOSED && playersByGame.get(game.getId()) != null) {
-      List<Player> previousPlayersFromGame = playersByGame.get(game.getId());
-      for (Player player : previousPlayersFromGame) {
+      IntObjectMap<Player> previousPlayersFromGame = playersByGame.get(game.getId());
+      previousPlayersFromGame.forEachValue(player -> {
         player.setGame(null);
         updatePlayerChatUsers(player);
-      }
+      });
       previousPlayersFromGame.clear();
     }
   }
@@ -198,13 +196,15 @@ public class PlayerService implements InitializingBean {
       return;
     }
 
-    if (!playersByGame.containsKey(game.getId())) {
-      playersByGame.put(game.getId(), new ArrayList<>());
+    IntObjectMap<Player> playersInGame = playersByGame.get(game.getId());
+    if (playersInGame == null) {
+      playersInGame = new IntObjectMap<>();
+      playersByGame.put(game.getId(), playersInGame);
     }
 
-    if (!playersByGame.get(game.getId()).contains(player)) {
+    if (!playersInGame.containsKey(player.getId())) {
       player.setGame(game);
-      playersByGame.get(game.getId()).add(player);
+      playersInGame.put(player.getId(), player);
       if (player.getSocialStatus() == FRIEND
           && game.getStatus() == GameStatus.OPEN
           && game.getGameType() != GameType.MATCHMAKER) {
@@ -216,7 +216,12 @@ public class PlayerService implements InitializingBean {
 
 
   public boolean isOnline(Integer playerId) {
-    return playersById.containsKey(playerId);
+    if (playerId == null) {
+      return false;
+    }
+    synchronized (playersById) {
+      return playersById.containsKey(playerId);
+    }
   }
 
   /**
@@ -264,7 +269,7 @@ public class PlayerService implements InitializingBean {
   public void addFriend(Player player) {
     playersByName.get(player.getUsername()).setSocialStatus(FRIEND);
     friendList.add(player.getId());
-    foeList.remove((Integer) player.getId());
+    foeList.remove(player.getId());
 
     player.getChatChannelUsers().forEach(chatUser -> eventBus.post(new ChatUserCategoryChangeEvent(chatUser)));
     fafService.addFriend(player);
@@ -272,7 +277,7 @@ public class PlayerService implements InitializingBean {
 
   public void removeFriend(Player player) {
     playersByName.get(player.getUsername()).setSocialStatus(OTHER);
-    friendList.remove((Integer) player.getId());
+    friendList.remove(player.getId());
 
     player.getChatChannelUsers().forEach(chatUser -> eventBus.post(new ChatUserCategoryChangeEvent(chatUser)));
     fafService.removeFriend(player);
@@ -281,7 +286,7 @@ public class PlayerService implements InitializingBean {
   public void addFoe(Player player) {
     playersByName.get(player.getUsername()).setSocialStatus(FOE);
     foeList.add(player.getId());
-    friendList.remove((Integer) player.getId());
+    friendList.remove(player.getId());
 
     player.getChatChannelUsers().forEach(chatUser -> eventBus.post(new ChatUserCategoryChangeEvent(chatUser)));
     fafService.addFoe(player);
@@ -289,7 +294,7 @@ public class PlayerService implements InitializingBean {
 
   public void removeFoe(Player player) {
     playersByName.get(player.getUsername()).setSocialStatus(OTHER);
-    foeList.remove((Integer) player.getId());
+    foeList.remove(player.getId());
 
     player.getChatChannelUsers().forEach(chatUser -> eventBus.post(new ChatUserCategoryChangeEvent(chatUser)));
     fafService.removeFoe(player);
@@ -312,18 +317,43 @@ public class PlayerService implements InitializingBean {
   }
 
   public List<Player> getOnlinePlayersByIds(Collection<Integer> playerIds) {
-    return playerIds.stream()
-        .map(playersById::get)
-        .collect(Collectors.toList());
+    List<Player> players = new ArrayList<>(playerIds.size());
+    synchronized (playersById) {
+      for (Integer playerId : playerIds) {
+        players.add(playerId == null ? null : playersById.get(playerId));
+      }
+    }
+    return players;
   }
 
   private void onPlayersInfo(PlayersMessage playersMessage) {
-    playersMessage.getPlayers().forEach(dto -> JavaFxUtil.runLater(() -> onPlayerInfo(dto)));
+    List<com.faforever.client.remote.domain.Player> dtos = playersMessage.getPlayers();
+    JavaFxUtil.runLater(() -> onPlayersInfo(dtos));
+  }
+
+  /**
+   * Applies all player infos of a message at once and notifies about all updated players with a single event.
+   */
+  private void onPlayersInfo(List<com.faforever.client.remote.domain.Player> dtos) {
+    List<Player> updatedPlayers = new ArrayList<>(dtos.size());
+    for (com.faforever.client.remote.domain.Player dto : dtos) {
+      if (dto.getLogin().equalsIgnoreCase(userService.getUsername())) {
+        onCurrentPlayerInfo(dto);
+      } else {
+        updatedPlayers.add(onPlayerInfo(dto));
+      }
+    }
+    if (!updatedPlayers.isEmpty()) {
+      eventBus.post(new PlayersUpdatedEvent(updatedPlayers));
+    }
   }
 
   private void onFoeList(SocialMessage socialMessage) {
-    Optional.ofNullable(socialMessage.getFoes()).ifPresent(this::onFoeList);
-    Optional.ofNullable(socialMessage.getFriends()).ifPresent(this::onFriendList);
+    // The social lists are not thread safe, so they are only accessed from the application thread
+    JavaFxUtil.runLater(() -> {
+      Optional.ofNullable(socialMessage.getFoes()).ifPresent(this::onFoeList);
+      Optional.ofNullable(socialMessage.getFriends()).ifPresent(this::onFriendList);
+    });
   }
 
   private void onFoeList(List<Integer> foes) {
@@ -334,40 +364,44 @@ public class PlayerService implements InitializingBean {
     updateSocialList(friendList, friends, FRIEND);
   }
 
-  private void updateSocialList(List<Integer> socialList, List<Integer> newValues, SocialStatus socialStatus) {
+  private void updateSocialList(IntSet socialList, List<Integer> newValues, SocialStatus socialStatus) {
     socialList.clear();
-    socialList.addAll(newValues);
+    newValues.forEach(socialList::add);
 
     synchronized (playersById) {
-      for (Integer userId : socialList) {
+      socialList.forEach(userId -> {
         Player player = playersById.get(userId);
         if (player != null) {
           player.setSocialStatus(socialStatus);
         }
-      }
+      });
     }
   }
 
-  private void onPlayerInfo(com.faforever.client.remote.domain.Player dto) {
-    if (dto.getLogin().equalsIgnoreCase(userService.getUsername())) {
-      Player player = getCurrentPlayer().orElseThrow(() -> new IllegalStateException("Player has not been set"));
-      player.updateFromDto(dto);
-      player.setSocialStatus(SELF);
-      eventBus.post(new CurrentPlayerInfo(player));
-    } else {
-      Player player = createAndGetPlayerForUsername(dto.getLogin());
-
-      if (friendList.contains(dto.getId())) {
-        player.setSocialStatus(FRIEND);
-      } else if (foeList.contains(dto.getId())) {
-        player.setSocialStatus(FOE);
-      } else {
-        player.setSocialStatus(OTHER);
-      }
+  private void onCurrentPlayerInfo(com.faforever.client.remote.domain.Player dto) {
+    Player player = getCurrentPlayer().orElseThrow(() -> new IllegalStateException("Player has not been set"));
+    player.updateFromDto(dto);
+    player.setSocialStatus(SELF);
+    eventBus.post(new CurrentPlayerInfo(player));
+  }
 
-      player.updateFromDto(dto);
+  private Player onPlayerInfo(com.faforever.client.remote.domain.Player dto) {
+    Player player = createAndGetPlayerForUsername(dto.getLogin());
 
-      eventBus.post(new PlayerOnlineEvent(player));
+    SocialStatus socialStatus;
+    if (friendList.contains(dto.getId())) {
+      socialStatus = FRIEND;
+    } else if (foeList.contains(dto.getId())) {
+      socialStatus = FOE;
+    } else {
+      socialStatus = OTHER;
     }
+    if (player.getSocialStatus() != socialStatus) {
+      player.setSocialStatus(socialStatus);
+      player.getChatChannelUsers().forEach(chatUser -> eventBus.post(new ChatUserCategoryChangeEvent(chatUser)));
+    }
+
+    player.updateFromDto(dto);
+    return player;
   }
 }
@@ -0,0 +1,14 @@
+package com.faforever.client.player;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Fired once for each batch of player infos received from the server, containing all players that have been updated
+ * by it, except the current player.
+ */
+@Value
+public class PlayersUpdatedEvent {
+  List<Player> players;
+}
@@ -49,6 +49,8 @@ public class ChatPrefs {
   private final MapProperty<String, Color> userToColor;
   private final MapProperty<ChatUserCategory, Color> groupToColor;
   private final BooleanProperty hideFoeMessages;
+  /** Whether chat messages are written to disk, so that older messages can be loaded and searched. */
+  private final BooleanProperty historyEnabled;
   private final BooleanProperty playerListShown;
   private final ObjectProperty<TimeInfo> timeFormat;
   private final ObjectProperty<DateInfo> dateFormat;
@@ -67,6 +69,7 @@ public class ChatPrefs {
     learnedAutoComplete = new SimpleBooleanProperty(false);
     previewImageUrls = new SimpleBooleanProperty(true);
     hideFoeMessages = new SimpleBooleanProperty(true);
+    historyEnabled = new SimpleBooleanProperty(true);
     channelTabScrollPaneWidth = new SimpleIntegerProperty(250);
     userToColor = new SimpleMapProperty<>(FXCollections.observableHashMap());
     groupToColor = new SimpleMapProperty<>(FXCollections.observableHashMap());
@@ -218,6 +221,18 @@ public class ChatPrefs {
     return hideFoeMessages;
   }
 
+  public boolean getHistoryEnabled() {
+    return historyEnabled.get();
+  }
+
+  public void setHistoryEnabled(boolean historyEnabled) {
+    this.historyEnabled.set(historyEnabled);
+  }
+
+  public BooleanProperty historyEnabledProperty() {
+    return historyEnabled;
+  }
+
   public int getIdleThreshold() {
     return idleThreshold.get();
   }
@@ -366,6 +366,10 @@ public class PreferencesService implements InitializingBean {
     return getFafDataDirectory().resolve("logs");
   }
 
+  public Path getChatHistoryDirectory() {
+    return getFafDataDirectory().resolve("chat");
+  }
+
   public Path getThemesDirectory() {
     return getFafDataDirectory().resolve("themes");
   }
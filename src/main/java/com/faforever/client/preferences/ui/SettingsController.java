@@ -98,6 +98,7 @@ public class SettingsController implements Controller<Node> {
   public Toggle randomColorsToggle;
   public Toggle defaultColorsToggle;
   public CheckBox hideFoeToggle;
+  public CheckBox chatHistoryToggle;
   public CheckBox forceRelayToggle;
   public TextField gameLocationTextField;
   public CheckBox autoDownloadMapsToggle;
@@ -234,6 +235,7 @@ public class SettingsController implements Controller<Node> {
     enableNotificationsToggle.selectedProperty().bindBidirectional(preferences.getNotification().transientNotificationsEnabledProperty());
 
     hideFoeToggle.selectedProperty().bindBidirectional(preferences.getChat().hideFoeMessagesProperty());
+    chatHistoryToggle.selectedProperty().bindBidirectional(preferences.getChat().historyEnabledProperty());
 
     disallowJoinsCheckBox.selectedProperty().bindBidirectional(preferences.disallowJoinsViaDiscordProperty());
 
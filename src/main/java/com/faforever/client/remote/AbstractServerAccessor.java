@@ -1,16 +1,25 @@
 package com.faforever.client.remote;
 
-import com.faforever.client.fx.JavaFxUtil;
 import com.faforever.client.remote.domain.FafServerMessage;
-import com.faforever.client.remote.io.QDataInputStream;
+import com.faforever.client.remote.io.LobbyTrafficRecorder;
+import com.faforever.client.remote.io.QStringFrameDecoder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.utils.IOUtils;
 import org.springframework.beans.factory.DisposableBean;
 
-import java.io.BufferedInputStream;
-import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.net.Socket;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.UnresolvedAddressException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Super class for all server accessors.
@@ -18,22 +27,78 @@ import java.net.Socket;
 @Slf4j
 public abstract class AbstractServerAccessor implements DisposableBean {
 
-  private boolean stopped;
-  private QDataInputStream dataInput;
+  private static final int INITIAL_READ_BUFFER_SIZE = 64 * 1024;
+
+  private final QStringFrameDecoder frameDecoder = new QStringFrameDecoder();
+  /**
+   * Reused across reads and reconnects. Only replaced by a bigger buffer if a single frame doesn't fit into it.
+   */
+  private ByteBuffer readBuffer = ByteBuffer.allocateDirect(INITIAL_READ_BUFFER_SIZE);
+  private volatile boolean stopped;
+  private volatile AsynchronousSocketChannel channel;
+  private volatile LobbyTrafficRecorder trafficRecorder;
+
+  /**
+   * Starts recording all frames received from the server to the specified file, see {@link LobbyTrafficRecorder}.
+   */
+  protected void startTrafficCapture(Path file) throws IOException {
+    stopTrafficCapture();
+    trafficRecorder = new LobbyTrafficRecorder(file);
+    log.info("Recording lobby traffic to {}", file);
+  }
+
+  protected void stopTrafficCapture() {
+    LobbyTrafficRecorder recorder = trafficRecorder;
+    trafficRecorder = null;
+    IOUtils.closeQuietly(recorder);
+  }
+
+  /**
+   * Opens a channel to the specified server and waits until the connection has been established.
+   */
+  protected AsynchronousSocketChannel openChannel(String host, int port) throws IOException {
+    AsynchronousSocketChannel channel = AsynchronousSocketChannel.open();
+    try {
+      channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+      channel.connect(new InetSocketAddress(host, port)).get();
+      return channel;
+    } catch (UnresolvedAddressException e) {
+      IOUtils.closeQuietly(channel);
+      throw new UnknownHostException(host);
+    } catch (ExecutionException e) {
+      IOUtils.closeQuietly(channel);
+      throw toIOException(e.getCause());
+    } catch (InterruptedException e) {
+      IOUtils.closeQuietly(channel);
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while connecting to " + host + ":" + port);
+    }
+  }
 
   /**
    * Reads data received from the server and dispatches it. So far, there are two types of data sent by the server: <ol>
    * <li><strong>Server messages</strong> are simple words like ACK or PING, followed by some bytes..</li>
    * <li><strong>Objects</strong> are JSON-encoded objects like preferences or player information. Those are converted into a
    * {@link FafServerMessage}</li> </ol> I'm not yet happy with those terms, so any suggestions are welcome.
+   * <p>
+   * Reading happens asynchronously on the channel's thread pool, so no thread waits for the connection. The returned
+   * future completes once the connection has been closed, exceptionally if it has been closed by an error.
    */
-  protected void blockingReadServer(Socket socket) throws IOException {
-    JavaFxUtil.assertBackgroundThread();
+  protected CompletableFuture<Void> readServer(AsynchronousSocketChannel channel) {
+    this.channel = channel;
+    readBuffer.clear();
+
+    CompletableFuture<Void> connectionClosedFuture = new CompletableFuture<>();
+    new FrameReadHandler(channel).readNext(connectionClosedFuture);
+    return connectionClosedFuture;
+  }
+
+  private void dispatchFrames() {
+    readBuffer.flip();
 
-    dataInput = new QDataInputStream(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
-    while (!stopped && !socket.isInputShutdown()) {
-      dataInput.skipBlockSize();
-      String message = dataInput.readQString();
+    while (frameDecoder.hasFrame(readBuffer)) {
+      recordFrame();
+      CharSequence message = frameDecoder.readFrame(readBuffer);
 
       log.debug("Message from server: {}", message);
 
@@ -44,15 +109,92 @@ public abstract class AbstractServerAccessor implements DisposableBean {
       }
     }
 
-    log.info("Connection to server {} has been closed", socket.getRemoteSocketAddress());
+    int frameSize = frameDecoder.frameSize(readBuffer);
+    if (frameSize > readBuffer.capacity()) {
+      ByteBuffer biggerBuffer = ByteBuffer.allocateDirect(Integer.highestOneBit(frameSize - 1) << 1);
+      biggerBuffer.put(readBuffer);
+      readBuffer = biggerBuffer;
+    } else {
+      readBuffer.compact();
+    }
+  }
+
+  private void recordFrame() {
+    LobbyTrafficRecorder recorder = trafficRecorder;
+    if (recorder == null) {
+      return;
+    }
+    try {
+      recorder.record(readBuffer, frameDecoder.frameSize(readBuffer));
+    } catch (IOException e) {
+      log.warn("Could not record lobby traffic, stopping capture", e);
+      stopTrafficCapture();
+    }
+  }
+
+  private static IOException toIOException(Throwable throwable) {
+    if (throwable instanceof IOException) {
+      return (IOException) throwable;
+    }
+    return new IOException(throwable);
   }
 
-  protected abstract void onServerMessage(String message) throws IOException;
+  /**
+   * Called for every message received from the server. The message is backed by a reused buffer and must not be
+   * retained after this method returns.
+   */
+  protected abstract void onServerMessage(CharSequence message) throws IOException;
 
   @Override
   public void destroy() throws IOException {
     stopped = true;
-    IOUtils.closeQuietly(dataInput);
+    IOUtils.closeQuietly(channel);
+    stopTrafficCapture();
   }
 
+  private class FrameReadHandler implements CompletionHandler<Integer, CompletableFuture<Void>> {
+
+    private final AsynchronousSocketChannel channel;
+
+    private FrameReadHandler(AsynchronousSocketChannel channel) {
+      this.channel = channel;
+    }
+
+    private void readNext(CompletableFuture<Void> connectionClosedFuture) {
+      try {
+        channel.read(readBuffer, connectionClosedFuture, this);
+      } catch (RuntimeException e) {
+        connectionClosedFuture.completeExceptionally(e);
+      }
+    }
+
+    @Override
+    public void completed(Integer bytesRead, CompletableFuture<Void> connectionClosedFuture) {
+      if (bytesRead == -1) {
+        // The server closed its side of the connection, so there is nothing left to read
+        connectionClosedFuture.completeExceptionally(new EOFException("Server closed the connection"));
+        return;
+      }
+      if (stopped) {
+        connectionClosedFuture.complete(null);
+        return;
+      }
+
+      try {
+        dispatchFrames();
+        readNext(connectionClosedFuture);
+      } catch (IllegalArgumentException e) {
+        // The stream can't be resynchronized after a corrupt frame header
+        connectionClosedFuture.completeExceptionally(new IOException("Invalid frame received from server: " + e.getMessage(), e));
+      } catch (RuntimeException e) {
+        // Escaping exceptions would be swallowed by the channel, leaving the connection open but no longer read
+        connectionClosedFuture.completeExceptionally(e);
+      }
+    }
+
+    @Override
+    public void failed(Throwable exc, CompletableFuture<Void> connectionClosedFuture) {
+      connectionClosedFuture.completeExceptionally(exc);
+    }
+  }
 }
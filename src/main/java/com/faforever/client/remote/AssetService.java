@@ -1,63 +1,181 @@
 package com.faforever.client.remote;
 
-import com.faforever.client.fx.JavaFxUtil;
 import com.faforever.client.preferences.PreferencesService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import javafx.scene.image.Image;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.validator.routines.UrlValidator;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
-import static com.github.nocatch.NoCatch.noCatch;
-
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
+/**
+ * Loads images for avatars, country flags, map previews, achievements and mods. Images are downloaded to the cache
+ * directory once and decoded on a small pool of worker threads, never on the JavaFX application thread. Decoded
+ * images are scaled down to the requested size and kept in a cache that is limited by the memory the images take up,
+ * so that scrolling through a list doesn't decode the same images over and over again.
+ */
 @Lazy
 @Service
 @Slf4j
-public class AssetService {
+public class AssetService implements DisposableBean {
+
+  /** The maximum number of bytes taken up by the decoded images in the cache. */
+  private static final long MAX_DECODED_IMAGE_BYTES = 64L * 1024 * 1024;
+  private static final int DECODER_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+  private static final Duration DOWNLOAD_TIMEOUT = Duration.ofSeconds(10);
 
   private final PreferencesService preferencesService;
   private final UrlValidator urlValidator;
+  private final ExecutorService decoderExecutor;
+  private final AsyncCache<ImageKey, Image> imageCache;
 
   public AssetService(PreferencesService preferencesService) {
     this.preferencesService = preferencesService;
     urlValidator = new UrlValidator();
+    decoderExecutor = Executors.newFixedThreadPool(DECODER_THREADS,
+        new ThreadFactoryBuilder().setNameFormat("image-decoder-%d").setDaemon(true).build());
+    imageCache = Caffeine.newBuilder()
+        .maximumWeight(MAX_DECODED_IMAGE_BYTES)
+        .weigher((ImageKey key, Image image) -> getDecodedSize(image))
+        .executor(decoderExecutor)
+        .recordStats()
+        .buildAsync();
   }
 
-  @Nullable
-  public Image loadAndCacheImage(URL url, Path cacheSubFolder, @Nullable Supplier<Image> defaultSupplier) {
+  public CompletableFuture<Image> loadAndCacheImage(URL url, Path cacheSubFolder, @Nullable Supplier<Image> defaultSupplier) {
     return loadAndCacheImage(url, cacheSubFolder, defaultSupplier, 0, 0);
   }
 
-  @Nullable
-  public Image loadAndCacheImage(URL url, Path cacheSubFolder, @Nullable Supplier<Image> defaultSupplier, int width, int height) {
+  /**
+   * Loads the image at the specified URL, scaled down to fit into the specified size if it is greater than zero. The
+   * image file is kept in the specified subfolder of the cache directory, if any. If the URL is {@code null} or the
+   * image can't be loaded, the returned future is completed with the default image, or with {@code null} if there is
+   * none.
+   */
+  public CompletableFuture<Image> loadAndCacheImage(URL url, @Nullable Path cacheSubFolder, @Nullable Supplier<Image> defaultSupplier, int width, int height) {
     if (url == null) {
-      if (defaultSupplier == null) {
-        return null;
+      return CompletableFuture.completedFuture(getDefault(defaultSupplier));
+    }
+    return imageCache.get(new ImageKey(url.toString(), cacheSubFolder, width, height), this::fetchAndDecode)
+        .exceptionally(throwable -> {
+          log.debug("Image could not be loaded: {}", url, throwable);
+          return getDefault(defaultSupplier);
+        });
+  }
+
+  /**
+   * Loads an image that doesn't need to be cached on disk, like a classpath resource or a local file.
+   */
+  public CompletableFuture<Image> loadImage(URL url, int width, int height) {
+    return loadAndCacheImage(url, null, null, width, height);
+  }
+
+  /**
+   * Returns hit and miss counts of the decoded image cache.
+   */
+  public CacheStats getImageCacheStats() {
+    return imageCache.synchronous().stats();
+  }
+
+  private Image fetchAndDecode(ImageKey key) {
+    try {
+      if (key.getCacheSubFolder() == null) {
+        try (InputStream inputStream = new URL(key.getUrl()).openStream()) {
+          return decode(inputStream, key);
+        }
       }
-      return defaultSupplier.get();
+
+      Path cachePath = getCachePath(key);
+      if (Files.exists(cachePath)) {
+        log.debug("Using cached image: {}", cachePath);
+      } else {
+        log.debug("Fetching image {}", key.getUrl());
+        download(new URL(key.getUrl()), cachePath);
+      }
+      try (InputStream inputStream = Files.newInputStream(cachePath)) {
+        return decode(inputStream, key);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
+  }
 
-    String urlString = url.toString();
+  private Path getCachePath(ImageKey key) {
+    String urlString = key.getUrl();
     urlString = urlValidator.isValid(urlString) ? urlString : UriUtils.encodePath(urlString, StandardCharsets.UTF_8);
     String filename = urlString.substring(urlString.lastIndexOf('/') + 1);
-    Path cachePath = preferencesService.getCacheDirectory().resolve(cacheSubFolder).resolve(filename);
-    if (Files.exists(cachePath)) {
-      log.debug("Using cached image: {}", cachePath);
-      return new Image(noCatch(() -> cachePath.toUri().toURL().toExternalForm()), width, height, true, true);
+    return preferencesService.getCacheDirectory().resolve(key.getCacheSubFolder()).resolve(filename);
+  }
+
+  private void download(URL url, Path targetFile) throws IOException {
+    Files.createDirectories(targetFile.getParent());
+    Path tempFile = Files.createTempFile(targetFile.getParent(), targetFile.getFileName().toString(), ".part");
+    try {
+      URLConnection connection = url.openConnection();
+      connection.setConnectTimeout((int) DOWNLOAD_TIMEOUT.toMillis());
+      connection.setReadTimeout((int) DOWNLOAD_TIMEOUT.toMillis());
+      try (InputStream inputStream = connection.getInputStream()) {
+        Files.copy(inputStream, tempFile, REPLACE_EXISTING);
+      }
+      Files.move(tempFile, targetFile, REPLACE_EXISTING, ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempFile);
     }
+  }
 
-    log.debug("Fetching image {}", url);
-    Image image = new Image(urlString, width, height, true, true, true);
-    JavaFxUtil.persistImage(image, cachePath, filename.substring(filename.lastIndexOf('.') + 1));
+  private Image decode(InputStream inputStream, ImageKey key) {
+    Image image = new Image(inputStream, key.getWidth(), key.getHeight(), true, true);
+    if (image.isError()) {
+      throw new IllegalStateException("Image could not be decoded: " + key.getUrl(), image.getException());
+    }
     return image;
   }
+
+  private static int getDecodedSize(Image image) {
+    return (int) Math.min(Integer.MAX_VALUE, (long) image.getWidth() * (long) image.getHeight() * 4);
+  }
+
+  @Nullable
+  private static Image getDefault(@Nullable Supplier<Image> defaultSupplier) {
+    return defaultSupplier != null ? defaultSupplier.get() : null;
+  }
+
+  @Override
+  public void destroy() {
+    log.debug("Image cache statistics: {}", getImageCacheStats());
+    decoderExecutor.shutdownNow();
+  }
+
+  @Value
+  private static class ImageKey {
+    String url;
+    @Nullable
+    Path cacheSubFolder;
+    int width;
+    int height;
+  }
 }
@@ -78,11 +78,11 @@ import com.faforever.client.remote.gson.GameAccessTypeAdapter;
 import com.faforever.client.remote.gson.GameStateTypeAdapter;
 import com.faforever.client.remote.gson.GameTypeTypeAdapter;
 import com.faforever.client.remote.gson.GpgServerMessageTypeTypeAdapter;
+import com.faforever.client.remote.gson.InterningStringTypeAdapter;
 import com.faforever.client.remote.gson.LobbyModeTypeAdapter;
 import com.faforever.client.remote.gson.MatchmakingStateTypeAdapter;
 import com.faforever.client.remote.gson.MessageTargetTypeAdapter;
 import com.faforever.client.remote.gson.RatingRangeTypeAdapter;
-import com.faforever.client.remote.gson.ServerMessageTypeAdapter;
 import com.faforever.client.remote.gson.ServerMessageTypeTypeAdapter;
 import com.faforever.client.remote.gson.VictoryConditionTypeAdapter;
 import com.faforever.client.reporting.ReportingService;
@@ -96,15 +96,15 @@ import com.google.common.hash.Hashing;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
 import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
-import javafx.concurrent.Task;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.utils.IOUtils;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.cache.annotation.Cacheable;
@@ -118,20 +118,20 @@ import org.springframework.util.StringUtils;
 import javax.security.auth.login.LoginException;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.net.Socket;
+import java.net.InetSocketAddress;
 import java.net.URL;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
-import static com.faforever.client.util.ConcurrentUtil.executeInBackground;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 @Lazy
@@ -152,13 +152,13 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
       .registerTypeAdapter(FafServerMessageType.class, ServerMessageTypeTypeAdapter.INSTANCE)
       .registerTypeAdapter(GpgServerMessageType.class, GpgServerMessageTypeTypeAdapter.INSTANCE)
       .registerTypeAdapter(MessageTarget.class, MessageTargetTypeAdapter.INSTANCE)
-      .registerTypeAdapter(ServerMessage.class, ServerMessageTypeAdapter.INSTANCE)
       .registerTypeAdapter(RatingRange.class, RatingRangeTypeAdapter.INSTANCE)
       .registerTypeAdapter(Faction.class, FactionTypeAdapter.INSTANCE)
       .registerTypeAdapter(LobbyMode.class, LobbyModeTypeAdapter.INSTANCE)
       .registerTypeAdapter(MatchmakingState.class, MatchmakingStateTypeAdapter.INSTANCE)
+      .registerTypeAdapter(String.class, InterningStringTypeAdapter.INSTANCE)
       .create();
-  private final HashMap<Class<? extends ServerMessage>, Collection<Consumer<ServerMessage>>> messageListeners = new HashMap<>();
+  private final ServerMessageDispatcher serverMessageDispatcher = new ServerMessageDispatcher(gson);
 
   private final PreferencesService preferencesService;
   private final UidService uidService;
@@ -171,9 +171,10 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
 
   @org.jetbrains.annotations.NotNull
   private final ClientProperties clientProperties;
-  private Task<Void> fafConnectionTask;
+  /** Set once the connection has been closed on purpose, so that it isn't established again. */
+  private volatile boolean connectionCancelled;
   private String localIp;
-  private ServerWriter serverWriter;
+  private volatile ServerWriter serverWriter;
   private volatile CompletableFuture<LoginMessage> loginFuture;
   private CompletableFuture<SessionMessage> sessionFuture;
   private CompletableFuture<GameLaunchMessage> gameLaunchFuture;
@@ -181,7 +182,7 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
   private String username;
   private String password;
   private final ObjectProperty<ConnectionState> connectionState = new SimpleObjectProperty<>();
-  private Socket fafServerSocket;
+  private volatile AsynchronousSocketChannel fafServerChannel;
   private CompletableFuture<List<Avatar>> avatarsFuture;
   private CompletableFuture<List<IceServer>> iceServersFuture;
 
@@ -214,17 +215,13 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public <T extends ServerMessage> void addOnMessageListener(Class<T> type, Consumer<T> listener) {
-    if (!messageListeners.containsKey(type)) {
-      messageListeners.put(type, new LinkedList<>());
-    }
-    messageListeners.get(type).add((Consumer<ServerMessage>) listener);
+    serverMessageDispatcher.addListener(type, listener);
   }
 
   @Override
   public <T extends ServerMessage> void removeOnMessageListener(Class<T> type, Consumer<T> listener) {
-    messageListeners.get(type).remove(listener);
+    serverMessageDispatcher.removeListener(type, listener);
   }
 
   @Override
@@ -238,81 +235,96 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
     loginFuture = new CompletableFuture<>();
     this.username = username;
     this.password = password;
+    connectionCancelled = false;
 
-    // TODO extract class?
-    fafConnectionTask = new Task<>() {
-
-      @Override
-      protected Void call() {
-        while (!isCancelled()) {
-          Server server = clientProperties.getServer();
-          String serverHost = server.getHost();
-          int serverPort = server.getPort();
-
-          log.info("Trying to connect to FAF server at {}:{}", serverHost, serverPort);
-          JavaFxUtil.runLater(() -> connectionState.set(ConnectionState.CONNECTING));
-
-
-          try (Socket fafServerSocket = new Socket(serverHost, serverPort);
-               OutputStream outputStream = fafServerSocket.getOutputStream()) {
-            FafServerAccessorImpl.this.fafServerSocket = fafServerSocket;
-
-            fafServerSocket.setKeepAlive(true);
-
-            localIp = fafServerSocket.getLocalAddress().getHostAddress();
-
-            serverWriter = createServerWriter(outputStream);
-
-            writeToServer(new InitSessionMessage(Version.getCurrentVersion()));
-
-            log.info("FAF server connection established");
-            JavaFxUtil.runLater(() -> connectionState.set(ConnectionState.CONNECTED));
-            reconnectTimerService.resetConnectionFailures();
+    CompletableFuture.runAsync(this::connect);
+    return loginFuture;
+  }
 
-            blockingReadServer(fafServerSocket);
-          } catch (IOException e) {
-            JavaFxUtil.runLater(() -> connectionState.set(ConnectionState.DISCONNECTED));
-            if (isCancelled()) {
-              log.debug("Connection to FAF server has been closed");
-            } else {
-              if (loginFuture != null) {
-                loginFuture.completeExceptionally(new LoginFailedException("Lost connection to server during login"));
-                loginFuture = null;
-                fafConnectionTask.cancel();
-                return null;
-              }
-              log.warn("Lost connection to Server", e);
-              reconnectTimerService.incrementConnectionFailures();
+  /**
+   * Connects to the server, retrying with the reconnect back-off until a connection has been established or the
+   * connection has been cancelled. Reading then happens asynchronously and this method returns; once the connection is
+   * lost, it is called again. So no thread waits for as long as a connection lasts.
+   */
+  private void connect() {
+    while (!connectionCancelled) {
+      Server server = clientProperties.getServer();
+      String serverHost = server.getHost();
+      int serverPort = server.getPort();
+
+      log.info("Trying to connect to FAF server at {}:{}", serverHost, serverPort);
+      JavaFxUtil.runLater(() -> connectionState.set(ConnectionState.CONNECTING));
+
+      AsynchronousSocketChannel fafServerChannel = null;
+      ServerWriter serverWriter = null;
+      try {
+        fafServerChannel = openChannel(serverHost, serverPort);
+        serverWriter = createServerWriter(Channels.newOutputStream(fafServerChannel));
+        this.fafServerChannel = fafServerChannel;
+        this.serverWriter = serverWriter;
+
+        localIp = ((InetSocketAddress) fafServerChannel.getLocalAddress()).getAddress().getHostAddress();
+
+        writeToServer(new InitSessionMessage(Version.getCurrentVersion()));
+
+        log.info("FAF server connection established");
+        JavaFxUtil.runLater(() -> connectionState.set(ConnectionState.CONNECTED));
+        reconnectTimerService.resetConnectionFailures();
+
+        AsynchronousSocketChannel openedChannel = fafServerChannel;
+        ServerWriter openedWriter = serverWriter;
+        readServer(fafServerChannel).whenComplete((result, throwable) -> {
+          IOUtils.closeQuietly(openedWriter);
+          IOUtils.closeQuietly(openedChannel);
+          log.info("Connection to server has been closed");
+          if (shouldReconnect(throwable)) {
+            CompletableFuture.runAsync(() -> {
               reconnectTimerService.waitForReconnect();
-            }
+              connect();
+            });
           }
+        });
+        return;
+      } catch (IOException e) {
+        IOUtils.closeQuietly(serverWriter);
+        IOUtils.closeQuietly(fafServerChannel);
+        if (!shouldReconnect(e)) {
+          return;
         }
-        return null;
-      }
-
-      @Override
-      protected void failed() {
-        super.failed();
-        log.error("Server connection task failed", getException());
+        reconnectTimerService.waitForReconnect();
+      } catch (RuntimeException e) {
+        log.error("Server connection failed", e);
         if (loginFuture != null) {
-          loginFuture.completeExceptionally(new LoginException("The server connection task failed, an internal error occurred"));
+          loginFuture.completeExceptionally(new LoginException("The server connection failed, an internal error occurred"));
           loginFuture = null;
         }
         IOUtils.closeQuietly(serverWriter);
-        IOUtils.closeQuietly(fafServerSocket);
-      }
-
-      @Override
-      protected void cancelled() {
-        IOUtils.closeQuietly(serverWriter);
-        IOUtils.closeQuietly(fafServerSocket);
-        log.debug("Closed connection to FAF lobby server");
+        IOUtils.closeQuietly(fafServerChannel);
+        return;
       }
-    };
-    executeInBackground(fafConnectionTask);
-    return loginFuture;
+    }
   }
 
+  /**
+   * Handles the loss of the connection and returns whether to connect again. Doesn't reconnect if the connection has
+   * been cancelled or was lost during login, in which case the login fails.
+   */
+  private boolean shouldReconnect(@Nullable Throwable throwable) {
+    JavaFxUtil.runLater(() -> connectionState.set(ConnectionState.DISCONNECTED));
+    if (connectionCancelled) {
+      log.debug("Connection to FAF server has been closed");
+      return false;
+    }
+    if (loginFuture != null) {
+      loginFuture.completeExceptionally(new LoginFailedException("Lost connection to server during login"));
+      loginFuture = null;
+      disconnect();
+      return false;
+    }
+    log.warn("Lost connection to Server", throwable);
+    reconnectTimerService.incrementConnectionFailures();
+    return true;
+  }
 
   @Override
   public CompletableFuture<GameLaunchMessage> requestHostGame(NewGameInfo newGameInfo) {
@@ -350,14 +362,16 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
   }
 
   public void disconnect() {
-    if (fafConnectionTask != null) {
-      fafConnectionTask.cancel(true);
-    }
+    connectionCancelled = true;
+    IOUtils.closeQuietly(serverWriter);
+    IOUtils.closeQuietly(fafServerChannel);
+    reconnectTimerService.skipWait();
+    log.debug("Closed connection to FAF lobby server");
   }
 
   @Override
   public void reconnect() {
-    IOUtils.closeQuietly(fafServerSocket);
+    IOUtils.closeQuietly(fafServerChannel);
     reconnectTimerService.skipWait();
   }
 
@@ -455,7 +469,7 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
   }
 
   private ServerWriter createServerWriter(OutputStream outputStream) {
-    ServerWriter serverWriter = new ServerWriter(outputStream);
+    ServerWriter serverWriter = new ServerWriter(outputStream, true);
     serverWriter.registerMessageSerializer(new ClientMessageSerializer(), ClientMessage.class);
     serverWriter.registerMessageSerializer(new StringSerializer(), String.class);
     serverWriter.registerMessageSerializer(new GpgClientMessageSerializer(), GpgGameMessage.class);
@@ -472,8 +486,14 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
     serverWriter.write(message);
   }
 
-  public void onServerMessage(String message) {
-    ServerCommand serverCommand = ServerCommand.fromString(message);
+  @Override
+  public void onServerMessage(CharSequence message) {
+    if (message == null || message.length() == 0) {
+      log.warn("Ignoring empty message from server");
+      return;
+    }
+    // Only plain commands are looked up as such, so that JSON objects don't need to be copied into a string
+    ServerCommand serverCommand = isJsonObject(message) ? null : ServerCommand.fromString(message.toString());
     if (serverCommand != null) {
       dispatchServerMessage(serverCommand);
     } else {
@@ -481,6 +501,10 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
     }
   }
 
+  private static boolean isJsonObject(CharSequence message) {
+    return message.charAt(0) == '{';
+  }
+
   private void dispatchServerMessage(ServerCommand serverCommand) {
     switch (serverCommand) {
       case PING:
@@ -497,32 +521,42 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
     }
   }
 
-  private void parseServerObject(String jsonString) {
+  private void parseServerObject(CharSequence jsonString) {
     try {
-      ServerMessage serverMessage = gson.fromJson(jsonString, ServerMessage.class);
-      if (serverMessage == null) {
-        log.debug("Discarding unimplemented server message: {}", jsonString);
-        return;
-      }
-
-      Class<?> messageClass = serverMessage.getClass();
-      while (messageClass != Object.class) {
-        messageListeners.getOrDefault(messageClass, Collections.emptyList())
-            .forEach(consumer -> consumer.accept(serverMessage));
-        messageClass = messageClass.getSuperclass();
-      }
-
-    } catch (JsonSyntaxException e) {
+      serverMessageDispatcher.dispatch(jsonString);
+    } catch (IOException | JsonParseException e) {
       log.warn("Could not deserialize message: " + jsonString, e);
     }
   }
 
+  /**
+   * Logs how much time has been spent parsing each type of server message, most expensive first, as well as how the
+   * server writer performs.
+   */
+  @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+  public void logServerMessageStatistics() {
+    if (!log.isDebugEnabled()) {
+      return;
+    }
+    serverMessageDispatcher.getDecodeStatistics().values().stream()
+        .sorted(Comparator.comparingLong(ServerMessageDispatcher.DecodeStatistics::getTotalNanos).reversed())
+        .forEach(statistics -> log.debug("Server message decode cost: {}", statistics));
+
+    ServerWriter serverWriter = this.serverWriter;
+    if (serverWriter != null) {
+      log.debug("Server writer: {} messages queued, {} messages in {} flushes, flush latency {} us average, {} us max",
+          serverWriter.getQueueDepth(), serverWriter.getFlushedMessageCount(), serverWriter.getFlushCount(),
+          TimeUnit.NANOSECONDS.toMicros(serverWriter.getAverageFlushLatencyNanos()),
+          TimeUnit.NANOSECONDS.toMicros(serverWriter.getMaxFlushLatencyNanos()));
+    }
+  }
+
   private void onServerPing() {
     writeToServer(new PongMessage());
   }
 
   private void dispatchAuthenticationFailed(AuthenticationFailedMessage message) {
-    fafConnectionTask.cancel();
+    disconnect();
     loginFuture.completeExceptionally(new LoginFailedException(message.getText()));
     loginFuture = null;
   }
@@ -572,7 +606,7 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
   @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
   @Override
   public void ping() {
-    if (fafServerSocket == null || !fafServerSocket.isConnected() || serverWriter == null) {
+    if (fafServerChannel == null || !fafServerChannel.isOpen() || serverWriter == null) {
       return;
     }
     writeToServer(PingMessage.INSTANCE);
@@ -587,6 +621,11 @@ public class FafServerAccessorImpl extends AbstractServerAccessor implements Faf
     addOnMessageListener(AuthenticationFailedMessage.class, this::dispatchAuthenticationFailed);
     addOnMessageListener(AvatarMessage.class, this::onAvatarMessage);
     addOnMessageListener(IceServersServerMessage.class, this::onIceServersMessage);
+
+    String trafficCaptureFile = clientProperties.getServer().getTrafficCaptureFile();
+    if (trafficCaptureFile != null) {
+      startTrafficCapture(Path.of(trafficCaptureFile));
+    }
   }
 
 
@@ -519,9 +519,10 @@ public class FafService {
   }
 
   @Async
-  public CompletableFuture<Optional<Clan>> getClanByTag(String tag) {
-    return CompletableFuture.completedFuture(fafApiAccessor.getClanByTag(tag)
-        .map(Clan::fromDto));
+  public CompletableFuture<List<Clan>> getClansByTags(List<String> tags) {
+    return CompletableFuture.completedFuture(fafApiAccessor.getClansByTags(tags).stream()
+        .map(Clan::fromDto)
+        .collect(Collectors.toList()));
   }
 
   public Optional<MapBean> findMapById(String id) {
@@ -0,0 +1,240 @@
+package com.faforever.client.remote;
+
+import com.faforever.client.fa.relay.GpgServerMessageType;
+import com.faforever.client.remote.domain.FafServerMessageType;
+import com.faforever.client.remote.domain.MessageTarget;
+import com.faforever.client.remote.domain.ServerMessage;
+import com.faforever.client.remote.domain.ServerMessageType;
+import com.faforever.client.remote.io.CharSequenceReader;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Dispatches JSON objects received from the FAF server to the listeners registered for their message type. The message
+ * type is determined by peeking at the {@code command} and {@code target} fields with a streaming reader, so messages
+ * nobody listens to are never bound to their concrete message class.
+ * <p>
+ * Messages that do have listeners are read a second time from the start by Gson, since a {@link JsonReader} can't be
+ * rewound to the fields that have already been peeked at. Only the character readers are reused for this; the two
+ * {@code JsonReader}s per message are cheap compared to binding the message.
+ * <p>
+ * Messages must be dispatched sequentially, since the readers used for parsing are reused.
+ */
+@Slf4j
+class ServerMessageDispatcher {
+
+  private static final String COMMAND_FIELD = "command";
+  private static final String TARGET_FIELD = "target";
+  /** Commands that are resolved depending on the target. All other commands are sent to the client. */
+  private static final Set<String> GPG_COMMANDS = Stream.of(GpgServerMessageType.values())
+      .map(GpgServerMessageType::getString)
+      .collect(Collectors.toUnmodifiableSet());
+
+  private final Gson gson;
+  private final CharSequenceReader peekReader = new CharSequenceReader();
+  private final CharSequenceReader messageReader = new CharSequenceReader();
+  private final Map<Class<? extends ServerMessage>, Collection<Consumer<ServerMessage>>> messageListeners = new HashMap<>();
+  private final Map<String, DecodeStatistics> decodeStatistics = new ConcurrentHashMap<>();
+  /**
+   * The listeners of each message type, including the ones registered for its super classes. Rebuilt whenever a
+   * listener is added or removed, so that dispatching doesn't need to walk the class hierarchy.
+   */
+  private volatile Map<Class<?>, List<Consumer<ServerMessage>>> handlerChains = Map.of();
+
+  ServerMessageDispatcher(Gson gson) {
+    this.gson = gson;
+  }
+
+  @SuppressWarnings("unchecked")
+  synchronized <T extends ServerMessage> void addListener(Class<T> type, Consumer<T> listener) {
+    messageListeners.computeIfAbsent(type, aClass -> new LinkedList<>()).add((Consumer<ServerMessage>) listener);
+    rebuildHandlerChains();
+  }
+
+  synchronized <T extends ServerMessage> void removeListener(Class<T> type, Consumer<T> listener) {
+    Collection<Consumer<ServerMessage>> listeners = messageListeners.get(type);
+    if (listeners != null && listeners.remove(listener)) {
+      rebuildHandlerChains();
+    }
+  }
+
+  private void rebuildHandlerChains() {
+    Map<Class<?>, List<Consumer<ServerMessage>>> newHandlerChains = new HashMap<>();
+
+    Stream.<ServerMessageType>concat(Stream.of(FafServerMessageType.values()), Stream.of(GpgServerMessageType.values()))
+        .map(messageType -> messageType.<ServerMessage>getType())
+        .distinct()
+        .forEach(messageClass -> {
+          List<Consumer<ServerMessage>> chain = new ArrayList<>();
+          Class<?> classToCheck = messageClass;
+          while (classToCheck != Object.class) {
+            chain.addAll(messageListeners.getOrDefault(classToCheck, Collections.emptyList()));
+            classToCheck = classToCheck.getSuperclass();
+          }
+          if (!chain.isEmpty()) {
+            newHandlerChains.put(messageClass, List.copyOf(chain));
+          }
+        });
+
+    handlerChains = newHandlerChains;
+  }
+
+  /**
+   * Parses the specified JSON object and passes it to all listeners of its type. Messages of unknown types and messages
+   * without listeners are skipped without being parsed completely.
+   */
+  void dispatch(CharSequence json) throws IOException {
+    long startTime = System.nanoTime();
+
+    String command = null;
+    String target = null;
+    boolean targetFound = false;
+
+    JsonReader jsonReader = new JsonReader(peekReader.reset(json));
+    jsonReader.setLenient(true);
+    jsonReader.beginObject();
+    // The target only matters for GPG commands, so for all other commands the rest of the message is left unread. Since
+    // the order of fields isn't guaranteed, the target may come after the command.
+    while (jsonReader.hasNext() && (command == null || !targetFound && GPG_COMMANDS.contains(command))) {
+      String name = jsonReader.nextName();
+      if (COMMAND_FIELD.equals(name)) {
+        command = nextNullableString(jsonReader);
+      } else if (TARGET_FIELD.equals(name)) {
+        target = nextNullableString(jsonReader);
+        targetFound = true;
+      } else {
+        jsonReader.skipValue();
+      }
+    }
+
+    Class<? extends ServerMessage> messageClass = resolveMessageClass(command, target);
+    if (messageClass == null) {
+      log.debug("Discarding unimplemented server message: {}", json);
+      recordDecodeCost(String.valueOf(command), startTime, false);
+      return;
+    }
+
+    List<Consumer<ServerMessage>> handlerChain = handlerChains.get(messageClass);
+    if (handlerChain == null) {
+      recordDecodeCost(command, startTime, false);
+      return;
+    }
+
+    ServerMessage serverMessage = gson.fromJson(messageReader.reset(json), messageClass);
+    recordDecodeCost(command, startTime, true);
+    if (serverMessage == null) {
+      return;
+    }
+
+    handlerChain.forEach(consumer -> consumer.accept(serverMessage));
+  }
+
+  private static String nextNullableString(JsonReader jsonReader) throws IOException {
+    if (jsonReader.peek() == JsonToken.NULL) {
+      jsonReader.nextNull();
+      return null;
+    }
+    return jsonReader.nextString();
+  }
+
+  private static Class<? extends ServerMessage> resolveMessageClass(String command, String target) {
+    MessageTarget messageTarget = MessageTarget.fromString(target);
+    if (messageTarget == null || command == null) {
+      return null;
+    }
+
+    ServerMessageType serverMessageType;
+    switch (messageTarget) {
+      case GAME:
+      case CONNECTIVITY:
+        serverMessageType = GpgServerMessageType.fromString(command);
+        break;
+
+      case CLIENT:
+        serverMessageType = FafServerMessageType.fromString(command);
+        break;
+
+      default:
+        return null;
+    }
+
+    if (serverMessageType == null) {
+      return null;
+    }
+    return serverMessageType.getType();
+  }
+
+  private void recordDecodeCost(String command, long startTime, boolean materialized) {
+    decodeStatistics.computeIfAbsent(command, DecodeStatistics::new).record(System.nanoTime() - startTime, materialized);
+  }
+
+  /**
+   * Returns the decode statistics of all commands received so far, keyed by command.
+   */
+  Map<String, DecodeStatistics> getDecodeStatistics() {
+    return Collections.unmodifiableMap(decodeStatistics);
+  }
+
+  /**
+   * How often messages of a command have been received and how much time has been spent parsing them.
+   */
+  static class DecodeStatistics {
+    @Getter
+    private final String command;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder materializedCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    private DecodeStatistics(String command) {
+      this.command = command;
+    }
+
+    private void record(long nanos, boolean materialized) {
+      count.increment();
+      totalNanos.add(nanos);
+      if (materialized) {
+        materializedCount.increment();
+      }
+    }
+
+    long getCount() {
+      return count.sum();
+    }
+
+    /**
+     * Number of messages that have been bound to their message class because there were listeners for them.
+     */
+    long getMaterializedCount() {
+      return materializedCount.sum();
+    }
+
+    long getTotalNanos() {
+      return totalNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+      long count = getCount();
+      return String.format("%s: %d messages (%d parsed), %.3f ms total, %.1f us average", command, count,
+          getMaterializedCount(), getTotalNanos() / 1_000_000d, count == 0 ? 0 : getTotalNanos() / 1_000d / count);
+    }
+  }
+}
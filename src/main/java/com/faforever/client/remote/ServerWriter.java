@@ -1,5 +1,8 @@
 package com.faforever.client.remote;
 
+import com.faforever.client.fa.relay.GpgGameMessage;
+import com.faforever.client.remote.domain.ClientMessage;
+import com.faforever.client.remote.domain.ClientMessageType;
 import com.faforever.client.remote.domain.SerializableMessage;
 import com.faforever.client.remote.io.QDataWriter;
 import com.faforever.client.util.Assert;
@@ -14,22 +17,77 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.SocketException;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Sends data to the server. Classes should not use the server writer directly, but e.g. {@link
  * com.faforever.client.remote.FafService} or any other server accessor instead.
+ * <p>
+ * In batched mode, messages are put into a queue which is drained by a single writer thread. The writer thread encodes
+ * all queued messages into one buffer and writes them at once. Game messages and most client messages are flushed as
+ * soon as the queue is empty, while social and party updates may wait up to {@link #BATCH_FLUSH_DELAY_MILLIS} for
+ * other messages to be sent along with them.
  */
 @Slf4j
 public class ServerWriter implements Closeable {
 
+  static final long BATCH_FLUSH_DELAY_MILLIS = 50;
+  private static final long BATCH_FLUSH_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(BATCH_FLUSH_DELAY_MILLIS);
+  private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+  private static final Set<ClientMessageType> BATCHED_MESSAGE_TYPES = EnumSet.of(
+      ClientMessageType.SOCIAL_ADD,
+      ClientMessageType.SOCIAL_REMOVE,
+      ClientMessageType.AVATAR,
+      ClientMessageType.STATISTICS,
+      ClientMessageType.PING,
+      ClientMessageType.INVITE_TO_PARTY,
+      ClientMessageType.ACCEPT_PARTY_INVITE,
+      ClientMessageType.KICK_PLAYER_FROM_PARTY,
+      ClientMessageType.SET_PARTY_FACTIONS
+  );
+
   private final QDataWriter qDataWriter;
   private final Map<Class<?>, Serializer<?>> objectWriters;
 
+  private final Queue<QueuedMessage> queue;
+  private final Thread writerThread;
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final LongAdder flushCount = new LongAdder();
+  private final LongAdder flushedMessageCount = new LongAdder();
+  private final LongAdder totalFlushLatencyNanos = new LongAdder();
+  private volatile long maxFlushLatencyNanos;
+  private volatile boolean closed;
+
   public ServerWriter(OutputStream outputStream) {
-    qDataWriter = new QDataWriter(new DataOutputStream(new BufferedOutputStream(outputStream)));
+    this(outputStream, false);
+  }
+
+  /**
+   * @param batched whether messages should be written by a dedicated writer thread instead of the calling thread. See
+   * class description.
+   */
+  public ServerWriter(OutputStream outputStream, boolean batched) {
+    qDataWriter = new QDataWriter(new DataOutputStream(new BufferedOutputStream(outputStream, OUTPUT_BUFFER_SIZE)));
     objectWriters = new HashMap<>();
+
+    if (batched) {
+      queue = new ConcurrentLinkedQueue<>();
+      writerThread = new Thread(this::drainQueue, "server-writer");
+      writerThread.setDaemon(true);
+      writerThread.start();
+    } else {
+      queue = null;
+      writerThread = null;
+    }
   }
 
   public void registerMessageSerializer(Serializer<?> objectSerializer, Class<?> writableClass) {
@@ -44,6 +102,11 @@ public class ServerWriter implements Closeable {
 
     Assert.checkNullIllegalState(serializer, () -> "No object writer registered for type: " + clazz);
 
+    if (queue != null) {
+      enqueue(object, serializer);
+      return;
+    }
+
     try {
       ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
@@ -60,6 +123,139 @@ public class ServerWriter implements Closeable {
     }
   }
 
+  private void enqueue(SerializableMessage message, Serializer<SerializableMessage> serializer) {
+    // Guarded by the queue so that no message is added after the writer thread has discarded the queue on exit
+    synchronized (queue) {
+      if (closed) {
+        log.debug("Server writer has been closed, discarding message: {}", message);
+        return;
+      }
+      queue.offer(new QueuedMessage(message, serializer, !isBatchable(message), System.nanoTime()));
+      queueDepth.incrementAndGet();
+    }
+    LockSupport.unpark(writerThread);
+  }
+
+  private static boolean isBatchable(SerializableMessage message) {
+    if (message instanceof GpgGameMessage) {
+      return false;
+    }
+    return message instanceof ClientMessage && BATCHED_MESSAGE_TYPES.contains(((ClientMessage) message).getCommand());
+  }
+
+  /**
+   * Run by the writer thread. Encodes queued messages into the output buffer and flushes it once the queue is empty and
+   * either an urgent message has been encoded or the oldest encoded message has waited long enough.
+   */
+  private void drainQueue() {
+    FrameBuffer frameBuffer = new FrameBuffer();
+    int pendingMessages = 0;
+    boolean urgentPending = false;
+    long oldestPendingTime = 0;
+
+    try {
+      while (!closed || !queue.isEmpty() || pendingMessages > 0) {
+        QueuedMessage queuedMessage = queue.poll();
+        if (queuedMessage != null) {
+          queueDepth.decrementAndGet();
+
+          frameBuffer.reset();
+          try {
+            queuedMessage.serializer.serialize(queuedMessage.message, frameBuffer);
+          } catch (RuntimeException e) {
+            log.warn("Could not serialize message: {}", queuedMessage.message, e);
+            continue;
+          }
+          qDataWriter.appendWithSize(frameBuffer.getBuffer(), 0, frameBuffer.size());
+
+          if (pendingMessages == 0) {
+            oldestPendingTime = queuedMessage.enqueueTime;
+          }
+          pendingMessages++;
+          urgentPending |= queuedMessage.urgent;
+          continue;
+        }
+
+        if (pendingMessages == 0) {
+          LockSupport.park(this);
+          continue;
+        }
+
+        long waitedNanos = System.nanoTime() - oldestPendingTime;
+        if (urgentPending || closed || waitedNanos >= BATCH_FLUSH_DELAY_NANOS) {
+          qDataWriter.flush();
+          recordFlush(pendingMessages, oldestPendingTime);
+          pendingMessages = 0;
+          urgentPending = false;
+        } else {
+          LockSupport.parkNanos(this, BATCH_FLUSH_DELAY_NANOS - waitedNanos);
+        }
+      }
+    } catch (EOFException | SocketException e) {
+      log.debug("Server writer has been closed");
+    } catch (IOException e) {
+      log.debug("Server writer has been closed", e);
+    } finally {
+      synchronized (queue) {
+        closed = true;
+        queue.clear();
+        queueDepth.set(0);
+      }
+      // Closed here rather than in close(), so that the stream is never closed while a frame is being written
+      closeQuietly();
+    }
+  }
+
+  private void closeQuietly() {
+    try {
+      qDataWriter.close();
+    } catch (IOException e) {
+      log.debug("Server writer could not be closed", e);
+    }
+  }
+
+  private void recordFlush(int messages, long oldestPendingTime) {
+    long latency = System.nanoTime() - oldestPendingTime;
+    flushCount.increment();
+    flushedMessageCount.add(messages);
+    totalFlushLatencyNanos.add(latency);
+    if (latency > maxFlushLatencyNanos) {
+      maxFlushLatencyNanos = latency;
+    }
+  }
+
+  /**
+   * Returns the number of messages waiting to be encoded by the writer thread. Always {@code 0} if not in batched
+   * mode.
+   */
+  public int getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  /**
+   * Returns the number of flushes performed by the writer thread, each of which may have written multiple messages.
+   */
+  public long getFlushCount() {
+    return flushCount.sum();
+  }
+
+  public long getFlushedMessageCount() {
+    return flushedMessageCount.sum();
+  }
+
+  /**
+   * Returns the average time between a message being queued and the flush that wrote it, measured for the oldest
+   * message of each flush.
+   */
+  public long getAverageFlushLatencyNanos() {
+    long flushes = getFlushCount();
+    return flushes == 0 ? 0 : totalFlushLatencyNanos.sum() / flushes;
+  }
+
+  public long getMaxFlushLatencyNanos() {
+    return maxFlushLatencyNanos;
+  }
+
   /**
    * Finds the appropriate serializer by walking up the type hierarchy. Interfaces are not checked.
    *
@@ -75,8 +271,53 @@ public class ServerWriter implements Closeable {
     return objectWriters.get(classToCheck);
   }
 
+  /**
+   * In batched mode, signals the writer thread to flush the queued messages and close the stream, and waits a second
+   * for it to do so.
+   */
   @Override
   public void close() throws IOException {
-    qDataWriter.close();
+    closed = true;
+    if (writerThread == null) {
+      synchronized (qDataWriter) {
+        qDataWriter.close();
+      }
+      return;
+    }
+    LockSupport.unpark(writerThread);
+    if (writerThread != Thread.currentThread()) {
+      try {
+        writerThread.join(TimeUnit.SECONDS.toMillis(1));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static class QueuedMessage {
+    private final SerializableMessage message;
+    private final Serializer<SerializableMessage> serializer;
+    private final boolean urgent;
+    private final long enqueueTime;
+
+    private QueuedMessage(SerializableMessage message, Serializer<SerializableMessage> serializer, boolean urgent, long enqueueTime) {
+      this.message = message;
+      this.serializer = serializer;
+      this.urgent = urgent;
+      this.enqueueTime = enqueueTime;
+    }
+  }
+
+  /**
+   * A byte array output stream that is reused for every message and gives access to its buffer without copying it.
+   */
+  private static class FrameBuffer extends ByteArrayOutputStream {
+    private FrameBuffer() {
+      super(4 * 1024);
+    }
+
+    private byte[] getBuffer() {
+      return buf;
+    }
   }
 }
@@ -0,0 +1,41 @@
+package com.faforever.client.remote.gson;
+
+import com.faforever.client.util.StringInterner;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads strings through the {@link StringInterner}, so that the usernames, map names and featured mods repeated all over
+ * the lobby's messages share one instance per value. Also applies to the keys of maps like a game's teams.
+ */
+public final class InterningStringTypeAdapter extends TypeAdapter<String> {
+
+  public static final InterningStringTypeAdapter INSTANCE = new InterningStringTypeAdapter();
+
+  private InterningStringTypeAdapter() {
+    // private
+  }
+
+  @Override
+  public void write(JsonWriter out, String value) throws IOException {
+    out.value(value);
+  }
+
+  @Override
+  public String read(JsonReader in) throws IOException {
+    JsonToken token = in.peek();
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    // Like Gson's own adapter, booleans are accepted as strings
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(in.nextBoolean());
+    }
+    return StringInterner.intern(in.nextString());
+  }
+}
@@ -0,0 +1,46 @@
+package com.faforever.client.remote.io;
+
+import java.io.Reader;
+
+/**
+ * A {@link Reader} over a {@link CharSequence} that can be reset to a new sequence, so that a single instance can be
+ * used to feed many strings to a parser without copying them into a {@link String} first.
+ */
+public class CharSequenceReader extends Reader {
+
+  private CharSequence charSequence = "";
+  private int position;
+
+  public CharSequenceReader reset(CharSequence charSequence) {
+    this.charSequence = charSequence;
+    this.position = 0;
+    return this;
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) {
+    int remaining = charSequence.length() - position;
+    if (remaining <= 0) {
+      return -1;
+    }
+    int count = Math.min(len, remaining);
+    for (int i = 0; i < count; i++) {
+      cbuf[off + i] = charSequence.charAt(position + i);
+    }
+    position += count;
+    return count;
+  }
+
+  @Override
+  public int read() {
+    if (position >= charSequence.length()) {
+      return -1;
+    }
+    return charSequence.charAt(position++);
+  }
+
+  @Override
+  public void close() {
+    // Nothing to close; the reader may be reset and reused
+  }
+}
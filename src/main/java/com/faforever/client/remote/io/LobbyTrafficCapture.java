@@ -0,0 +1,63 @@
+package com.faforever.client.remote.io;
+
+import lombok.Value;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads frames from a capture file written by {@link LobbyTrafficRecorder}.
+ */
+public class LobbyTrafficCapture implements Closeable {
+
+  private final DataInputStream in;
+
+  public LobbyTrafficCapture(Path file) throws IOException {
+    in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))));
+    if (in.readInt() != LobbyTrafficRecorder.MAGIC) {
+      in.close();
+      throw new IOException("Not a lobby traffic capture: " + file);
+    }
+    int version = in.readInt();
+    if (version != LobbyTrafficRecorder.VERSION) {
+      in.close();
+      throw new IOException("Unsupported lobby traffic capture version: " + version);
+    }
+  }
+
+  /**
+   * Reads the next frame.
+   *
+   * @return the next frame, or {@code null} if the end of the capture has been reached
+   */
+  public Frame readFrame() throws IOException {
+    int delayMicros;
+    try {
+      delayMicros = in.readInt();
+    } catch (EOFException e) {
+      return null;
+    }
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new Frame(delayMicros, bytes);
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  @Value
+  public static class Frame {
+    /** The number of microseconds between this frame and the previous one, as originally received. */
+    int delayMicros;
+    /** The frame's raw bytes, including its block size and string length. */
+    byte[] bytes;
+  }
+}
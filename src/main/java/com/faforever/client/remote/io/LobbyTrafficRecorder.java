@@ -0,0 +1,56 @@
+package com.faforever.client.remote.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records frames received from the lobby server, exactly as received, to a gzipped capture file so they can later be
+ * replayed using {@link LobbyTrafficCapture}. The file starts with {@link #MAGIC} and {@link #VERSION}, followed by one
+ * record per frame: the microseconds passed since the previous frame, the frame's length and the frame's bytes.
+ */
+public class LobbyTrafficRecorder implements Closeable {
+
+  static final int MAGIC = 0x46414643;
+  static final int VERSION = 1;
+
+  private final DataOutputStream out;
+  private byte[] scratch = new byte[8 * 1024];
+  private long lastFrameTime;
+
+  public LobbyTrafficRecorder(Path file) throws IOException {
+    out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file))));
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    lastFrameTime = System.nanoTime();
+  }
+
+  /**
+   * Records the frame of the specified length which starts at the buffer's current position. The buffer's position is
+   * not changed.
+   */
+  public synchronized void record(ByteBuffer buffer, int frameLength) throws IOException {
+    if (scratch.length < frameLength) {
+      scratch = new byte[Math.max(frameLength, scratch.length * 2)];
+    }
+    buffer.get(buffer.position(), scratch, 0, frameLength);
+
+    long now = System.nanoTime();
+    long delayMicros = (now - lastFrameTime) / 1_000;
+    lastFrameTime = now;
+
+    out.writeInt((int) Math.min(delayMicros, Integer.MAX_VALUE));
+    out.writeInt(frameLength);
+    out.write(scratch, 0, frameLength);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    out.close();
+  }
+}
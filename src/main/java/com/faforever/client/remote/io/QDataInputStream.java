@@ -4,13 +4,18 @@ import java.io.Closeable;
 import java.io.DataInput;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 public class QDataInputStream extends InputStream {
 
+  private static final int INITIAL_STRING_BUFFER_SIZE = 8 * 1024;
+
   private final DataInput dataInput;
   private final Charset charset;
+  private QStringDecoder stringDecoder;
+  private ByteBuffer stringBuffer;
 
   public QDataInputStream(DataInput dataInput) {
     this(dataInput, StandardCharsets.UTF_16BE);
@@ -32,6 +37,29 @@ public class QDataInputStream extends InputStream {
     return new String(buffer, charset);
   }
 
+  /**
+   * Like {@link #readQString()}, but reads the string's bytes into a pooled buffer and decodes them into a reused
+   * {@link java.nio.CharBuffer} instead of allocating a new array and string for each string read. The returned
+   * sequence is only valid until the next call of this method.
+   */
+  public CharSequence readQStringAsCharSequence() throws IOException {
+    int stringSize = dataInput.readInt();
+    if (stringSize == -1) {
+      return null;
+    }
+
+    if (stringDecoder == null) {
+      stringDecoder = new QStringDecoder(charset);
+      stringBuffer = ByteBuffer.allocate(Math.max(INITIAL_STRING_BUFFER_SIZE, stringSize));
+    } else if (stringBuffer.capacity() < stringSize) {
+      stringBuffer = ByteBuffer.allocate(Math.max(stringSize, stringBuffer.capacity() * 2));
+    }
+
+    dataInput.readFully(stringBuffer.array(), 0, stringSize);
+    stringBuffer.clear();
+    return stringDecoder.decode(stringBuffer, stringSize);
+  }
+
   @Override
   public int read() throws IOException {
     return dataInput.readUnsignedByte();
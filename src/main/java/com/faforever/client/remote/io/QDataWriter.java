@@ -52,8 +52,15 @@ public class QDataWriter extends Writer {
    * Appends the size of the given byte array to the stream followed by the byte array itself.
    */
   public QDataWriter appendWithSize(byte[] bytes) throws IOException {
-    writeInt32(bytes.length);
-    out.write(bytes);
+    return appendWithSize(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Appends the specified length followed by {@code length} bytes of the given byte array, starting at {@code offset}.
+   */
+  public QDataWriter appendWithSize(byte[] bytes, int offset, int length) throws IOException {
+    writeInt32(length);
+    out.write(bytes, offset, length);
     return this;
   }
 }
@@ -0,0 +1,54 @@
+package com.faforever.client.remote.io;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Decodes QString bytes into a reused {@link CharBuffer} using a reused {@link CharsetDecoder}, so that decoding a
+ * string doesn't allocate anything unless the buffer needs to grow. The returned {@link CharSequence} is only valid
+ * until the next call to {@link #decode(ByteBuffer, int)}; callers that need to keep it must call {@code toString()}.
+ */
+public class QStringDecoder {
+
+  private static final int INITIAL_CHAR_BUFFER_SIZE = 4 * 1024;
+
+  private final CharsetDecoder charsetDecoder;
+  private final float maxCharsPerByte;
+  private CharBuffer charBuffer;
+
+  public QStringDecoder(Charset charset) {
+    charsetDecoder = charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    maxCharsPerByte = charsetDecoder.maxCharsPerByte();
+    charBuffer = CharBuffer.allocate(INITIAL_CHAR_BUFFER_SIZE);
+  }
+
+  /**
+   * Decodes the next {@code length} bytes of the source buffer, starting at its current position. The source's position
+   * is advanced by {@code length}.
+   */
+  public CharSequence decode(ByteBuffer source, int length) {
+    int requiredCapacity = (int) Math.ceil(length * (double) maxCharsPerByte);
+    if (charBuffer.capacity() < requiredCapacity) {
+      charBuffer = CharBuffer.allocate(Math.max(requiredCapacity, charBuffer.capacity() * 2));
+    }
+
+    int limit = source.limit();
+    source.limit(source.position() + length);
+    try {
+      charBuffer.clear();
+      charsetDecoder.reset();
+      charsetDecoder.decode(source, charBuffer, true);
+      charsetDecoder.flush(charBuffer);
+      charBuffer.flip();
+      return charBuffer;
+    } finally {
+      source.position(source.limit());
+      source.limit(limit);
+    }
+  }
+}
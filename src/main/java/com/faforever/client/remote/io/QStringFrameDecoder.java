@@ -0,0 +1,84 @@
+package com.faforever.client.remote.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes frames as sent by the FAF server directly from a {@link ByteBuffer}. A frame consists of a block size, which
+ * is ignored, followed by a QString (its size in bytes followed by the string's bytes). Incomplete frames are left in
+ * the buffer so that decoding can continue as soon as more data has been read.
+ * <p>
+ * Strings are decoded into a reused buffer, see {@link QStringDecoder}.
+ */
+public class QStringFrameDecoder {
+
+  /**
+   * The maximum number of bytes of a frame, including its header. Way more than the server ever sends at once, but
+   * small enough that a corrupt header can't make the reader allocate a huge buffer.
+   */
+  public static final int MAX_FRAME_SIZE = 8 * 1024 * 1024;
+
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
+  /** The size of a null QString, {@code 0xFFFFFFFF}. */
+  private static final int NULL_STRING_SIZE = -1;
+
+  private final QStringDecoder stringDecoder;
+
+  public QStringFrameDecoder() {
+    this(StandardCharsets.UTF_16BE);
+  }
+
+  public QStringFrameDecoder(Charset charset) {
+    this.stringDecoder = new QStringDecoder(charset);
+  }
+
+  /**
+   * Returns the total number of bytes of the frame starting at the buffer's current position, or {@code -1} if not even
+   * the frame's header has been received yet.
+   *
+   * @throws IllegalArgumentException if the frame's string size is negative (other than for a null QString) or the
+   * frame would be bigger than {@link #MAX_FRAME_SIZE}
+   */
+  public int frameSize(ByteBuffer buffer) {
+    if (buffer.remaining() < HEADER_SIZE) {
+      return -1;
+    }
+    int stringSize = buffer.getInt(buffer.position() + Integer.BYTES);
+    if (stringSize == NULL_STRING_SIZE) {
+      return HEADER_SIZE;
+    }
+    if (stringSize < 0) {
+      throw new IllegalArgumentException("Invalid QString size: " + stringSize);
+    }
+    if (stringSize > MAX_FRAME_SIZE - HEADER_SIZE) {
+      throw new IllegalArgumentException("Frame of " + (HEADER_SIZE + (long) stringSize)
+          + " bytes exceeds the maximum of " + MAX_FRAME_SIZE + " bytes");
+    }
+    return HEADER_SIZE + stringSize;
+  }
+
+  /**
+   * Returns {@code true} if the buffer contains at least one complete frame starting at its current position.
+   */
+  public boolean hasFrame(ByteBuffer buffer) {
+    int frameSize = frameSize(buffer);
+    return frameSize != -1 && buffer.remaining() >= frameSize;
+  }
+
+  /**
+   * Reads the frame at the buffer's current position. Must only be called if {@link #hasFrame(ByteBuffer)} returned
+   * {@code true}.
+   *
+   * @return the frame's string, or {@code null} if the frame contains a null QString. The returned sequence is only
+   * valid until the next frame is read.
+   */
+  public CharSequence readFrame(ByteBuffer buffer) {
+    buffer.position(buffer.position() + Integer.BYTES);
+    int stringSize = buffer.getInt();
+    if (stringSize == NULL_STRING_SIZE) {
+      return null;
+    }
+    return stringDecoder.decode(buffer, stringSize);
+  }
+}
@@ -18,7 +18,6 @@ import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
@@ -67,8 +66,7 @@ public class ReplayCardController implements Controller<Node> {
     Optional<MapBean> optionalMap = Optional.ofNullable(replay.getMap());
     if (optionalMap.isPresent()) {
       MapBean map = optionalMap.get();
-      Image image = mapService.loadPreview(map.getFolderName(), PreviewSize.SMALL);
-      mapThumbnailImageView.setImage(image);
+      JavaFxUtil.setImage(mapThumbnailImageView, mapService.loadPreview(map.getFolderName(), PreviewSize.SMALL));
       onMapLabel.setText(i18n.get("game.onMapFormat", map.getDisplayName()));
     } else {
       onMapLabel.setText(i18n.get("game.onUnknownMap"));
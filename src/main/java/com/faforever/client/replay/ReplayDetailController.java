@@ -42,7 +42,6 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseEvent;
@@ -180,8 +179,7 @@ public class ReplayDetailController implements Controller<Node> {
     Optional<MapBean> optionalMap = Optional.ofNullable(replay.getMap());
     if (optionalMap.isPresent()) {
       MapBean map = optionalMap.get();
-      Image image = mapService.loadPreview(map.getFolderName(), PreviewSize.LARGE);
-      mapThumbnailImageView.setImage(image);
+      JavaFxUtil.setImage(mapThumbnailImageView, mapService.loadPreview(map.getFolderName(), PreviewSize.LARGE));
       onMapLabel.setText(i18n.get("game.onMapFormat", map.getDisplayName()));
     } else {
       onMapLabel.setText(i18n.get("game.onUnknownMap"));
@@ -319,13 +317,10 @@ public class ReplayDetailController implements Controller<Node> {
           if (onMapLabel.getText().equals(i18n.get("game.onUnknownMap")) && replay.getMap() != null) {
             MapBean map = replay.getMap();
             onMapLabel.setText(i18n.get("game.onMapFormat", map.getFolderName()));
-            Image image = mapService.loadPreview(map.getFolderName(), PreviewSize.LARGE);
-            mapThumbnailImageView.setImage(image);
+            JavaFxUtil.setImage(mapThumbnailImageView, mapService.loadPreview(map.getFolderName(), PreviewSize.LARGE));
             if (mapGeneratorService.isGeneratedMap(map.getFolderName())) {
-              mapService.generateIfNotInstalled(map.getFolderName()).thenAccept(mapName -> JavaFxUtil.runLater(() -> {
-                Image generatedPreview = mapService.loadPreview(map.getFolderName(), PreviewSize.LARGE);
-                mapThumbnailImageView.setImage(generatedPreview);
-              }));
+              mapService.generateIfNotInstalled(map.getFolderName()).thenAccept(mapName -> JavaFxUtil.runLater(() ->
+                  JavaFxUtil.setImage(mapThumbnailImageView, mapService.loadPreview(map.getFolderName(), PreviewSize.LARGE))));
             }
           }
           chatTable.setItems(replay.getChatMessages());
@@ -2,6 +2,7 @@ package com.faforever.client.settings;
 
 import com.faforever.client.chat.CountryFlagService;
 import com.faforever.client.fx.Controller;
+import com.faforever.client.fx.JavaFxUtil;
 import com.faforever.client.i18n.I18n;
 import com.google.common.base.Strings;
 import javafx.css.PseudoClass;
@@ -54,11 +55,11 @@ public class LanguageItemController implements Controller<Node> {
     translatedLanguageLabel.setText(locale.getDisplayName(i18n.getUserSpecificLocale()));
 
     Optional.ofNullable(Strings.emptyToNull(locale.getCountry()))
-        .flatMap(countryFlagService::loadCountryFlag)
-        .ifPresent(image -> {
-          localeImageView.setImage(image);
-          localeImageView.setVisible(true);
-        });
+        .ifPresent(country -> countryFlagService.loadCountryFlag(country)
+            .thenAccept(countryFlag -> countryFlag.ifPresent(image -> JavaFxUtil.runLater(() -> {
+              localeImageView.setImage(image);
+              localeImageView.setVisible(true);
+            }))));
   }
 
   public void setOnSelectedListener(Consumer<Locale> listener) {
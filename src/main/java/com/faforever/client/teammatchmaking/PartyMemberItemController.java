@@ -29,8 +29,8 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.lang.ref.WeakReference;
+import java.util.concurrent.CompletableFuture;
 
-import static javafx.beans.binding.Bindings.createObjectBinding;
 import static javafx.beans.binding.Bindings.createStringBinding;
 
 @Component
@@ -108,10 +108,10 @@ public class PartyMemberItemController implements Controller<Node> {
   }
 
   private void initializeBindings() {
-    countryImageView.imageProperty().bind(createObjectBinding(() ->
-        countryFlagService.loadCountryFlag(player.getCountry()).orElse(null), player.countryProperty()));
+    JavaFxUtil.bindImage(countryImageView, () -> countryFlagService.loadCountryFlag(player.getCountry())
+        .thenApply(countryFlag -> countryFlag.orElse(null)), player.countryProperty());
     avatarImageView.visibleProperty().bind(player.avatarUrlProperty().isNotNull().and(player.avatarUrlProperty().isNotEmpty()));
-    avatarImageView.imageProperty().bind(createObjectBinding(() -> Strings.isNullOrEmpty(player.getAvatarUrl()) ? null : avatarService.loadAvatar(player.getAvatarUrl()), player.avatarUrlProperty()));
+    JavaFxUtil.bindImage(avatarImageView, () -> Strings.isNullOrEmpty(player.getAvatarUrl()) ? CompletableFuture.completedFuture(null) : avatarService.loadAvatar(player.getAvatarUrl()), player.avatarUrlProperty());
     leagueImageView.setManaged(false);
     JavaFxUtil.bindManagedToVisible(clanLabel, avatarImageView, playerStatusImageView);
 
@@ -51,11 +51,11 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static com.faforever.client.chat.ChatService.PARTY_CHANNEL_SUFFIX;
 import static javafx.beans.binding.Bindings.createBooleanBinding;
-import static javafx.beans.binding.Bindings.createObjectBinding;
 import static javafx.beans.binding.Bindings.createStringBinding;
 
 @Component
@@ -212,10 +212,10 @@ public class TeamMatchmakingController extends AbstractViewController<Node> {
   }
 
   private void initializeBindings() {
-    countryImageView.imageProperty().bind(createObjectBinding(() ->
-        countryFlagService.loadCountryFlag(player.getCountry()).orElse(null), player.countryProperty()));
+    JavaFxUtil.bindImage(countryImageView, () -> countryFlagService.loadCountryFlag(player.getCountry())
+        .thenApply(countryFlag -> countryFlag.orElse(null)), player.countryProperty());
     avatarImageView.visibleProperty().bind(player.avatarUrlProperty().isNotNull().and(player.avatarUrlProperty().isNotEmpty()));
-    avatarImageView.imageProperty().bind(createObjectBinding(() -> Strings.isNullOrEmpty(player.getAvatarUrl()) ? null : avatarService.loadAvatar(player.getAvatarUrl()), player.avatarUrlProperty()));
+    JavaFxUtil.bindImage(avatarImageView, () -> Strings.isNullOrEmpty(player.getAvatarUrl()) ? CompletableFuture.completedFuture(null) : avatarService.loadAvatar(player.getAvatarUrl()), player.avatarUrlProperty());
     leagueImageView.setManaged(false);
     JavaFxUtil.bindManagedToVisible(clanLabel, avatarImageView);
 
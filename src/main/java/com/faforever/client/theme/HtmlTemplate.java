@@ -0,0 +1,75 @@
+package com.faforever.client.theme;
+
+import com.google.common.io.CharStreams;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An HTML template with placeholders like {@code {username}}, parsed once into its literal segments and placeholders
+ * so that it can be rendered without reading or searching the template again. Placeholders are substituted in a single
+ * pass, so substituted values are never searched for placeholders themselves. Immutable and thread-safe.
+ */
+public final class HtmlTemplate {
+
+  private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{([a-z][a-z-]*)}");
+
+  /** Always has one element more than {@link #placeholders}; segment {@code i} precedes placeholder {@code i}. */
+  private final String[] literals;
+  private final String[] placeholders;
+
+  private HtmlTemplate(String[] literals, String[] placeholders) {
+    this.literals = literals;
+    this.placeholders = placeholders;
+  }
+
+  public static HtmlTemplate parse(String template) {
+    List<String> literals = new ArrayList<>();
+    List<String> placeholders = new ArrayList<>();
+    Matcher matcher = PLACEHOLDER_PATTERN.matcher(template);
+    int literalStart = 0;
+    while (matcher.find()) {
+      literals.add(template.substring(literalStart, matcher.start()));
+      placeholders.add(matcher.group(1));
+      literalStart = matcher.end();
+    }
+    literals.add(template.substring(literalStart));
+    return new HtmlTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+  }
+
+  public static HtmlTemplate load(URL url) throws IOException {
+    try (Reader reader = new InputStreamReader(url.openStream())) {
+      return parse(CharStreams.toString(reader));
+    }
+  }
+
+  /**
+   * Appends this template to the specified builder, with each placeholder replaced by the value of the same name.
+   * Placeholders without a value are kept as they are.
+   */
+  public void render(StringBuilder output, Map<String, String> values) {
+    for (int i = 0; i < placeholders.length; i++) {
+      output.append(literals[i]);
+      String value = values.get(placeholders[i]);
+      if (value != null) {
+        output.append(value);
+      } else {
+        output.append('{').append(placeholders[i]).append('}');
+      }
+    }
+    output.append(literals[placeholders.length]);
+  }
+
+  public String render(Map<String, String> values) {
+    StringBuilder output = new StringBuilder();
+    render(output, values);
+    return output.toString();
+  }
+}
@@ -266,6 +266,7 @@ public class UiService implements InitializingBean, DisposableBean {
     } catch (InterruptedException e) {
       log.info("Watch thread was interrupted");
     }
+    cacheManager.getCache(CacheNames.THEME_TEMPLATES).clear();
     reloadStylesheet();
   }
 
@@ -312,6 +313,15 @@ public class UiService implements InitializingBean, DisposableBean {
   }
 
 
+  /**
+   * Loads an HTML template from the current theme. Templates are parsed once and cached until the theme or its files
+   * change.
+   */
+  @Cacheable(value = CacheNames.THEME_TEMPLATES, sync = true)
+  public HtmlTemplate getThemeTemplate(String relativeFile) {
+    return noCatch(() -> HtmlTemplate.load(getThemeFileUrl(relativeFile)));
+  }
+
   public URL getThemeFileUrl(String relativeFile) {
     String themeFile = getThemeFile(relativeFile);
     if (themeFile.startsWith("file:") || themeFile.startsWith("jar:")) {
@@ -333,6 +343,7 @@ public class UiService implements InitializingBean, DisposableBean {
     preferencesService.storeInBackground();
     currentTheme.set(theme);
     cacheManager.getCache(CacheNames.THEME_IMAGES).clear();
+    cacheManager.getCache(CacheNames.THEME_TEMPLATES).clear();
     reloadStylesheet();
   }
 
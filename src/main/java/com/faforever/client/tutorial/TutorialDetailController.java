@@ -1,6 +1,7 @@
 package com.faforever.client.tutorial;
 
 import com.faforever.client.fx.AbstractViewController;
+import com.faforever.client.fx.JavaFxUtil;
 import com.faforever.client.fx.WebViewConfigurer;
 import com.faforever.client.i18n.I18n;
 import com.faforever.client.map.MapService;
@@ -70,7 +71,7 @@ public class TutorialDetailController extends AbstractViewController<Node> {
       mapNameLabel.textProperty().bind(Bindings.createStringBinding(() -> i18n.get("tutorial.mapName", tutorial.getMapVersion().getDisplayName()),
           tutorial.mapVersionProperty(),
           tutorial.getMapVersion().displayNameProperty()));
-      mapImage.setImage(mapService.loadPreview(tutorial.getMapVersion(), PreviewSize.LARGE));
+      JavaFxUtil.setImage(mapImage, mapService.loadPreview(tutorial.getMapVersion(), PreviewSize.LARGE));
       mapContainer.setVisible(true);
     } else {
       mapContainer.setVisible(false);
@@ -1,6 +1,7 @@
 package com.faforever.client.tutorial;
 
 import com.faforever.client.fx.AbstractViewController;
+import com.faforever.client.fx.JavaFxUtil;
 import com.faforever.client.map.MapService;
 import com.faforever.client.map.MapService.PreviewSize;
 import com.google.common.base.Strings;
@@ -16,6 +17,8 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 
 @Slf4j
 @Component
@@ -45,15 +48,15 @@ public class TutorialListItemController extends AbstractViewController<Node> {
 
   public void setTutorial(final Tutorial tutorial) {
     this.tutorial = tutorial;
-    imageView.setImage(getImage(tutorial));
+    JavaFxUtil.setImage(imageView, getImage(tutorial));
     titleLabel.textProperty().bind(tutorial.titleProperty());
     ordinalLabel.textProperty().bind(Bindings.createStringBinding(() -> String.valueOf(tutorial.getOrdinal()), tutorial.ordinalProperty()));
   }
 
-  private Image getImage(Tutorial tutorial) {
+  private CompletableFuture<Image> getImage(Tutorial tutorial) {
     if (!Strings.isNullOrEmpty(tutorial.getImageUrl())) {
-      return new Image(tutorial.getImageUrl());
+      return CompletableFuture.completedFuture(new Image(tutorial.getImageUrl()));
     }
-    return tutorial.getMapVersion() != null ? mapService.loadPreview(tutorial.getMapVersion(), PreviewSize.SMALL) : null;
+    return tutorial.getMapVersion() != null ? mapService.loadPreview(tutorial.getMapVersion(), PreviewSize.SMALL) : CompletableFuture.completedFuture(null);
   }
 }
@@ -0,0 +1,182 @@
+package com.faforever.client.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * A map from primitive {@code int} keys to non-null values, using open addressing with linear probing. Unlike a
+ * {@code HashMap<Integer, V>}, neither keys nor entries are boxed, so lookups don't allocate. Not thread-safe.
+ */
+public class IntObjectMap<V> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.5f;
+
+  private int[] keys;
+  /** A slot is free if and only if its value is {@code null}. */
+  private Object[] values;
+  private int size;
+  private int mask;
+
+  public IntObjectMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public IntObjectMap(int expectedSize) {
+    allocate(tableSizeFor(expectedSize));
+  }
+
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    int slot = findSlot(key);
+    return slot < 0 ? null : (V) values[slot];
+  }
+
+  public boolean containsKey(int key) {
+    return findSlot(key) >= 0;
+  }
+
+  /**
+   * Associates the specified value with the specified key and returns the previous value, if any.
+   */
+  @SuppressWarnings("unchecked")
+  public V put(int key, V value) {
+    Assert.checkNullArgument(value, "value must not be null");
+    int slot = hash(key);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size > keys.length * LOAD_FACTOR) {
+      rehash(keys.length * 2);
+    }
+    return null;
+  }
+
+  /**
+   * Removes the mapping of the specified key and returns its value, if any.
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(int key) {
+    int slot = findSlot(key);
+    if (slot < 0) {
+      return null;
+    }
+    V previous = (V) values[slot];
+    deleteSlot(slot);
+    size--;
+    return previous;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    allocate(DEFAULT_CAPACITY);
+    size = 0;
+  }
+
+  public void forEachKey(IntConsumer action) {
+    for (int i = 0; i < keys.length; i++) {
+      if (values[i] != null) {
+        action.accept(keys[i]);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public void forEachValue(Consumer<? super V> action) {
+    for (Object value : values) {
+      if (value != null) {
+        action.accept((V) value);
+      }
+    }
+  }
+
+  /**
+   * Returns a copy of all values.
+   */
+  public List<V> values() {
+    List<V> result = new ArrayList<>(size);
+    forEachValue(result::add);
+    return result;
+  }
+
+  private int findSlot(int key) {
+    int slot = hash(key);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Frees the specified slot and moves later entries of the same probe sequence back, so that no tombstones are needed.
+   */
+  private void deleteSlot(int slot) {
+    int free = slot;
+    int current = (slot + 1) & mask;
+    while (values[current] != null) {
+      int home = hash(keys[current]);
+      // Move the entry if its home slot is not cyclically within (free, current]
+      if (((current - home) & mask) >= ((current - free) & mask)) {
+        keys[free] = keys[current];
+        values[free] = values[current];
+        free = current;
+      }
+      current = (current + 1) & mask;
+    }
+    values[free] = null;
+  }
+
+  private void rehash(int newCapacity) {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(newCapacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = hash(oldKeys[i]);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  private int hash(int key) {
+    int hash = key * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  private static int tableSizeFor(int expectedSize) {
+    int capacity = DEFAULT_CAPACITY;
+    while (capacity * LOAD_FACTOR < expectedSize) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+}
@@ -0,0 +1,46 @@
+package com.faforever.client.util;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A set of primitive {@code int} values which, unlike a {@code Set<Integer>} or {@code List<Integer>}, neither boxes
+ * its elements nor scans them linearly. Not thread-safe.
+ */
+public class IntSet {
+
+  private final IntObjectMap<Boolean> elements = new IntObjectMap<>();
+
+  /**
+   * Returns {@code true} if the value was not yet contained.
+   */
+  public boolean add(int value) {
+    return elements.put(value, Boolean.TRUE) == null;
+  }
+
+  /**
+   * Returns {@code true} if the value was contained.
+   */
+  public boolean remove(int value) {
+    return elements.remove(value) != null;
+  }
+
+  public boolean contains(int value) {
+    return elements.containsKey(value);
+  }
+
+  public int size() {
+    return elements.size();
+  }
+
+  public boolean isEmpty() {
+    return elements.isEmpty();
+  }
+
+  public void clear() {
+    elements.clear();
+  }
+
+  public void forEach(IntConsumer action) {
+    elements.forEachKey(action);
+  }
+}
@@ -0,0 +1,28 @@
+package com.faforever.client.util;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Makes equal identifiers like usernames, clan tags or map names share a single instance. Strings are held weakly, so
+ * that identifiers nobody refers to anymore are not retained, and strings longer than any identifier are returned as
+ * they are, so that free text like chat messages never ends up in the interner.
+ */
+public final class StringInterner {
+
+  static final int MAX_LENGTH = 64;
+
+  private static final Interner<String> INTERNER = Interners.newWeakInterner();
+
+  private StringInterner() {
+    // Utility class
+  }
+
+  public static String intern(@Nullable String string) {
+    if (string == null || string.length() > MAX_LENGTH) {
+      return string;
+    }
+    return INTERNER.intern(string);
+  }
+}
@@ -9,12 +9,10 @@ import com.faforever.client.game.GameService;
 import com.faforever.client.game.MapPreviewTableCell;
 import com.faforever.client.i18n.I18n;
 import com.faforever.client.map.MapService;
-import com.faforever.client.map.MapService.PreviewSize;
 import com.faforever.client.remote.domain.GameStatus;
 import com.faforever.client.theme.UiService;
 import com.faforever.client.util.TimeService;
 import com.google.common.base.Joiner;
-import javafx.beans.binding.Bindings;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -28,7 +26,6 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableColumn.CellDataFeatures;
 import javafx.scene.control.TableColumn.SortType;
 import javafx.scene.control.TableView;
-import javafx.scene.image.Image;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
@@ -49,7 +46,7 @@ public class LiveReplayController extends AbstractViewController<Node> {
   private final MapService mapService;
   private final TimeService timeService;
   public TableView<Game> liveReplayControllerRoot;
-  public TableColumn<Game, Image> mapPreviewColumn;
+  public TableColumn<Game, String> mapPreviewColumn;
   public TableColumn<Game, Instant> startTimeColumn;
   public TableColumn<Game, String> gameTitleColumn;
   public TableColumn<Game, Number> playersColumn;
@@ -79,11 +76,8 @@ public class LiveReplayController extends AbstractViewController<Node> {
     SortedList<Game> sortedList = new SortedList<>(filteredGameList);
     sortedList.comparatorProperty().bind(liveReplayControllerRoot.comparatorProperty());
 
-    mapPreviewColumn.setCellFactory(param -> new MapPreviewTableCell(uiService));
-    mapPreviewColumn.setCellValueFactory(param -> Bindings.createObjectBinding(
-        () -> mapService.loadPreview(param.getValue().getMapFolderName(), PreviewSize.SMALL),
-        param.getValue().mapFolderNameProperty()
-    ));
+    mapPreviewColumn.setCellFactory(param -> new MapPreviewTableCell(uiService, mapService));
+    mapPreviewColumn.setCellValueFactory(param -> param.getValue().mapFolderNameProperty());
 
     startTimeColumn.setCellValueFactory(param -> param.getValue().startTimeProperty());
     startTimeColumn.setCellFactory(param -> new StringCell<>(this.timeService::asShortTime));
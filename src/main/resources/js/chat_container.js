@@ -1,27 +1,21 @@
 isScrolledToBottom = true;
 window.onscroll = function (e) {
   isScrolledToBottom = window.scrollY + window.innerHeight + 20 >= document.documentElement.scrollHeight;
+  if (window.scrollY === 0) {
+    loadOlderMessages();
+  }
 };
+// Without a scroll bar, there is no scroll event
+window.addEventListener("wheel", function (e) {
+  if (e.deltaY < 0 && window.scrollY === 0) {
+    loadOlderMessages();
+  }
+});
 
-function link(input) {
-  return Autolinker.link(input, {
-        email: false,
-        phone: false,
-        twitter: false,
-        replaceFn: function (autolinker, match) {
-          return new Autolinker.HtmlTag({
-            tagName: "a",
-            attrs: {
-              "href": "javascript:void(0);",
-                "onClick": "java.openUrl('" + match.getUrl() + "')",
-                "onMouseOver": "java.previewUrl('" + match.getUrl() + "')",
-                "onMouseOut": "java.hideUrlPreview()"
-            },
-            innerHtml: match.getAnchorText()
-          });
-        }
-      }
-  );
+function loadOlderMessages() {
+  if (window.chatHistory) {
+    chatHistory.loadOlderMessages();
+  }
 }
 
 function showClanInfo(clanTag) {
@@ -54,6 +48,49 @@ function scrollToBottomIfDesired() {
   }
 }
 
+/**
+ * Appends HTML to containers, removes the topmost messages exceeding the maximum and scrolls to the bottom if desired.
+ * The operations alternate between container ID and HTML, so that any number of messages can be appended with a single
+ * call. Messages are only removed while scrolled to the bottom, so that older messages loaded from the history stay
+ * while they are being read. Returns the number of texts within the removed messages.
+ */
+function appendMessages(operations, messageClass, textClass, maxMessages) {
+  for (var i = 0; i < operations.length; i += 2) {
+    document.getElementById(operations[i]).insertAdjacentHTML("beforeend", operations[i + 1]);
+  }
+
+  var removedTexts = 0;
+  if (isScrolledToBottom) {
+    var messages = document.getElementsByClassName(messageClass);
+    var excess = messages.length - maxMessages;
+    for (var j = 0; j < excess; j++) {
+      removedTexts += messages[0].getElementsByClassName(textClass).length;
+      messages[0].remove();
+    }
+  }
+  scrollToBottomIfDesired();
+  return removedTexts;
+}
+
+/**
+ * Inserts older messages above all messages without moving the messages in view. The operations are the same as for
+ * appendMessages, but are applied to a detached element first, which then is inserted as a whole.
+ */
+function prependMessages(operations, containerId) {
+  var fragment = document.createElement("div");
+  for (var i = 0; i < operations.length; i += 2) {
+    var target = operations[i] === containerId ? fragment : fragment.querySelector("#" + operations[i]);
+    target.insertAdjacentHTML("beforeend", operations[i + 1]);
+  }
+
+  var container = document.getElementById(containerId);
+  var previousScrollHeight = document.documentElement.scrollHeight;
+  while (fragment.lastChild) {
+    container.insertBefore(fragment.lastChild, container.firstChild);
+  }
+  window.scrollBy(0, document.documentElement.scrollHeight - previousScrollHeight);
+}
+
 function setAllMessageColors(userListString) {
   var userList = JSON.parse(userListString);
 
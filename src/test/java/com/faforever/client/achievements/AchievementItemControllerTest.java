@@ -12,6 +12,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.faforever.client.theme.UiService.DEFAULT_ACHIEVEMENT_IMAGE;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -47,7 +49,7 @@ public class AchievementItemControllerTest extends AbstractPlainJavaFxTest {
   @Test
   public void testSetAchievementDefinition() throws Exception {
     AchievementDefinition achievementDefinition = AchievementDefinitionBuilder.create().defaultValues().get();
-    when(achievementService.getImage(achievementDefinition, AchievementState.REVEALED)).thenReturn(new Image(getThemeFile(DEFAULT_ACHIEVEMENT_IMAGE)));
+    when(achievementService.getImage(achievementDefinition, AchievementState.REVEALED)).thenReturn(CompletableFuture.completedFuture(new Image(getThemeFile(DEFAULT_ACHIEVEMENT_IMAGE))));
 
     instance.setAchievementDefinition(achievementDefinition);
 
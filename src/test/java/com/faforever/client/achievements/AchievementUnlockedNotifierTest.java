@@ -64,7 +64,7 @@ public class AchievementUnlockedNotifierTest {
     AchievementDefinition achievementDefinition = new AchievementDefinition();
     achievementDefinition.setType(AchievementType.STANDARD);
     achievementDefinition.setName("Test Achievement");
-    when(achievementService.getImage(achievementDefinition, UNLOCKED)).thenReturn(mock(Image.class));
+    when(achievementService.getImage(achievementDefinition, UNLOCKED)).thenReturn(CompletableFuture.completedFuture(mock(Image.class)));
 
     triggerUpdatedAchievementsMessage(achievementDefinition, true);
 
@@ -95,7 +95,7 @@ public class AchievementUnlockedNotifierTest {
     when(achievementService.getAchievementDefinition("1234")).thenReturn(CompletableFuture.completedFuture(achievementDefinition));
 
     when(i18n.get("achievement.unlockedTitle")).thenReturn("Achievement unlocked");
-    when(achievementService.getImage(achievementDefinition, REVEALED)).thenReturn(mock(Image.class));
+    when(achievementService.getImage(achievementDefinition, REVEALED)).thenReturn(CompletableFuture.completedFuture(mock(Image.class)));
 
     UpdatedAchievementsMessage message = new UpdatedAchievementsMessage();
     UpdatedAchievement updatedAchievement = new UpdatedAchievement();
@@ -14,6 +14,7 @@ import com.faforever.client.preferences.PreferencesService;
 import com.faforever.client.reporting.ReportingService;
 import com.faforever.client.test.AbstractPlainJavaFxTest;
 import com.faforever.client.test.FakeTestException;
+import com.faforever.client.theme.HtmlTemplate;
 import com.faforever.client.theme.UiService;
 import com.faforever.client.uploader.ImageUploadService;
 import com.faforever.client.user.UserService;
@@ -41,6 +42,7 @@ import org.testfx.util.WaitForAsyncUtils;
 
 import java.time.Instant;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
@@ -51,6 +53,8 @@ import static com.faforever.client.player.SocialStatus.FRIEND;
 import static com.faforever.client.player.SocialStatus.SELF;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.isEmptyString;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
@@ -95,6 +99,8 @@ public class AbstractChatTabControllerTest extends AbstractPlainJavaFxTest {
   private CountryFlagService countryFlagService;
   @Mock
   private ChatUserService chatUserService;
+  @Mock
+  private ChatHistoryService chatHistoryService;
 
   private AbstractChatTabController instance;
   private CountDownLatch chatReadyLatch;
@@ -107,13 +113,15 @@ public class AbstractChatTabControllerTest extends AbstractPlainJavaFxTest {
     Preferences preferences = PreferencesBuilder.create().defaultValues().get();
 
     when(uiService.getThemeFileUrl(any())).thenReturn(getClass().getResource("/" + UiService.CHAT_SECTION_EXTENDED));
+    when(uiService.getThemeTemplate(any())).thenReturn(HtmlTemplate.load(getClass().getResource("/" + UiService.CHAT_SECTION_EXTENDED)));
+    when(uiService.getThemeTemplate(UiService.CHAT_TEXT_EXTENDED)).thenReturn(HtmlTemplate.load(getClass().getResource("/" + UiService.CHAT_TEXT_EXTENDED)));
     when(timeService.asShortTime(any())).thenReturn("123");
     when(userService.getUsername()).thenReturn("junit");
     when(preferencesService.getPreferences()).thenReturn(preferences);
 
     instance = new AbstractChatTabController(webViewConfigurer, userService, chatService, preferencesService,
         playerService, audioService, timeService, i18n, imageUploadService, notificationService, reportingService,
-        uiService, eventBus, countryFlagService, chatUserService) {
+        uiService, eventBus, countryFlagService, chatUserService, chatHistoryService) {
       private final Tab root = new Tab();
       private final WebView webView = new WebView();
       private final TextInputControl messageTextField = new TextField();
@@ -223,15 +231,116 @@ public class AbstractChatTabControllerTest extends AbstractPlainJavaFxTest {
 
 
   @Test
-  public void testOnChatMessage() {
-    // TODO assert something, maybe we can spy on engine
+  public void testOnChatMessage() throws Exception {
+    awaitChatReady();
+
     instance.onChatMessage(new ChatMessage("", Instant.now(), "junit", "Test message"));
+
+    WaitForAsyncUtils.waitFor(TIMEOUT, MILLISECONDS, () -> getSectionCount() == 1);
+    assertThat((String) executeScript("document.getElementById('chat-container').textContent"), containsString("Test message"));
   }
 
   @Test
-  public void testOnChatMessageAction() {
-    // TODO assert something, maybe we can spy on engine
+  public void testOnChatMessageAction() throws Exception {
+    awaitChatReady();
+
     instance.onChatMessage(new ChatMessage("", Instant.now(), "junit", "Test action", true));
+
+    WaitForAsyncUtils.waitFor(TIMEOUT, MILLISECONDS, () -> getSectionCount() == 1);
+    assertThat(executeScript("document.getElementsByClassName('action').length > 0"), is(true));
+  }
+
+  @Test
+  public void testMessagesAreAppendedOncePerFrame() throws Exception {
+    awaitChatReady();
+    countAppendCalls();
+
+    WaitForAsyncUtils.waitForAsyncFx(TIMEOUT, () -> {
+      instance.onChatMessage(new ChatMessage("", Instant.now(), "user1", "first"));
+      instance.onChatMessage(new ChatMessage("", Instant.now(), "user2", "second"));
+      instance.onChatMessage(new ChatMessage("", Instant.now(), "user3", "third"));
+    });
+
+    WaitForAsyncUtils.waitFor(TIMEOUT, MILLISECONDS, () -> getSectionCount() == 3);
+    assertThat(getAppendCount(), is(1));
+  }
+
+  @Test
+  public void testMessagesAreTrimmedToMaximum() throws Exception {
+    awaitChatReady();
+    preferencesService.getPreferences().getChat().setMaxMessages(2);
+
+    WaitForAsyncUtils.waitForAsyncFx(TIMEOUT, () -> {
+      for (int i = 0; i < 5; i++) {
+        instance.onChatMessage(new ChatMessage("", Instant.now(), "user" + i, "message " + i));
+      }
+    });
+
+    WaitForAsyncUtils.waitFor(TIMEOUT, MILLISECONDS, () -> getSectionCount() == 2);
+    assertThat((String) executeScript("document.getElementById('chat-container').textContent"), containsString("message 4"));
+  }
+
+  @Test
+  public void testUnselectedTabIsRenderedLessOften() throws Exception {
+    awaitChatReady();
+    countAppendCalls();
+    WaitForAsyncUtils.waitForAsyncFx(TIMEOUT, () -> {
+      TabPane tabPane = instance.getRoot().getTabPane();
+      tabPane.getTabs().add(new Tab());
+      tabPane.getSelectionModel().select(1);
+    });
+
+    instance.onChatMessage(new ChatMessage("", Instant.now(), "user1", "first"));
+    WaitForAsyncUtils.waitFor(TIMEOUT, MILLISECONDS, () -> getAppendCount() == 1);
+    instance.onChatMessage(new ChatMessage("", Instant.now(), "user2", "second"));
+
+    Thread.sleep(200);
+    assertThat(getAppendCount(), is(1));
+    WaitForAsyncUtils.waitFor(TIMEOUT, MILLISECONDS, () -> getAppendCount() == 2);
+  }
+
+  @Test
+  public void testMessageAfterHistoryContinuesReceivedSection() throws Exception {
+    awaitChatReady();
+    when(chatHistoryService.getMessageCount(any())).thenReturn(completedFuture(2));
+    when(chatHistoryService.loadMessages(any(), eq(0), eq(2))).thenReturn(completedFuture(List.of(
+        new ChatMessage("", Instant.now(), "old1", "first"),
+        new ChatMessage("", Instant.now(), "old2", "second")
+    )));
+
+    instance.onChatMessage(new ChatMessage("", Instant.now(), "user1", "third"));
+    WaitForAsyncUtils.waitFor(TIMEOUT, MILLISECONDS, () -> getSectionCount() == 1);
+    executeScript("chatHistory.loadOlderMessages()");
+    WaitForAsyncUtils.waitFor(TIMEOUT, MILLISECONDS, () -> getSectionCount() == 3);
+    instance.onChatMessage(new ChatMessage("", Instant.now(), "user1", "fourth"));
+
+    WaitForAsyncUtils.waitFor(TIMEOUT, MILLISECONDS,
+        () -> ((Number) executeScript("document.getElementById('chat-section-1').getElementsByClassName('text').length")).intValue() == 2);
+    assertThat(getSectionCount(), is(3));
+  }
+
+  private void awaitChatReady() throws InterruptedException {
+    assertThat(chatReadyLatch.await(TIMEOUT, MILLISECONDS), is(true));
+  }
+
+  /**
+   * Wraps the script's appendMessages function so that its calls are counted in {@code appendCount}.
+   */
+  private void countAppendCalls() {
+    executeScript("var appendCount = 0; var originalAppendMessages = appendMessages;"
+        + " appendMessages = function () { appendCount++; return originalAppendMessages.apply(this, arguments); };");
+  }
+
+  private int getAppendCount() {
+    return ((Number) executeScript("appendCount")).intValue();
+  }
+
+  private int getSectionCount() {
+    return ((Number) executeScript("document.getElementsByClassName('chat-section').length")).intValue();
+  }
+
+  private Object executeScript(String script) {
+    return WaitForAsyncUtils.waitForAsyncFx(TIMEOUT, () -> instance.engine.executeScript(script));
   }
 
   @Test
@@ -325,10 +434,4 @@ public class AbstractChatTabControllerTest extends AbstractPlainJavaFxTest {
     String playerName = "somePlayer";
     assertEquals(instance.getMessageCssClass(playerName), CSS_CLASS_CHAT_ONLY);
   }
-
-  @Test
-  public void testChannelNamesTransformedToHyperlinks() {
-    String output = instance.replaceChannelNamesWithHyperlinks("Go to #moderation and report a user");
-    assertThat(output, is("Go to <a href=\"javascript:void(0);\" onClick=\"java.openChannel('#moderation')\">#moderation</a> and report a user"));
-  }
 }
@@ -101,6 +101,8 @@ public class ChatChannelTabControllerTest extends AbstractPlainJavaFxTest {
   private PlatformService platformService;
   @Mock
   private ChatUserService chatUserService;
+  @Mock
+  private ChatHistoryService chatHistoryService;
 
   private Preferences preferences;
   private ChatChannel defaultChatChannel;
@@ -112,7 +114,7 @@ public class ChatChannelTabControllerTest extends AbstractPlainJavaFxTest {
         audioService, timeService, i18n, imageUploadService,
         notificationService, reportingService,
         uiService, eventBus, webViewConfigurer, countryFlagService,
-        platformService, chatUserService);
+        platformService, chatUserService, chatHistoryService);
     userFilterController = new UserFilterController(i18n, countryFlagService);
 
     defaultChatChannel = new ChatChannel(CHANNEL_NAME);
@@ -0,0 +1,90 @@
+package com.faforever.client.chat;
+
+import com.faforever.client.chat.ChatChannel.UsersChangeListener;
+import javafx.collections.MapChangeListener;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+
+public class ChatChannelTest {
+
+  private ChatChannel instance;
+  private List<Collection<ChatChannelUser>> bulkAdditions;
+  private List<String> singleChanges;
+
+  @Before
+  public void setUp() {
+    instance = new ChatChannel("#aeolus");
+    bulkAdditions = new ArrayList<>();
+    singleChanges = new ArrayList<>();
+  }
+
+  @Test
+  public void testAddUsersNotifiesBulkListenerOnce() {
+    List<String> plainChanges = new ArrayList<>();
+    instance.addUsersListeners(new RecordingListener());
+    instance.addUsersListeners((MapChangeListener<String, ChatChannelUser>) change -> plainChanges.add(change.getKey()));
+
+    ChatChannelUser alice = new ChatChannelUser("Alice", false);
+    ChatChannelUser bob = new ChatChannelUser("Bob", false);
+    instance.addUsers(List.of(alice, bob));
+
+    assertThat(bulkAdditions, hasSize(1));
+    assertThat(bulkAdditions.get(0), containsInAnyOrder(alice, bob));
+    assertThat(singleChanges, empty());
+    assertThat(plainChanges, containsInAnyOrder("Alice", "Bob"));
+  }
+
+  @Test
+  public void testAddUsersSkipsUsersAlreadyInChannel() {
+    ChatChannelUser alice = new ChatChannelUser("Alice", false);
+    instance.addUser(alice);
+    instance.addUsersListeners(new RecordingListener());
+
+    instance.addUsers(List.of(alice));
+    assertThat(bulkAdditions, empty());
+
+    ChatChannelUser bob = new ChatChannelUser("Bob", false);
+    instance.addUsers(List.of(alice, bob));
+    assertThat(bulkAdditions, hasSize(1));
+    assertThat(bulkAdditions.get(0), contains(bob));
+  }
+
+  @Test
+  public void testSingleChangesStillReachBulkListener() {
+    RecordingListener listener = new RecordingListener();
+    instance.addUsersListeners(listener);
+
+    instance.addUser(new ChatChannelUser("Alice", false));
+    instance.removeUser("Alice");
+    assertThat(singleChanges, contains("Alice", "Alice"));
+
+    instance.removeUserListener(listener);
+    instance.addUsers(List.of(new ChatChannelUser("Bob", false)));
+    instance.addUser(new ChatChannelUser("Charlie", false));
+    assertThat(bulkAdditions, empty());
+    assertThat(singleChanges, hasSize(2));
+  }
+
+  private class RecordingListener implements UsersChangeListener {
+
+    @Override
+    public void onUsersAdded(Collection<ChatChannelUser> users) {
+      bulkAdditions.add(new ArrayList<>(users));
+    }
+
+    @Override
+    public void onChanged(Change<? extends String, ? extends ChatChannelUser> change) {
+      singleChanges.add(change.getKey());
+    }
+  }
+}
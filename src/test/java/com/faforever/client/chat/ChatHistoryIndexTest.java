@@ -0,0 +1,89 @@
+package com.faforever.client.chat;
+
+import com.faforever.client.chat.ChatHistoryIndex.Hit;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class ChatHistoryIndexTest {
+
+  private ChatHistoryIndex instance;
+
+  @Before
+  public void setUp() {
+    instance = new ChatHistoryIndex();
+    add("#aeolus", 0, 1000, "Downlord", "Anyone up for Seton's Clutch?");
+    add("#aeolus", 1, 2000, "Axle", "seton's is too big");
+    add("#aeolus", 2, 3000, "Downlord", "Then Setons, small version");
+    add("#clan", 0, 1500, "Downlord", "Clan war on Seton's clutch tonight");
+    add("Axle", 0, 2500, "Axle", "clutch?");
+  }
+
+  @Test
+  public void testTokenize() {
+    assertThat(ChatHistoryIndex.tokenize("Hello, wörld! it's 2 o'clock"), contains("hello", "wörld", "it", "s", "2", "o", "clock"));
+    assertThat(ChatHistoryIndex.tokenize("  ...  "), is(empty()));
+  }
+
+  @Test
+  public void testSearchAllWords() {
+    List<Hit> hits = instance.search(ChatHistoryQuery.builder().text("SETON clutch").build());
+
+    assertThat(hits, contains(new Hit("#clan", 0, 1500), new Hit("#aeolus", 0, 1000)));
+  }
+
+  @Test
+  public void testSearchByUsernameAndSource() {
+    assertThat(instance.search(ChatHistoryQuery.builder().text("seton").username("downlord").build()),
+        contains(new Hit("#clan", 0, 1500), new Hit("#aeolus", 0, 1000)));
+    assertThat(instance.search(ChatHistoryQuery.builder().username("Axle").source("axle").build()),
+        contains(new Hit("axle", 0, 2500)));
+  }
+
+  @Test
+  public void testSearchTimeRangeAndLimit() {
+    assertThat(instance.search(ChatHistoryQuery.builder()
+            .from(Instant.ofEpochMilli(1500))
+            .to(Instant.ofEpochMilli(3000))
+            .build()),
+        contains(new Hit("axle", 0, 2500), new Hit("#aeolus", 1, 2000), new Hit("#clan", 0, 1500)));
+    assertThat(instance.search(ChatHistoryQuery.builder().text("clutch").limit(1).build()),
+        contains(new Hit("axle", 0, 2500)));
+  }
+
+  @Test
+  public void testMessagesOutOfOrderAreIgnored() {
+    add("#aeolus", 5, 4000, "Downlord", "unicorn");
+    assertThat(instance.search(ChatHistoryQuery.builder().text("unicorn").build()), is(empty()));
+
+    add("#aeolus", 3, 4000, "Downlord", "unicorn unicorn");
+    assertThat(instance.getNextIndex("#Aeolus"), is(4));
+    assertThat(instance.search(ChatHistoryQuery.builder().text("unicorn").build()), contains(new Hit("#aeolus", 3, 4000)));
+  }
+
+  @Test
+  public void testStartAtLaterMessage() {
+    instance.startAt("#newbie", 10);
+    add("#newbie", 0, 1000, "Axle", "clutch");
+    add("#newbie", 10, 5000, "Axle", "clutch");
+    add("#newbie", 11, 6000, "Axle", "hello");
+    instance.startAt("#newbie", 20);
+
+    assertThat(instance.getNextIndex("#newbie"), is(12));
+    assertThat(instance.search(ChatHistoryQuery.builder().source("#newbie").build()),
+        contains(new Hit("#newbie", 11, 6000), new Hit("#newbie", 10, 5000)));
+    assertThat(instance.search(ChatHistoryQuery.builder().text("clutch").source("#newbie").build()),
+        contains(new Hit("#newbie", 10, 5000)));
+  }
+
+  private void add(String source, int index, long time, String username, String text) {
+    instance.add(source, index, new ChatMessage(source, Instant.ofEpochMilli(time), username, text));
+  }
+}
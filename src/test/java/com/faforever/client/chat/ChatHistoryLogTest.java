@@ -0,0 +1,113 @@
+package com.faforever.client.chat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class ChatHistoryLogTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testAppendAndRead() throws Exception {
+    Path file = temporaryFolder.getRoot().toPath().resolve("#aeolus.log");
+    ChatMessage first = new ChatMessage("#aeolus", Instant.ofEpochSecond(1000, 123), "junit", "hello");
+    ChatMessage second = new ChatMessage("#aeolus", Instant.ofEpochSecond(1001), "other", "waves", true);
+    ChatMessage third = new ChatMessage("#aeolus", Instant.ofEpochSecond(1002), "junit", "ünïcödé");
+
+    try (ChatHistoryLog log = ChatHistoryLog.open(file)) {
+      assertThat(log.append(first), is(0));
+      assertThat(log.append(second), is(1));
+      assertThat(log.append(third), is(2));
+
+      assertThat(log.size(), is(3));
+      assertThat(log.read(0, 3), contains(first, second, third));
+      assertThat(log.read(1, 2), contains(second));
+      assertThat(log.read(3, 3), is(empty()));
+    }
+  }
+
+  @Test
+  public void testReopen() throws Exception {
+    Path file = temporaryFolder.getRoot().toPath().resolve("junit.log");
+    ChatMessage first = new ChatMessage("junit", Instant.ofEpochSecond(1000), "junit", "first");
+    ChatMessage second = new ChatMessage("junit", Instant.ofEpochSecond(1001), "junit", "second");
+
+    try (ChatHistoryLog log = ChatHistoryLog.open(file)) {
+      log.append(first);
+    }
+    try (ChatHistoryLog log = ChatHistoryLog.open(file)) {
+      assertThat(log.size(), is(1));
+      assertThat(log.append(second), is(1));
+    }
+    try (ChatHistoryLog log = ChatHistoryLog.open(file)) {
+      List<ChatMessage> messages = log.read(0, log.size());
+      assertThat(messages, contains(first, second));
+    }
+  }
+
+  @Test
+  public void testPartiallyWrittenRecordIsCutOff() throws Exception {
+    Path file = temporaryFolder.getRoot().toPath().resolve("junit.log");
+    ChatMessage first = new ChatMessage("junit", Instant.ofEpochSecond(1000), "junit", "first");
+    ChatMessage second = new ChatMessage("junit", Instant.ofEpochSecond(1001), "junit", "second");
+    ChatMessage third = new ChatMessage("junit", Instant.ofEpochSecond(1002), "junit", "third");
+
+    try (ChatHistoryLog log = ChatHistoryLog.open(file)) {
+      log.append(first);
+      log.append(second);
+    }
+    try (FileChannel channel = FileChannel.open(file, WRITE)) {
+      channel.truncate(channel.size() - 3);
+    }
+
+    try (ChatHistoryLog log = ChatHistoryLog.open(file)) {
+      assertThat(log.size(), is(1));
+      assertThat(log.append(third), is(1));
+      assertThat(log.read(0, 2), contains(first, third));
+    }
+  }
+
+  @Test
+  public void testMissingOffsetsAreRebuilt() throws Exception {
+    Path file = temporaryFolder.getRoot().toPath().resolve("junit.log");
+    Path offsetsFile = file.resolveSibling(file.getFileName() + ChatHistoryLog.OFFSETS_FILE_SUFFIX);
+    ChatMessage first = new ChatMessage("junit", Instant.ofEpochSecond(1000), "junit", "first");
+    ChatMessage second = new ChatMessage("junit", Instant.ofEpochSecond(1001), "junit", "second");
+    ChatMessage third = new ChatMessage("junit", Instant.ofEpochSecond(1002), "junit", "third");
+
+    try (ChatHistoryLog log = ChatHistoryLog.open(file)) {
+      log.append(first);
+      log.append(second);
+      log.append(third);
+    }
+    // As if the client was killed before writing the last offset
+    try (FileChannel channel = FileChannel.open(offsetsFile, WRITE)) {
+      channel.truncate(channel.size() - Long.BYTES);
+    }
+    try (ChatHistoryLog log = ChatHistoryLog.open(file)) {
+      assertThat(log.read(1, 3), contains(second, third));
+    }
+
+    // As if the log was written by a version without offset files
+    Files.delete(offsetsFile);
+    try (ChatHistoryLog log = ChatHistoryLog.open(file)) {
+      assertThat(log.size(), is(3));
+      assertThat(log.read(0, 3), contains(first, second, third));
+    }
+    assertThat(Files.size(offsetsFile), is(3L * Long.BYTES));
+  }
+}
@@ -0,0 +1,34 @@
+package com.faforever.client.chat;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ChatHistoryQueryTest {
+
+  @Test
+  public void testParse() {
+    ChatHistoryQuery query = ChatHistoryQuery.parse(" seton from:Downlord  clutch in:#aeolus after:2020-12-24 before:2021-01-01 ", ZoneOffset.UTC);
+
+    assertThat(query.getText(), is("seton clutch"));
+    assertThat(query.getUsername(), is("Downlord"));
+    assertThat(query.getSource(), is("#aeolus"));
+    assertThat(query.getFrom(), is(Instant.parse("2020-12-24T00:00:00Z")));
+    assertThat(query.getTo(), is(Instant.parse("2021-01-01T00:00:00Z")));
+    assertThat(query.getLimit(), is(ChatHistoryQuery.DEFAULT_LIMIT));
+  }
+
+  @Test
+  public void testParseInvalidCriteriaAsText() {
+    ChatHistoryQuery query = ChatHistoryQuery.parse("from: after:yesterday", ZoneOffset.UTC);
+
+    assertThat(query.getText(), is("from: after:yesterday"));
+    assertThat(query.getUsername(), is(nullValue()));
+    assertThat(query.getFrom(), is(nullValue()));
+  }
+}
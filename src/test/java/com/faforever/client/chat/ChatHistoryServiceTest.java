@@ -0,0 +1,135 @@
+package com.faforever.client.chat;
+
+import com.faforever.client.preferences.Preferences;
+import com.faforever.client.preferences.PreferencesService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ChatHistoryServiceTest {
+
+  private static final long TIMEOUT = 5;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Mock
+  private PreferencesService preferencesService;
+
+  private ChatHistoryService instance;
+
+  private Preferences preferences;
+
+  @Before
+  public void setUp() throws Exception {
+    preferences = new Preferences();
+    when(preferencesService.getPreferences()).thenReturn(preferences);
+    when(preferencesService.getChatHistoryDirectory()).thenReturn(temporaryFolder.getRoot().toPath().resolve("chat"));
+
+    instance = new ChatHistoryService(preferencesService);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    instance.destroy();
+  }
+
+  @Test
+  public void testMessagesAreAppendedInOrder() throws Exception {
+    List<ChatMessage> messages = new ArrayList<>();
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      ChatMessage message = new ChatMessage("#aeolus", Instant.ofEpochSecond(i), "junit", "message " + i);
+      messages.add(message);
+      futures.add(instance.append(message));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(TIMEOUT, TimeUnit.SECONDS);
+
+    for (int i = 0; i < messages.size(); i++) {
+      assertThat(instance.getHistoryIndex(messages.get(i)).get(TIMEOUT, TimeUnit.SECONDS), is(i));
+    }
+    assertThat(instance.loadMessages("#aeolus", 0, 10).get(TIMEOUT, TimeUnit.SECONDS), is(messages));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedLogIsOpenedAgain() throws Exception {
+    ChatMessage first = new ChatMessage("#channel0", Instant.ofEpochSecond(0), "junit", "first");
+    instance.append(first).get(TIMEOUT, TimeUnit.SECONDS);
+    for (int i = 1; i <= 20; i++) {
+      instance.append(new ChatMessage("#channel" + i, Instant.ofEpochSecond(i), "junit", "other")).get(TIMEOUT, TimeUnit.SECONDS);
+    }
+    ChatMessage second = new ChatMessage("#channel0", Instant.ofEpochSecond(21), "junit", "second");
+    assertThat(instance.append(second).get(TIMEOUT, TimeUnit.SECONDS), is(1));
+    assertThat(instance.getMessageCount("#channel0").get(TIMEOUT, TimeUnit.SECONDS), is(2));
+    assertThat(instance.loadMessages("#channel0", 0, 2).get(TIMEOUT, TimeUnit.SECONDS), contains(first, second));
+  }
+
+  @Test
+  public void testMessageCountIncludesMessagesAppendedBefore() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      instance.append(new ChatMessage("#aeolus", Instant.ofEpochSecond(i), "junit", "message " + i));
+    }
+
+    assertThat(instance.getMessageCount("#aeolus").get(TIMEOUT, TimeUnit.SECONDS), is(5));
+  }
+
+  @Test
+  public void testNothingIsWrittenWhileDisabled() throws Exception {
+    preferences.getChat().setHistoryEnabled(false);
+    ChatMessage message = new ChatMessage("#aeolus", Instant.ofEpochSecond(0), "junit", "message");
+
+    assertThat(instance.append(message).isCompletedExceptionally(), is(true));
+    assertThat(instance.getMessageCount("#aeolus").get(TIMEOUT, TimeUnit.SECONDS), is(0));
+    assertThat(instance.search(ChatHistoryQuery.parse("message", ZoneOffset.UTC)).get(TIMEOUT, TimeUnit.SECONDS), is(empty()));
+    assertThat(Files.exists(temporaryFolder.getRoot().toPath().resolve("chat")), is(false));
+  }
+
+  @Test
+  public void testSearchMoreSourcesThanOpenLogs() throws Exception {
+    List<ChatMessage> messages = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      ChatMessage message = new ChatMessage("#channel" + (i % 20), Instant.ofEpochSecond(i), "junit", "replay " + i);
+      messages.add(0, message);
+      instance.append(message).get(TIMEOUT, TimeUnit.SECONDS);
+      instance.append(new ChatMessage("#channel" + (i % 20), Instant.ofEpochSecond(i), "junit", "other")).get(TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    assertThat(instance.search(ChatHistoryQuery.parse("replay", ZoneOffset.UTC)).get(TIMEOUT, TimeUnit.SECONDS), is(messages));
+  }
+
+  @Test
+  public void testMessagesOfEarlierSessionsAreSearched() throws Exception {
+    ChatMessage first = new ChatMessage("#aeolus", Instant.ofEpochSecond(0), "junit", "replay one");
+    ChatMessage second = new ChatMessage("junit", Instant.ofEpochSecond(1), "junit", "replay two");
+    instance.append(first).get(TIMEOUT, TimeUnit.SECONDS);
+    instance.append(second).get(TIMEOUT, TimeUnit.SECONDS);
+    instance.destroy();
+
+    instance = new ChatHistoryService(preferencesService);
+    ChatMessage third = new ChatMessage("#aeolus", Instant.ofEpochSecond(2), "junit", "replay three");
+    instance.append(third).get(TIMEOUT, TimeUnit.SECONDS);
+
+    assertThat(instance.search(ChatHistoryQuery.parse("replay", ZoneOffset.UTC)).get(TIMEOUT, TimeUnit.SECONDS),
+        contains(third, second, first));
+  }
+}
@@ -0,0 +1,72 @@
+package com.faforever.client.chat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ChatMembershipIndexTest {
+
+  private ChatMembershipIndex instance;
+
+  @Before
+  public void setUp() {
+    instance = new ChatMembershipIndex();
+  }
+
+  @Test
+  public void testPutAndGetIgnoresUsernameCase() {
+    ChatChannelUser chatUser = new ChatChannelUser("Alice", false);
+
+    assertThat(instance.put("#aeolus", chatUser), is(true));
+    assertThat(instance.put("#newbie", new ChatChannelUser("Alice", false)), is(false));
+
+    assertThat(instance.get("alice", "#aeolus"), sameInstance(chatUser));
+    assertThat(instance.get("alice", "#other"), is(nullValue()));
+    assertThat(instance.getChannelNames("ALICE"), containsInAnyOrder("#aeolus", "#newbie"));
+  }
+
+  @Test
+  public void testRemoveLastMembership() {
+    ChatChannelUser chatUser = new ChatChannelUser("Alice", false);
+    instance.put("#aeolus", chatUser);
+
+    assertThat(instance.remove("Alice", "#aeolus"), sameInstance(chatUser));
+    assertThat(instance.remove("Alice", "#aeolus"), is(nullValue()));
+    assertThat(instance.hasMemberships("Alice"), is(false));
+    assertThat(instance.getMemberships("Alice"), empty());
+  }
+
+  @Test
+  public void testRemoveChannelReturnsUsersWithoutOtherMemberships() {
+    ChatChannelUser alice = new ChatChannelUser("Alice", false);
+    ChatChannelUser bob = new ChatChannelUser("Bob", false);
+    instance.put("#aeolus", alice);
+    instance.put("#aeolus", bob);
+    instance.put("#newbie", new ChatChannelUser("Bob", false));
+
+    assertThat(instance.removeChannel("#aeolus"), contains(alice));
+    assertThat(instance.getChannelNames("Bob"), contains("#newbie"));
+    assertThat(instance.hasMemberships("Alice"), is(false));
+  }
+
+  @Test
+  public void testChannelNamesIgnoreCase() {
+    ChatChannelUser chatUser = new ChatChannelUser("Alice", false);
+    instance.put("#Aeolus", chatUser);
+    instance.put("#aeolus", new ChatChannelUser("Bob", false));
+
+    assertThat(instance.get("Alice", "#AEOLUS"), sameInstance(chatUser));
+    assertThat(instance.getChannelNames("Alice"), contains("#Aeolus"));
+    assertThat(instance.remove("Alice", "#aeolus"), sameInstance(chatUser));
+    assertThat(instance.removeChannel("#AEOLUS"), hasSize(1));
+    assertThat(instance.hasMemberships("Bob"), is(false));
+  }
+}
@@ -0,0 +1,91 @@
+package com.faforever.client.chat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ChatTextFormatterTest {
+
+  private ChatTextFormatter instance;
+
+  @Before
+  public void setUp() {
+    instance = new ChatTextFormatter("junit");
+  }
+
+  @Test
+  public void testEscapesHtml() {
+    assertThat(instance.toHtml("<b>\"bold\" & 'quoted'</b> \\o/"),
+        is("&lt;b&gt;&quot;bold&quot; &amp; &#39;quoted&#39;&lt;/b&gt; \\o/"));
+  }
+
+  @Test
+  public void testChannelNamesTransformedToHyperlinks() {
+    assertThat(instance.toHtml("Go to #moderation and report a user"),
+        is("Go to <a href=\"javascript:void(0);\" onClick=\"java.openChannel('#moderation')\">#moderation</a> and report a user"));
+  }
+
+  @Test
+  public void testChannelNamesRequireLetterAndWordStart() {
+    assertThat(instance.toHtml("#1 issue#two #a"), is("#1 issue#two #a"));
+  }
+
+  @Test
+  public void testUrlsTransformedToHyperlinks() {
+    assertThat(instance.toHtml("see https://faforever.com/news?a=1&b=2."),
+        is("see <a href=\"javascript:void(0);\" onClick=\"java.openUrl('https://faforever.com/news?a=1&amp;b=2')\""
+            + " onMouseOver=\"java.previewUrl('https://faforever.com/news?a=1&amp;b=2')\" onMouseOut=\"java.hideUrlPreview()\">"
+            + "https://faforever.com/news?a=1&amp;b=2</a>."));
+  }
+
+  @Test
+  public void testWwwUrlsGetScheme() {
+    assertThat(instance.toHtml("(www.faforever.com)"),
+        is("(<a href=\"javascript:void(0);\" onClick=\"java.openUrl('http://www.faforever.com')\""
+            + " onMouseOver=\"java.previewUrl('http://www.faforever.com')\" onMouseOut=\"java.hideUrlPreview()\">"
+            + "www.faforever.com</a>)"));
+    assertThat(instance.toHtml("www.faforever.com"),
+        is("<a href=\"javascript:void(0);\" onClick=\"java.openUrl('http://www.faforever.com')\""
+            + " onMouseOver=\"java.previewUrl('http://www.faforever.com')\" onMouseOut=\"java.hideUrlPreview()\">"
+            + "www.faforever.com</a>"));
+  }
+
+  @Test
+  public void testUrlsAfterPunctuationTransformedToHyperlinks() {
+    assertThat(instance.toHtml("see:\"https://faforever.com\""),
+        is("see:&quot;<a href=\"javascript:void(0);\" onClick=\"java.openUrl('https://faforever.com')\""
+            + " onMouseOver=\"java.previewUrl('https://faforever.com')\" onMouseOut=\"java.hideUrlPreview()\">"
+            + "https://faforever.com</a>&quot;"));
+    assertThat(instance.toHtml("xhttps://faforever.com"), is("xhttps://faforever.com"));
+  }
+
+  @Test
+  public void testChannelNamesAfterPunctuationTransformedToHyperlinks() {
+    assertThat(instance.toHtml("(#aeolus)."),
+        is("(<a href=\"javascript:void(0);\" onClick=\"java.openChannel('#aeolus')\">#aeolus</a>)."));
+  }
+
+  @Test
+  public void testUrlKeepsBalancedParenthesisAndEscapesQuotes() {
+    assertThat(instance.toHtml("http://wiki/Foo_(bar)'x"),
+        is("<a href=\"javascript:void(0);\" onClick=\"java.openUrl('http://wiki/Foo_(bar)\\'x')\""
+            + " onMouseOver=\"java.previewUrl('http://wiki/Foo_(bar)\\'x')\" onMouseOut=\"java.hideUrlPreview()\">"
+            + "http://wiki/Foo_(bar)&#39;x</a>"));
+  }
+
+  @Test
+  public void testMentionsHighlighted() {
+    StringBuilder html = new StringBuilder();
+
+    assertThat(instance.appendHtml(html, "hi JUnit, junit4 and xjunit are not you"), is(true));
+    assertThat(html.toString(), is("hi <span class='self'>JUnit</span>, junit4 and xjunit are not you"));
+  }
+
+  @Test
+  public void testNoMention() {
+    assertThat(instance.appendHtml(new StringBuilder(), "nothing to see"), is(false));
+    assertThat(new ChatTextFormatter(null).appendHtml(new StringBuilder(), "junit"), is(false));
+  }
+}
@@ -0,0 +1,181 @@
+package com.faforever.client.chat;
+
+import com.faforever.client.game.GameBuilder;
+import com.faforever.client.leaderboard.LeaderboardRatingMapBuilder;
+import com.faforever.client.player.Player;
+import com.faforever.client.player.PlayerBuilder;
+import com.faforever.client.remote.domain.GameStatus;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.faforever.client.chat.ChatUserCategory.OTHER;
+import static com.faforever.client.game.PlayerStatus.HOSTING;
+import static com.faforever.client.game.PlayerStatus.LOBBYING;
+import static com.faforever.client.game.PlayerStatus.PLAYING;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class ChatUserFilterTest {
+
+  private ChatUserFilter instance;
+  private ObservableList<CategoryOrChatUserListItem> items;
+  private FilteredList<CategoryOrChatUserListItem> filteredItems;
+  private CategoryOrChatUserListItem categoryItem;
+
+  @Before
+  public void setUp() throws Exception {
+    instance = new ChatUserFilter();
+    categoryItem = new CategoryOrChatUserListItem(OTHER);
+    items = FXCollections.observableArrayList(categoryItem, createItem("Alpha", "AB", "DE"), createItem("Albert", "XY", "FR"), createItem("Bob", null, "DE"));
+    filteredItems = new FilteredList<>(items);
+  }
+
+  @Test
+  public void testFilterByUsernameAndClan() {
+    setQuery("AL", "", null);
+    assertThat(getUsernames(), contains("Alpha", "Albert"));
+
+    setQuery("al", "x", null);
+    assertThat(getUsernames(), contains("Albert"));
+    assertThat(filteredItems.get(0), is(categoryItem));
+  }
+
+  @Test
+  public void testNarrowingByUsername() {
+    setQuery("a", "", null);
+    assertThat(getUsernames(), contains("Alpha", "Albert"));
+
+    setQuery("alp", "", null);
+    assertThat(getUsernames(), contains("Alpha"));
+  }
+
+  @Test
+  public void testClanChangeIsCheckedWhenClanTextIsExtended() {
+    setQuery("", "a", null);
+    assertThat(getUsernames(), contains("Alpha"));
+
+    items.get(3).getUser().getPlayer().orElseThrow().setClan("ABC");
+    setQuery("", "ab", null);
+    assertThat(getUsernames(), contains("Alpha", "Bob"));
+  }
+
+  @Test
+  public void testStatusChangeIsCheckedWhenQueryIsSetAgain() {
+    Player bob = items.get(3).getUser().getPlayer().orElseThrow();
+    bob.setGame(GameBuilder.create().defaultValues().status(GameStatus.PLAYING).get());
+    ChatUserFilter.Query query = ChatUserFilter.Query.of("", "", "", "", PLAYING, null);
+    instance.setQuery(query, filteredItems::setPredicate);
+    assertThat(getUsernames(), contains("Bob"));
+
+    items.get(1).getUser().getPlayer().orElseThrow().setGame(GameBuilder.create().defaultValues().status(GameStatus.PLAYING).get());
+    instance.setQuery(query, filteredItems::setPredicate);
+    assertThat(getUsernames(), contains("Alpha", "Bob"));
+  }
+
+  @Test
+  public void testItemsAddedWhileNarrowedAreChecked() {
+    setQuery("a", "", null);
+    setQuery("al", "", null);
+
+    items.add(createItem("Alice", null, "GB"));
+
+    assertThat(getUsernames(), contains("Alpha", "Albert", "Alice"));
+  }
+
+  @Test
+  public void testWideningChecksAllItems() {
+    setQuery("alp", "", null);
+    assertThat(getUsernames(), contains("Alpha"));
+
+    setQuery("", "", null);
+    assertThat(getUsernames(), contains("Alpha", "Albert", "Bob"));
+  }
+
+  @Test
+  public void testFilterByCountry() {
+    setQuery("", "", Set.of("DE"));
+    assertThat(getUsernames(), contains("Alpha", "Bob"));
+  }
+
+  @Test
+  public void testIsNarrowing() {
+    ChatUserFilter.Query query = ChatUserFilter.Query.of("al", "a", "100", "", null, Set.of("DE", "DK"));
+
+    assertThat(ChatUserFilter.Query.of("alp", "a", "100", "", null, Set.of("DE", "DK")).isNarrowing(query), is(true));
+    assertThat(ChatUserFilter.Query.of("a", "a", "100", "", null, Set.of("DE", "DK")).isNarrowing(query), is(false));
+    assertThat(ChatUserFilter.Query.of("al", "ab", "100", "", null, Set.of("DE", "DK")).isNarrowing(query), is(false));
+    assertThat(ChatUserFilter.Query.of("al", "a", "200", "300", null, Set.of("DE", "DK")).isNarrowing(query), is(false));
+    assertThat(ChatUserFilter.Query.of("al", "a", "100", "", PLAYING, Set.of("DE", "DK")).isNarrowing(query), is(false));
+    assertThat(ChatUserFilter.Query.of("al", "a", "100", "", null, Set.of("DE")).isNarrowing(query), is(false));
+  }
+
+  @Test
+  public void testIsInClan() {
+    ChatChannelUser chatUser = items.get(1).getUser();
+
+    assertThat(instance.matches(chatUser, ChatUserFilter.Query.of("", "ab", "", "", null, null)), is(true));
+    assertThat(instance.matches(chatUser, ChatUserFilter.Query.of("", "xy", "", "", null, null)), is(false));
+  }
+
+  @Test
+  public void testIsBoundByRatingWithinBounds() {
+    ChatChannelUser chatUser = items.get(1).getUser();
+    chatUser.getPlayer().orElseThrow().setLeaderboardRatings(LeaderboardRatingMapBuilder.create().defaultValues().get());
+
+    assertThat(instance.matches(chatUser, ChatUserFilter.Query.of("", "", "-100", "100", null, null)), is(true));
+  }
+
+  @Test
+  public void testIsBoundByRatingNotWithinBounds() {
+    ChatChannelUser chatUser = items.get(1).getUser();
+    chatUser.getPlayer().orElseThrow().setLeaderboardRatings(LeaderboardRatingMapBuilder.create().defaultValues().get());
+
+    assertThat(instance.matches(chatUser, ChatUserFilter.Query.of("", "", "300", "600", null, null)), is(false));
+  }
+
+  @Test
+  public void testIsGameStatusMatchPlaying() {
+    ChatChannelUser chatUser = items.get(1).getUser();
+    chatUser.getPlayer().orElseThrow().setGame(GameBuilder.create().defaultValues().status(GameStatus.PLAYING).get());
+
+    assertThat(instance.matches(chatUser, ChatUserFilter.Query.of("", "", "", "", PLAYING, null)), is(true));
+  }
+
+  @Test
+  public void testIsGameStatusMatchLobby() {
+    ChatChannelUser chatUser = items.get(1).getUser();
+    Player player = chatUser.getPlayer().orElseThrow();
+    player.setGame(GameBuilder.create().defaultValues().status(GameStatus.OPEN).host(player.getUsername()).get());
+
+    assertThat(instance.matches(chatUser, ChatUserFilter.Query.of("", "", "", "", HOSTING, null)), is(true));
+    assertThat(instance.matches(chatUser, ChatUserFilter.Query.of("", "", "", "", LOBBYING, null)), is(true));
+
+    player.setGame(GameBuilder.create().defaultValues().status(GameStatus.OPEN).get());
+
+    assertThat(instance.matches(chatUser, ChatUserFilter.Query.of("", "", "", "", LOBBYING, null)), is(true));
+  }
+
+  private void setQuery(String username, String clan, Set<String> countries) {
+    instance.setQuery(ChatUserFilter.Query.of(username, clan, "", "", null, countries), filteredItems::setPredicate);
+  }
+
+  private List<String> getUsernames() {
+    return filteredItems.stream()
+        .filter(item -> item.getUser() != null)
+        .map(item -> item.getUser().getUsername())
+        .collect(Collectors.toList());
+  }
+
+  private static CategoryOrChatUserListItem createItem(String username, String clan, String country) {
+    Player player = PlayerBuilder.create(username).defaultValues().clan(clan).country(country).get();
+    return new CategoryOrChatUserListItem(ChatChannelUserBuilder.create(username).defaultValues().player(player).get(), OTHER);
+  }
+}
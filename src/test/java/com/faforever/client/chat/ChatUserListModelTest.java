@@ -0,0 +1,93 @@
+package com.faforever.client.chat;
+
+import javafx.collections.ListChangeListener;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class ChatUserListModelTest {
+
+  private ChatUserListModel instance;
+
+  @Before
+  public void setUp() {
+    instance = new ChatUserListModel(Comparator.comparing(item -> item.getUser().getUsername(), String.CASE_INSENSITIVE_ORDER));
+  }
+
+  @Test
+  public void testAddKeepsCategoriesSorted() {
+    instance.add(item("charlie", ChatUserCategory.OTHER));
+    instance.add(item("Alice", ChatUserCategory.OTHER));
+    instance.add(item("bob", ChatUserCategory.OTHER));
+    instance.add(item("Zed", ChatUserCategory.FRIEND));
+    instance.add(item("mod", ChatUserCategory.MODERATOR));
+
+    assertThat(flatten(), contains(
+        "MODERATOR", "mod",
+        "FRIEND", "Zed",
+        "OTHER", "Alice", "bob", "charlie",
+        "CHAT_ONLY",
+        "FOE"
+    ));
+  }
+
+  @Test
+  public void testAddAllMergesIntoExistingItems() {
+    instance.add(item("bob", ChatUserCategory.OTHER));
+    instance.add(item("dave", ChatUserCategory.OTHER));
+
+    int[] changes = new int[1];
+    instance.getItems().addListener((ListChangeListener<CategoryOrChatUserListItem>) change -> changes[0]++);
+    instance.addAll(List.of(
+        item("erin", ChatUserCategory.OTHER),
+        item("alice", ChatUserCategory.OTHER),
+        item("carol", ChatUserCategory.OTHER),
+        item("foe", ChatUserCategory.FOE)
+    ));
+
+    assertThat(changes[0], is(1));
+    assertThat(flatten(), contains(
+        "MODERATOR", "FRIEND",
+        "OTHER", "alice", "bob", "carol", "dave", "erin",
+        "CHAT_ONLY",
+        "FOE", "foe"
+    ));
+    assertThat(instance.getUserItems(ChatUserCategory.OTHER).size(), is(5));
+  }
+
+  @Test
+  public void testRemove() {
+    CategoryOrChatUserListItem bob = item("bob", ChatUserCategory.FRIEND);
+    instance.add(item("alice", ChatUserCategory.FRIEND));
+    instance.add(bob);
+    instance.add(item("carol", ChatUserCategory.OTHER));
+
+    instance.remove(bob);
+    instance.remove(item("unknown", ChatUserCategory.OTHER));
+
+    assertThat(flatten(), contains(
+        "MODERATOR",
+        "FRIEND", "alice",
+        "OTHER", "carol",
+        "CHAT_ONLY",
+        "FOE"
+    ));
+  }
+
+  private static CategoryOrChatUserListItem item(String username, ChatUserCategory category) {
+    return new CategoryOrChatUserListItem(new ChatChannelUser(username, false), category);
+  }
+
+  private List<String> flatten() {
+    return instance.getItems().stream()
+        .map(item -> item.getUser() == null ? item.getCategory().name() : item.getUser().getUsername())
+        .collect(Collectors.toList());
+  }
+}
@@ -90,10 +90,10 @@ public class ChatUserServiceTest extends AbstractPlainJavaFxTest {
         .get();
     testClan = ClanBuilder.create().defaultValues().get();
     when(clanService.getClanByTag(testClan.getTag())).thenReturn(CompletableFuture.completedFuture(Optional.of(testClan)));
-    when(countryFlagService.loadCountryFlag(anyString())).thenReturn(Optional.of(mock(Image.class)));
+    when(countryFlagService.loadCountryFlag(anyString())).thenReturn(CompletableFuture.completedFuture(Optional.of(mock(Image.class))));
     when(uiService.getThemeImage(anyString())).thenReturn(mock(Image.class));
-    when(mapService.loadPreview(anyString(), any(PreviewSize.class))).thenReturn(mock(Image.class));
-    when(avatarService.loadAvatar(anyString())).thenReturn(mock(Image.class));
+    when(mapService.loadPreview(anyString(), any(PreviewSize.class))).thenReturn(CompletableFuture.completedFuture(mock(Image.class)));
+    when(avatarService.loadAvatar(anyString())).thenReturn(CompletableFuture.completedFuture(mock(Image.class)));
     when(i18n.getCountryNameLocalized("US")).thenReturn("United States");
     when(preferencesService.getPreferences()).thenReturn(preferences);
 
@@ -305,6 +305,23 @@ public class ChatUserServiceTest extends AbstractPlainJavaFxTest {
     assertTrue(chatUser.getAvatar().isPresent());
   }
 
+  @Test
+  public void testAvatarLoadedAfterChangeIsDiscarded() throws MalformedURLException {
+    CompletableFuture<Image> oldAvatarFuture = new CompletableFuture<>();
+    Image newAvatar = mock(Image.class);
+    String newUrl = new URL("http://awesome.png").toExternalForm();
+    when(avatarService.loadAvatar(avatar.getUrl().toExternalForm())).thenReturn(oldAvatarFuture);
+    when(avatarService.loadAvatar(newUrl)).thenReturn(CompletableFuture.completedFuture(newAvatar));
+    player.setAvatar(avatar);
+    instance.associatePlayerToChatUser(chatUser, player);
+    player.setAvatarUrl(newUrl);
+
+    oldAvatarFuture.complete(mock(Image.class));
+    WaitForAsyncUtils.waitForFxEvents();
+
+    assertEquals(newAvatar, chatUser.getAvatar().orElse(null));
+  }
+
   @Test
   public void testAvatarSameChange() {
     player.setAvatar(avatar);
@@ -367,6 +384,7 @@ public class ChatUserServiceTest extends AbstractPlainJavaFxTest {
   @Test
   public void testCountryNull() {
     player.setCountry(null);
+    when(countryFlagService.loadCountryFlag(null)).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
     instance.associatePlayerToChatUser(chatUser, player);
     WaitForAsyncUtils.waitForFxEvents();
 
@@ -447,6 +465,26 @@ public class ChatUserServiceTest extends AbstractPlainJavaFxTest {
     assertEquals("Playing", chatUser.getStatusTooltipText().orElse(null));
   }
 
+  @Test
+  public void testMapPreviewLoadedAfterLeavingGameIsDiscarded() {
+    CompletableFuture<Image> mapImageFuture = new CompletableFuture<>();
+    when(mapService.loadPreview(anyString(), any(PreviewSize.class))).thenReturn(mapImageFuture);
+    when(i18n.get("game.gameStatus.playing")).thenReturn("Playing");
+    when(i18n.get("game.gameStatus.none")).thenReturn("None");
+    player.setGame(GameBuilder.create().defaultValues().status(GameStatus.PLAYING).get());
+    instance.associatePlayerToChatUser(chatUser, player);
+    WaitForAsyncUtils.waitForFxEvents();
+
+    assertEquals("Playing", chatUser.getStatusTooltipText().orElse(null));
+
+    player.setGame(null);
+    mapImageFuture.complete(mock(Image.class));
+    WaitForAsyncUtils.waitForFxEvents();
+
+    assertFalse(chatUser.getMapImage().isPresent());
+    assertEquals("None", chatUser.getStatusTooltipText().orElse(null));
+  }
+
   @Test
   public void testStatusSameChange() {
     Game game = GameBuilder.create().defaultValues().status(GameStatus.OPEN).get();
@@ -1,6 +1,7 @@
 package com.faforever.client.chat;
 
 import com.faforever.client.i18n.I18n;
+import com.faforever.client.remote.AssetService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -24,11 +25,13 @@ public class CountryFlagServiceTest {
 
   @Mock
   private I18n i18n;
+  @Mock
+  private AssetService assetService;
 
   @Before
   public void setUp() {
     when(i18n.getCountryNameLocalized(anyString())).thenReturn(""); //Default result to avoid nullPointers
-    service = new CountryFlagService(i18n);
+    service = new CountryFlagService(i18n, assetService);
   }
 
   @Test
@@ -6,7 +6,7 @@ import com.faforever.client.config.ClientProperties.Irc;
 import com.faforever.client.net.ConnectionState;
 import com.faforever.client.player.Player;
 import com.faforever.client.player.PlayerBuilder;
-import com.faforever.client.player.PlayerOnlineEvent;
+import com.faforever.client.player.PlayersUpdatedEvent;
 import com.faforever.client.player.PlayerService;
 import com.faforever.client.player.SocialStatus;
 import com.faforever.client.preferences.Preferences;
@@ -54,6 +54,7 @@ import org.mockito.Mock;
 import org.testfx.util.WaitForAsyncUtils;
 
 import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -65,8 +66,10 @@ import java.util.function.Consumer;
 import static com.faforever.client.chat.ChatColorMode.DEFAULT;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
@@ -123,6 +126,8 @@ public class KittehChatServiceTest extends AbstractPlainJavaFxTest {
   private PlayerService playerService;
   @Mock
   private EventBus eventBus;
+  @Mock
+  private ChatHistoryService chatHistoryService;
 
   @Captor
   private ArgumentCaptor<Consumer<SocialMessage>> socialMessageListenerCaptor;
@@ -142,7 +147,7 @@ public class KittehChatServiceTest extends AbstractPlainJavaFxTest {
         .setReconnectDelay(100);
 
     instance = new KittehChatService(chatUserService, preferencesService, userService, fafService,
-        eventBus, clientProperties, playerService);
+        eventBus, clientProperties, playerService, chatHistoryService);
 
     Irc irc = clientProperties.getIrc();
     instance.defaultChannelName = irc.getDefaultChannel();
@@ -343,14 +348,14 @@ public class KittehChatServiceTest extends AbstractPlainJavaFxTest {
   }
 
   @Test
-  public void testOnPlayerOnline() {
+  public void testOnPlayersUpdated() {
     connect();
 
     join(defaultChannel, user1);
 
     Player player = PlayerBuilder.create(user1.getNick()).defaultValues().get();
 
-    instance.onPlayerOnline(new PlayerOnlineEvent(player));
+    instance.onPlayersUpdated(new PlayersUpdatedEvent(List.of(player)));
 
     verify(chatUserService).associatePlayerToChatUser(defaultChatUser1, player);
   }
@@ -416,6 +421,30 @@ public class KittehChatServiceTest extends AbstractPlainJavaFxTest {
     assertThat(chatChannel2.getUsers(), empty());
   }
 
+  @Test
+  public void testOnChatUserQuitWithOpenPrivateChat() {
+    List<String> removedUsernames = new ArrayList<>();
+    List<String> addedChannelNames = new ArrayList<>();
+    instance.addChatUsersByNameListener(change -> {
+      if (change.wasRemoved()) {
+        removedUsernames.add(change.getValueRemoved().getUsername());
+      }
+    });
+    instance.addChannelsListener(change -> {
+      if (change.wasAdded()) {
+        addedChannelNames.add(change.getKey());
+      }
+    });
+    connect();
+    // A private chat tab registers a membership named after the other user, see PrivateChatTabController
+    instance.getOrCreateChatUser("USER1", "USER1", false);
+
+    quit(user1);
+
+    assertThat(removedUsernames, contains("user1"));
+    assertThat(addedChannelNames, not(hasItem("USER1")));
+  }
+
   @Test
   public void testTopicChange() {
     ChatChannel chatChannel = instance.getOrCreateChannel(defaultChannel.getName());
@@ -451,6 +480,7 @@ public class KittehChatServiceTest extends AbstractPlainJavaFxTest {
     assertThat(chatMessage.getMessage(), is(message));
     assertThat(chatMessage.getUsername(), is(defaultChatUser1.getUsername()));
     assertThat(chatMessage.isAction(), is(false));
+    verify(chatHistoryService).append(chatMessage);
   }
 
   @Test
@@ -503,6 +533,7 @@ public class KittehChatServiceTest extends AbstractPlainJavaFxTest {
     sendPrivateMessage(user1, message);
 
     verify(eventBus, never()).post(any(ChatMessageEvent.class));
+    verify(chatHistoryService, never()).append(any());
   }
 
   @Test
@@ -12,6 +12,7 @@ import com.faforever.client.preferences.PreferencesBuilder;
 import com.faforever.client.preferences.PreferencesService;
 import com.faforever.client.reporting.ReportingService;
 import com.faforever.client.test.AbstractPlainJavaFxTest;
+import com.faforever.client.theme.HtmlTemplate;
 import com.faforever.client.theme.UiService;
 import com.faforever.client.uploader.ImageUploadService;
 import com.faforever.client.user.UserService;
@@ -68,6 +69,8 @@ public class MatchmakingChatControllerTest extends AbstractPlainJavaFxTest {
   @Mock
   private ChatUserService chatUserService;
   @Mock
+  private ChatHistoryService chatHistoryService;
+  @Mock
   private ApplicationEventPublisher applicationEventPublisher;
 
   private MatchmakingChatController instance;
@@ -82,6 +85,8 @@ public class MatchmakingChatControllerTest extends AbstractPlainJavaFxTest {
     when(uiService.getThemeFileUrl(CHAT_CONTAINER)).thenReturn(getClass().getResource("/theme/chat/chat_container.html"));
     when(uiService.getThemeFileUrl(CHAT_SECTION_COMPACT)).thenReturn(getClass().getResource("/theme/chat/compact/chat_section.html"));
     when(uiService.getThemeFileUrl(CHAT_TEXT_COMPACT)).thenReturn(getClass().getResource("/theme/chat/compact/chat_text.html"));
+    when(uiService.getThemeTemplate(CHAT_SECTION_COMPACT)).thenReturn(HtmlTemplate.load(getClass().getResource("/theme/chat/compact/chat_section.html")));
+    when(uiService.getThemeTemplate(CHAT_TEXT_COMPACT)).thenReturn(HtmlTemplate.load(getClass().getResource("/theme/chat/compact/chat_text.html")));
     when(timeService.asShortTime(any())).thenReturn("");
 
     instance = new MatchmakingChatController(userService, preferencesService,
@@ -89,7 +94,7 @@ public class MatchmakingChatControllerTest extends AbstractPlainJavaFxTest {
         i18n, imageUploadService, notificationService, reportingService,
         uiService, eventBus,
         audioService, chatService, webViewConfigurer, countryFlagService,
-        chatUserService, applicationEventPublisher);
+        chatUserService, applicationEventPublisher, chatHistoryService);
     loadFxml("theme/play/teammatchmaking/matchmaking_chat.fxml", clazz -> instance);
 
     instance = spy(instance);
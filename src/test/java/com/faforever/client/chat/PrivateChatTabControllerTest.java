@@ -12,6 +12,7 @@ import com.faforever.client.player.PlayerService;
 import com.faforever.client.preferences.PreferencesService;
 import com.faforever.client.reporting.ReportingService;
 import com.faforever.client.test.AbstractPlainJavaFxTest;
+import com.faforever.client.theme.HtmlTemplate;
 import com.faforever.client.theme.UiService;
 import com.faforever.client.uploader.ImageUploadService;
 import com.faforever.client.user.UserService;
@@ -77,6 +78,8 @@ public class PrivateChatTabControllerTest extends AbstractPlainJavaFxTest {
   private WatchButtonController watchButtonController;
   @Mock
   private ChatUserService chatUserService;
+  @Mock
+  private ChatHistoryService chatHistoryService;
 
   private PrivateChatTabController instance;
   private String playerName;
@@ -89,7 +92,7 @@ public class PrivateChatTabControllerTest extends AbstractPlainJavaFxTest {
 
     instance = new PrivateChatTabController(userService, preferencesService, playerService, timeService,
         i18n, imageUploadService, notificationService, reportingService, uiService, eventBus,
-        audioService, chatService, webViewConfigurer, countryFlagService, chatUserService);
+        audioService, chatService, webViewConfigurer, countryFlagService, chatUserService, chatHistoryService);
 
 
     playerName = "testUser";
@@ -100,6 +103,7 @@ public class PrivateChatTabControllerTest extends AbstractPlainJavaFxTest {
     when(timeService.asShortTime(any())).thenReturn("");
     when(i18n.get(any(), any())).then(invocation -> invocation.getArgument(0));
     when(uiService.getThemeFileUrl(any())).then(invocation -> getThemeFileUrl(invocation.getArgument(0)));
+    when(uiService.getThemeTemplate(any())).then(invocation -> HtmlTemplate.load(getThemeFileUrl(invocation.getArgument(0))));
 
     TabPane tabPane = new TabPane();
     tabPane.setSkin(new TabPaneSkin(tabPane));
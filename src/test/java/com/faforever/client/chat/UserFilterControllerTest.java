@@ -1,23 +1,20 @@
 package com.faforever.client.chat;
 
-import com.faforever.client.game.GameBuilder;
 import com.faforever.client.i18n.I18n;
-import com.faforever.client.leaderboard.LeaderboardRatingMapBuilder;
-import com.faforever.client.player.Player;
-import com.faforever.client.player.PlayerBuilder;
-import com.faforever.client.remote.domain.GameStatus;
 import com.faforever.client.test.AbstractPlainJavaFxTest;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
-import static com.faforever.client.game.PlayerStatus.HOSTING;
 import static com.faforever.client.game.PlayerStatus.IDLE;
 import static com.faforever.client.game.PlayerStatus.LOBBYING;
 import static com.faforever.client.game.PlayerStatus.PLAYING;
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class UserFilterControllerTest extends AbstractPlainJavaFxTest {
@@ -30,21 +27,13 @@ public class UserFilterControllerTest extends AbstractPlainJavaFxTest {
   private CountryFlagService flagService;
 
 
-  private ChatChannelUser chatChannelUser;
   private UserFilterController instance;
-  private Player player;
 
   @Before
   public void setUp() throws Exception {
     instance = new UserFilterController(i18n, flagService);
     instance.channelTabController = channelTabController;
 
-    player = PlayerBuilder.create("junit").defaultValues().get();
-    chatChannelUser = ChatChannelUserBuilder.create("junit")
-        .defaultValues()
-        .player(player)
-        .get();
-
     loadFxml("theme/chat/user_filter.fxml", clazz -> instance);
   }
 
@@ -55,53 +44,13 @@ public class UserFilterControllerTest extends AbstractPlainJavaFxTest {
   }
 
   @Test
-  public void testIsInClan() {
-    String testClan = "testClan";
-    player.setClan(testClan);
-    instance.clanFilterField.setText(testClan);
-
-    assertTrue(instance.isInClan(chatChannelUser));
-  }
-
-  @Test
-  public void testIsBoundedByRatingWithinBounds() {
-    player.setLeaderboardRatings(LeaderboardRatingMapBuilder.create().defaultValues().get());
-
-    instance.minRatingFilterField.setText("-100");
-    instance.maxRatingFilterField.setText("100");
-
-    assertTrue(instance.isBoundByRating(chatChannelUser));
-  }
-
-  @Test
-  public void testIsBoundedByRatingNotWithinBounds() {
-    player.setLeaderboardRatings(LeaderboardRatingMapBuilder.create().defaultValues().get());
-
-    instance.minRatingFilterField.setText("300");
-    instance.maxRatingFilterField.setText("600");
-
-    assertFalse(instance.isBoundByRating(chatChannelUser));
-  }
-
-  @Test
-  public void testIsGameStatusMatchPlaying() {
-    player.setGame(GameBuilder.create().defaultValues().status(GameStatus.PLAYING).get());
-    instance.playerStatusFilter = PLAYING;
-
-    assertTrue(instance.isGameStatusMatch(chatChannelUser));
-  }
-
-  @Test
-  public void testIsGameStatusMatchLobby() {
-    player.setGame(GameBuilder.create().defaultValues().status(GameStatus.OPEN).host(player.getUsername()).get());
-    instance.playerStatusFilter = HOSTING;
-
-    assertTrue(instance.isGameStatusMatch(chatChannelUser));
-
-    player.setGame(GameBuilder.create().defaultValues().status(GameStatus.OPEN).get());
-    instance.playerStatusFilter = LOBBYING;
+  public void testFilteringIsDelayedWhileTyping() {
+    instance.clanFilterField.setText("t");
+    instance.clanFilterField.setText("te");
 
-    assertTrue(instance.isGameStatusMatch(chatChannelUser));
+    verify(channelTabController, never()).setUserFilter(any());
+    verify(channelTabController, timeout(5000)).setUserFilter(any());
+    assertTrue(instance.isFilterApplied());
   }
 
   @Test
@@ -0,0 +1,120 @@
+package com.faforever.client.clan;
+
+import com.faforever.client.config.CacheNames;
+import com.faforever.client.preferences.PreferencesService;
+import com.faforever.client.remote.FafService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClanServiceTest {
+
+  @Rule
+  public TemporaryFolder cacheDirectory = new TemporaryFolder();
+
+  @Mock
+  private FafService fafService;
+  @Mock
+  private TaskScheduler taskScheduler;
+  @Mock
+  private CacheManager cacheManager;
+  @Mock
+  private PreferencesService preferencesService;
+
+  private ClanService instance;
+  private Clan clan;
+
+  @Before
+  public void setUp() throws Exception {
+    clan = ClanBuilder.create().defaultValues().get();
+    when(preferencesService.getCacheDirectory()).thenReturn(cacheDirectory.getRoot().toPath());
+    when(cacheManager.getCache(CacheNames.CLAN)).thenAnswer(invocation -> new ConcurrentMapCache(CacheNames.CLAN));
+
+    instance = createInstance();
+  }
+
+  @Test
+  public void testLookupsAreBatched() throws Exception {
+    when(fafService.getClansByTags(anyList())).thenReturn(CompletableFuture.completedFuture(List.of(clan)));
+
+    CompletableFuture<Optional<Clan>> clanFuture = instance.getClanByTag(clan.getTag());
+    CompletableFuture<Optional<Clan>> noClanFuture = instance.getClanByTag("none");
+    assertThat(instance.getClanByTag(clan.getTag()), is(sameInstance(clanFuture)));
+    assertThat(clanFuture.isDone(), is(false));
+
+    runScheduledBatch();
+
+    ArgumentCaptor<List<String>> tagsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(fafService).getClansByTags(tagsCaptor.capture());
+    assertThat(tagsCaptor.getValue(), containsInAnyOrder(clan.getTag(), "none"));
+    assertThat(clanFuture.get(), is(Optional.of(clan)));
+    assertThat(noClanFuture.get(), is(Optional.empty()));
+  }
+
+  @Test
+  public void testSnapshotServesNextSession() throws Exception {
+    when(fafService.getClansByTags(anyList())).thenReturn(CompletableFuture.completedFuture(List.of(clan)));
+    instance.getClanByTag(clan.getTag());
+    instance.getClanByTag("none");
+    runScheduledBatch();
+    instance.destroy();
+
+    ClanService nextInstance = createInstance();
+    Optional<Clan> restoredClan = nextInstance.getClanByTag(clan.getTag()).getNow(null);
+    Optional<Clan> noClan = nextInstance.getClanByTag("none").getNow(null);
+
+    verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    assertThat(restoredClan.isPresent(), is(true));
+    assertThat(restoredClan.get().getName(), is(clan.getName()));
+    assertThat(restoredClan.get().getLeader().getUsername(), is(clan.getLeader().getUsername()));
+    assertThat(noClan, is(Optional.empty()));
+  }
+
+  @Test
+  public void testFailedLookupIsRetried() {
+    when(fafService.getClansByTags(anyList())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("junit")));
+
+    CompletableFuture<Optional<Clan>> future = instance.getClanByTag(clan.getTag());
+    runScheduledBatch();
+
+    assertThat(future.isCompletedExceptionally(), is(true));
+    assertThat(instance.getClanByTag(clan.getTag()), is(not(sameInstance(future))));
+  }
+
+  private ClanService createInstance() {
+    ClanService clanService = new ClanService(fafService, taskScheduler, cacheManager, preferencesService);
+    clanService.afterPropertiesSet();
+    return clanService;
+  }
+
+  private void runScheduledBatch() {
+    ArgumentCaptor<Runnable> batchCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(taskScheduler).schedule(batchCaptor.capture(), any(Instant.class));
+    batchCaptor.getValue().run();
+  }
+}
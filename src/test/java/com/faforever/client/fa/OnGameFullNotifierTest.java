@@ -8,6 +8,7 @@ import com.faforever.client.game.GameBuilder;
 import com.faforever.client.game.GameService;
 import com.faforever.client.i18n.I18n;
 import com.faforever.client.map.MapService;
+import com.faforever.client.map.MapService.PreviewSize;
 import com.faforever.client.notification.NotificationService;
 import com.faforever.client.notification.TransientNotification;
 import com.google.common.eventbus.EventBus;
@@ -16,6 +17,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 
@@ -63,6 +65,7 @@ public class OnGameFullNotifierTest {
     Game game = GameBuilder.create().defaultValues().get();
     when(gameService.getCurrentGame()).thenReturn(game);
     when(platformService.isWindowFocused("Forged Alliance")).thenReturn(false);
+    when(mapService.loadPreview(game.getMapFolderName(), PreviewSize.SMALL)).thenReturn(CompletableFuture.completedFuture(null));
 
     CountDownLatch countDownLatch = new CountDownLatch(1);
     doAnswer(invocation -> {
@@ -86,4 +86,9 @@ public class GameInfoMessageBuilder {
     gameInfoMessage.setPasswordProtected(passwordProtected);
     return this;
   }
+
+  public GameInfoMessageBuilder ratingType(String ratingType) {
+    gameInfoMessage.setRatingType(ratingType);
+    return this;
+  }
 }
@@ -0,0 +1,62 @@
+package com.faforever.client.game;
+
+import com.faforever.client.remote.domain.GameStatus;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class GameListenerRegistryTest {
+
+  private GameListenerRegistry instance;
+  private Game game;
+
+  @Before
+  public void setUp() throws Exception {
+    instance = new GameListenerRegistry();
+    game = new Game();
+    game.setStatus(GameStatus.OPEN);
+  }
+
+  @Test
+  public void testRegisteringSameKeyReplacesListener() {
+    AtomicInteger calls = new AtomicInteger();
+    for (int i = 0; i < 100; i++) {
+      instance.register(game, "status", game.statusProperty(), (observable, oldValue, newValue) -> calls.incrementAndGet());
+    }
+
+    game.setStatus(GameStatus.PLAYING);
+
+    assertThat(calls.get(), is(1));
+    assertThat(instance.getListenerCount(game), is(1));
+  }
+
+  @Test
+  public void testUnregisterAll() {
+    AtomicInteger calls = new AtomicInteger();
+    instance.register(game, "status", game.statusProperty(), (observable, oldValue, newValue) -> calls.incrementAndGet());
+    instance.register(game, "players", game.numPlayersProperty(), observable -> calls.incrementAndGet());
+
+    instance.unregisterAll(game);
+    game.setStatus(GameStatus.PLAYING);
+    game.setNumPlayers(4);
+
+    assertThat(calls.get(), is(0));
+    assertThat(instance.getListenerCount(game), is(0));
+  }
+
+  @Test
+  public void testGamesWithSameIdAreDistinct() {
+    Game otherGame = new Game();
+    instance.register(game, "status", game.statusProperty(), (observable, oldValue, newValue) -> {});
+    instance.register(otherGame, "status", otherGame.statusProperty(), (observable, oldValue, newValue) -> {});
+
+    instance.unregister(game, "status");
+
+    assertThat(instance.getListenerCount(game), is(0));
+    assertThat(instance.getListenerCount(otherGame), is(1));
+  }
+}
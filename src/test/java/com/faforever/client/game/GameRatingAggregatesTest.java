@@ -0,0 +1,91 @@
+package com.faforever.client.game;
+
+import com.faforever.client.leaderboard.LeaderboardRatingBuilder;
+import com.faforever.client.player.Player;
+import com.faforever.client.player.PlayerBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+
+public class GameRatingAggregatesTest {
+
+  private Map<String, Player> players;
+  private AtomicInteger lookups;
+  private GameRatingAggregates instance;
+
+  @Before
+  public void setUp() {
+    players = new HashMap<>();
+    lookups = new AtomicInteger();
+    instance = new GameRatingAggregates(username -> {
+      lookups.incrementAndGet();
+      return Optional.ofNullable(players.get(username));
+    });
+    addPlayer("Alice", 1000);
+    addPlayer("Bob", 2000);
+    addPlayer("Charlie", 600);
+  }
+
+  @Test
+  public void testUpdateOnlyResolvesJoinedPlayers() {
+    assertThat(instance.update(snapshot("Alice", "Bob")), is(1500.0));
+    assertThat(lookups.get(), is(2));
+
+    assertThat(instance.update(snapshot("Alice", "Bob", "Charlie")), is(1200.0));
+    assertThat(lookups.get(), is(3));
+
+    assertThat(instance.update(snapshot("Alice")), is(1000.0));
+    assertThat(lookups.get(), is(3));
+  }
+
+  @Test
+  public void testUnknownPlayersAreNotCountedUntilKnown() {
+    assertThat(instance.update(snapshot("Alice", "Dave")), is(1000.0));
+
+    Player dave = addPlayer("Dave", 3000);
+
+    assertThat(instance.updatePlayer(dave), hasEntry(1, 2000.0));
+  }
+
+  @Test
+  public void testUpdatePlayerRating() {
+    instance.update(snapshot("Alice", "Bob"));
+    Player alice = players.get("Alice");
+    alice.setLeaderboardRatings(Map.of("global", LeaderboardRatingBuilder.create().mean(1400).deviation(0).get()));
+
+    assertThat(instance.updatePlayer(alice), hasEntry(1, 1700.0));
+  }
+
+  @Test
+  public void testRemovedGameIsNotUpdated() {
+    instance.update(snapshot("Alice", "Bob"));
+    instance.remove(1);
+
+    assertThat(instance.updatePlayer(players.get("Alice")), is(anEmptyMap()));
+  }
+
+  private Player addPlayer(String username, float rating) {
+    Player player = PlayerBuilder.create(username)
+        .leaderboardRatings(Map.of("global", LeaderboardRatingBuilder.create().mean(rating).deviation(0).get()))
+        .get();
+    players.put(username, player);
+    return player;
+  }
+
+  private static GameSnapshot snapshot(String... usernames) {
+    GameInfoMessageBuilder builder = GameInfoMessageBuilder.create(1).defaultValues().ratingType("global");
+    for (String username : usernames) {
+      builder.addTeamMember("1", username);
+    }
+    return GameSnapshot.of(builder.get());
+  }
+}
@@ -31,6 +31,7 @@ import com.faforever.client.ui.preferences.event.GameDirectoryChooseEvent;
 import com.faforever.commons.api.dto.Faction;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableMap;
@@ -82,6 +83,7 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doAnswer;
@@ -448,6 +450,35 @@ public class GameServiceTest extends AbstractPlainJavaFxTest {
     ));
   }
 
+  @Test
+  public void testOnGameInfoCoalescesUpdatesUntilApplied() throws Exception {
+    CountDownLatch messagesReceivedLatch = new CountDownLatch(1);
+    Platform.runLater(() -> {
+      try {
+        messagesReceivedLatch.await();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+
+    gameInfoMessageListenerCaptor.getValue().accept(GameInfoMessageBuilder.create(1).defaultValues().title("Game 1").get());
+    gameInfoMessageListenerCaptor.getValue().accept(GameInfoMessageBuilder.create(2).defaultValues().title("Game 2").get());
+    gameInfoMessageListenerCaptor.getValue().accept(GameInfoMessageBuilder.create(1).defaultValues().title("Game 1 modified").get());
+    gameInfoMessageListenerCaptor.getValue().accept(GameInfoMessageBuilder.create(3).defaultValues().title("Game 3").get());
+    gameInfoMessageListenerCaptor.getValue().accept(GameInfoMessageBuilder.create(3).defaultValues().state(CLOSED).get());
+    messagesReceivedLatch.countDown();
+    WaitForAsyncUtils.waitForFxEvents();
+
+    assertThat(instance.getGames(), containsInAnyOrder(
+        allOf(GameMatchers.hasId(1), GameMatchers.hasTitle("Game 1 modified")),
+        GameMatchers.hasId(2)
+    ));
+    verify(eventBus).post(argThat(event -> event instanceof GamesChangedEvent
+        && ((GamesChangedEvent) event).getAddedGames().size() == 2
+        && ((GamesChangedEvent) event).getUpdatedGames().isEmpty()
+        && ((GamesChangedEvent) event).getRemovedGames().isEmpty()));
+  }
+
   @Test
   public void testOnGameInfoMessageSetsCurrentGameIfUserIsInAndStatusOpen() {
     assertThat(instance.getCurrentGame(), nullValue());
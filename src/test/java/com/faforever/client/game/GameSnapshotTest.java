@@ -0,0 +1,86 @@
+package com.faforever.client.game;
+
+import javafx.collections.MapChangeListener;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.faforever.client.remote.domain.GameStatus.PLAYING;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class GameSnapshotTest {
+
+  @Test
+  public void testApplyToNewGame() {
+    GameSnapshot snapshot = GameSnapshot.of(GameInfoMessageBuilder.create(1).defaultValues()
+        .title("Game &amp; more")
+        .addTeamMember("1", "Alice")
+        .addTeamMember("-1", "Observer")
+        .numPlayers(2)
+        .get());
+    Game game = new Game();
+
+    snapshot.applyTo(game, null);
+
+    assertThat(game.getId(), is(1));
+    assertThat(game.getTitle(), is("Game & more"));
+    assertThat(game.getNumPlayers(), is(1));
+    assertThat(game.getTeams().get("1"), contains("Alice"));
+  }
+
+  @Test
+  public void testApplyOnlyChangedTeams() {
+    GameSnapshot previous = GameSnapshot.of(GameInfoMessageBuilder.create(1).defaultValues()
+        .addTeamMember("1", "Alice")
+        .addTeamMember("2", "Bob")
+        .get());
+    GameSnapshot current = GameSnapshot.of(GameInfoMessageBuilder.create(1).defaultValues()
+        .addTeamMember("1", "Alice")
+        .addTeamMember("2", "Bob")
+        .addTeamMember("2", "Charlie")
+        .get());
+    Game game = new Game();
+    previous.applyTo(game, null);
+
+    List<String> changedTeams = new ArrayList<>();
+    game.getTeams().addListener((MapChangeListener<String, List<String>>) change -> changedTeams.add(change.getKey()));
+
+    current.applyTo(game, previous);
+
+    assertThat(changedTeams, contains("2"));
+    assertThat(game.getTeams().get("2"), contains("Bob", "Charlie"));
+  }
+
+  @Test
+  public void testApplyUnchangedSnapshotFiresNothing() {
+    GameSnapshot previous = GameSnapshot.of(GameInfoMessageBuilder.create(1).defaultValues().addTeamMember("1", "Alice").get());
+    GameSnapshot current = GameSnapshot.of(GameInfoMessageBuilder.create(1).defaultValues().addTeamMember("1", "Alice").get());
+    Game game = new Game();
+    previous.applyTo(game, null);
+
+    List<Object> changes = new ArrayList<>();
+    game.getTeams().addListener((MapChangeListener<String, List<String>>) changes::add);
+    game.minRatingProperty().addListener((observable, oldValue, newValue) -> changes.add(newValue));
+
+    assertThat(current, is(previous));
+    current.applyTo(game, previous);
+
+    assertThat(changes, empty());
+  }
+
+  @Test
+  public void testApplyChangedStatus() {
+    GameSnapshot previous = GameSnapshot.of(GameInfoMessageBuilder.create(1).defaultValues().get());
+    GameSnapshot current = GameSnapshot.of(GameInfoMessageBuilder.create(1).defaultValues().state(PLAYING).get());
+    Game game = new Game();
+    previous.applyTo(game, null);
+
+    current.applyTo(game, previous);
+
+    assertThat(game.getStatus(), is(PLAYING));
+  }
+}
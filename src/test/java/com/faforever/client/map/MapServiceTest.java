@@ -193,7 +193,7 @@ public class MapServiceTest extends AbstractPlainJavaFxTest {
   public void testLoadPreview() {
     for (PreviewSize previewSize : PreviewSize.values()) {
       Path cacheSubDir = Paths.get("maps").resolve(previewSize.folderName);
-      when(assetService.loadAndCacheImage(any(URL.class), eq(cacheSubDir), any())).thenReturn(new Image("theme/images/unknown_map.png"));
+      when(assetService.loadAndCacheImage(any(URL.class), eq(cacheSubDir), any())).thenReturn(CompletableFuture.completedFuture(new Image("theme/images/unknown_map.png")));
       instance.loadPreview("preview", previewSize);
       verify(assetService).loadAndCacheImage(any(URL.class), eq(cacheSubDir), any());
     }
@@ -79,7 +79,7 @@ public class ModCardControllerTest extends AbstractPlainJavaFxTest {
 
   @Test
   public void testSetMod() {
-    when(modService.loadThumbnail(modVersion)).thenReturn(new Image("/theme/images/default_achievement.png"));
+    when(modService.loadThumbnail(modVersion)).thenReturn(CompletableFuture.completedFuture(new Image("/theme/images/default_achievement.png")));
     instance.setModVersion(modVersion);
 
     assertEquals(modVersion.getDisplayName(), instance.nameLabel.getText());
@@ -91,7 +91,7 @@ public class ModCardControllerTest extends AbstractPlainJavaFxTest {
   @Test
   public void testSetModNoThumbnail() {
     Image image = mock(Image.class);
-    when(modService.loadThumbnail(modVersion)).thenReturn(image);
+    when(modService.loadThumbnail(modVersion)).thenReturn(CompletableFuture.completedFuture(image));
 
     instance.setModVersion(modVersion);
 
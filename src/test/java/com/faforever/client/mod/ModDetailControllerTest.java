@@ -108,7 +108,7 @@ public class ModDetailControllerTest extends AbstractPlainJavaFxTest {
     Review review = ReviewBuilder.create().defaultValues().player(currentPlayer).get();
     modVersion.getReviews().add(review);
 
-    when(modService.loadThumbnail(modVersion)).thenReturn(new Image("/theme/images/default_achievement.png"));
+    when(modService.loadThumbnail(modVersion)).thenReturn(CompletableFuture.completedFuture(new Image("/theme/images/default_achievement.png")));
     instance.setModVersion(modVersion);
 
     WaitForAsyncUtils.waitForFxEvents();
@@ -126,7 +126,7 @@ public class ModDetailControllerTest extends AbstractPlainJavaFxTest {
   public void testSetModWithNoUploader() {
     modVersion.getMod().setUploader(null);
 
-    when(modService.loadThumbnail(modVersion)).thenReturn(new Image("/theme/images/default_achievement.png"));
+    when(modService.loadThumbnail(modVersion)).thenReturn(CompletableFuture.completedFuture(new Image("/theme/images/default_achievement.png")));
     instance.setModVersion(modVersion);
 
     WaitForAsyncUtils.waitForFxEvents();
@@ -142,7 +142,7 @@ public class ModDetailControllerTest extends AbstractPlainJavaFxTest {
   public void testSetModNoThumbnailLoadsDefault() {
     modVersion.setThumbnailUrl(null);
     Image image = mock(Image.class);
-    when(modService.loadThumbnail(modVersion)).thenReturn(image);
+    when(modService.loadThumbnail(modVersion)).thenReturn(CompletableFuture.completedFuture(image));
 
     instance.setModVersion(modVersion);
 
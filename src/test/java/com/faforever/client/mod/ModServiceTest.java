@@ -402,7 +402,7 @@ public class ModServiceTest extends AbstractPlainJavaFxTest {
         .thumbnailUrl(new URL("http://127.0.0.1:65534/thumbnail.png"))
         .get();
     instance.loadThumbnail(modVersion);
-    verify(assetService).loadAndCacheImage(eq(modVersion.getThumbnailUrl()), eq(Paths.get("mods")), any());
+    verify(assetService).loadAndCacheImage(eq(modVersion.getThumbnailUrl()), eq(Paths.get("mods")), any(), eq(128), eq(128));
   }
 
   private InstallModTask stubInstallModTask() {
@@ -12,6 +12,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
+
 public class FriendOnlineNotifierTest {
   @Mock
   private NotificationService notificationService;
@@ -42,7 +44,7 @@ public class FriendOnlineNotifierTest {
     preferencesService.getPreferences().getNotification().setFriendOnlineSoundEnabled(false);
     preferencesService.getPreferences().getNotification().setFriendOnlineToastEnabled(false);
 
-    instance.onUserOnline(new PlayerOnlineEvent(new Player("axel12")));
+    instance.onPlayersUpdated(new PlayersUpdatedEvent(List.of(new Player("axel12"))));
 
     Mockito.verifyZeroInteractions(notificationService, audioService);
   }
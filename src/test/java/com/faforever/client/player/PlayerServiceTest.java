@@ -1,9 +1,7 @@
 package com.faforever.client.player;
 
 import com.faforever.client.game.Game;
-import com.faforever.client.game.GameAddedEvent;
-import com.faforever.client.game.GameRemovedEvent;
-import com.faforever.client.game.GameUpdatedEvent;
+import com.faforever.client.game.GamesChangedEvent;
 import com.faforever.client.remote.FafService;
 import com.faforever.client.remote.domain.GameStatus;
 import com.faforever.client.remote.domain.PlayersMessage;
@@ -235,12 +233,12 @@ public class PlayerServiceTest {
     Player player1 = instance.createAndGetPlayerForUsername("JUnit1");
     Player player2 = instance.createAndGetPlayerForUsername("JUnit2");
 
-    instance.onGameAdded(new GameAddedEvent(game));
+    instance.onGamesChanged(new GamesChangedEvent(List.of(game), List.of(), List.of()));
 
     assertThat(player1.getGame(), is(game));
     assertThat(player2.getGame(), is(game));
 
-    instance.onGameRemoved(new GameRemovedEvent(game));
+    instance.onGamesChanged(new GamesChangedEvent(List.of(), List.of(), List.of(game)));
 
     assertThat(player1.getGame(), is(nullValue()));
     assertThat(player2.getGame(), is(nullValue()));
@@ -258,14 +256,14 @@ public class PlayerServiceTest {
     Player player2 = instance.createAndGetPlayerForUsername("JUnit2");
     game.setHost("JUnit2");
 
-    instance.onGameAdded(new GameAddedEvent(game));
+    instance.onGamesChanged(new GamesChangedEvent(List.of(game), List.of(), List.of()));
 
     assertThat(player1.getGame(), is(game));
     assertThat(player2.getGame(), is(game));
 
     teams.remove("1");
 
-    instance.onGameUpdated(new GameUpdatedEvent(game));
+    instance.onGamesChanged(new GamesChangedEvent(List.of(), List.of(game), List.of()));
 
     assertThat(player1.getGame(), is(nullValue()));
     assertThat(player2.getGame(), is(game));
@@ -283,14 +281,14 @@ public class PlayerServiceTest {
     Player player2 = instance.createAndGetPlayerForUsername("JUnit2");
     game.setHost("JUnit2");
 
-    instance.onGameAdded(new GameAddedEvent(game));
+    instance.onGamesChanged(new GamesChangedEvent(List.of(game), List.of(), List.of()));
 
     assertThat(player1.getGame(), is(game));
     assertThat(player2.getGame(), is(game));
 
     game.setStatus(GameStatus.CLOSED);
 
-    instance.onGameUpdated(new GameUpdatedEvent(game));
+    instance.onGamesChanged(new GamesChangedEvent(List.of(), List.of(game), List.of()));
 
     assertThat(player1.getGame(), is(nullValue()));
     assertThat(player2.getGame(), is(nullValue()));
@@ -0,0 +1,76 @@
+package com.faforever.client.remote;
+
+import com.faforever.client.preferences.PreferencesService;
+import com.faforever.client.test.AbstractPlainJavaFxTest;
+import javafx.scene.image.Image;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.when;
+
+public class AssetServiceTest extends AbstractPlainJavaFxTest {
+
+  @Rule
+  public TemporaryFolder cacheDirectory = new TemporaryFolder();
+
+  @Mock
+  private PreferencesService preferencesService;
+
+  private AssetService instance;
+  private URL imageUrl;
+
+  @Before
+  public void setUp() throws Exception {
+    when(preferencesService.getCacheDirectory()).thenReturn(cacheDirectory.getRoot().toPath());
+    imageUrl = getClass().getResource("/theme/images/default_achievement.png");
+
+    instance = new AssetService(preferencesService);
+  }
+
+  @Test
+  public void testLoadAndCacheImageDecodesOnce() throws Exception {
+    Image image = instance.loadAndCacheImage(imageUrl, Paths.get("achievements"), null).get();
+    Image cachedImage = instance.loadAndCacheImage(imageUrl, Paths.get("achievements"), null).get();
+
+    assertThat(cachedImage, is(sameInstance(image)));
+    assertThat(Files.exists(cacheDirectory.getRoot().toPath().resolve("achievements").resolve("default_achievement.png")), is(true));
+    assertThat(instance.getImageCacheStats().missCount(), is(1L));
+    assertThat(instance.getImageCacheStats().hitCount(), is(1L));
+  }
+
+  @Test
+  public void testLoadImageScalesDown() throws Exception {
+    Image image = instance.loadImage(imageUrl, 16, 16).get();
+
+    assertThat(image.getWidth(), lessThanOrEqualTo(16d));
+    assertThat(image.getHeight(), lessThanOrEqualTo(16d));
+  }
+
+  @Test
+  public void testLoadAndCacheImageReturnsDefaultIfImageCantBeLoaded() throws Exception {
+    Path missingFile = cacheDirectory.getRoot().toPath().resolve("missing.png");
+    Image defaultImage = new Image(imageUrl.toExternalForm());
+
+    Image image = instance.loadAndCacheImage(missingFile.toUri().toURL(), Paths.get("maps"), () -> defaultImage).get();
+
+    assertThat(image, is(sameInstance(defaultImage)));
+  }
+
+  @Test
+  public void testLoadAndCacheImageWithoutUrl() throws Exception {
+    assertThat(instance.loadAndCacheImage(null, Paths.get("avatars"), null).get(), is(nullValue()));
+  }
+}
@@ -63,6 +63,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -225,6 +226,14 @@ public class ServerAccessorImplTest extends AbstractPlainJavaFxTest {
     assertNotNull(loginFuture.get(TIMEOUT, TIMEOUT_UNIT));
   }
 
+  @Test
+  public void testEmptyMessagesAreIgnored() throws Exception {
+    instance.onServerMessage(null);
+    instance.onServerMessage("");
+
+    verifyNoInteractions(eventBus);
+  }
+
   @Test
   public void testRankedMatchNotification() throws Exception {
     connectAndLogIn();
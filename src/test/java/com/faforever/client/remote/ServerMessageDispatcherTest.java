@@ -0,0 +1,113 @@
+package com.faforever.client.remote;
+
+import com.faforever.client.fa.relay.GpgServerMessageType;
+import com.faforever.client.remote.domain.FafServerMessage;
+import com.faforever.client.remote.domain.IceServerMessage;
+import com.faforever.client.remote.domain.FafServerMessageType;
+import com.faforever.client.remote.domain.MessageTarget;
+import com.faforever.client.remote.domain.NoticeMessage;
+import com.faforever.client.remote.gson.GpgServerMessageTypeTypeAdapter;
+import com.faforever.client.remote.gson.MessageTargetTypeAdapter;
+import com.faforever.client.remote.gson.ServerMessageTypeTypeAdapter;
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+public class ServerMessageDispatcherTest {
+
+  private static final String NOTICE_JSON = "{\"style\": \"info\", \"text\": \"Hello\", \"command\": \"notice\"}";
+
+  private ServerMessageDispatcher instance;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .registerTypeAdapter(FafServerMessageType.class, ServerMessageTypeTypeAdapter.INSTANCE)
+        .registerTypeAdapter(GpgServerMessageType.class, GpgServerMessageTypeTypeAdapter.INSTANCE)
+        .registerTypeAdapter(MessageTarget.class, MessageTargetTypeAdapter.INSTANCE)
+        .create();
+    instance = new ServerMessageDispatcher(gson);
+  }
+
+  @Test
+  public void testDispatchToTypeAndSuperTypeListeners() throws Exception {
+    List<NoticeMessage> noticeMessages = new ArrayList<>();
+    List<FafServerMessage> fafServerMessages = new ArrayList<>();
+    instance.addListener(NoticeMessage.class, noticeMessages::add);
+    instance.addListener(FafServerMessage.class, fafServerMessages::add);
+
+    instance.dispatch(NOTICE_JSON);
+
+    assertThat(noticeMessages, hasSize(1));
+    assertThat(noticeMessages.get(0).getText(), is("Hello"));
+    assertThat(fafServerMessages, contains(noticeMessages.get(0)));
+  }
+
+  @Test
+  public void testMessageWithoutListenersIsNotMaterialized() throws Exception {
+    instance.dispatch(NOTICE_JSON);
+
+    ServerMessageDispatcher.DecodeStatistics statistics = instance.getDecodeStatistics().get("notice");
+    assertThat(statistics.getCount(), is(1L));
+    assertThat(statistics.getMaterializedCount(), is(0L));
+  }
+
+  @Test
+  public void testRemovedListenerIsNotCalled() throws Exception {
+    List<NoticeMessage> noticeMessages = new ArrayList<>();
+    Consumer<NoticeMessage> listener = noticeMessages::add;
+    instance.addListener(NoticeMessage.class, listener);
+    instance.removeListener(NoticeMessage.class, listener);
+
+    instance.dispatch(NOTICE_JSON);
+
+    assertThat(noticeMessages, empty());
+    assertThat(instance.getDecodeStatistics().get("notice").getMaterializedCount(), is(0L));
+  }
+
+  @Test
+  public void testUnknownCommandIsSkipped() throws Exception {
+    List<FafServerMessage> fafServerMessages = new ArrayList<>();
+    instance.addListener(FafServerMessage.class, fafServerMessages::add);
+
+    instance.dispatch("{\"command\": \"something_new\", \"payload\": [1, 2, {\"a\": 3}]}");
+
+    assertThat(fafServerMessages, empty());
+    assertThat(instance.getDecodeStatistics().get("something_new").getCount(), is(1L));
+  }
+
+  @Test
+  public void testPeekStopsShortlyAfterCommand() throws Exception {
+    // Without a listener, the message is never parsed beyond the peeked fields, so the broken tail goes unnoticed
+    instance.dispatch("{\"command\": \"notice\", \"style\": \"info\", \"text\": \"Hello\", \"broken\": }");
+
+    assertThat(instance.getDecodeStatistics().get("notice").getCount(), is(1L));
+  }
+
+  @Test
+  public void testTargetAfterOtherFieldsIsFound() throws Exception {
+    List<IceServerMessage> iceServerMessages = new ArrayList<>();
+    List<FafServerMessage> fafServerMessages = new ArrayList<>();
+    instance.addListener(IceServerMessage.class, iceServerMessages::add);
+    instance.addListener(FafServerMessage.class, fafServerMessages::add);
+
+    instance.dispatch("{\"command\": \"IceMsg\", \"args\": [42, {\"type\": \"offer\"}], \"target\": \"game\"}");
+
+    assertThat(iceServerMessages, hasSize(1));
+    assertThat(iceServerMessages.get(0).getSender(), is(42));
+    assertThat(fafServerMessages, empty());
+  }
+}
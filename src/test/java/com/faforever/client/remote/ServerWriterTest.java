@@ -0,0 +1,110 @@
+package com.faforever.client.remote;
+
+import com.faforever.client.fa.relay.GpgClientCommand;
+import com.faforever.client.fa.relay.GpgClientMessageSerializer;
+import com.faforever.client.fa.relay.GpgGameMessage;
+import com.faforever.client.remote.domain.ClientMessage;
+import com.faforever.client.remote.domain.PingMessage;
+import com.faforever.client.remote.io.QStringFrameDecoder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class ServerWriterTest {
+
+  private static final long TIMEOUT = 5000;
+
+  private FlushRecordingOutputStream outputStream;
+  private ServerWriter instance;
+
+  @Before
+  public void setUp() throws Exception {
+    outputStream = new FlushRecordingOutputStream();
+    instance = new ServerWriter(outputStream, true);
+    instance.registerMessageSerializer(new ClientMessageSerializer(), ClientMessage.class);
+    instance.registerMessageSerializer(new GpgClientMessageSerializer(), GpgGameMessage.class);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    instance.close();
+  }
+
+  private List<String> writtenFrames() {
+    ByteBuffer buffer = ByteBuffer.wrap(outputStream.toByteArray());
+    QStringFrameDecoder frameDecoder = new QStringFrameDecoder();
+    List<String> frames = new ArrayList<>();
+    while (frameDecoder.hasFrame(buffer)) {
+      frames.add(frameDecoder.readFrame(buffer).toString());
+    }
+    return frames;
+  }
+
+  @Test
+  public void testGameMessageIsFlushedImmediately() throws Exception {
+    instance.write(new GpgGameMessage(GpgClientCommand.GAME_STATE, List.of("Idle")));
+
+    assertThat(outputStream.flushed.await(ServerWriter.BATCH_FLUSH_DELAY_MILLIS - 10, TimeUnit.MILLISECONDS), is(true));
+    assertThat(writtenFrames(), hasSize(1));
+    assertThat(writtenFrames().get(0), containsString("GameState"));
+  }
+
+  @Test
+  public void testBatchedMessagesAreCoalesced() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      instance.write(PingMessage.INSTANCE);
+    }
+
+    assertThat(outputStream.flushed.await(TIMEOUT, TimeUnit.MILLISECONDS), is(true));
+    Thread.sleep(ServerWriter.BATCH_FLUSH_DELAY_MILLIS * 2);
+
+    assertThat(writtenFrames(), hasSize(100));
+    assertThat(instance.getFlushedMessageCount(), is(100L));
+    assertThat(instance.getFlushCount(), lessThan(100L));
+    assertThat(instance.getQueueDepth(), is(0));
+  }
+
+  @Test
+  public void testCloseFlushesPendingMessages() throws Exception {
+    instance.write(PingMessage.INSTANCE);
+    instance.close();
+
+    assertThat(writtenFrames(), hasSize(1));
+  }
+
+  @Test
+  public void testStreamIsClosedByWriterThread() throws Exception {
+    instance.write(PingMessage.INSTANCE);
+    instance.close();
+
+    assertThat(outputStream.closingThreadName, is("server-writer"));
+  }
+
+  private static class FlushRecordingOutputStream extends ByteArrayOutputStream {
+    private final CountDownLatch flushed = new CountDownLatch(1);
+    private volatile String closingThreadName;
+
+    @Override
+    public void flush() {
+      flushed.countDown();
+    }
+
+    @Override
+    public void close() {
+      closingThreadName = Thread.currentThread().getName();
+    }
+  }
+}
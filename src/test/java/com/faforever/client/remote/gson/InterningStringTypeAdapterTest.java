@@ -0,0 +1,123 @@
+package com.faforever.client.remote.gson;
+
+import com.faforever.client.remote.domain.FafServerMessageType;
+import com.faforever.client.remote.domain.GameInfoMessage;
+import com.faforever.client.remote.domain.GameStatus;
+import com.faforever.client.remote.domain.GameType;
+import com.faforever.client.remote.domain.MessageTarget;
+import com.faforever.client.remote.domain.Player;
+import com.faforever.client.remote.domain.PlayersMessage;
+import com.faforever.client.remote.loadtest.SyntheticLobby;
+import com.faforever.client.remote.loadtest.SyntheticLobbyProfile;
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class InterningStringTypeAdapterTest {
+
+  private static String playersJson;
+  private static String gamesJson;
+
+  @BeforeClass
+  public static void setUpClass() {
+    SyntheticLobbyProfile profile = new SyntheticLobbyProfile();
+    profile.setPlayers(10_000);
+    profile.setGames(2_000);
+    SyntheticLobby lobby = new SyntheticLobby(profile);
+
+    Gson gson = createGson(false);
+    playersJson = gson.toJson(lobby.createPlayersMessage());
+    gamesJson = gson.toJson(lobby.createGamesMessage());
+  }
+
+  @Test
+  public void testReadsEqualStringsAsSameInstance() {
+    Gson gson = createGson(true);
+
+    String first = gson.fromJson("\"Player1\"", String.class);
+    String second = gson.fromJson("\"Player1\"", String.class);
+
+    assertThat(first, sameInstance(second));
+    assertThat(gson.fromJson("null", String.class), is(nullValue()));
+  }
+
+  /**
+   * Counts the string instances the decoded players and games hold on to, with and without interning. Without it,
+   * every occurrence of a username, map name or featured mod is an instance of its own.
+   */
+  @Test
+  public void testDeduplicatesIdentifiersOfBusyLobby() {
+    StringCount withoutInterning = countStrings(createGson(false));
+    StringCount withInterning = countStrings(createGson(true));
+
+    assertThat(withInterning.instances, is(withInterning.values));
+    assertThat(withoutInterning.values, is(withInterning.values));
+    assertThat(withoutInterning.instances, greaterThan(2 * withInterning.instances));
+  }
+
+  private StringCount countStrings(Gson gson) {
+    PlayersMessage playersMessage = gson.fromJson(playersJson, PlayersMessage.class);
+    GameInfoMessage gamesMessage = gson.fromJson(gamesJson, GameInfoMessage.class);
+
+    Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+    Set<String> values = new HashSet<>();
+    Consumer<String> counter = string -> {
+      if (string != null) {
+        instances.add(string);
+        values.add(string);
+      }
+    };
+
+    for (Player player : playersMessage.getPlayers()) {
+      counter.accept(player.getLogin());
+      counter.accept(player.getClan());
+      counter.accept(player.getCountry());
+    }
+    for (GameInfoMessage game : gamesMessage.getGames()) {
+      counter.accept(game.getMapname());
+      counter.accept(game.getFeaturedMod());
+      game.getTeams().forEach((team, players) -> {
+        counter.accept(team);
+        players.forEach(counter);
+      });
+    }
+    return new StringCount(instances.size(), values.size());
+  }
+
+  private static Gson createGson(boolean interning) {
+    GsonBuilder gsonBuilder = new GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .registerTypeAdapter(FafServerMessageType.class, ServerMessageTypeTypeAdapter.INSTANCE)
+        .registerTypeAdapter(MessageTarget.class, MessageTargetTypeAdapter.INSTANCE)
+        .registerTypeAdapter(GameStatus.class, GameStateTypeAdapter.INSTANCE)
+        .registerTypeAdapter(GameType.class, GameTypeTypeAdapter.INSTANCE);
+    if (interning) {
+      gsonBuilder.registerTypeAdapter(String.class, InterningStringTypeAdapter.INSTANCE);
+    }
+    return gsonBuilder.create();
+  }
+
+  private static class StringCount {
+    private final int instances;
+    private final int values;
+
+    private StringCount(int instances, int values) {
+      this.instances = instances;
+      this.values = values;
+    }
+  }
+}
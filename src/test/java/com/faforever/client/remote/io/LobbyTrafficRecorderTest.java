@@ -0,0 +1,65 @@
+package com.faforever.client.remote.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class LobbyTrafficRecorderTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static ByteBuffer frames(String... strings) {
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    for (String string : strings) {
+      byte[] bytes = string.getBytes(StandardCharsets.UTF_16BE);
+      buffer.putInt(Integer.BYTES + bytes.length);
+      buffer.putInt(bytes.length);
+      buffer.put(bytes);
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  @Test
+  public void testRecordAndReadBack() throws Exception {
+    Path file = temporaryFolder.getRoot().toPath().resolve("capture.bin.gz");
+    QStringFrameDecoder frameDecoder = new QStringFrameDecoder();
+    ByteBuffer buffer = frames("{\"command\": \"welcome\"}", "PING");
+
+    try (LobbyTrafficRecorder recorder = new LobbyTrafficRecorder(file)) {
+      while (frameDecoder.hasFrame(buffer)) {
+        int position = buffer.position();
+        recorder.record(buffer, frameDecoder.frameSize(buffer));
+        assertThat(buffer.position(), is(position));
+        frameDecoder.readFrame(buffer);
+      }
+    }
+
+    try (LobbyTrafficCapture capture = new LobbyTrafficCapture(file)) {
+      LobbyTrafficCapture.Frame first = capture.readFrame();
+      assertThat(frameDecoder.readFrame(ByteBuffer.wrap(first.getBytes())).toString(), is("{\"command\": \"welcome\"}"));
+      LobbyTrafficCapture.Frame second = capture.readFrame();
+      assertThat(frameDecoder.readFrame(ByteBuffer.wrap(second.getBytes())).toString(), is("PING"));
+      assertThat(capture.readFrame(), nullValue());
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsForeignFile() throws Exception {
+    Path file = temporaryFolder.newFile().toPath();
+    Files.write(file, new byte[]{1, 2, 3, 4});
+
+    new LobbyTrafficCapture(file);
+  }
+}
@@ -0,0 +1,49 @@
+package com.faforever.client.remote.io;
+
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Ints;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class QDataInputStreamTest {
+
+  private static byte[] qString(String string) {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_16BE);
+    return Bytes.concat(Ints.toByteArray(bytes.length), bytes);
+  }
+
+  private static QDataInputStream streamOf(byte[]... chunks) {
+    return new QDataInputStream(new DataInputStream(new ByteArrayInputStream(Bytes.concat(chunks))));
+  }
+
+  @Test
+  public void testReadQString() throws Exception {
+    QDataInputStream instance = streamOf(qString("hello"));
+
+    assertThat(instance.readQString(), is("hello"));
+  }
+
+  @Test
+  public void testReadQStringAsCharSequence() throws Exception {
+    String bigString = "\u00fcn\u00efc\u00f6d\u00e9".repeat(10_000);
+    QDataInputStream instance = streamOf(qString("hello"), qString(bigString), qString("world"));
+
+    assertThat(instance.readQStringAsCharSequence().toString(), is("hello"));
+    assertThat(instance.readQStringAsCharSequence().toString(), is(bigString));
+    assertThat(instance.readQStringAsCharSequence().toString(), is("world"));
+  }
+
+  @Test
+  public void testReadNullQStringAsCharSequence() throws Exception {
+    QDataInputStream instance = streamOf(Ints.toByteArray(-1));
+
+    assertThat(instance.readQStringAsCharSequence(), nullValue());
+  }
+}
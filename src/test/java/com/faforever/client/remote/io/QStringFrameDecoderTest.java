@@ -0,0 +1,121 @@
+package com.faforever.client.remote.io;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class QStringFrameDecoderTest {
+
+  private QStringFrameDecoder instance;
+
+  @Before
+  public void setUp() throws Exception {
+    instance = new QStringFrameDecoder();
+  }
+
+  private static ByteBuffer frame(String string) {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_16BE);
+    ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + bytes.length);
+    buffer.putInt(Integer.BYTES + bytes.length);
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+    buffer.flip();
+    return buffer;
+  }
+
+  @Test
+  public void testReadFrame() throws Exception {
+    ByteBuffer buffer = frame("{\"command\": \"game_info\"}");
+
+    assertThat(instance.hasFrame(buffer), is(true));
+    assertThat(instance.readFrame(buffer).toString(), is("{\"command\": \"game_info\"}"));
+    assertThat(buffer.hasRemaining(), is(false));
+  }
+
+  @Test
+  public void testMultipleFrames() throws Exception {
+    ByteBuffer first = frame("PING");
+    ByteBuffer second = frame("PONG");
+    ByteBuffer buffer = ByteBuffer.allocate(first.remaining() + second.remaining());
+    buffer.put(first).put(second).flip();
+
+    assertThat(instance.readFrame(buffer).toString(), is("PING"));
+    assertThat(instance.hasFrame(buffer), is(true));
+    assertThat(instance.readFrame(buffer).toString(), is("PONG"));
+    assertThat(instance.hasFrame(buffer), is(false));
+  }
+
+  @Test
+  public void testIncompleteFrame() throws Exception {
+    ByteBuffer buffer = frame("incomplete");
+    int frameSize = buffer.remaining();
+    buffer.limit(frameSize - 1);
+
+    assertThat(instance.hasFrame(buffer), is(false));
+    assertThat(instance.frameSize(buffer), is(frameSize));
+    assertThat(buffer.position(), is(0));
+  }
+
+  @Test
+  public void testIncompleteHeader() throws Exception {
+    ByteBuffer buffer = frame("incomplete");
+    buffer.limit(Integer.BYTES + 1);
+
+    assertThat(instance.hasFrame(buffer), is(false));
+    assertThat(instance.frameSize(buffer), is(-1));
+  }
+
+  @Test
+  public void testNullString() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES);
+    buffer.putInt(Integer.BYTES).putInt(-1).flip();
+
+    assertThat(instance.hasFrame(buffer), is(true));
+    assertThat(instance.readFrame(buffer), nullValue());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeStringSize() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES);
+    buffer.putInt(Integer.BYTES).putInt(-2).flip();
+
+    instance.hasFrame(buffer);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverflowingStringSize() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES);
+    buffer.putInt(Integer.BYTES).putInt(Integer.MAX_VALUE - Integer.BYTES).flip();
+
+    instance.frameSize(buffer);
+  }
+
+  @Test
+  public void testFrameOfMaximumSize() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES);
+    buffer.putInt(0).putInt(QStringFrameDecoder.MAX_FRAME_SIZE - 2 * Integer.BYTES).flip();
+
+    assertThat(instance.frameSize(buffer), is(QStringFrameDecoder.MAX_FRAME_SIZE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFrameExceedingMaximumSize() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES);
+    buffer.putInt(0).putInt(QStringFrameDecoder.MAX_FRAME_SIZE - 2 * Integer.BYTES + 1).flip();
+
+    instance.frameSize(buffer);
+  }
+
+  @Test
+  public void testFrameBiggerThanInitialBuffer() throws Exception {
+    String string = "x".repeat(100_000);
+
+    assertThat(instance.readFrame(frame(string)).toString(), is(string));
+  }
+}
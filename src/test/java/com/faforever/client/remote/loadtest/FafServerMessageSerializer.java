@@ -0,0 +1,28 @@
+package com.faforever.client.remote.loadtest;
+
+import com.faforever.client.remote.JsonMessageSerializer;
+import com.faforever.client.remote.domain.FafServerMessage;
+import com.faforever.client.remote.domain.FafServerMessageType;
+import com.faforever.client.remote.domain.GameStatus;
+import com.faforever.client.remote.domain.GameType;
+import com.faforever.client.remote.domain.MessageTarget;
+import com.faforever.client.remote.gson.GameStateTypeAdapter;
+import com.faforever.client.remote.gson.GameTypeTypeAdapter;
+import com.faforever.client.remote.gson.MessageTargetTypeAdapter;
+import com.faforever.client.remote.gson.ServerMessageTypeTypeAdapter;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Serializes messages the way the FAF server does, so that stand-in servers can talk to an unmodified client.
+ */
+class FafServerMessageSerializer extends JsonMessageSerializer<FafServerMessage> {
+
+  @Override
+  protected void addTypeAdapters(GsonBuilder gsonBuilder) {
+    gsonBuilder
+        .registerTypeAdapter(MessageTarget.class, MessageTargetTypeAdapter.INSTANCE)
+        .registerTypeAdapter(FafServerMessageType.class, ServerMessageTypeTypeAdapter.INSTANCE)
+        .registerTypeAdapter(GameStatus.class, GameStateTypeAdapter.INSTANCE)
+        .registerTypeAdapter(GameType.class, GameTypeTypeAdapter.INSTANCE);
+  }
+}
@@ -0,0 +1,155 @@
+package com.faforever.client.remote.loadtest;
+
+import com.faforever.client.remote.io.LobbyTrafficCapture;
+import com.faforever.client.remote.io.LobbyTrafficCapture.Frame;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.utils.IOUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A local stand-in for the FAF lobby server which replays a capture recorded by {@link
+ * com.faforever.client.remote.io.LobbyTrafficRecorder} to the first client that connects. The capture is replayed
+ * with its original timing divided by the specified speed, or as fast as possible. Whatever the client sends is read
+ * and discarded, so an unmodified client can be pointed at it using {@code --faf-client.server.host=localhost
+ * --faf-client.server.port=<port>}.
+ * <p>
+ * Usage: {@code gradlew replayLobbyTraffic --args="<capture file> [speed (e.g. 1, 10 or max)] [port]"}
+ */
+@Slf4j
+public class LobbyTrafficReplayServer implements Closeable {
+
+  public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+  private static final int DEFAULT_PORT = 8001;
+
+  private final Path captureFile;
+  private final double speed;
+  private final ServerSocket serverSocket;
+  private Socket clientSocket;
+  private Thread inputDrainer;
+
+  public LobbyTrafficReplayServer(Path captureFile, double speed, int port) throws IOException {
+    if (speed <= 0) {
+      throw new IllegalArgumentException("Speed must be positive: " + speed);
+    }
+    this.captureFile = captureFile;
+    this.speed = speed;
+    this.serverSocket = new ServerSocket(port, 1, InetAddress.getLoopbackAddress());
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 1) {
+      System.err.println("Usage: LobbyTrafficReplayServer <capture file> [speed (e.g. 1, 10 or max)] [port]");
+      System.exit(1);
+    }
+    Path captureFile = Path.of(args[0]);
+    double speed = args.length > 1 ? parseSpeed(args[1]) : 1;
+    int port = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PORT;
+
+    try (LobbyTrafficReplayServer server = new LobbyTrafficReplayServer(captureFile, speed, port)) {
+      log.info("Waiting for a client on port {}", server.getPort());
+      ReplayResult result = server.replay();
+      log.info("Replayed {} frames ({} bytes) in {}", result.getFrames(), result.getBytes(), result.getDuration());
+      server.awaitClientDisconnect();
+    }
+  }
+
+  static double parseSpeed(String speed) {
+    if ("max".equalsIgnoreCase(speed)) {
+      return MAX_SPEED;
+    }
+    return Double.parseDouble(speed.replaceFirst("[xX]$", ""));
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Waits for a client to connect and replays the whole capture to it. The connection is kept open afterwards so that
+   * the client doesn't start reconnecting.
+   */
+  public ReplayResult replay() throws IOException {
+    clientSocket = serverSocket.accept();
+    log.info("Client connected from {}, replaying {} at speed {}", clientSocket.getRemoteSocketAddress(), captureFile, speed);
+    inputDrainer = startInputDrainer(clientSocket);
+
+    long frames = 0;
+    long bytes = 0;
+    long startTime = System.nanoTime();
+    long scheduledNanos = 0;
+
+    OutputStream outputStream = new BufferedOutputStream(clientSocket.getOutputStream(), 64 * 1024);
+    try (LobbyTrafficCapture capture = new LobbyTrafficCapture(captureFile)) {
+      Frame frame;
+      while ((frame = capture.readFrame()) != null) {
+        if (speed != MAX_SPEED) {
+          scheduledNanos += (long) (TimeUnit.MICROSECONDS.toNanos(frame.getDelayMicros()) / speed);
+          long waitNanos = startTime + scheduledNanos - System.nanoTime();
+          if (waitNanos > 0) {
+            outputStream.flush();
+            LockSupport.parkNanos(waitNanos);
+          }
+        }
+        outputStream.write(frame.getBytes());
+        frames++;
+        bytes += frame.getBytes().length;
+      }
+    }
+    outputStream.flush();
+
+    return new ReplayResult(frames, bytes, Duration.ofNanos(System.nanoTime() - startTime));
+  }
+
+  /**
+   * Reads and discards everything the client sends, so that it never blocks on a full socket buffer.
+   */
+  private static Thread startInputDrainer(Socket socket) {
+    Thread thread = new Thread(() -> {
+      byte[] buffer = new byte[8 * 1024];
+      try {
+        InputStream inputStream = socket.getInputStream();
+        while (inputStream.read(buffer) != -1) {
+          // Discard
+        }
+      } catch (IOException e) {
+        log.debug("Stopped reading from client", e);
+      }
+    }, "replay-input-drainer");
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  /**
+   * Blocks until the connected client closes the connection.
+   */
+  public void awaitClientDisconnect() throws InterruptedException {
+    inputDrainer.join();
+  }
+
+  @Override
+  public void close() throws IOException {
+    IOUtils.closeQuietly(clientSocket);
+    serverSocket.close();
+  }
+
+  @Value
+  public static class ReplayResult {
+    long frames;
+    long bytes;
+    Duration duration;
+  }
+}
@@ -0,0 +1,77 @@
+package com.faforever.client.remote.loadtest;
+
+import com.faforever.client.remote.io.LobbyTrafficRecorder;
+import com.faforever.client.remote.io.QStringFrameDecoder;
+import com.faforever.client.remote.loadtest.LobbyTrafficReplayServer.ReplayResult;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class LobbyTrafficReplayServerTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path writeCapture(int frames) throws Exception {
+    Path file = temporaryFolder.getRoot().toPath().resolve("capture.bin.gz");
+    try (LobbyTrafficRecorder recorder = new LobbyTrafficRecorder(file)) {
+      for (int i = 0; i < frames; i++) {
+        byte[] bytes = ("{\"command\": \"ping\", \"index\": " + i + "}").getBytes(StandardCharsets.UTF_16BE);
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + bytes.length);
+        buffer.putInt(Integer.BYTES + bytes.length).putInt(bytes.length).put(bytes).flip();
+        recorder.record(buffer, buffer.remaining());
+      }
+    }
+    return file;
+  }
+
+  @Test
+  public void testReplayAtMaxSpeed() throws Exception {
+    Path file = writeCapture(100);
+
+    try (LobbyTrafficReplayServer server = new LobbyTrafficReplayServer(file, LobbyTrafficReplayServer.MAX_SPEED, 0)) {
+      CompletableFuture<ReplayResult> replayFuture = CompletableFuture.supplyAsync(() -> {
+        try {
+          return server.replay();
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+
+      try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+        DataInputStream inputStream = new DataInputStream(socket.getInputStream());
+        QStringFrameDecoder frameDecoder = new QStringFrameDecoder();
+        for (int i = 0; i < 100; i++) {
+          int blockSize = inputStream.readInt();
+          byte[] frame = new byte[Integer.BYTES + blockSize];
+          ByteBuffer.wrap(frame).putInt(blockSize);
+          inputStream.readFully(frame, Integer.BYTES, blockSize);
+
+          assertThat(frameDecoder.readFrame(ByteBuffer.wrap(frame)).toString(), is("{\"command\": \"ping\", \"index\": " + i + "}"));
+        }
+
+        ReplayResult result = replayFuture.get(10, TimeUnit.SECONDS);
+        assertThat(result.getFrames(), is(100L));
+      }
+    }
+  }
+
+  @Test
+  public void testParseSpeed() {
+    assertThat(LobbyTrafficReplayServer.parseSpeed("max"), is(LobbyTrafficReplayServer.MAX_SPEED));
+    assertThat(LobbyTrafficReplayServer.parseSpeed("10x"), is(10d));
+    assertThat(LobbyTrafficReplayServer.parseSpeed("1"), is(1d));
+  }
+}
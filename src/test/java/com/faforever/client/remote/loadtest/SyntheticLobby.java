@@ -0,0 +1,355 @@
+package com.faforever.client.remote.loadtest;
+
+import com.faforever.client.remote.domain.FafServerMessage;
+import com.faforever.client.remote.domain.GameInfoMessage;
+import com.faforever.client.remote.domain.GameStatus;
+import com.faforever.client.remote.domain.GameType;
+import com.faforever.client.remote.domain.LeaderboardRating;
+import com.faforever.client.remote.domain.Player;
+import com.faforever.client.remote.domain.PlayersMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A simulated lobby with games opening, filling up, launching and closing and players' ratings changing, as described
+ * by a {@link SyntheticLobbyProfile}. Produces the messages the FAF server would send for it, so it can either be
+ * served by {@link SyntheticLobbyServer} or fed directly into the client's message listeners.
+ * <p>
+ * Messages returned by this class are never modified afterwards. This class is not thread safe.
+ */
+public class SyntheticLobby {
+
+  private static final String[] MAP_NAMES = {
+      "scmp_009", "scmp_015", "scmp_039", "setons clutch", "dual gap adaptive", "the pyramid", "astro crater battles",
+      "twin rivers", "open palms", "gap of rohan", "canis river", "wonder open", "battle swamp", "loki", "thermo"
+  };
+  private static final String[] COUNTRIES = {"DE", "US", "RU", "FR", "GB", "PL", "SE", "NL", "CA", "AU", "CN", "BR"};
+  private static final int[] MAX_PLAYERS = {2, 4, 4, 6, 8, 8, 12};
+  private static final String[] TEAMS = {"1", "2"};
+  private static final String GLOBAL_RATING_TYPE = "global";
+  private static final String LADDER_RATING_TYPE = "ladder_1v1";
+  private static final int RANDOM_PICK_ATTEMPTS = 16;
+
+  private final SyntheticLobbyProfile profile;
+  private final Random random;
+  private final Player[] players;
+  /**
+   * The UID of the game each player is in, indexed like {@link #players}. {@code 0} if the player is not in a game.
+   */
+  private final int[] gameOfPlayer;
+  private final List<GameInfoMessage> games = new ArrayList<>();
+  private final Map<String, Integer> playerIndexByLogin = new HashMap<>();
+
+  private int nextGameUid = 1;
+  private long elapsedMillis;
+  private double pendingGameOpens;
+  private double pendingGameLaunches;
+  private double pendingGameCloses;
+  private double pendingTeamChanges;
+  private double pendingRatingUpdates;
+
+  public SyntheticLobby(SyntheticLobbyProfile profile) {
+    this.profile = profile;
+    this.random = new Random(profile.getSeed());
+    this.players = new Player[profile.getPlayers()];
+    this.gameOfPlayer = new int[profile.getPlayers()];
+
+    for (int i = 0; i < players.length; i++) {
+      players[i] = createPlayer(i + 1);
+      playerIndexByLogin.put(players[i].getLogin(), i);
+    }
+
+    for (int i = 0; i < profile.getGames(); i++) {
+      GameInfoMessage game = openGame();
+      if (game == null) {
+        break;
+      }
+      int targetSize = 1 + random.nextInt(game.getMaxPlayers());
+      while (game.getNumPlayers() < targetSize && joinGame(game)) {
+        // Fill the game up to its target size
+      }
+      if (random.nextBoolean()) {
+        game.setState(GameStatus.PLAYING);
+        game.setLaunchedAt(0d);
+      }
+    }
+  }
+
+  /**
+   * Returns a message containing all online players, as sent by the server after logging in.
+   */
+  public PlayersMessage createPlayersMessage() {
+    List<Player> playerList = new ArrayList<>(players.length);
+    for (Player player : players) {
+      playerList.add(copyOf(player));
+    }
+    PlayersMessage playersMessage = new PlayersMessage();
+    playersMessage.setPlayers(playerList);
+    return playersMessage;
+  }
+
+  /**
+   * Returns a message containing all current games, as sent by the server after logging in.
+   */
+  public GameInfoMessage createGamesMessage() {
+    List<GameInfoMessage> gameList = new ArrayList<>(games.size());
+    for (GameInfoMessage game : games) {
+      gameList.add(copyOf(game));
+    }
+    GameInfoMessage gamesMessage = new GameInfoMessage();
+    gamesMessage.setGames(gameList);
+    return gamesMessage;
+  }
+
+  /**
+   * Advances the simulation by the specified time and returns the messages describing what happened meanwhile.
+   */
+  public List<FafServerMessage> tick(long millis) {
+    elapsedMillis += millis;
+    double factor = profile.getChurnMultiplier() * millis / 1000d;
+
+    pendingGameOpens += profile.getGameOpenRate() * factor;
+    pendingGameLaunches += profile.getGameLaunchRate() * factor;
+    pendingGameCloses += profile.getGameCloseRate() * factor;
+    pendingTeamChanges += profile.getTeamChangeRate() * factor;
+    pendingRatingUpdates += profile.getRatingUpdateRate() * factor;
+
+    List<FafServerMessage> messages = new ArrayList<>();
+    for (; pendingGameOpens >= 1; pendingGameOpens--) {
+      addIfNotNull(messages, openGame());
+    }
+    for (; pendingTeamChanges >= 1; pendingTeamChanges--) {
+      addIfNotNull(messages, changeTeams());
+    }
+    for (; pendingGameLaunches >= 1; pendingGameLaunches--) {
+      addIfNotNull(messages, launchGame());
+    }
+    for (; pendingGameCloses >= 1; pendingGameCloses--) {
+      addIfNotNull(messages, closeGame());
+    }
+    for (; pendingRatingUpdates >= 1; pendingRatingUpdates--) {
+      messages.add(updateRating());
+    }
+    return messages;
+  }
+
+  public int getGameCount() {
+    return games.size();
+  }
+
+  public int getPlayerCount() {
+    return players.length;
+  }
+
+  private void addIfNotNull(List<FafServerMessage> messages, GameInfoMessage game) {
+    if (game != null) {
+      messages.add(copyOf(game));
+    }
+  }
+
+  private Player createPlayer(int id) {
+    Player player = new Player();
+    player.setId(id);
+    player.setLogin("Player" + id);
+    player.setClan(random.nextInt(3) == 0 ? "C" + random.nextInt(500) : null);
+    player.setCountry(COUNTRIES[random.nextInt(COUNTRIES.length)]);
+    player.setNumberOfGames(random.nextInt(3_000));
+
+    Map<String, LeaderboardRating> ratings = new HashMap<>();
+    ratings.put(GLOBAL_RATING_TYPE, createRating(player.getNumberOfGames()));
+    ratings.put(LADDER_RATING_TYPE, createRating(random.nextInt(player.getNumberOfGames() + 1)));
+    player.setRatings(ratings);
+    return player;
+  }
+
+  private LeaderboardRating createRating(int numberOfGames) {
+    LeaderboardRating rating = new LeaderboardRating();
+    rating.setNumberOfGames(numberOfGames);
+    rating.setRating(new float[]{(float) (1_500 + random.nextGaussian() * 300), 50 + random.nextInt(200)});
+    return rating;
+  }
+
+  /**
+   * Returns the index of a player who isn't in a game, or {@code -1} if none was found within a few attempts.
+   */
+  private int findFreePlayer() {
+    for (int attempt = 0; attempt < RANDOM_PICK_ATTEMPTS; attempt++) {
+      int index = random.nextInt(players.length);
+      if (gameOfPlayer[index] == 0) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns a random game with the specified status, or {@code null} if none was found within a few attempts.
+   */
+  private GameInfoMessage findGame(GameStatus status) {
+    for (int attempt = 0; attempt < RANDOM_PICK_ATTEMPTS && !games.isEmpty(); attempt++) {
+      GameInfoMessage game = games.get(random.nextInt(games.size()));
+      if (game.getState() == status) {
+        return game;
+      }
+    }
+    return null;
+  }
+
+  private GameInfoMessage openGame() {
+    int hostIndex = findFreePlayer();
+    if (hostIndex == -1) {
+      return null;
+    }
+    String host = players[hostIndex].getLogin();
+    int uid = nextGameUid++;
+
+    Map<String, List<String>> teams = new HashMap<>();
+    teams.put(TEAMS[0], new ArrayList<>(List.of(host)));
+
+    GameInfoMessage game = new GameInfoMessage();
+    game.setUid(uid);
+    game.setHost(host);
+    game.setTitle(host + "'s game #" + uid);
+    game.setMapname(MAP_NAMES[random.nextInt(MAP_NAMES.length)]);
+    game.setFeaturedMod("faf");
+    game.setState(GameStatus.OPEN);
+    game.setGameType(GameType.CUSTOM);
+    game.setVisibility("public");
+    game.setPasswordProtected(random.nextInt(10) == 0);
+    game.setMaxPlayers(MAX_PLAYERS[random.nextInt(MAX_PLAYERS.length)]);
+    game.setNumPlayers(1);
+    game.setTeams(teams);
+    game.setSimMods(Map.of());
+    game.setRatingType(GLOBAL_RATING_TYPE);
+
+    gameOfPlayer[hostIndex] = uid;
+    games.add(game);
+    return game;
+  }
+
+  private boolean joinGame(GameInfoMessage game) {
+    if (game.getNumPlayers() >= game.getMaxPlayers()) {
+      return false;
+    }
+    int playerIndex = findFreePlayer();
+    if (playerIndex == -1) {
+      return false;
+    }
+    String team = TEAMS[random.nextInt(TEAMS.length)];
+    game.getTeams().computeIfAbsent(team, key -> new ArrayList<>()).add(players[playerIndex].getLogin());
+    game.setNumPlayers(game.getNumPlayers() + 1);
+    gameOfPlayer[playerIndex] = game.getUid();
+    return true;
+  }
+
+  private boolean leaveGame(GameInfoMessage game) {
+    List<String> candidates = new ArrayList<>();
+    game.getTeams().values().forEach(candidates::addAll);
+    candidates.remove(game.getHost());
+    if (candidates.isEmpty()) {
+      return false;
+    }
+    String login = candidates.get(random.nextInt(candidates.size()));
+    game.getTeams().values().forEach(team -> team.remove(login));
+    game.setNumPlayers(game.getNumPlayers() - 1);
+    gameOfPlayer[indexOf(login)] = 0;
+    return true;
+  }
+
+  private GameInfoMessage changeTeams() {
+    GameInfoMessage game = findGame(GameStatus.OPEN);
+    if (game == null) {
+      return null;
+    }
+    boolean changed = random.nextInt(3) == 0 ? leaveGame(game) || joinGame(game) : joinGame(game) || leaveGame(game);
+    return changed ? game : null;
+  }
+
+  private GameInfoMessage launchGame() {
+    GameInfoMessage game = findGame(GameStatus.OPEN);
+    if (game == null) {
+      return null;
+    }
+    game.setState(GameStatus.PLAYING);
+    game.setLaunchedAt(elapsedMillis / 1000d);
+    return game;
+  }
+
+  private GameInfoMessage closeGame() {
+    if (games.isEmpty()) {
+      return null;
+    }
+    int index = random.nextInt(games.size());
+    GameInfoMessage game = games.get(index);
+    games.set(index, games.get(games.size() - 1));
+    games.remove(games.size() - 1);
+
+    game.getTeams().values().forEach(team -> team.forEach(login -> gameOfPlayer[indexOf(login)] = 0));
+    game.setState(GameStatus.CLOSED);
+    return game;
+  }
+
+  private PlayersMessage updateRating() {
+    Player player = players[random.nextInt(players.length)];
+    LeaderboardRating rating = player.getRatings().get(GLOBAL_RATING_TYPE);
+    float[] values = rating.getRating();
+    rating.setRating(new float[]{(float) (values[0] + random.nextGaussian() * 30), Math.max(50, values[1] * 0.98f)});
+    rating.setNumberOfGames(rating.getNumberOfGames() + 1);
+    player.setNumberOfGames(player.getNumberOfGames() + 1);
+
+    PlayersMessage playersMessage = new PlayersMessage();
+    playersMessage.setPlayers(List.of(copyOf(player)));
+    return playersMessage;
+  }
+
+  private int indexOf(String login) {
+    return playerIndexByLogin.get(login);
+  }
+
+  private static GameInfoMessage copyOf(GameInfoMessage game) {
+    Map<String, List<String>> teams = new HashMap<>();
+    game.getTeams().forEach((team, logins) -> teams.put(team, List.copyOf(logins)));
+
+    GameInfoMessage copy = new GameInfoMessage();
+    copy.setUid(game.getUid());
+    copy.setHost(game.getHost());
+    copy.setTitle(game.getTitle());
+    copy.setMapname(game.getMapname());
+    copy.setFeaturedMod(game.getFeaturedMod());
+    copy.setState(game.getState());
+    copy.setGameType(game.getGameType());
+    copy.setVisibility(game.getVisibility());
+    copy.setPasswordProtected(game.getPasswordProtected());
+    copy.setMaxPlayers(game.getMaxPlayers());
+    copy.setNumPlayers(game.getNumPlayers());
+    copy.setTeams(teams);
+    copy.setSimMods(game.getSimMods());
+    copy.setRatingType(game.getRatingType());
+    copy.setLaunchedAt(game.getLaunchedAt());
+    return copy;
+  }
+
+  private static Player copyOf(Player player) {
+    Map<String, LeaderboardRating> ratings = new HashMap<>();
+    player.getRatings().forEach((ratingType, rating) -> {
+      LeaderboardRating ratingCopy = new LeaderboardRating();
+      ratingCopy.setNumberOfGames(rating.getNumberOfGames());
+      ratingCopy.setRating(Arrays.copyOf(rating.getRating(), rating.getRating().length));
+      ratings.put(ratingType, ratingCopy);
+    });
+
+    Player copy = new Player();
+    copy.setId(player.getId());
+    copy.setLogin(player.getLogin());
+    copy.setClan(player.getClan());
+    copy.setCountry(player.getCountry());
+    copy.setNumberOfGames(player.getNumberOfGames());
+    copy.setRatings(ratings);
+    return copy;
+  }
+}
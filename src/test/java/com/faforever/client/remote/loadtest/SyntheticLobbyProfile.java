@@ -0,0 +1,22 @@
+package com.faforever.client.remote.loadtest;
+
+import lombok.Data;
+
+/**
+ * Describes the lobby simulated by {@link SyntheticLobby}: how many games and players there are initially and how many
+ * changes happen per second. All rates are multiplied by {@link #churnMultiplier}.
+ */
+@Data
+public class SyntheticLobbyProfile {
+
+  private int games = 2_000;
+  private int players = 10_000;
+  private double churnMultiplier = 1;
+  private double gameOpenRate = 2;
+  private double gameLaunchRate = 1.5;
+  private double gameCloseRate = 2;
+  private double teamChangeRate = 25;
+  private double ratingUpdateRate = 10;
+  private long tickMillis = 100;
+  private long seed = 0;
+}
@@ -0,0 +1,179 @@
+package com.faforever.client.remote.loadtest;
+
+import com.faforever.client.remote.ServerWriter;
+import com.faforever.client.remote.domain.FafServerMessage;
+import com.faforever.client.remote.domain.LoginMessage;
+import com.faforever.client.remote.domain.SessionMessage;
+import com.faforever.client.remote.io.QDataInputStream;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.utils.IOUtils;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local stand-in for the FAF lobby server which simulates a busy lobby using {@link SyntheticLobby}. It speaks the
+ * real protocol: clients ask for a session and log in as usual (any credentials are accepted), then receive all players
+ * and games followed by a continuous stream of updates. Every connection gets its own lobby, created from the same
+ * profile.
+ * <p>
+ * Usage: {@code gradlew runSyntheticLobbyServer --args="[games] [players] [churn multiplier] [port]"}
+ */
+@Slf4j
+public class SyntheticLobbyServer implements Closeable {
+
+  private static final int DEFAULT_PORT = 8001;
+
+  private final SyntheticLobbyProfile profile;
+  private final ServerSocket serverSocket;
+  private final LongAdder sentMessages = new LongAdder();
+  private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+  private volatile boolean closed;
+
+  public SyntheticLobbyServer(SyntheticLobbyProfile profile, int port) throws IOException {
+    this.profile = profile;
+    this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+  }
+
+  public static void main(String[] args) throws Exception {
+    SyntheticLobbyProfile profile = new SyntheticLobbyProfile();
+    if (args.length > 0) {
+      profile.setGames(Integer.parseInt(args[0]));
+    }
+    if (args.length > 1) {
+      profile.setPlayers(Integer.parseInt(args[1]));
+    }
+    if (args.length > 2) {
+      profile.setChurnMultiplier(Double.parseDouble(args[2]));
+    }
+    int port = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_PORT;
+
+    SyntheticLobbyServer server = new SyntheticLobbyServer(profile, port);
+    log.info("Simulating {} on port {}", profile, server.getPort());
+    server.run();
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Returns the number of messages sent to all clients so far.
+   */
+  public long getSentMessageCount() {
+    return sentMessages.sum();
+  }
+
+  /**
+   * Starts accepting clients in the background.
+   */
+  public void start() {
+    Thread thread = new Thread(this::run, "synthetic-lobby-server");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Accepts clients until this server is closed. Each client is served by its own thread.
+   */
+  public void run() {
+    while (!closed) {
+      try {
+        Socket socket = serverSocket.accept();
+        Thread thread = new Thread(() -> serve(socket), "synthetic-lobby-client-" + socket.getPort());
+        thread.setDaemon(true);
+        thread.start();
+      } catch (IOException e) {
+        if (!closed) {
+          log.warn("Could not accept client", e);
+        }
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    log.info("Client connected from {}", socket.getRemoteSocketAddress());
+    clients.add(socket);
+    ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "synthetic-lobby-ticker-" + socket.getPort());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    try (socket; ServerWriter serverWriter = new ServerWriter(socket.getOutputStream())) {
+      serverWriter.registerMessageSerializer(new FafServerMessageSerializer(), FafServerMessage.class);
+      QDataInputStream inputStream = new QDataInputStream(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+
+      while (!closed) {
+        inputStream.readInt();
+        JsonObject message = new JsonParser().parse(inputStream.readQString()).getAsJsonObject();
+        String command = getString(message, "command");
+
+        if ("ask_session".equals(command)) {
+          SessionMessage sessionMessage = new SessionMessage();
+          sessionMessage.setSession(socket.getPort());
+          send(serverWriter, sessionMessage);
+        } else if ("hello".equals(command)) {
+          SyntheticLobby lobby = new SyntheticLobby(profile);
+          logIn(serverWriter, lobby, getString(message, "login"));
+          ticker.scheduleAtFixedRate(() -> tick(serverWriter, lobby), profile.getTickMillis(), profile.getTickMillis(), TimeUnit.MILLISECONDS);
+        }
+      }
+    } catch (EOFException e) {
+      log.info("Client {} disconnected", socket.getRemoteSocketAddress());
+    } catch (IOException | RuntimeException e) {
+      log.warn("Error while serving client {}", socket.getRemoteSocketAddress(), e);
+    } finally {
+      ticker.shutdownNow();
+      clients.remove(socket);
+    }
+  }
+
+  private void logIn(ServerWriter serverWriter, SyntheticLobby lobby, String login) {
+    LoginMessage loginMessage = new LoginMessage();
+    loginMessage.setId(lobby.getPlayerCount() + 1);
+    loginMessage.setLogin(login);
+    send(serverWriter, loginMessage);
+
+    send(serverWriter, lobby.createPlayersMessage());
+    send(serverWriter, lobby.createGamesMessage());
+  }
+
+  private void tick(ServerWriter serverWriter, SyntheticLobby lobby) {
+    List<FafServerMessage> messages = lobby.tick(profile.getTickMillis());
+    messages.forEach(message -> send(serverWriter, message));
+  }
+
+  private void send(ServerWriter serverWriter, FafServerMessage message) {
+    serverWriter.write(message);
+    sentMessages.increment();
+  }
+
+  private static String getString(JsonObject jsonObject, String name) {
+    JsonElement element = jsonObject.get(name);
+    return element == null || element.isJsonNull() ? null : element.getAsString();
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    IOUtils.closeQuietly(serverSocket);
+    clients.forEach(IOUtils::closeQuietly);
+  }
+}
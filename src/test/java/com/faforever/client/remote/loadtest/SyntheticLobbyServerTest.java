@@ -0,0 +1,57 @@
+package com.faforever.client.remote.loadtest;
+
+import com.faforever.client.remote.ClientMessageSerializer;
+import com.faforever.client.remote.ServerWriter;
+import com.faforever.client.remote.domain.ClientMessage;
+import com.faforever.client.remote.domain.InitSessionMessage;
+import com.faforever.client.remote.domain.LoginClientMessage;
+import com.faforever.client.remote.io.QDataInputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+public class SyntheticLobbyServerTest {
+
+  private SyntheticLobbyServer instance;
+
+  @Before
+  public void setUp() throws Exception {
+    instance = new SyntheticLobbyServer(new SyntheticLobbyProfile().setGames(20).setPlayers(100).setTickMillis(10), 0);
+    instance.start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    instance.close();
+  }
+
+  @Test
+  public void testLogInAndReceiveLobby() throws Exception {
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), instance.getPort());
+         ServerWriter serverWriter = new ServerWriter(socket.getOutputStream())) {
+      serverWriter.registerMessageSerializer(new ClientMessageSerializer(), ClientMessage.class);
+      QDataInputStream inputStream = new QDataInputStream(new DataInputStream(socket.getInputStream()));
+
+      serverWriter.write(new InitSessionMessage("1.0"));
+      assertThat(readMessage(inputStream), containsString("\"command\": \"session\""));
+
+      serverWriter.write(new LoginClientMessage("junit", "password", 1, "uid", "127.0.0.1"));
+      assertThat(readMessage(inputStream), containsString("\"command\": \"welcome\""));
+      assertThat(readMessage(inputStream), containsString("\"command\": \"player_info\""));
+      assertThat(readMessage(inputStream), containsString("\"games\": ["));
+      assertThat(readMessage(inputStream), containsString("\"command\": "));
+    }
+  }
+
+  private static String readMessage(QDataInputStream inputStream) throws Exception {
+    inputStream.readInt();
+    return inputStream.readQString();
+  }
+}
@@ -0,0 +1,93 @@
+package com.faforever.client.remote.loadtest;
+
+import com.faforever.client.remote.domain.FafServerMessage;
+import com.faforever.client.remote.domain.GameInfoMessage;
+import com.faforever.client.remote.domain.GameStatus;
+import com.faforever.client.remote.domain.PlayersMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class SyntheticLobbyTest {
+
+  private SyntheticLobbyProfile profile;
+
+  @Before
+  public void setUp() throws Exception {
+    profile = new SyntheticLobbyProfile()
+        .setGames(200)
+        .setPlayers(1_000);
+  }
+
+  @Test
+  public void testInitialState() {
+    SyntheticLobby instance = new SyntheticLobby(profile);
+
+    PlayersMessage playersMessage = instance.createPlayersMessage();
+    assertThat(playersMessage.getPlayers(), hasSize(1_000));
+
+    List<GameInfoMessage> games = instance.createGamesMessage().getGames();
+    assertThat(games, hasSize(200));
+
+    Set<String> playersInGames = new HashSet<>();
+    for (GameInfoMessage game : games) {
+      int numPlayers = game.getTeams().values().stream().mapToInt(List::size).sum();
+      assertThat(game.getNumPlayers(), is(numPlayers));
+      assertThat(numPlayers, lessThanOrEqualTo(game.getMaxPlayers()));
+      game.getTeams().values().forEach(team -> team.forEach(login -> assertThat(playersInGames.add(login), is(true))));
+    }
+  }
+
+  @Test
+  public void testTickProducesConfiguredChurn() {
+    profile.setChurnMultiplier(5);
+    SyntheticLobby instance = new SyntheticLobby(profile);
+
+    List<FafServerMessage> messages = instance.tick(1_000);
+
+    long ratingUpdates = messages.stream().filter(PlayersMessage.class::isInstance).count();
+    assertThat(ratingUpdates, is(50L));
+    long closedGames = messages.stream()
+        .filter(GameInfoMessage.class::isInstance)
+        .filter(message -> ((GameInfoMessage) message).getState() == GameStatus.CLOSED)
+        .count();
+    assertThat(closedGames, is(10L));
+    assertThat(messages.size(), greaterThan(150));
+  }
+
+  @Test
+  public void testReturnedMessagesAreNotModifiedLater() {
+    SyntheticLobby instance = new SyntheticLobby(profile.setTeamChangeRate(1_000));
+    GameInfoMessage game = instance.createGamesMessage().getGames().get(0);
+    int numPlayers = game.getNumPlayers();
+    GameStatus state = game.getState();
+
+    for (int i = 0; i < 10; i++) {
+      instance.tick(1_000);
+    }
+
+    assertThat(game.getNumPlayers(), is(numPlayers));
+    assertThat(game.getState(), is(state));
+  }
+
+  @Test
+  public void testSameSeedProducesSameLobby() {
+    List<FafServerMessage> first = new SyntheticLobby(profile).tick(1_000);
+    List<FafServerMessage> second = new SyntheticLobby(profile).tick(1_000);
+
+    assertThat(second, hasSize(first.size()));
+    for (int i = 0; i < first.size(); i++) {
+      assertThat(second.get(i), instanceOf(first.get(i).getClass()));
+    }
+  }
+}
@@ -133,7 +133,7 @@ public class ReplayDetailControllerTest extends AbstractPlainJavaFxTest {
     instance = new ReplayDetailController(timeService, i18n, uiService, replayService, ratingService, mapService, mapGeneratorService, playerService, clientProperties, notificationService, reviewService);
 
     when(reviewsController.getRoot()).thenReturn(new Pane());
-    when(mapService.loadPreview(anyString(), eq(PreviewSize.LARGE))).thenReturn(mock(Image.class));
+    when(mapService.loadPreview(anyString(), eq(PreviewSize.LARGE))).thenReturn(CompletableFuture.completedFuture(mock(Image.class)));
     when(playerService.getCurrentPlayer()).thenReturn(Optional.of(new Player("junit")));
     when(playerService.getPlayersByIds(any())).thenReturn(CompletableFuture.completedFuture(List.of(PlayerBuilder.create("junit").defaultValues().get())));
     when(replayService.getSize(onlineReplay.getId())).thenReturn(CompletableFuture.completedFuture(12));
@@ -0,0 +1,43 @@
+package com.faforever.client.theme;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class HtmlTemplateTest {
+
+  @Test
+  public void testRenderReplacesAllOccurrences() {
+    HtmlTemplate template = HtmlTemplate.parse("<span class=\"{css-classes}\" title=\"{username}\">{username}</span>");
+
+    assertThat(template.render(Map.of("css-classes", "a b", "username", "Alice")),
+        is("<span class=\"a b\" title=\"Alice\">Alice</span>"));
+  }
+
+  @Test
+  public void testRenderKeepsUnknownPlaceholdersAndLiteralBraces() {
+    HtmlTemplate template = HtmlTemplate.parse("{text} {unknown} function() { return {}; }");
+
+    assertThat(template.render(Map.of("text", "hi")), is("hi {unknown} function() { return {}; }"));
+  }
+
+  @Test
+  public void testValuesAreNotSubstitutedAgain() {
+    HtmlTemplate template = HtmlTemplate.parse("{username}: {text}");
+
+    assertThat(template.render(Map.of("username", "{text}", "text", "{username}")), is("{text}: {username}"));
+  }
+
+  @Test
+  public void testRenderAppendsToBuilder() {
+    HtmlTemplate template = HtmlTemplate.parse("<b>{time}</b>");
+    StringBuilder builder = new StringBuilder("x");
+
+    template.render(builder, Map.of("time", "12:00"));
+
+    assertThat(builder.toString(), is("x<b>12:00</b>"));
+  }
+}
@@ -13,6 +13,8 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.testfx.util.WaitForAsyncUtils;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
@@ -44,7 +46,7 @@ public class TutorialDetailControllerTest extends AbstractPlainJavaFxTest {
     MapBean mapVersion = new MapBean();
     tutorial.setMapVersion(mapVersion);
     Image image = new Image("http://examle.com");
-    when(mapService.loadPreview(mapVersion, PreviewSize.LARGE)).thenReturn(image);
+    when(mapService.loadPreview(mapVersion, PreviewSize.LARGE)).thenReturn(CompletableFuture.completedFuture(image));
     JavaFxUtil.runLater(() -> instance.setTutorial(tutorial));
     WaitForAsyncUtils.waitForFxEvents();
     verify(mapService).loadPreview(mapVersion, PreviewSize.LARGE);
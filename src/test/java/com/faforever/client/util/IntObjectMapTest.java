@@ -0,0 +1,72 @@
+package com.faforever.client.util;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class IntObjectMapTest {
+
+  @Test
+  public void testPutGetRemove() {
+    IntObjectMap<String> instance = new IntObjectMap<>();
+
+    assertThat(instance.put(1, "one"), is(nullValue()));
+    assertThat(instance.put(-5, "minus five"), is(nullValue()));
+    assertThat(instance.put(1, "uno"), is("one"));
+
+    assertThat(instance.size(), is(2));
+    assertThat(instance.get(1), is("uno"));
+    assertThat(instance.get(-5), is("minus five"));
+    assertThat(instance.get(2), is(nullValue()));
+    assertThat(instance.values(), containsInAnyOrder("uno", "minus five"));
+
+    assertThat(instance.remove(1), is("uno"));
+    assertThat(instance.remove(1), is(nullValue()));
+    assertThat(instance.containsKey(1), is(false));
+    assertThat(instance.size(), is(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPutNullValue() {
+    new IntObjectMap<String>().put(1, null);
+  }
+
+  @Test
+  public void testBehavesLikeHashMap() {
+    IntObjectMap<Integer> instance = new IntObjectMap<>();
+    Map<Integer, Integer> expected = new HashMap<>();
+    Random random = new Random(0);
+
+    for (int i = 0; i < 100_000; i++) {
+      // A small key range forces collisions, removals within probe sequences and reinsertions
+      int key = random.nextInt(2_000) * (random.nextBoolean() ? 1 : 1 << 16);
+      if (random.nextInt(3) == 0) {
+        assertThat(instance.remove(key), is(expected.remove(key)));
+      } else {
+        assertThat(instance.put(key, i), is(expected.put(key, i)));
+      }
+    }
+
+    assertThat(instance.size(), is(expected.size()));
+    expected.forEach((key, value) -> assertThat(instance.get(key), is(value)));
+  }
+
+  @Test
+  public void testIntSet() {
+    IntSet instance = new IntSet();
+
+    assertThat(instance.add(42), is(true));
+    assertThat(instance.add(42), is(false));
+    assertThat(instance.contains(42), is(true));
+    assertThat(instance.remove(42), is(true));
+    assertThat(instance.contains(42), is(false));
+    assertThat(instance.isEmpty(), is(true));
+  }
+}